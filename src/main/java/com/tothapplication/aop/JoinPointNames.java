@@ -0,0 +1,60 @@
+package com.tothapplication.aop;
+
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+
+/**
+ * Resolves a value from the type and the method of the join points, once per class and method called.
+ * <p>
+ * The type is the class of the bean called, or its repository interface for a Spring Data repository, so that the
+ * methods inherited from {@code JpaRepository} are resolved per repository.
+ *
+ * @param <T> the type of the values resolved.
+ */
+public class JoinPointNames<T> {
+
+    private final Map<Class<?>, Map<Method, T>> values = new ConcurrentHashMap<>();
+
+    private final BiFunction<Class<?>, Method, T> resolver;
+
+    /**
+     * @param resolver resolves the value of a type and a method.
+     */
+    public JoinPointNames(BiFunction<Class<?>, Method, T> resolver) {
+        this.resolver = resolver;
+    }
+
+    /**
+     * @param joinPoint the join point of a method execution.
+     * @return the value of its type and method, resolved on its first call.
+     */
+    public T get(JoinPoint joinPoint) {
+        Class<?> targetClass = joinPoint.getTarget().getClass();
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Map<Method, T> methodValues = values.get(targetClass);
+        if (methodValues == null) {
+            methodValues = values.computeIfAbsent(targetClass, key -> new ConcurrentHashMap<>());
+        }
+        T value = methodValues.get(method);
+        return value != null ? value : methodValues.computeIfAbsent(method, key -> resolver.apply(getType(targetClass), key));
+    }
+
+    /**
+     * @param targetClass the class of a bean.
+     * @return the class of the bean, or its repository interface for a Spring Data repository.
+     */
+    public static Class<?> getType(Class<?> targetClass) {
+        if (Proxy.isProxyClass(targetClass) && targetClass.getInterfaces().length > 0) {
+            // A Spring Data repository, implementing its repository interface first
+            return targetClass.getInterfaces()[0];
+        }
+        return ClassUtils.getUserClass(targetClass);
+    }
+}
@@ -0,0 +1,72 @@
+package com.tothapplication.aop;
+
+import org.aspectj.lang.annotation.Pointcut;
+
+/**
+ * Pointcuts matching the Spring components of the application, shared by its aspects.
+ */
+public class SpringComponentPointcuts {
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints.
+     */
+    @Pointcut("within(@org.springframework.stereotype.Repository *)" +
+        " || within(@org.springframework.stereotype.Service *)" +
+        " || within(@org.springframework.web.bind.annotation.RestController *)")
+    public void springBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring beans in the application's main packages.
+     */
+    @Pointcut("within(com.tothapplication.repository..*)"+
+        " || within(com.tothapplication.service..*)"+
+        " || within(com.tothapplication.web.rest..*)")
+    public void applicationPackagePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all repositories, services and Web REST endpoints in the application's main packages.
+     */
+    @Pointcut("applicationPackagePointcut() && springBeanPointcut()")
+    public void applicationBeanPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Web REST endpoints.
+     */
+    @Pointcut("within(@org.springframework.web.bind.annotation.RestController *) && within(com.tothapplication.web.rest..*)")
+    public void controllerPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all services.
+     */
+    @Pointcut("within(@org.springframework.stereotype.Service *) && within(com.tothapplication.service..*)")
+    public void servicePointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all Spring Data repositories, including the methods they inherit.
+     * <p>
+     * The {@code within} pointcuts don't match them, their beans being JDK proxies.
+     */
+    @Pointcut("this(org.springframework.data.repository.Repository)")
+    public void springDataRepositoryPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+
+    /**
+     * Pointcut that matches all repositories, the Spring Data ones and the implemented ones.
+     */
+    @Pointcut("springDataRepositoryPointcut()" +
+        " || (within(@org.springframework.stereotype.Repository *) && within(com.tothapplication.repository..*))")
+    public void repositoryPointcut() {
+        // Method is empty as this is just a Pointcut, the implementations are in the advices.
+    }
+}
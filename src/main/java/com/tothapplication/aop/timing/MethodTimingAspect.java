@@ -0,0 +1,132 @@
+package com.tothapplication.aop.timing;
+
+import com.tothapplication.aop.JoinPointNames;
+import com.tothapplication.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aspect timing a sample of the calls of the service, repository and REST controller Spring components.
+ * <p>
+ * A call not sampled only draws a random number, the name and timer of each method being resolved once, on its
+ * first call timed. The sampling and the timing can be changed at runtime.
+ * <p>
+ * Publishes the metric {@code method.timed}, tagged by {@code class} and {@code method}: as it is sampled, its count
+ * is the number of calls times the sample rate. The class is the one of the bean called, or its repository interface
+ * for a Spring Data repository, so that the methods inherited from {@code JpaRepository} are timed per repository.
+ * <p>
+ * With DEBUG enabled on this aspect, every call is also logged when it is entered and exited.
+ */
+@Aspect
+public class MethodTimingAspect {
+
+    private final Logger log = LoggerFactory.getLogger(MethodTimingAspect.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final boolean percentileHistogram;
+
+    private final JoinPointNames<MethodTiming> methodTimings = new JoinPointNames<>(this::createMethodTiming);
+
+    private volatile boolean enabled;
+
+    private volatile double sampleRate;
+
+    public MethodTimingAspect(MeterRegistry meterRegistry, ApplicationProperties.MethodTiming methodTiming) {
+        this.meterRegistry = meterRegistry;
+        this.percentileHistogram = methodTiming.isPercentileHistogram();
+        this.enabled = methodTiming.isEnabled();
+        this.sampleRate = methodTiming.getSampleRate();
+    }
+
+    /**
+     * Advice that times a sample of the calls, and logs when a method is entered and exited.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception of the method.
+     */
+    @Around("com.tothapplication.aop.SpringComponentPointcuts.applicationBeanPointcut()" +
+        " || com.tothapplication.aop.SpringComponentPointcuts.springDataRepositoryPointcut()")
+    public Object timeAround(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean sampled = enabled && ThreadLocalRandom.current().nextDouble() < sampleRate;
+        boolean debug = log.isDebugEnabled();
+        if (!sampled && !debug) {
+            return joinPoint.proceed();
+        }
+        MethodTiming methodTiming = methodTimings.get(joinPoint);
+        if (debug) {
+            log.debug("Enter: {}() with argument[s] = {}", methodTiming.name, Arrays.toString(joinPoint.getArgs()));
+        }
+        long start = sampled ? System.nanoTime() : 0;
+        try {
+            Object result = joinPoint.proceed();
+            if (debug) {
+                log.debug("Exit: {}() with result = {}", methodTiming.name, result);
+            }
+            return result;
+        } finally {
+            if (sampled) {
+                methodTiming.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * @param sampleRate the fraction of the calls timed, between 0 and 1.
+     */
+    public void setSampleRate(double sampleRate) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("The sample rate must be between 0 and 1: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+    }
+
+    private MethodTiming createMethodTiming(Class<?> type, Method method) {
+        Timer timer = Timer.builder("method.timed")
+            .tag("class", type.getSimpleName())
+            .tag("method", method.getName())
+            .description("The time of a sample of the calls of the method")
+            .publishPercentileHistogram(percentileHistogram)
+            .register(meterRegistry);
+        return new MethodTiming(type.getName() + "." + method.getName(), timer);
+    }
+
+    /**
+     * The name and the timer of a method, resolved once.
+     */
+    private static class MethodTiming {
+
+        private final String name;
+
+        private final Timer timer;
+
+        MethodTiming(String name, Timer timer) {
+            this.name = name;
+            this.timer = timer;
+        }
+    }
+}
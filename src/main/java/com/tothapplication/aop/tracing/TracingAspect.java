@@ -0,0 +1,70 @@
+package com.tothapplication.aop.tracing;
+
+import com.tothapplication.aop.JoinPointNames;
+import com.tothapplication.config.tracing.Span;
+import com.tothapplication.config.tracing.Tracing;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Aspect opening a {@link Span} for each call of a REST controller, a service or a repository during a traced request.
+ * <p>
+ * A call outside of a traced request only checks the trace of its thread. The name of each span is resolved once per
+ * class and method: the repository interface rather than the Spring Data interface declaring the method.
+ */
+@Aspect
+public class TracingAspect {
+
+    private final JoinPointNames<String> spanNames =
+        new JoinPointNames<>((type, method) -> type.getSimpleName() + "." + method.getName());
+
+    /**
+     * Advice that traces the calls of the REST controllers.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception of the method.
+     */
+    @Around("com.tothapplication.aop.SpringComponentPointcuts.controllerPointcut()")
+    public Object traceController(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, Span.Layer.CONTROLLER);
+    }
+
+    /**
+     * Advice that traces the calls of the services.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception of the method.
+     */
+    @Around("com.tothapplication.aop.SpringComponentPointcuts.servicePointcut()")
+    public Object traceService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, Span.Layer.SERVICE);
+    }
+
+    /**
+     * Advice that traces the calls of the repositories.
+     *
+     * @param joinPoint join point for advice.
+     * @return result.
+     * @throws Throwable the exception of the method.
+     */
+    @Around("com.tothapplication.aop.SpringComponentPointcuts.repositoryPointcut()")
+    public Object traceRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return trace(joinPoint, Span.Layer.REPOSITORY);
+    }
+
+    private Object trace(ProceedingJoinPoint joinPoint, Span.Layer layer) throws Throwable {
+        if (!Tracing.isActive()) {
+            return joinPoint.proceed();
+        }
+        int span = Tracing.openSpan(layer, spanNames.get(joinPoint));
+        try {
+            return joinPoint.proceed();
+        } finally {
+            Tracing.closeSpan(span);
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package com.tothapplication.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Properties specific to Toth Application.
@@ -11,4 +15,627 @@ import org.springframework.boot.context.properties.ConfigurationProperties;
 @ConfigurationProperties(prefix = "application", ignoreUnknownFields = false)
 public class ApplicationProperties {
 
+    private final QueryStatistics queryStatistics = new QueryStatistics();
+
+    private final Cache cache = new Cache();
+
+    private final Jwt jwt = new Jwt();
+
+    private final PasswordHashing passwordHashing = new PasswordHashing();
+
+    private final LoginThrottling loginThrottling = new LoginThrottling();
+
+    private final AuditEvents auditEvents = new AuditEvents();
+
+    private final MethodTiming methodTiming = new MethodTiming();
+
+    private final Tracing tracing = new Tracing();
+
+    public QueryStatistics getQueryStatistics() {
+        return queryStatistics;
+    }
+
+    public Cache getCache() {
+        return cache;
+    }
+
+    public Jwt getJwt() {
+        return jwt;
+    }
+
+    public PasswordHashing getPasswordHashing() {
+        return passwordHashing;
+    }
+
+    public LoginThrottling getLoginThrottling() {
+        return loginThrottling;
+    }
+
+    public AuditEvents getAuditEvents() {
+        return auditEvents;
+    }
+
+    public MethodTiming getMethodTiming() {
+        return methodTiming;
+    }
+
+    public Tracing getTracing() {
+        return tracing;
+    }
+
+    public static class QueryStatistics {
+
+        /**
+         * Whether the SQL statements, entity loads, collection fetches and second-level cache accesses of each REST
+         * request are counted and published as metrics.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of SQL statements above which a REST request is logged as a warning, often the sign of an N+1 query.
+         */
+        private int statementBudget = 30;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getStatementBudget() {
+            return statementBudget;
+        }
+
+        public void setStatementBudget(int statementBudget) {
+            this.statementBudget = statementBudget;
+        }
+    }
+
+    public static class Cache {
+
+        /**
+         * Directory of the disk tier, required when a region has a disk tier.
+         */
+        private String diskPath;
+
+        /**
+         * Sizing and expiry of the cache regions, by cache name. Regions not listed here use the
+         * {@code jhipster.cache.ehcache} maximum number of entries and time to live.
+         */
+        private Map<String, Region> regions = new LinkedHashMap<>();
+
+        private final WarmUp warmUp = new WarmUp();
+
+        private final Invalidation invalidation = new Invalidation();
+
+        public String getDiskPath() {
+            return diskPath;
+        }
+
+        public void setDiskPath(String diskPath) {
+            this.diskPath = diskPath;
+        }
+
+        public Map<String, Region> getRegions() {
+            return regions;
+        }
+
+        public void setRegions(Map<String, Region> regions) {
+            this.regions = regions;
+        }
+
+        public WarmUp getWarmUp() {
+            return warmUp;
+        }
+
+        public Invalidation getInvalidation() {
+            return invalidation;
+        }
+    }
+
+    public static class Region {
+
+        /**
+         * Maximum number of entries on heap, ignored when the heap is sized in bytes.
+         */
+        private Long maxEntries;
+
+        /**
+         * Size of the heap tier, in bytes, such as {@code 16MB}.
+         */
+        private DataSize heap;
+
+        /**
+         * Size of the optional off-heap tier, which counts against {@code -XX:MaxDirectMemorySize}.
+         */
+        private DataSize offHeap;
+
+        /**
+         * Size of the optional disk tier.
+         */
+        private DataSize disk;
+
+        /**
+         * Whether the disk tier is kept when the application stops, to be reloaded when it starts again.
+         */
+        private boolean persistent = false;
+
+        private Long timeToLiveSeconds;
+
+        public Long getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(Long maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public DataSize getHeap() {
+            return heap;
+        }
+
+        public void setHeap(DataSize heap) {
+            this.heap = heap;
+        }
+
+        public DataSize getOffHeap() {
+            return offHeap;
+        }
+
+        public void setOffHeap(DataSize offHeap) {
+            this.offHeap = offHeap;
+        }
+
+        public DataSize getDisk() {
+            return disk;
+        }
+
+        public void setDisk(DataSize disk) {
+            this.disk = disk;
+        }
+
+        public boolean isPersistent() {
+            return persistent;
+        }
+
+        public void setPersistent(boolean persistent) {
+            this.persistent = persistent;
+        }
+
+        public Long getTimeToLiveSeconds() {
+            return timeToLiveSeconds;
+        }
+
+        public void setTimeToLiveSeconds(Long timeToLiveSeconds) {
+            this.timeToLiveSeconds = timeToLiveSeconds;
+        }
+    }
+
+    public static class WarmUp {
+
+        /**
+         * Whether the reference data and the running formation sessions are loaded in the second-level cache at
+         * startup, the application being reported out of service until they are.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of regions loaded in parallel.
+         */
+        private int poolSize = 4;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+    }
+
+    public static class Invalidation {
+
+        /**
+         * Transport broadcasting the evictions to the other instances: {@code jdbc}, through a table of the shared
+         * database, or {@code loopback}, between the instances of a single JVM, for tests. Evictions are not
+         * broadcast when it is not set.
+         */
+        private String transport;
+
+        /**
+         * Name of the loopback channel shared by the instances.
+         */
+        private String channel = "tothapplication";
+
+        /**
+         * Delay during which the evictions are gathered into a single message.
+         */
+        private long batchWindowMs = 50;
+
+        /**
+         * Maximum number of evictions of a message.
+         */
+        private int maxBatchSize = 500;
+
+        /**
+         * Delay between two reads of the messages of the other instances, with the {@code jdbc} transport.
+         */
+        private long pollIntervalMs = 500;
+
+        /**
+         * Time during which a message can be read, with the {@code jdbc} transport.
+         */
+        private long retentionSeconds = 60;
+
+        public String getTransport() {
+            return transport;
+        }
+
+        public void setTransport(String transport) {
+            this.transport = transport;
+        }
+
+        public String getChannel() {
+            return channel;
+        }
+
+        public void setChannel(String channel) {
+            this.channel = channel;
+        }
+
+        public long getBatchWindowMs() {
+            return batchWindowMs;
+        }
+
+        public void setBatchWindowMs(long batchWindowMs) {
+            this.batchWindowMs = batchWindowMs;
+        }
+
+        public int getMaxBatchSize() {
+            return maxBatchSize;
+        }
+
+        public void setMaxBatchSize(int maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+        }
+
+        public long getPollIntervalMs() {
+            return pollIntervalMs;
+        }
+
+        public void setPollIntervalMs(long pollIntervalMs) {
+            this.pollIntervalMs = pollIntervalMs;
+        }
+
+        public long getRetentionSeconds() {
+            return retentionSeconds;
+        }
+
+        public void setRetentionSeconds(long retentionSeconds) {
+            this.retentionSeconds = retentionSeconds;
+        }
+    }
+
+    public static class Jwt {
+
+        /**
+         * Maximum number of verified tokens kept with their authentication, so that the following requests bearing
+         * them are not verified again. Tokens are not cached when it is 0.
+         */
+        private int verifiedTokenCacheSize = 10000;
+
+        /**
+         * Interval between the loads of the token revocations stored by the other instances, in milliseconds.
+         */
+        private long revocationLoadIntervalMs = 10000;
+
+        /**
+         * Validity of the refresh tokens, renewing the short-lived access tokens without the password.
+         */
+        private long refreshTokenValidityInSeconds = 86400;
+
+        /**
+         * Validity of the refresh tokens when the user asked to be remembered.
+         */
+        private long refreshTokenValidityInSecondsForRememberMe = 2592000;
+
+        public int getVerifiedTokenCacheSize() {
+            return verifiedTokenCacheSize;
+        }
+
+        public void setVerifiedTokenCacheSize(int verifiedTokenCacheSize) {
+            this.verifiedTokenCacheSize = verifiedTokenCacheSize;
+        }
+
+        public long getRevocationLoadIntervalMs() {
+            return revocationLoadIntervalMs;
+        }
+
+        public void setRevocationLoadIntervalMs(long revocationLoadIntervalMs) {
+            this.revocationLoadIntervalMs = revocationLoadIntervalMs;
+        }
+
+        public long getRefreshTokenValidityInSeconds() {
+            return refreshTokenValidityInSeconds;
+        }
+
+        public void setRefreshTokenValidityInSeconds(long refreshTokenValidityInSeconds) {
+            this.refreshTokenValidityInSeconds = refreshTokenValidityInSeconds;
+        }
+
+        public long getRefreshTokenValidityInSecondsForRememberMe() {
+            return refreshTokenValidityInSecondsForRememberMe;
+        }
+
+        public void setRefreshTokenValidityInSecondsForRememberMe(long refreshTokenValidityInSecondsForRememberMe) {
+            this.refreshTokenValidityInSecondsForRememberMe = refreshTokenValidityInSecondsForRememberMe;
+        }
+    }
+
+    public static class PasswordHashing {
+
+        /**
+         * Number of threads hashing the passwords, bounding the CPU spent on the logins and the password changes.
+         */
+        private int poolSize = Runtime.getRuntime().availableProcessors();
+
+        /**
+         * Maximum number of passwords waiting to be hashed, beyond which the requests are rejected with a
+         * {@code 503 (Service Unavailable)}.
+         */
+        private int queueCapacity = 100;
+
+        /**
+         * Maximum time a request waits for its password to be hashed, in milliseconds.
+         */
+        private long maxWaitMs = 5000;
+
+        /**
+         * Delay advised to the rejected requests before retrying, in seconds.
+         */
+        private long retryAfterSeconds = 5;
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public long getMaxWaitMs() {
+            return maxWaitMs;
+        }
+
+        public void setMaxWaitMs(long maxWaitMs) {
+            this.maxWaitMs = maxWaitMs;
+        }
+
+        public long getRetryAfterSeconds() {
+            return retryAfterSeconds;
+        }
+
+        public void setRetryAfterSeconds(long retryAfterSeconds) {
+            this.retryAfterSeconds = retryAfterSeconds;
+        }
+    }
+
+    public static class LoginThrottling {
+
+        /**
+         * Logins of an account, whatever the address they come from.
+         */
+        private final Bucket account = new Bucket(10, 60000);
+
+        /**
+         * Logins from an address, whatever the account.
+         */
+        private final Bucket ip = new Bucket(100, 1000);
+
+        public Bucket getAccount() {
+            return account;
+        }
+
+        public Bucket getIp() {
+            return ip;
+        }
+    }
+
+    /**
+     * A token bucket: a login takes a token, given back if it succeeds, and is rejected with a
+     * {@code 429 (Too Many Requests)} when the bucket is empty.
+     */
+    public static class Bucket {
+
+        /**
+         * Number of tokens of a full bucket, the logins accepted in a burst.
+         */
+        private int capacity;
+
+        /**
+         * Interval between the tokens added to the bucket, in milliseconds.
+         */
+        private long refillIntervalMs;
+
+        Bucket(int capacity, long refillIntervalMs) {
+            this.capacity = capacity;
+            this.refillIntervalMs = refillIntervalMs;
+        }
+
+        public int getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(int capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getRefillIntervalMs() {
+            return refillIntervalMs;
+        }
+
+        public void setRefillIntervalMs(long refillIntervalMs) {
+            this.refillIntervalMs = refillIntervalMs;
+        }
+    }
+
+    public static class AuditEvents {
+
+        /**
+         * Maximum number of audit events waiting to be written, beyond which the new events are dropped.
+         */
+        private int queueCapacity = 10000;
+
+        /**
+         * Number of audit events written in a batch, the queue being written as soon as it holds that many.
+         */
+        private int batchSize = 50;
+
+        /**
+         * Maximum time an audit event waits to be written, in milliseconds.
+         */
+        private long flushIntervalMs = 1000;
+
+        /**
+         * Number of days the audit events are kept. On a partitioned database, a month of audit events is dropped once
+         * all of them are older.
+         */
+        private int retentionDays = 30;
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+
+        public long getFlushIntervalMs() {
+            return flushIntervalMs;
+        }
+
+        public void setFlushIntervalMs(long flushIntervalMs) {
+            this.flushIntervalMs = flushIntervalMs;
+        }
+
+        public int getRetentionDays() {
+            return retentionDays;
+        }
+
+        public void setRetentionDays(int retentionDays) {
+            this.retentionDays = retentionDays;
+        }
+    }
+
+    public static class MethodTiming {
+
+        /**
+         * Whether the calls of the repositories, services and REST controllers are timed, also switchable at runtime
+         * through {@code /management/method-timing}.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Fraction of the calls timed, between 0 and 1, the other calls paying only for the sampling.
+         */
+        private double sampleRate = 0.01;
+
+        /**
+         * Whether the timers publish a percentile histogram, for the percentiles aggregated by the monitoring system.
+         */
+        private boolean percentileHistogram = true;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public boolean isPercentileHistogram() {
+            return percentileHistogram;
+        }
+
+        public void setPercentileHistogram(boolean percentileHistogram) {
+            this.percentileHistogram = percentileHistogram;
+        }
+    }
+
+    public static class Tracing {
+
+        /**
+         * Whether the REST requests are traced, with a span per REST controller, service, repository and JDBC
+         * statement, the slowest traces being kept for {@code /management/traces}.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Number of slowest traces kept.
+         */
+        private int slowestTraces = 20;
+
+        /**
+         * Maximum number of spans of a trace, beyond which the spans are dropped.
+         */
+        private int maxSpans = 1000;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getSlowestTraces() {
+            return slowestTraces;
+        }
+
+        public void setSlowestTraces(int slowestTraces) {
+            this.slowestTraces = slowestTraces;
+        }
+
+        public int getMaxSpans() {
+            return maxSpans;
+        }
+
+        public void setMaxSpans(int maxSpans) {
+            this.maxSpans = maxSpans;
+        }
+    }
 }
@@ -14,6 +14,7 @@ import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 
 import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @EnableAsync
@@ -24,8 +25,11 @@ public class AsyncConfiguration implements AsyncConfigurer {
 
     private final TaskExecutionProperties taskExecutionProperties;
 
-    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties) {
+    private final FileStorageProperties fileStorageProperties;
+
+    public AsyncConfiguration(TaskExecutionProperties taskExecutionProperties, FileStorageProperties fileStorageProperties) {
         this.taskExecutionProperties = taskExecutionProperties;
+        this.fileStorageProperties = fileStorageProperties;
     }
 
     @Override
@@ -40,6 +44,20 @@ public class AsyncConfiguration implements AsyncConfigurer {
         return new ExceptionHandlingAsyncTaskExecutor(executor);
     }
 
+    @Bean(name = "documentIngestExecutor")
+    public ThreadPoolTaskExecutor documentIngestExecutor() {
+        log.debug("Creating Document Ingest Executor");
+        FileStorageProperties.Ingest ingest = fileStorageProperties.getIngest();
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(ingest.getPoolSize());
+        executor.setMaxPoolSize(ingest.getPoolSize());
+        executor.setQueueCapacity(ingest.getQueueCapacity());
+        // When the queue is full, the uploading thread stores the file itself, which throttles the uploads
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setThreadNamePrefix("document-ingest-");
+        return executor;
+    }
+
     @Override
     public AsyncUncaughtExceptionHandler getAsyncUncaughtExceptionHandler() {
         return new SimpleAsyncUncaughtExceptionHandler();
@@ -1,73 +1,262 @@
 package com.tothapplication.config;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.ehcache.config.builders.*;
+import org.ehcache.expiry.ExpiryPolicy;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.impl.config.persistence.DefaultPersistenceConfiguration;
 import org.ehcache.jsr107.Eh107Configuration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+
+import com.tothapplication.config.cache.CacheInvalidationBus;
+import com.tothapplication.config.cache.CacheRegionMetrics;
+import com.tothapplication.config.cache.CacheRegionStatistics;
+import com.tothapplication.config.cache.InvalidatingJCacheRegionFactory;
+import com.tothapplication.repository.AuthorityRepository;
+import com.tothapplication.repository.CCPRepository;
+import com.tothapplication.repository.FormationRepository;
 
 import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
 import io.github.jhipster.config.JHipsterProperties;
 
-import org.springframework.boot.autoconfigure.cache.JCacheManagerCustomizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.*;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.FileSystemUtils;
+
+import javax.cache.Caching;
 
+/**
+ * Configuration of the Ehcache regions, used by the Hibernate second-level cache and the Spring caches.
+ * <p>
+ * Each region is sized and expires as configured under {@code application.cache.regions}, with a heap tier sized in
+ * entries or in bytes, and optional off-heap and disk tiers. The cache manager is built here rather than by Spring
+ * Boot, as the directory of the disk tier can only be given to Ehcache when the cache manager is created.
+ * <p>
+ * Persistent disk tiers are written when the cache manager is closed, on shutdown, and reloaded on startup. As
+ * Hibernate caches the state of an entity as an array of its properties, they are cleared when the fields of their
+ * entities changed since they were written.
+ * <p>
+ * The query cache regions are sized the same way. Their results are invalidated by Hibernate when a table they read
+ * is updated later, from the update timestamps region, which does not expire unless configured to.
+ * <p>
+ * The statistics of each region are published as {@code cache.*} metrics, tagged by region.
+ */
 @Configuration
 @EnableCaching
 public class CacheConfiguration {
 
-    private final javax.cache.configuration.Configuration<Object, Object> jcacheConfiguration;
+    /**
+     * Regions of the query cache: the default one, and the named regions of the cached queries.
+     */
+    static final List<String> QUERY_CACHES = Arrays.asList(
+        RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+        FormationRepository.FORMATION_QUERIES_CACHE,
+        CCPRepository.CCP_QUERIES_CACHE,
+        AuthorityRepository.AUTHORITY_QUERIES_CACHE);
 
-    public CacheConfiguration(JHipsterProperties jHipsterProperties) {
-        JHipsterProperties.Cache.Ehcache ehcache =
-            jHipsterProperties.getCache().getEhcache();
+    private final Logger log = LoggerFactory.getLogger(CacheConfiguration.class);
 
-        jcacheConfiguration = Eh107Configuration.fromEhcacheCacheConfiguration(
-            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class,
-                ResourcePoolsBuilder.heap(ehcache.getMaxEntries()))
-                .withExpiry(ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds())))
-                .build());
+    private final JHipsterProperties.Cache.Ehcache ehcache;
+
+    private final ApplicationProperties.Cache cache;
+
+    public CacheConfiguration(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties) {
+        this.ehcache = jHipsterProperties.getCache().getEhcache();
+        this.cache = applicationProperties.getCache();
     }
 
-    @Bean
-    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager) {
-        return hibernateProperties -> hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager jCacheCacheManager() {
+        cache.getRegions().forEach((region, configuration) -> {
+            if (configuration.getDisk() != null && cache.getDiskPath() == null) {
+                throw new IllegalStateException("application.cache.disk-path is required by the disk tier of cache region " + region);
+            }
+        });
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        DefaultConfiguration configuration = cache.getDiskPath() == null
+            ? new DefaultConfiguration(provider.getDefaultClassLoader())
+            : new DefaultConfiguration(provider.getDefaultClassLoader(), new DefaultPersistenceConfiguration(prepareDiskTier().toFile()));
+        javax.cache.CacheManager cm = provider.getCacheManager(provider.getDefaultURI(), configuration);
+        Set<String> cacheNames = new HashSet<>();
+        createCaches(cm, cacheNames);
+        for (String region : cache.getRegions().keySet()) {
+            if (!cacheNames.contains(region)) {
+                log.warn("Configuration of unknown cache region {} is ignored", region);
+            }
+        }
+        return cm;
+    }
+
+    /**
+     * Get the directory of the disk tiers, cleared if the fields of the entities of its persistent regions changed.
+     */
+    private Path prepareDiskTier() {
+        Path diskPath = Paths.get(cache.getDiskPath());
+        Path regionsPath = diskPath.resolve("regions");
+        Path fingerprintPath = diskPath.resolve("regions.fingerprint");
+        String fingerprint = getPersistentRegionsFingerprint();
+        try {
+            if (Files.exists(regionsPath) && !(Files.isRegularFile(fingerprintPath)
+                && fingerprint.equals(new String(Files.readAllBytes(fingerprintPath), StandardCharsets.UTF_8)))) {
+                log.info("Clearing the persistent cache regions of {}, as their entities changed", diskPath);
+                FileSystemUtils.deleteRecursively(regionsPath);
+            }
+            Files.createDirectories(regionsPath);
+            Files.write(fingerprintPath, fingerprint.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not prepare the cache disk tier in " + diskPath, e);
+        }
+        return regionsPath;
+    }
+
+    private String getPersistentRegionsFingerprint() {
+        Set<String> fields = new TreeSet<>();
+        cache.getRegions().forEach((region, configuration) -> {
+            if (configuration.isPersistent()) {
+                fields.add(region);
+                Class<?> entityClass = getEntityClass(region);
+                for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+                    for (Field field : type.getDeclaredFields()) {
+                        if (!Modifier.isStatic(field.getModifiers())) {
+                            fields.add(type.getName() + "." + field.getName() + ":" + field.getGenericType().getTypeName());
+                        }
+                    }
+                }
+            }
+        });
+        return DigestUtils.md5DigestAsHex(String.join("\n", fields).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Get the entity of an entity region, such as {@code com.tothapplication.domain.CCP}, or of a collection region,
+     * such as {@code com.tothapplication.domain.CCP.documents}.
+     */
+    private Class<?> getEntityClass(String region) {
+        for (String name = region; name.lastIndexOf('.') > 0; name = name.substring(0, name.lastIndexOf('.'))) {
+            try {
+                return Class.forName(name);
+            } catch (ClassNotFoundException e) {
+                // Not a class, but maybe the owner of a collection
+            }
+        }
+        return null;
     }
 
     @Bean
-    public JCacheManagerCustomizer cacheManagerCustomizer() {
-        return cm -> {
-            createCache(cm, com.tothapplication.repository.UserRepository.USERS_BY_LOGIN_CACHE);
-            createCache(cm, com.tothapplication.repository.UserRepository.USERS_BY_EMAIL_CACHE);
-            createCache(cm, com.tothapplication.domain.User.class.getName());
-            createCache(cm, com.tothapplication.domain.Authority.class.getName());
-            createCache(cm, com.tothapplication.domain.User.class.getName() + ".authorities");
-            createCache(cm, com.tothapplication.domain.Document.class.getName());
-            createCache(cm, com.tothapplication.domain.CCP.class.getName());
-            createCache(cm, com.tothapplication.domain.CCP.class.getName() + ".documents");
-            createCache(cm, com.tothapplication.domain.Studient.class.getName());
-            createCache(cm, com.tothapplication.domain.Trainer.class.getName());
-            createCache(cm, com.tothapplication.domain.Trainer.class.getName() + ".interventions");
-            createCache(cm, com.tothapplication.domain.Formation.class.getName());
-            createCache(cm, com.tothapplication.domain.Formation.class.getName() + ".sessions");
-            createCache(cm, com.tothapplication.domain.Formation.class.getName() + ".ccps");
-            createCache(cm, com.tothapplication.domain.Intervention.class.getName());
-            createCache(cm, com.tothapplication.domain.FormationSession.class.getName());
-            createCache(cm, com.tothapplication.domain.FormationSession.class.getName() + ".evaluations");
-            createCache(cm, com.tothapplication.domain.FormationSession.class.getName() + ".studients");
-            createCache(cm, com.tothapplication.domain.FormationSession.class.getName() + ".documents");
-            createCache(cm, com.tothapplication.domain.FormationSession.class.getName() + ".interventions");
-            createCache(cm, com.tothapplication.domain.Evaluation.class.getName());
-            // jhipster-needle-ehcache-add-entry
+    public HibernatePropertiesCustomizer hibernatePropertiesCustomizer(javax.cache.CacheManager cacheManager,
+                                                                       ObjectProvider<CacheInvalidationBus> cacheInvalidationBus) {
+        return hibernateProperties -> {
+            hibernateProperties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            cacheInvalidationBus.ifAvailable(bus ->
+                hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, new InvalidatingJCacheRegionFactory(bus)));
         };
     }
 
-    private void createCache(javax.cache.CacheManager cm, String cacheName) {
+    @Bean
+    public CacheRegionStatistics cacheRegionStatistics(javax.cache.CacheManager cacheManager) {
+        return new CacheRegionStatistics(cacheManager);
+    }
+
+    @Bean
+    public CacheRegionMetrics cacheRegionMetrics(javax.cache.CacheManager cacheManager, CacheRegionStatistics cacheRegionStatistics) {
+        return new CacheRegionMetrics(cacheManager, cacheRegionStatistics, "cacheManager");
+    }
+
+    private void createCaches(javax.cache.CacheManager cm, Set<String> cacheNames) {
+        createCache(cm, cacheNames, com.tothapplication.repository.UserRepository.USERS_BY_LOGIN_CACHE);
+        createCache(cm, cacheNames, com.tothapplication.repository.UserRepository.USERS_BY_EMAIL_CACHE);
+        createCache(cm, cacheNames, com.tothapplication.domain.User.class.getName());
+        createCache(cm, cacheNames, com.tothapplication.domain.Authority.class.getName());
+        createCache(cm, cacheNames, com.tothapplication.domain.User.class.getName() + ".authorities");
+        createCache(cm, cacheNames, com.tothapplication.domain.Document.class.getName());
+        createCache(cm, cacheNames, com.tothapplication.domain.CCP.class.getName());
+        createCache(cm, cacheNames, com.tothapplication.domain.CCP.class.getName() + ".documents");
+        createCache(cm, cacheNames, com.tothapplication.domain.Studient.class.getName());
+        createCache(cm, cacheNames, com.tothapplication.domain.Trainer.class.getName());
+        createCache(cm, cacheNames, com.tothapplication.domain.Trainer.class.getName() + ".interventions");
+        createCache(cm, cacheNames, com.tothapplication.domain.Formation.class.getName());
+        createCache(cm, cacheNames, com.tothapplication.domain.Formation.class.getName() + ".sessions");
+        createCache(cm, cacheNames, com.tothapplication.domain.Formation.class.getName() + ".ccps");
+        createCache(cm, cacheNames, com.tothapplication.domain.Intervention.class.getName());
+        createCache(cm, cacheNames, com.tothapplication.domain.FormationSession.class.getName());
+        createCache(cm, cacheNames, com.tothapplication.domain.FormationSession.class.getName() + ".evaluations");
+        createCache(cm, cacheNames, com.tothapplication.domain.FormationSession.class.getName() + ".studients");
+        createCache(cm, cacheNames, com.tothapplication.domain.FormationSession.class.getName() + ".documents");
+        createCache(cm, cacheNames, com.tothapplication.domain.FormationSession.class.getName() + ".interventions");
+        createCache(cm, cacheNames, com.tothapplication.domain.Evaluation.class.getName());
+        createQueryCaches(cm, cacheNames);
+        // jhipster-needle-ehcache-add-entry
+    }
+
+    /**
+     * Create the regions of the query cache, used when {@code hibernate.cache.use_query_cache} is enabled by the queries
+     * opting in with the {@code org.hibernate.cacheable} hint.
+     */
+    private void createQueryCaches(javax.cache.CacheManager cm, Set<String> cacheNames) {
+        createCache(cm, cacheNames, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME);
+        for (String cacheName : QUERY_CACHES) {
+            createCache(cm, cacheNames, cacheName);
+        }
+    }
+
+    private void createCache(javax.cache.CacheManager cm, Set<String> cacheNames, String cacheName) {
         javax.cache.Cache<Object, Object> cache = cm.getCache(cacheName);
         if (cache != null) {
             cm.destroyCache(cacheName);
         }
-        cm.createCache(cacheName, jcacheConfiguration);
+        cm.createCache(cacheName, regionConfiguration(cacheName));
+        // Hits, misses, puts, removals and evictions, published by Spring Boot as cache.* metrics
+        cm.enableStatistics(cacheName, true);
+        cacheNames.add(cacheName);
+    }
+
+    private javax.cache.configuration.Configuration<Object, Object> regionConfiguration(String cacheName) {
+        ApplicationProperties.Region region = cache.getRegions().getOrDefault(cacheName, new ApplicationProperties.Region());
+        ResourcePoolsBuilder resourcePools = region.getHeap() != null
+            ? ResourcePoolsBuilder.newResourcePoolsBuilder().heap(region.getHeap().toBytes(), MemoryUnit.B)
+            : ResourcePoolsBuilder.newResourcePoolsBuilder().heap(
+                region.getMaxEntries() != null ? region.getMaxEntries() : ehcache.getMaxEntries(), EntryUnit.ENTRIES);
+        if (region.getOffHeap() != null) {
+            resourcePools = resourcePools.offheap(region.getOffHeap().toBytes(), MemoryUnit.B);
+        }
+        if (region.getDisk() != null) {
+            resourcePools = resourcePools.disk(region.getDisk().toBytes(), MemoryUnit.B, region.isPersistent());
+        }
+        ExpiryPolicy<Object, Object> expiry;
+        if (region.getTimeToLiveSeconds() != null) {
+            expiry = ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(region.getTimeToLiveSeconds()));
+        } else if (RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME.equals(cacheName)) {
+            // A query result is only known to be stale while the last update of its tables is kept
+            expiry = ExpiryPolicyBuilder.noExpiration();
+        } else {
+            expiry = ExpiryPolicyBuilder.timeToLiveExpiration(Duration.ofSeconds(ehcache.getTimeToLiveSeconds()));
+        }
+        return Eh107Configuration.fromEhcacheCacheConfiguration(
+            CacheConfigurationBuilder.newCacheConfigurationBuilder(Object.class, Object.class, resourcePools)
+                .withExpiry(expiry)
+                .build());
     }
 }
@@ -0,0 +1,56 @@
+package com.tothapplication.config;
+
+import com.tothapplication.config.cache.CacheInvalidationBus;
+import com.tothapplication.config.cache.CacheInvalidationTransport;
+import com.tothapplication.config.cache.JdbcCacheInvalidationTransport;
+import com.tothapplication.config.cache.LoopbackCacheInvalidationTransport;
+import com.tothapplication.repository.UserRepository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+
+/**
+ * Broadcast of the evictions of the second-level cache and of the user caches to the other instances, enabled by
+ * {@code application.cache.invalidation.transport}.
+ *
+ * @see CacheConfiguration for the registration of the Hibernate region factory broadcasting the evictions.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.cache.invalidation", name = "transport")
+public class CacheInvalidationConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationConfiguration.class);
+
+    private final ApplicationProperties.Invalidation invalidation;
+
+    public CacheInvalidationConfiguration(ApplicationProperties applicationProperties) {
+        this.invalidation = applicationProperties.getCache().getInvalidation();
+    }
+
+    @Bean
+    public CacheInvalidationTransport cacheInvalidationTransport(DataSource dataSource) {
+        log.info("Broadcasting the cache evictions through the {} transport", invalidation.getTransport());
+        switch (invalidation.getTransport()) {
+            case "jdbc":
+                return new JdbcCacheInvalidationTransport(dataSource, invalidation.getPollIntervalMs(), invalidation.getRetentionSeconds());
+            case "loopback":
+                return new LoopbackCacheInvalidationTransport(invalidation.getChannel());
+            default:
+                throw new IllegalStateException("Unknown cache invalidation transport: " + invalidation.getTransport());
+        }
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public CacheInvalidationBus cacheInvalidationBus(javax.cache.CacheManager cacheManager, CacheInvalidationTransport cacheInvalidationTransport) {
+        CacheInvalidationBus cacheInvalidationBus = new CacheInvalidationBus(cacheManager, cacheInvalidationTransport,
+            invalidation.getBatchWindowMs(), invalidation.getMaxBatchSize());
+        cacheInvalidationBus.broadcastRemovals(Arrays.asList(UserRepository.USERS_BY_LOGIN_CACHE, UserRepository.USERS_BY_EMAIL_CACHE));
+        return cacheInvalidationBus;
+    }
+}
@@ -0,0 +1,31 @@
+package com.tothapplication.config;
+
+import com.tothapplication.service.CacheWarmUpService;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.stereotype.Component;
+
+/**
+ * Health indicator reporting the application out of service until its second-level cache is warmed up, so that a
+ * load balancer only sends it traffic once the cache can absorb it.
+ */
+@Component
+public class CacheWarmUpHealthIndicator extends AbstractHealthIndicator {
+
+    private final CacheWarmUpService cacheWarmUpService;
+
+    public CacheWarmUpHealthIndicator(CacheWarmUpService cacheWarmUpService) {
+        super("Cache warm-up health check failed");
+        this.cacheWarmUpService = cacheWarmUpService;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (cacheWarmUpService.isWarmedUp()) {
+            builder.up();
+        } else {
+            builder.outOfService().withDetail("reason", "Second-level cache warm-up in progress");
+        }
+    }
+}
@@ -2,17 +2,164 @@ package com.tothapplication.config;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Properties of the document file store.
+ * <p>
+ * Properties are configured under the {@code file} key of the {@code application.yml} file.
+ */
 @ConfigurationProperties(prefix = "file", ignoreUnknownFields = false)
 public class FileStorageProperties {
 
     private String uploadDir;
 
+    private final Storage storage = new Storage();
+
+    private final Ingest ingest = new Ingest();
+
+    private final Thumbnail thumbnail = new Thumbnail();
+
     public String getUploadDir() {
-        System.err.println("Upload Directory : " + uploadDir);
         return uploadDir;
     }
 
     public void setUploadDir(String uploadDir) {
         this.uploadDir = uploadDir;
     }
+
+    public Storage getStorage() {
+        return storage;
+    }
+
+    public Ingest getIngest() {
+        return ingest;
+    }
+
+    public Thumbnail getThumbnail() {
+        return thumbnail;
+    }
+
+    public static class Storage {
+
+        /**
+         * Number of directory levels between the upload directory and a stored file.
+         */
+        private int shardDepth = 2;
+
+        /**
+         * Number of digest characters used to name each directory level.
+         */
+        private int shardWidth = 2;
+
+        private final Fsync fsync = new Fsync();
+
+        public int getShardDepth() {
+            return shardDepth;
+        }
+
+        public void setShardDepth(int shardDepth) {
+            this.shardDepth = shardDepth;
+        }
+
+        public int getShardWidth() {
+            return shardWidth;
+        }
+
+        public void setShardWidth(int shardWidth) {
+            this.shardWidth = shardWidth;
+        }
+
+        public Fsync getFsync() {
+            return fsync;
+        }
+    }
+
+    public static class Fsync {
+
+        /**
+         * Whether stored files and their directories are flushed to disk before an upload completes.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Maximum number of files flushed together by the background writer.
+         */
+        private int batchSize = 64;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getBatchSize() {
+            return batchSize;
+        }
+
+        public void setBatchSize(int batchSize) {
+            this.batchSize = batchSize;
+        }
+    }
+
+    public static class Ingest {
+
+        /**
+         * Number of files of a bulk upload stored in parallel.
+         */
+        private int poolSize = 4;
+
+        /**
+         * Number of files waiting to be stored before the uploading thread stores them itself.
+         */
+        private int queueCapacity = 100;
+
+        public int getPoolSize() {
+            return poolSize;
+        }
+
+        public void setPoolSize(int poolSize) {
+            this.poolSize = poolSize;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public void setQueueCapacity(int queueCapacity) {
+            this.queueCapacity = queueCapacity;
+        }
+    }
+
+    public static class Thumbnail {
+
+        /**
+         * Sizes, in pixels, of the thumbnails that can be requested.
+         */
+        private List<Integer> sizes = Arrays.asList(64, 256);
+
+        /**
+         * Maximum number of thumbnails kept in memory.
+         */
+        private int cacheSize = 512;
+
+        public List<Integer> getSizes() {
+            return sizes;
+        }
+
+        public void setSizes(List<Integer> sizes) {
+            this.sizes = sizes;
+        }
+
+        public int getCacheSize() {
+            return cacheSize;
+        }
+
+        public void setCacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+        }
+    }
 }
@@ -0,0 +1,28 @@
+package com.tothapplication.config;
+
+import com.tothapplication.security.PrioritizedPasswordEncoder;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Configures the password encoder, hashing the passwords on its own bounded pool of threads.
+ * <p>
+ * Kept out of {@link SecurityConfiguration}: the encoder publishes metrics, and the meter registry is created before
+ * the web security.
+ */
+@Configuration
+public class PasswordHashingConfiguration {
+
+    private final ApplicationProperties applicationProperties;
+
+    public PasswordHashingConfiguration(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Bean
+    public PrioritizedPasswordEncoder passwordEncoder() {
+        return new PrioritizedPasswordEncoder(new BCryptPasswordEncoder(), applicationProperties.getPasswordHashing());
+    }
+}
@@ -0,0 +1,58 @@
+package com.tothapplication.config;
+
+import com.tothapplication.config.statistics.RequestStatisticsEventListener;
+import com.tothapplication.config.statistics.RequestStatisticsInterceptor;
+import com.tothapplication.config.statistics.RequestStatisticsSessionListener;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Collections;
+
+/**
+ * Opt-in counting of the Hibernate work of each REST request, enabled by {@code application.query-statistics.enabled}.
+ * <p>
+ * The counts are gathered by Hibernate listeners rather than by {@code hibernate.generate_statistics}, whose global
+ * statistics cannot be split by request.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "application.query-statistics", name = "enabled", havingValue = "true")
+public class QueryStatisticsConfiguration implements WebMvcConfigurer {
+
+    private final Logger log = LoggerFactory.getLogger(QueryStatisticsConfiguration.class);
+
+    private final ApplicationProperties applicationProperties;
+
+    private final MeterRegistry meterRegistry;
+
+    public QueryStatisticsConfiguration(ApplicationProperties applicationProperties, MeterRegistry meterRegistry) {
+        this.applicationProperties = applicationProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatisticsHibernatePropertiesCustomizer() {
+        log.info("Counting the SQL statements of each REST request, with a budget of {}",
+            applicationProperties.getQueryStatistics().getStatementBudget());
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, RequestStatisticsSessionListener.class.getName());
+            hibernateProperties.put("hibernate.integrator_provider",
+                (IntegratorProvider) () -> Collections.singletonList(new RequestStatisticsEventListener()));
+        };
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new RequestStatisticsInterceptor(meterRegistry,
+            applicationProperties.getQueryStatistics().getStatementBudget()));
+    }
+}
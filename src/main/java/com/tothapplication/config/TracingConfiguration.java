@@ -0,0 +1,73 @@
+package com.tothapplication.config;
+
+import com.tothapplication.aop.tracing.TracingAspect;
+import com.tothapplication.config.tracing.SlowestTraces;
+import com.tothapplication.config.tracing.TracingDataSource;
+import com.tothapplication.config.tracing.TracingFilter;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+
+import javax.sql.DataSource;
+
+/**
+ * Opt-in tracing of the REST requests, enabled by {@code application.tracing.enabled}.
+ * <p>
+ * Each request gets a span per REST controller, service and repository call and per JDBC statement. The JDBC spans
+ * come from a wrapper of the data source, as the Hibernate session listener is taken by the query statistics.
+ */
+@Configuration
+@EnableAspectJAutoProxy
+@ConditionalOnProperty(prefix = "application.tracing", name = "enabled", havingValue = "true")
+public class TracingConfiguration {
+
+    private final Logger log = LoggerFactory.getLogger(TracingConfiguration.class);
+
+    private final ApplicationProperties applicationProperties;
+
+    public TracingConfiguration(ApplicationProperties applicationProperties) {
+        this.applicationProperties = applicationProperties;
+    }
+
+    @Bean
+    public SlowestTraces slowestTraces() {
+        return new SlowestTraces(applicationProperties.getTracing().getSlowestTraces());
+    }
+
+    @Bean
+    public TracingAspect tracingAspect() {
+        return new TracingAspect();
+    }
+
+    @Bean
+    public FilterRegistrationBean<TracingFilter> tracingFilter(SlowestTraces slowestTraces) {
+        log.info("Tracing the REST requests, keeping the {} slowest", applicationProperties.getTracing().getSlowestTraces());
+        FilterRegistrationBean<TracingFilter> registration = new FilterRegistrationBean<>(
+            new TracingFilter(slowestTraces, applicationProperties.getTracing().getMaxSpans()));
+        registration.addUrlPatterns("/api/*");
+        // Before the security filters, so that their time is part of the trace
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public static BeanPostProcessor tracingDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource && !(bean instanceof TracingDataSource)) {
+                    return new TracingDataSource((DataSource) bean);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,92 @@
+package com.tothapplication.config.cache;
+
+import java.util.Objects;
+
+/**
+ * Eviction of a key, or of all the keys, of a cache region, broadcast to the other instances.
+ * <p>
+ * The update timestamp of a table, read by Hibernate to invalidate the query results, is broadcast as the new value
+ * of its key instead of an eviction.
+ */
+public final class CacheInvalidation {
+
+    private final String region;
+
+    private final Object key;
+
+    private final Long timestamp;
+
+    private CacheInvalidation(String region, Object key, Long timestamp) {
+        this.region = region;
+        this.key = key;
+        this.timestamp = timestamp;
+    }
+
+    public static CacheInvalidation of(String region, Object key) {
+        return new CacheInvalidation(region, Objects.requireNonNull(key), null);
+    }
+
+    public static CacheInvalidation all(String region) {
+        return new CacheInvalidation(region, null, null);
+    }
+
+    public static CacheInvalidation timestamp(String region, Object key, long timestamp) {
+        return new CacheInvalidation(region, Objects.requireNonNull(key), timestamp);
+    }
+
+    public String getRegion() {
+        return region;
+    }
+
+    /**
+     * Get the evicted key.
+     *
+     * @return the key, or {@code null} if all the keys are evicted.
+     */
+    public Object getKey() {
+        return key;
+    }
+
+    public boolean isAll() {
+        return key == null;
+    }
+
+    /**
+     * Get the update timestamp of the key.
+     *
+     * @return the timestamp, or {@code null} if the key is evicted.
+     */
+    public Long getTimestamp() {
+        return timestamp;
+    }
+
+    public boolean isTimestamp() {
+        return timestamp != null;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof CacheInvalidation)) {
+            return false;
+        }
+        CacheInvalidation that = (CacheInvalidation) o;
+        return region.equals(that.region) && Objects.equals(key, that.key) && Objects.equals(timestamp, that.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(region, key, timestamp);
+    }
+
+    @Override
+    public String toString() {
+        return "CacheInvalidation{" +
+            "region='" + region + "'" +
+            ", key=" + (key == null ? "*" : key) +
+            (timestamp == null ? "" : ", timestamp=" + timestamp) +
+            "}";
+    }
+}
@@ -0,0 +1,241 @@
+package com.tothapplication.config.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.configuration.FactoryBuilder;
+import javax.cache.configuration.MutableCacheEntryListenerConfiguration;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryRemovedListener;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bus broadcasting the evictions of the node-local caches to the other instances of the application, which evict
+ * the same keys from their own caches.
+ * <p>
+ * Evictions are gathered during a short window, duplicates and keys of a region being cleared are dropped, then they
+ * are sent together in a single message. Evictions applied on behalf of another instance are not broadcast again.
+ * <p>
+ * An update timestamp only replaces an older one, so that the timestamps received from several instances, in any
+ * order, leave the latest.
+ * <p>
+ * The Hibernate regions report their evictions through {@link InvalidatingJCacheRegionFactory}, the Spring caches
+ * given to {@link #broadcastRemovals(Collection)} through a cache entry listener.
+ */
+public class CacheInvalidationBus {
+
+    private static final ThreadLocal<Boolean> APPLYING = new ThreadLocal<>();
+
+    private final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final CacheManager cacheManager;
+
+    private final CacheInvalidationTransport transport;
+
+    private final long batchWindowMs;
+
+    private final int maxBatchSize;
+
+    private final Set<CacheInvalidation> pending = new LinkedHashSet<>();
+
+    private boolean flushScheduled;
+
+    private ScheduledExecutorService executor;
+
+    public CacheInvalidationBus(CacheManager cacheManager, CacheInvalidationTransport transport, long batchWindowMs, int maxBatchSize) {
+        this.cacheManager = cacheManager;
+        this.transport = transport;
+        this.batchWindowMs = batchWindowMs;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    public void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("cache-invalidation-"));
+        transport.start(this::receive);
+    }
+
+    /**
+     * Stop the bus, once the pending evictions are sent.
+     */
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        flush();
+        transport.stop();
+    }
+
+    /**
+     * Broadcast the removals of the keys of the given caches, made through the cache manager rather than Hibernate.
+     *
+     * @param cacheNames the names of the caches.
+     */
+    public void broadcastRemovals(Collection<String> cacheNames) {
+        for (String cacheName : cacheNames) {
+            Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.registerCacheEntryListener(new MutableCacheEntryListenerConfiguration<>(
+                    new FactoryBuilder.SingletonFactory<>(new RemovedListener(this, cacheName)), null, false, true));
+            }
+        }
+    }
+
+    /**
+     * Broadcast the eviction of a key.
+     *
+     * @param region the name of the cache region.
+     * @param key the evicted key.
+     */
+    public void evict(String region, Object key) {
+        if (APPLYING.get() == null) {
+            add(CacheInvalidation.of(region, key));
+        }
+    }
+
+    /**
+     * Broadcast the eviction of all the keys of a region.
+     *
+     * @param region the name of the cache region.
+     */
+    public void evictAll(String region) {
+        if (APPLYING.get() == null) {
+            add(CacheInvalidation.all(region));
+        }
+    }
+
+    /**
+     * Broadcast the update timestamp of a key, the latest timestamp pending for the key replacing the others.
+     *
+     * @param region the name of the cache region.
+     * @param key the updated key.
+     * @param timestamp the update timestamp.
+     */
+    public void updateTimestamp(String region, Object key, long timestamp) {
+        if (APPLYING.get() == null) {
+            add(CacheInvalidation.timestamp(region, key, timestamp));
+        }
+    }
+
+    private void add(CacheInvalidation invalidation) {
+        boolean flushNow;
+        boolean scheduleFlush;
+        synchronized (pending) {
+            if (pending.contains(CacheInvalidation.all(invalidation.getRegion()))) {
+                return;
+            }
+            if (invalidation.isAll()) {
+                pending.removeIf(other -> other.getRegion().equals(invalidation.getRegion()));
+            } else if (invalidation.isTimestamp()) {
+                pending.removeIf(other -> other.isTimestamp() && other.getRegion().equals(invalidation.getRegion())
+                    && other.getKey().equals(invalidation.getKey()));
+            }
+            pending.add(invalidation);
+            flushNow = pending.size() >= maxBatchSize;
+            scheduleFlush = !flushScheduled;
+            flushScheduled = true;
+        }
+        if (executor == null || executor.isShutdown()) {
+            flush();
+        } else if (flushNow) {
+            executor.execute(this::flush);
+        } else if (scheduleFlush) {
+            executor.schedule(this::flush, batchWindowMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Send the pending evictions, in messages of at most the maximum batch size.
+     */
+    void flush() {
+        List<CacheInvalidation> invalidations;
+        synchronized (pending) {
+            invalidations = new ArrayList<>(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+        for (int start = 0; start < invalidations.size(); start += maxBatchSize) {
+            List<CacheInvalidation> batch = invalidations.subList(start, Math.min(start + maxBatchSize, invalidations.size()));
+            try {
+                transport.send(nodeId, new ArrayList<>(batch));
+                log.debug("Broadcast {} cache evictions", batch.size());
+            } catch (RuntimeException e) {
+                // The other instances keep their entries until they expire
+                log.warn("Could not broadcast {} cache evictions: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    private void receive(String senderNodeId, List<CacheInvalidation> invalidations) {
+        if (nodeId.equals(senderNodeId)) {
+            return;
+        }
+        log.debug("Applying {} cache evictions of instance {}", invalidations.size(), senderNodeId);
+        APPLYING.set(Boolean.TRUE);
+        try {
+            for (CacheInvalidation invalidation : invalidations) {
+                Cache<Object, Object> cache = cacheManager.getCache(invalidation.getRegion());
+                if (cache == null) {
+                    continue;
+                }
+                if (invalidation.isAll()) {
+                    cache.clear();
+                } else if (invalidation.isTimestamp()) {
+                    advanceTimestamp(cache, invalidation.getKey(), invalidation.getTimestamp());
+                } else {
+                    cache.remove(invalidation.getKey());
+                }
+            }
+        } finally {
+            APPLYING.remove();
+        }
+    }
+
+    private static void advanceTimestamp(Cache<Object, Object> cache, Object key, Long timestamp) {
+        Object current = cache.get(key);
+        while (current == null ? !cache.putIfAbsent(key, timestamp)
+            : current instanceof Long && (Long) current < timestamp && !cache.replace(key, current, timestamp)) {
+            current = cache.get(key);
+        }
+    }
+
+    private static class RemovedListener implements CacheEntryRemovedListener<Object, Object> {
+
+        private final CacheInvalidationBus bus;
+
+        private final String cacheName;
+
+        RemovedListener(CacheInvalidationBus bus, String cacheName) {
+            this.bus = bus;
+            this.cacheName = cacheName;
+        }
+
+        @Override
+        public void onRemoved(Iterable<CacheEntryEvent<? extends Object, ? extends Object>> events) {
+            for (CacheEntryEvent<?, ?> event : events) {
+                bus.evict(cacheName, event.getKey());
+            }
+        }
+    }
+}
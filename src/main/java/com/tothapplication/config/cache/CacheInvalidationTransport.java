@@ -0,0 +1,32 @@
+package com.tothapplication.config.cache;
+
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Transport of the cache evictions between the instances of the application.
+ * <p>
+ * A message is delivered to every started instance, including its sender, which ignores it.
+ */
+public interface CacheInvalidationTransport {
+
+    /**
+     * Start receiving the messages.
+     *
+     * @param receiver the receiver of the id of the sending instance and of the evictions of each message.
+     */
+    void start(BiConsumer<String, List<CacheInvalidation>> receiver);
+
+    /**
+     * Send a message.
+     *
+     * @param nodeId the id of the sending instance.
+     * @param invalidations the evictions.
+     */
+    void send(String nodeId, List<CacheInvalidation> invalidations);
+
+    /**
+     * Stop receiving the messages.
+     */
+    void stop();
+}
@@ -0,0 +1,64 @@
+package com.tothapplication.config.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.TierStatistics;
+
+import javax.cache.CacheManager;
+
+/**
+ * Metrics of the size and expirations of each cache region, completing the {@code cache.gets}, {@code cache.puts},
+ * {@code cache.removals} and {@code cache.evictions} metrics bound by Spring Boot from the JCache statistics:
+ * <ul>
+ * <li>{@code cache.size}: the number of entries of the region.</li>
+ * <li>{@code cache.tier.size}: the number of entries of each tier of the region, tagged by {@code tier}.</li>
+ * <li>{@code cache.expirations}: the number of entries expired.</li>
+ * </ul>
+ */
+public class CacheRegionMetrics implements MeterBinder {
+
+    private final CacheManager cacheManager;
+
+    private final CacheRegionStatistics cacheRegionStatistics;
+
+    private final String cacheManagerName;
+
+    /**
+     * @param cacheManager the cache manager of the regions.
+     * @param cacheRegionStatistics the statistics of the regions.
+     * @param cacheManagerName the name of the Spring cache manager, tagging the metrics like Spring Boot does.
+     */
+    public CacheRegionMetrics(CacheManager cacheManager, CacheRegionStatistics cacheRegionStatistics, String cacheManagerName) {
+        this.cacheManager = cacheManager;
+        this.cacheRegionStatistics = cacheRegionStatistics;
+        this.cacheManagerName = cacheManagerName;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        for (String region : cacheManager.getCacheNames()) {
+            cacheRegionStatistics.getStatistics(region).ifPresent(statistics -> bindTo(registry, region, statistics));
+        }
+    }
+
+    private void bindTo(MeterRegistry registry, String region, CacheStatistics statistics) {
+        Tags tags = Tags.of("cache", region, "cacheManager", cacheManagerName);
+        Gauge.builder("cache.size", statistics, CacheRegionStatistics::getSize)
+            .tags(tags)
+            .description("The number of entries in the cache")
+            .register(registry);
+        statistics.getTierStatistics().forEach((tier, tierStatistics) ->
+            Gauge.builder("cache.tier.size", tierStatistics, TierStatistics::getMappings)
+                .tags(tags.and("tier", tier))
+                .description("The number of entries in a tier of the cache")
+                .register(registry));
+        FunctionCounter.builder("cache.expirations", statistics, CacheStatistics::getCacheExpirations)
+            .tags(tags)
+            .description("The number of entries expired from the cache")
+            .register(registry);
+    }
+}
@@ -0,0 +1,80 @@
+package com.tothapplication.config.cache;
+
+import org.ehcache.core.statistics.CacheStatistics;
+import org.ehcache.core.statistics.TierStatistics;
+import org.ehcache.impl.internal.statistics.DefaultStatisticsService;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Ehcache statistics of the regions of a JCache cache manager, including their expirations and the number of entries
+ * of each of their tiers, which the JCache statistics do not report.
+ */
+public class CacheRegionStatistics {
+
+    /**
+     * Tiers of a region, from the caching tier to the authoritative tier holding all its entries.
+     */
+    private static final List<String> TIERS = Arrays.asList("OnHeap", "OffHeap", "Disk");
+
+    private final CacheManager cacheManager;
+
+    private final DefaultStatisticsService statisticsService = new DefaultStatisticsService();
+
+    public CacheRegionStatistics(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Get the statistics of a region.
+     *
+     * @param region the name of the region.
+     * @return the statistics of the region, or an empty {@link Optional} if the region does not exist.
+     */
+    public Optional<CacheStatistics> getStatistics(String region) {
+        Cache<Object, Object> cache = cacheManager.getCache(region);
+        if (cache == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(statisticsService.getCacheStatistics(region));
+        } catch (IllegalArgumentException e) {
+            // First statistics of this region
+            statisticsService.cacheAdded(region, cache.unwrap(org.ehcache.Cache.class));
+            return Optional.of(statisticsService.getCacheStatistics(region));
+        }
+    }
+
+    /**
+     * Get the number of entries of each tier of a region.
+     *
+     * @param statistics the statistics of the region.
+     * @return the number of entries by tier name, from the caching tier to the authoritative tier.
+     */
+    public static Map<String, Long> getTierSizes(CacheStatistics statistics) {
+        Map<String, Long> tierSizes = new LinkedHashMap<>();
+        for (String tier : TIERS) {
+            TierStatistics tierStatistics = statistics.getTierStatistics().get(tier);
+            if (tierStatistics != null) {
+                tierSizes.put(tier, tierStatistics.getMappings());
+            }
+        }
+        return tierSizes;
+    }
+
+    /**
+     * Get the number of entries of a region, held by its authoritative tier.
+     *
+     * @param statistics the statistics of the region.
+     * @return the number of entries.
+     */
+    public static long getSize(CacheStatistics statistics) {
+        return getTierSizes(statistics).values().stream().reduce((cachingTier, authoritativeTier) -> authoritativeTier).orElse(0L);
+    }
+}
@@ -0,0 +1,170 @@
+package com.tothapplication.config.cache;
+
+import org.hibernate.cache.cfg.spi.DomainDataRegionBuildingContext;
+import org.hibernate.cache.cfg.spi.DomainDataRegionConfig;
+import org.hibernate.cache.internal.SimpleCacheKeysFactory;
+import org.hibernate.cache.jcache.internal.JCacheAccessImpl;
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+import org.hibernate.cache.spi.support.DomainDataStorageAccess;
+import org.hibernate.cache.spi.support.StorageAccess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Hibernate JCache region factory broadcasting the evictions of the entity and collection regions through the
+ * {@link CacheInvalidationBus}.
+ * <p>
+ * With the {@code NONSTRICT_READ_WRITE} strategy, an entity or a collection is evicted when it is updated or deleted,
+ * and a whole region when it is the target of a bulk update, so that broadcasting the evictions is enough for the
+ * other instances to read it again from the database.
+ * <p>
+ * The update timestamps invalidating the cached query results are local to each instance, so the timestamp of a
+ * table written after the commit of its update is broadcast, the other instances checking their query results of that
+ * table against it. The timestamp written before the commit, in the future, is not: the other instances would not
+ * use their query results of that table until it expires.
+ * <p>
+ * The keys of the entities and collections are their ids, rather than Hibernate objects, so that the evictions are
+ * sent as plain values.
+ */
+public class InvalidatingJCacheRegionFactory extends JCacheRegionFactory {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public InvalidatingJCacheRegionFactory(CacheInvalidationBus cacheInvalidationBus) {
+        super(SimpleCacheKeysFactory.INSTANCE);
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Override
+    protected DomainDataStorageAccess createDomainDataStorageAccess(DomainDataRegionConfig regionConfig,
+                                                                    DomainDataRegionBuildingContext buildingContext) {
+        JCacheAccessImpl storageAccess = (JCacheAccessImpl) super.createDomainDataStorageAccess(regionConfig, buildingContext);
+        return new InvalidatingStorageAccess(storageAccess, storageAccess.getUnderlyingCache().getName(), cacheInvalidationBus);
+    }
+
+    @Override
+    protected StorageAccess createTimestampsRegionStorageAccess(String regionName, SessionFactoryImplementor sessionFactory) {
+        JCacheAccessImpl storageAccess = (JCacheAccessImpl) super.createTimestampsRegionStorageAccess(regionName, sessionFactory);
+        return new InvalidatingTimestampsAccess(storageAccess, storageAccess.getUnderlyingCache().getName(),
+            this::nextTimestamp, cacheInvalidationBus);
+    }
+
+    static class InvalidatingTimestampsAccess implements StorageAccess {
+
+        private final StorageAccess delegate;
+
+        private final String region;
+
+        private final LongSupplier nextTimestamp;
+
+        private final CacheInvalidationBus cacheInvalidationBus;
+
+        InvalidatingTimestampsAccess(StorageAccess delegate, String region, LongSupplier nextTimestamp,
+                                     CacheInvalidationBus cacheInvalidationBus) {
+            this.delegate = delegate;
+            this.region = region;
+            this.nextTimestamp = nextTimestamp;
+            this.cacheInvalidationBus = cacheInvalidationBus;
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return delegate.getFromCache(key, session);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            delegate.putIntoCache(key, value, session);
+            // Called before the commit of the update with a timestamp in the future, then after it
+            if (value instanceof Long && (Long) value <= nextTimestamp.getAsLong()) {
+                cacheInvalidationBus.updateTimestamp(region, key, (Long) value);
+            }
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return delegate.contains(key);
+        }
+
+        @Override
+        public void evictData() {
+            delegate.evictData();
+        }
+
+        @Override
+        public void evictData(Object key) {
+            delegate.evictData(key);
+        }
+
+        @Override
+        public void release() {
+            delegate.release();
+        }
+    }
+
+    static class InvalidatingStorageAccess implements DomainDataStorageAccess {
+
+        private final DomainDataStorageAccess delegate;
+
+        private final String region;
+
+        private final CacheInvalidationBus cacheInvalidationBus;
+
+        InvalidatingStorageAccess(DomainDataStorageAccess delegate, String region, CacheInvalidationBus cacheInvalidationBus) {
+            this.delegate = delegate;
+            this.region = region;
+            this.cacheInvalidationBus = cacheInvalidationBus;
+        }
+
+        @Override
+        public void putFromLoad(Object key, Object value, SharedSessionContractImplementor session) {
+            delegate.putFromLoad(key, value, session);
+        }
+
+        @Override
+        public Object getFromCache(Object key, SharedSessionContractImplementor session) {
+            return delegate.getFromCache(key, session);
+        }
+
+        @Override
+        public void putIntoCache(Object key, Object value, SharedSessionContractImplementor session) {
+            delegate.putIntoCache(key, value, session);
+        }
+
+        @Override
+        public void removeFromCache(Object key, SharedSessionContractImplementor session) {
+            delegate.removeFromCache(key, session);
+            cacheInvalidationBus.evict(region, key);
+        }
+
+        @Override
+        public void clearCache(SharedSessionContractImplementor session) {
+            delegate.clearCache(session);
+            cacheInvalidationBus.evictAll(region);
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return delegate.contains(key);
+        }
+
+        @Override
+        public void evictData() {
+            delegate.evictData();
+            cacheInvalidationBus.evictAll(region);
+        }
+
+        @Override
+        public void evictData(Object key) {
+            delegate.evictData(key);
+            cacheInvalidationBus.evict(region, key);
+        }
+
+        @Override
+        public void release() {
+            delegate.release();
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package com.tothapplication.config.cache;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+
+/**
+ * Transport exchanging the messages through the {@code cache_invalidation} table of the database shared by the
+ * instances.
+ * <p>
+ * Each instance reads the messages of the retention period on each poll, and delivers the ones it did not deliver yet,
+ * so that a message committed after a message with a greater id is not missed. Expired messages are deleted.
+ * <p>
+ * The messages are written as JSON: the region, the operation and the key with its type, which is a {@link Long},
+ * an {@link Integer} or a {@link String}. The eviction of a key of another type is sent as the eviction of its whole
+ * region. No Java object is deserialized from the table, which any client of the database can write to.
+ */
+public class JdbcCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final String EVICT = "evict";
+
+    private static final String EVICT_ALL = "evictAll";
+
+    private static final String TIMESTAMP = "timestamp";
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final Logger log = LoggerFactory.getLogger(JdbcCacheInvalidationTransport.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final long pollIntervalMs;
+
+    private final Duration retention;
+
+    /**
+     * Ids of the delivered messages, by creation date.
+     */
+    private final Map<Long, Instant> delivered = new LinkedHashMap<>();
+
+    private ScheduledExecutorService executor;
+
+    public JdbcCacheInvalidationTransport(DataSource dataSource, long pollIntervalMs, long retentionSeconds) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        // Not the JPA transaction manager, which depends on the region factory using this transport
+        this.transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        this.pollIntervalMs = pollIntervalMs;
+        this.retention = Duration.ofSeconds(retentionSeconds);
+    }
+
+    @Override
+    public void start(BiConsumer<String, List<CacheInvalidation>> receiver) {
+        executor = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("cache-invalidation-poll-"));
+        executor.scheduleWithFixedDelay(() -> poll(receiver), pollIntervalMs, pollIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void send(String nodeId, List<CacheInvalidation> invalidations) {
+        byte[] payload = encode(invalidations);
+        transactionTemplate.execute(status -> jdbcTemplate.update(
+            "insert into cache_invalidation (node_id, created_date, payload) values (?, ?, ?)",
+            nodeId, Timestamp.from(Instant.now()), payload));
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    void poll(BiConsumer<String, List<CacheInvalidation>> receiver) {
+        try {
+            Instant now = Instant.now();
+            Timestamp since = Timestamp.from(now.minus(retention));
+            List<Object[]> messages = transactionTemplate.execute(status -> jdbcTemplate.query(
+                "select id, node_id, created_date, payload from cache_invalidation where created_date > ? order by id",
+                (rs, rowNum) -> new Object[]{rs.getLong(1), rs.getString(2), rs.getTimestamp(3).toInstant(), rs.getBytes(4)},
+                since));
+            for (Object[] message : messages) {
+                Long id = (Long) message[0];
+                if (delivered.putIfAbsent(id, (Instant) message[2]) == null) {
+                    List<CacheInvalidation> invalidations;
+                    try {
+                        invalidations = decode((byte[]) message[3]);
+                    } catch (IOException | IllegalArgumentException e) {
+                        log.warn("Ignored the invalid cache evictions {}: {}", id, e.getMessage());
+                        continue;
+                    }
+                    receiver.accept((String) message[1], invalidations);
+                }
+            }
+            for (Iterator<Instant> createdDates = delivered.values().iterator(); createdDates.hasNext(); ) {
+                if (createdDates.next().isBefore(since.toInstant())) {
+                    createdDates.remove();
+                }
+            }
+            transactionTemplate.execute(status -> jdbcTemplate.update(
+                "delete from cache_invalidation where created_date < ?", Timestamp.from(now.minus(retention.multipliedBy(2)))));
+        } catch (DataAccessException e) {
+            log.warn("Could not read the cache evictions of the other instances: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            log.error("Could not apply the cache evictions of the other instances", e);
+        }
+    }
+
+    static byte[] encode(List<CacheInvalidation> invalidations) {
+        ArrayNode messages = MAPPER.createArrayNode();
+        for (CacheInvalidation invalidation : invalidations) {
+            ObjectNode message = messages.addObject().put("region", invalidation.getRegion());
+            Object key = invalidation.getKey();
+            String keyType = key == null ? null : getKeyType(key);
+            if (invalidation.isAll() || keyType == null) {
+                message.put("operation", EVICT_ALL);
+                continue;
+            }
+            message.put("operation", invalidation.isTimestamp() ? TIMESTAMP : EVICT)
+                .put("keyType", keyType)
+                .put("key", key.toString());
+            if (invalidation.isTimestamp()) {
+                message.put("timestamp", invalidation.getTimestamp());
+            }
+        }
+        try {
+            return MAPPER.writeValueAsBytes(messages);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static List<CacheInvalidation> decode(byte[] payload) throws IOException {
+        JsonNode messages = MAPPER.readTree(payload);
+        if (messages == null || !messages.isArray()) {
+            throw new IllegalArgumentException("Not an array of cache evictions");
+        }
+        List<CacheInvalidation> invalidations = new ArrayList<>();
+        for (JsonNode message : messages) {
+            String region = message.path("region").textValue();
+            String operation = message.path("operation").asText();
+            if (region == null) {
+                throw new IllegalArgumentException("No region");
+            }
+            if (EVICT_ALL.equals(operation)) {
+                invalidations.add(CacheInvalidation.all(region));
+                continue;
+            }
+            Object key = parseKey(message.path("keyType").asText(), message.path("key").asText());
+            if (EVICT.equals(operation)) {
+                invalidations.add(CacheInvalidation.of(region, key));
+            } else if (TIMESTAMP.equals(operation) && message.path("timestamp").canConvertToLong()) {
+                invalidations.add(CacheInvalidation.timestamp(region, key, message.path("timestamp").longValue()));
+            } else {
+                throw new IllegalArgumentException("Unknown operation: " + operation);
+            }
+        }
+        return invalidations;
+    }
+
+    private static String getKeyType(Object key) {
+        if (key instanceof Long || key instanceof Integer || key instanceof String) {
+            return key.getClass().getSimpleName();
+        }
+        return null;
+    }
+
+    private static Object parseKey(String keyType, String key) {
+        switch (keyType) {
+            case "Long":
+                return Long.valueOf(key);
+            case "Integer":
+                return Integer.valueOf(key);
+            case "String":
+                return key;
+            default:
+                throw new IllegalArgumentException("Unknown key type: " + keyType);
+        }
+    }
+}
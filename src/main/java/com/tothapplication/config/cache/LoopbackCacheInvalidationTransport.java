@@ -0,0 +1,48 @@
+package com.tothapplication.config.cache;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.function.BiConsumer;
+
+/**
+ * Transport delivering the messages to the instances of the same JVM sharing its channel, so that several instances
+ * can be tested together.
+ * <p>
+ * Messages are delivered synchronously, by the sending thread.
+ */
+public class LoopbackCacheInvalidationTransport implements CacheInvalidationTransport {
+
+    private static final Map<String, Set<LoopbackCacheInvalidationTransport>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final String channel;
+
+    private volatile BiConsumer<String, List<CacheInvalidation>> receiver;
+
+    public LoopbackCacheInvalidationTransport(String channel) {
+        this.channel = channel;
+    }
+
+    @Override
+    public void start(BiConsumer<String, List<CacheInvalidation>> receiver) {
+        this.receiver = receiver;
+        CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArraySet<>()).add(this);
+    }
+
+    @Override
+    public void send(String nodeId, List<CacheInvalidation> invalidations) {
+        for (LoopbackCacheInvalidationTransport transport : CHANNELS.getOrDefault(channel, new CopyOnWriteArraySet<>())) {
+            transport.receiver.accept(nodeId, invalidations);
+        }
+    }
+
+    @Override
+    public void stop() {
+        CHANNELS.computeIfPresent(channel, (name, transports) -> {
+            transports.remove(this);
+            return transports.isEmpty() ? null : transports;
+        });
+    }
+}
@@ -0,0 +1,106 @@
+package com.tothapplication.config.statistics;
+
+/**
+ * Counters of the Hibernate work done by the REST request being handled by the current thread.
+ * <p>
+ * The counters are only maintained between {@link #start()} and {@link #stop()}, work done outside of a request,
+ * or by another thread on behalf of the request, is not counted.
+ */
+public final class RequestStatistics {
+
+    private static final ThreadLocal<RequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private int statements;
+
+    private int entityLoads;
+
+    private int collectionFetches;
+
+    private int cacheHits;
+
+    private int cacheMisses;
+
+    RequestStatistics() {
+    }
+
+    /**
+     * Start counting the work of the current thread.
+     */
+    static void start() {
+        CURRENT.set(new RequestStatistics());
+    }
+
+    /**
+     * Stop counting the work of the current thread.
+     *
+     * @return the counters since {@link #start()}, or {@code null} if counting was not started.
+     */
+    static RequestStatistics stop() {
+        RequestStatistics statistics = CURRENT.get();
+        CURRENT.remove();
+        return statistics;
+    }
+
+    static void statementPrepared() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.statements++;
+        }
+    }
+
+    static void entityLoaded() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.entityLoads++;
+        }
+    }
+
+    static void collectionFetched() {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            statistics.collectionFetches++;
+        }
+    }
+
+    static void cacheAccessed(boolean hit) {
+        RequestStatistics statistics = CURRENT.get();
+        if (statistics != null) {
+            if (hit) {
+                statistics.cacheHits++;
+            } else {
+                statistics.cacheMisses++;
+            }
+        }
+    }
+
+    public int getStatements() {
+        return statements;
+    }
+
+    public int getEntityLoads() {
+        return entityLoads;
+    }
+
+    public int getCollectionFetches() {
+        return collectionFetches;
+    }
+
+    public int getCacheHits() {
+        return cacheHits;
+    }
+
+    public int getCacheMisses() {
+        return cacheMisses;
+    }
+
+    @Override
+    public String toString() {
+        return "RequestStatistics{" +
+            "statements=" + statements +
+            ", entityLoads=" + entityLoads +
+            ", collectionFetches=" + collectionFetches +
+            ", cacheHits=" + cacheHits +
+            ", cacheMisses=" + cacheMisses +
+            "}";
+    }
+}
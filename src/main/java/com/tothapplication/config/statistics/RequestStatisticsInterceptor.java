@@ -0,0 +1,67 @@
+package com.tothapplication.config.statistics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Interceptor counting the Hibernate work of each REST request, published per controller method as the
+ * {@code hibernate.request.*} distribution summaries.
+ * <p>
+ * A request preparing more statements than the budget is logged as a warning, as it is often the sign of an N+1
+ * query: a lazy relationship loaded once per entity of a list.
+ */
+public class RequestStatisticsInterceptor extends HandlerInterceptorAdapter {
+
+    private final Logger log = LoggerFactory.getLogger(RequestStatisticsInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+
+    private final int statementBudget;
+
+    public RequestStatisticsInterceptor(MeterRegistry meterRegistry, int statementBudget) {
+        this.meterRegistry = meterRegistry;
+        this.statementBudget = statementBudget;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod) {
+            RequestStatistics.start();
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestStatistics statistics = RequestStatistics.stop();
+        if (statistics == null) {
+            return;
+        }
+        HandlerMethod handlerMethod = (HandlerMethod) handler;
+        String method = handlerMethod.getBeanType().getSimpleName() + "." + handlerMethod.getMethod().getName();
+        record("hibernate.request.statements", "SQL statements prepared", method, statistics.getStatements());
+        record("hibernate.request.entity.loads", "entities loaded", method, statistics.getEntityLoads());
+        record("hibernate.request.collection.fetches", "collections fetched", method, statistics.getCollectionFetches());
+        record("hibernate.request.cache.hits", "second-level cache hits", method, statistics.getCacheHits());
+        record("hibernate.request.cache.misses", "second-level cache misses", method, statistics.getCacheMisses());
+        if (statistics.getStatements() > statementBudget) {
+            log.warn("{} {} handled by {} prepared {} SQL statements, over the budget of {}: {}",
+                request.getMethod(), request.getRequestURI(), method, statistics.getStatements(), statementBudget, statistics);
+        }
+    }
+
+    private void record(String name, String description, String method, int count) {
+        DistributionSummary.builder(name)
+            .description("Number of " + description + " per request")
+            .tag("method", method)
+            .register(meterRegistry)
+            .record(count);
+    }
+}
@@ -0,0 +1,23 @@
+package com.tothapplication.config.statistics;
+
+import org.hibernate.BaseSessionEventListener;
+
+/**
+ * Hibernate session listener counting the prepared statements and the second-level cache accesses of the request.
+ * <p>
+ * Hibernate creates one instance per session, from the {@code hibernate.session.events.auto} property.
+ */
+public class RequestStatisticsSessionListener extends BaseSessionEventListener {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public void jdbcPrepareStatementStart() {
+        RequestStatistics.statementPrepared();
+    }
+
+    @Override
+    public void cacheGetEnd(boolean hit) {
+        RequestStatistics.cacheAccessed(hit);
+    }
+}
@@ -0,0 +1,65 @@
+package com.tothapplication.config.tracing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * The slowest traces, up to a capacity: once full, a trace is only kept if it is slower than the fastest one kept,
+ * which it replaces.
+ * <p>
+ * A trace faster than all the ones kept is rejected without locking, as most of them are once the slow ones are in.
+ */
+public class SlowestTraces {
+
+    private static final Comparator<Trace> BY_DURATION = Comparator.comparingLong(Trace::getDurationNanos);
+
+    private final int capacity;
+
+    private final PriorityQueue<Trace> traces;
+
+    private volatile long minDurationNanos = -1;
+
+    public SlowestTraces(int capacity) {
+        this.capacity = Math.max(capacity, 1);
+        this.traces = new PriorityQueue<>(this.capacity + 1, BY_DURATION);
+    }
+
+    /**
+     * Keep a trace if it is among the slowest ones.
+     *
+     * @param trace the trace.
+     */
+    public void offer(Trace trace) {
+        if (trace.getDurationNanos() <= minDurationNanos) {
+            return;
+        }
+        synchronized (this) {
+            traces.add(trace);
+            if (traces.size() > capacity) {
+                traces.poll();
+            }
+            if (traces.size() == capacity) {
+                minDurationNanos = traces.peek().getDurationNanos();
+            }
+        }
+    }
+
+    /**
+     * @return the traces kept, the slowest first.
+     */
+    public synchronized List<Trace> findAll() {
+        List<Trace> slowestTraces = new ArrayList<>(traces);
+        slowestTraces.sort(BY_DURATION.reversed());
+        return slowestTraces;
+    }
+
+    /**
+     * Forget all the traces kept.
+     */
+    public synchronized void clear() {
+        traces.clear();
+        minDurationNanos = -1;
+    }
+}
@@ -0,0 +1,93 @@
+package com.tothapplication.config.tracing;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A span of a {@link Trace}: the time spent in a layer crossed by the request, a REST controller, a service, a
+ * repository or a JDBC statement.
+ */
+public class Span {
+
+    /**
+     * The layer crossed by a span.
+     */
+    public enum Layer {
+        REQUEST, CONTROLLER, SERVICE, REPOSITORY, JDBC
+    }
+
+    private final Layer layer;
+
+    private final String name;
+
+    private final int parent;
+
+    private final int depth;
+
+    private final long startNanos;
+
+    private long durationNanos;
+
+    private long childrenNanos;
+
+    Span(Layer layer, String name, int parent, int depth, long startNanos) {
+        this.layer = layer;
+        this.name = name;
+        this.parent = parent;
+        this.depth = depth;
+        this.startNanos = startNanos;
+    }
+
+    public Layer getLayer() {
+        return layer;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return the index of the span enclosing this one in the spans of the trace, or {@code -1} for the request.
+     */
+    public int getParent() {
+        return parent;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the time elapsed since the start of the trace when the span started, in microseconds.
+     */
+    public long getStartMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(startNanos);
+    }
+
+    public long getDurationMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(durationNanos);
+    }
+
+    /**
+     * @return the time spent in the span itself rather than in the spans it encloses, in microseconds: for a service,
+     * the time spent mapping the entities rather than querying them.
+     */
+    public long getSelfMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(durationNanos - childrenNanos);
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    long getDurationNanos() {
+        return durationNanos;
+    }
+
+    void end(long endNanos) {
+        durationNanos = endNanos - startNanos;
+    }
+
+    void addChild(long childDurationNanos) {
+        childrenNanos += childDurationNanos;
+    }
+}
@@ -0,0 +1,73 @@
+package com.tothapplication.config.tracing;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The trace of a REST request: its {@link Span}s, in the order they started, the first one being the request itself.
+ */
+public class Trace {
+
+    private final String id;
+
+    private final String name;
+
+    private final int status;
+
+    private final Instant startedAt;
+
+    private final long durationNanos;
+
+    private final List<Span> spans;
+
+    private final int droppedSpans;
+
+    Trace(String id, String name, int status, Instant startedAt, long durationNanos, List<Span> spans, int droppedSpans) {
+        this.id = id;
+        this.name = name;
+        this.status = status;
+        this.startedAt = startedAt;
+        this.durationNanos = durationNanos;
+        this.spans = spans;
+        this.droppedSpans = droppedSpans;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    /**
+     * @return the HTTP method and the path pattern of the request.
+     */
+    public String getName() {
+        return name;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public long getDurationMicros() {
+        return TimeUnit.NANOSECONDS.toMicros(durationNanos);
+    }
+
+    public List<Span> getSpans() {
+        return spans;
+    }
+
+    /**
+     * @return the number of spans not kept, beyond the maximum number of spans of a trace.
+     */
+    public int getDroppedSpans() {
+        return droppedSpans;
+    }
+
+    long getDurationNanos() {
+        return durationNanos;
+    }
+}
@@ -0,0 +1,137 @@
+package com.tothapplication.config.tracing;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The trace of the REST request being handled by the current thread.
+ * <p>
+ * The spans are only recorded between {@link #start(String, int)} and {@link #stop(String, int)}: work done outside
+ * of a request, or by another thread on behalf of the request, is not traced.
+ */
+public final class Tracing {
+
+    /**
+     * Value returned by {@link #openSpan(Span.Layer, String)} when no span is opened.
+     */
+    public static final int NO_SPAN = -1;
+
+    private static final ThreadLocal<Tracing> CURRENT = new ThreadLocal<>();
+
+    private final String id;
+
+    private final int maxSpans;
+
+    private final Instant startedAt = Instant.now();
+
+    private final long startNanos = System.nanoTime();
+
+    private final List<Span> spans = new ArrayList<>();
+
+    private int current;
+
+    private int droppedSpans;
+
+    private Tracing(String id, int maxSpans) {
+        this.id = id;
+        this.maxSpans = maxSpans;
+    }
+
+    /**
+     * Start tracing the request handled by the current thread.
+     *
+     * @param id the ID of the trace.
+     * @param maxSpans the maximum number of spans kept, the following ones being dropped.
+     */
+    static void start(String id, int maxSpans) {
+        Tracing tracing = new Tracing(id, maxSpans);
+        tracing.spans.add(new Span(Span.Layer.REQUEST, null, NO_SPAN, 0, 0));
+        CURRENT.set(tracing);
+    }
+
+    /**
+     * Stop tracing the request handled by the current thread.
+     *
+     * @param name the name of the request.
+     * @param status the HTTP status of the response.
+     * @return the trace since {@link #start(String, int)}, or {@code null} if tracing was not started.
+     */
+    static Trace stop(String name, int status) {
+        Tracing tracing = CURRENT.get();
+        if (tracing == null) {
+            return null;
+        }
+        CURRENT.remove();
+        long durationNanos = System.nanoTime() - tracing.startNanos;
+        List<Span> spans = new ArrayList<>(tracing.spans.size());
+        Span request = new Span(Span.Layer.REQUEST, name, NO_SPAN, 0, 0);
+        request.end(durationNanos);
+        spans.add(request);
+        for (int i = 1; i < tracing.spans.size(); i++) {
+            Span span = tracing.spans.get(i);
+            if (span.getParent() == 0) {
+                request.addChild(span.getDurationNanos());
+            }
+            spans.add(span);
+        }
+        return new Trace(tracing.id, name, status, tracing.startedAt, durationNanos, spans, tracing.droppedSpans);
+    }
+
+    /**
+     * @return the ID of the trace of the current thread, or {@code null} if it is not traced.
+     */
+    public static String currentTraceId() {
+        Tracing tracing = CURRENT.get();
+        return tracing != null ? tracing.id : null;
+    }
+
+    /**
+     * @return whether the current thread is traced.
+     */
+    public static boolean isActive() {
+        return CURRENT.get() != null;
+    }
+
+    /**
+     * Open a span in the trace of the current thread, enclosed in the span opened last and not closed yet.
+     *
+     * @param layer the layer of the span.
+     * @param name the name of the span.
+     * @return the span, to pass to {@link #closeSpan(int)}, or {@link #NO_SPAN} if the current thread is not traced or
+     * its trace has too many spans.
+     */
+    public static int openSpan(Span.Layer layer, String name) {
+        Tracing tracing = CURRENT.get();
+        if (tracing == null) {
+            return NO_SPAN;
+        }
+        if (tracing.spans.size() >= tracing.maxSpans) {
+            tracing.droppedSpans++;
+            return NO_SPAN;
+        }
+        int parent = tracing.current;
+        tracing.spans.add(new Span(layer, name, parent, tracing.spans.get(parent).getDepth() + 1,
+            System.nanoTime() - tracing.startNanos));
+        tracing.current = tracing.spans.size() - 1;
+        return tracing.current;
+    }
+
+    /**
+     * Close a span of the trace of the current thread.
+     *
+     * @param index the span returned by {@link #openSpan(Span.Layer, String)}.
+     */
+    public static void closeSpan(int index) {
+        Tracing tracing = CURRENT.get();
+        if (tracing == null || index == NO_SPAN) {
+            return;
+        }
+        Span span = tracing.spans.get(index);
+        span.end(System.nanoTime() - tracing.startNanos);
+        tracing.current = span.getParent();
+        if (span.getParent() > 0) {
+            tracing.spans.get(span.getParent()).addChild(span.getDurationNanos());
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.tothapplication.config.tracing;
+
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Data source opening a JDBC {@link Span} for each statement executed by a traced request, named by its SQL.
+ * <p>
+ * The connections and statements are wrapped in proxies delegating every call, the executions only being timed when
+ * the current thread is traced.
+ */
+public class TracingDataSource extends DelegatingDataSource {
+
+    /**
+     * Maximum length of the SQL naming a span.
+     */
+    private static final int MAX_SQL_LENGTH = 300;
+
+    public TracingDataSource(DataSource targetDataSource) {
+        super(targetDataSource);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return tracing(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return tracing(super.getConnection(username, password));
+    }
+
+    private static Connection tracing(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(),
+            new Class<?>[]{ConnectionProxy.class}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "equals":
+                        return proxy == args[0];
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "getTargetConnection":
+                        return connection;
+                    default:
+                        break;
+                }
+                Object result = invoke(connection, method, args);
+                if (result instanceof Statement && method.getName().startsWith("prepare")) {
+                    return tracing((Statement) result, (String) args[0]);
+                }
+                if (result instanceof Statement) {
+                    return tracing((Statement) result, null);
+                }
+                return result;
+            });
+    }
+
+    private static Statement tracing(Statement statement, String preparedSql) {
+        Class<?> statementType = statement instanceof CallableStatement ? CallableStatement.class
+            : statement instanceof PreparedStatement ? PreparedStatement.class : Statement.class;
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            if (method.getName().equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (!method.getName().startsWith("execute") || !Tracing.isActive()) {
+                return invoke(statement, method, args);
+            }
+            String sql = args != null && args.length > 0 && args[0] instanceof String ? (String) args[0] : preparedSql;
+            int span = Tracing.openSpan(Span.Layer.JDBC, sql == null || sql.length() <= MAX_SQL_LENGTH ? sql
+                : sql.substring(0, MAX_SQL_LENGTH));
+            try {
+                return invoke(statement, method, args);
+            } finally {
+                Tracing.closeSpan(span);
+            }
+        };
+        return (Statement) Proxy.newProxyInstance(TracingDataSource.class.getClassLoader(), new Class<?>[]{statementType}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
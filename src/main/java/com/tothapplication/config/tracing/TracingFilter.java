@@ -0,0 +1,60 @@
+package com.tothapplication.config.tracing;
+
+import org.slf4j.MDC;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Filter tracing each REST request, from the security filters to the serialization of its response.
+ * <p>
+ * The ID of the trace is put in the {@code traceId} entry of the logging MDC, so that the logs of the request can be
+ * found from its trace, and returned in the {@code X-Trace-Id} header.
+ */
+public class TracingFilter extends OncePerRequestFilter {
+
+    /**
+     * Key of the trace ID in the logging MDC.
+     */
+    public static final String TRACE_ID_MDC_KEY = "traceId";
+
+    /**
+     * Header returning the trace ID to the client.
+     */
+    public static final String TRACE_ID_HEADER = "X-Trace-Id";
+
+    private final SlowestTraces slowestTraces;
+
+    private final int maxSpans;
+
+    public TracingFilter(SlowestTraces slowestTraces, int maxSpans) {
+        this.slowestTraces = slowestTraces;
+        this.maxSpans = maxSpans;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String traceId = String.format("%016x", ThreadLocalRandom.current().nextLong());
+        Tracing.start(traceId, maxSpans);
+        MDC.put(TRACE_ID_MDC_KEY, traceId);
+        response.setHeader(TRACE_ID_HEADER, traceId);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            Trace trace = Tracing.stop(request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI()),
+                response.getStatus());
+            MDC.remove(TRACE_ID_MDC_KEY);
+            if (trace != null) {
+                slowestTraces.offer(trace);
+            }
+        }
+    }
+}
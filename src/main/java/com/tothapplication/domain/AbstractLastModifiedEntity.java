@@ -0,0 +1,37 @@
+package com.tothapplication.domain;
+
+import java.io.Serializable;
+import java.time.Instant;
+import javax.persistence.Column;
+import javax.persistence.MappedSuperclass;
+import javax.persistence.PrePersist;
+import javax.persistence.PreUpdate;
+
+/**
+ * Base abstract class for entities which keep the date of their last modification, used to validate the copies
+ * held by the clients.
+ * <p>
+ * The date is set on every insert and update, including updates of the relationships owned by the entity.
+ */
+@MappedSuperclass
+public abstract class AbstractLastModifiedEntity implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Column(name = "last_modified_date")
+    private Instant lastModifiedDate;
+
+    public Instant getLastModifiedDate() {
+        return lastModifiedDate;
+    }
+
+    public void setLastModifiedDate(Instant lastModifiedDate) {
+        this.lastModifiedDate = lastModifiedDate;
+    }
+
+    @PrePersist
+    @PreUpdate
+    protected void updateLastModifiedDate() {
+        this.lastModifiedDate = Instant.now();
+    }
+}
@@ -0,0 +1,56 @@
+package com.tothapplication.domain;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+
+import java.io.Serializable;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Generates the IDs of the {@link PersistentAuditEvent}s in a range of IDs per month of their date, so that the audit
+ * events and their data are partitioned by month on their ID.
+ * <p>
+ * An audit event of a month gets the first ID of the month plus the next value of the sequence, which stays far below
+ * the number of IDs of a month. The IDs below {@link #PARTITIONED_EVENT_IDS_START} were generated before, by the
+ * sequence of all the entities.
+ */
+public class AuditEventIdGenerator extends SequenceStyleGenerator {
+
+    /**
+     * Number of IDs of each month.
+     */
+    public static final long EVENT_IDS_PER_MONTH = 1_000_000_000_000L;
+
+    /**
+     * First ID of the partitioned audit events.
+     */
+    public static final long PARTITIONED_EVENT_IDS_START = EVENT_IDS_PER_MONTH;
+
+    private static final YearMonth FIRST_MONTH = YearMonth.of(1970, 1);
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        long sequenceValue = ((Number) super.generate(session, object)).longValue();
+        Instant auditEventDate = ((PersistentAuditEvent) object).getAuditEventDate();
+        return (auditEventDate != null ? firstEventId(monthOf(auditEventDate)) : 0) + sequenceValue;
+    }
+
+    /**
+     * @param date a date.
+     * @return the month of the date, in UTC.
+     */
+    public static YearMonth monthOf(Instant date) {
+        return YearMonth.from(date.atOffset(ZoneOffset.UTC));
+    }
+
+    /**
+     * @param month a month.
+     * @return the first ID of the audit events of the month.
+     */
+    public static long firstEventId(YearMonth month) {
+        return FIRST_MONTH.until(month, ChronoUnit.MONTHS) * EVENT_IDS_PER_MONTH;
+    }
+}
@@ -1,4 +1,5 @@
 package com.tothapplication.domain;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -15,7 +16,7 @@ import java.util.Set;
 @Entity
 @Table(name = "ccp")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-public class CCP implements Serializable {
+public class CCP extends AbstractLastModifiedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -29,6 +30,7 @@ public class CCP implements Serializable {
     private String title;
 
     @ManyToMany
+    @BatchSize(size = 50)
     @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     @JoinTable(name = "ccp_documents",
                joinColumns = @JoinColumn(name = "ccp_id", referencedColumnName = "id"),
@@ -15,7 +15,7 @@ import com.tothapplication.domain.enumeration.TypeDocument;
 @Entity
 @Table(name = "document")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-public class Document implements Serializable {
+public class Document extends AbstractLastModifiedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -37,6 +37,16 @@ public class Document implements Serializable {
     @Column(name = "filename", nullable = false)
     private String filename;
 
+    @Column(name = "content_type")
+    private String contentType;
+
+    @Size(min = 64, max = 64)
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    @Column(name = "file_size")
+    private Long fileSize;
+
     // jhipster-needle-entity-add-field - JHipster will add fields here, do not remove
     public Long getId() {
         return id;
@@ -84,6 +94,45 @@ public class Document implements Serializable {
     public void setFilename(String filename) {
         this.filename = filename;
     }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public Document contentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public Document sha256(String sha256) {
+        this.sha256 = sha256;
+        return this;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public Document fileSize(Long fileSize) {
+        this.fileSize = fileSize;
+        return this;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
     // jhipster-needle-entity-add-getters-setters - JHipster will add getters and setters here, do not remove
 
     @Override
@@ -109,6 +158,9 @@ public class Document implements Serializable {
             ", title='" + getTitle() + "'" +
             ", type='" + getType() + "'" +
             ", filename='" + getFilename() + "'" +
+            ", contentType='" + getContentType() + "'" +
+            ", sha256='" + getSha256() + "'" +
+            ", fileSize=" + getFileSize() +
             "}";
     }
 }
@@ -15,7 +15,7 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "evaluation")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-public class Evaluation implements Serializable {
+public class Evaluation extends AbstractLastModifiedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -1,4 +1,5 @@
 package com.tothapplication.domain;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -15,7 +16,7 @@ import java.util.Set;
 @Entity
 @Table(name = "formation")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-public class Formation implements Serializable {
+public class Formation extends AbstractLastModifiedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -36,6 +37,7 @@ public class Formation implements Serializable {
     private Set<FormationSession> sessions = new HashSet<>();
 
     @ManyToMany
+    @BatchSize(size = 50)
     @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     @JoinTable(name = "formation_ccp",
                joinColumns = @JoinColumn(name = "formation_id", referencedColumnName = "id"),
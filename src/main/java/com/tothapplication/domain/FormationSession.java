@@ -1,5 +1,6 @@
 package com.tothapplication.domain;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.Cache;
 import org.hibernate.annotations.CacheConcurrencyStrategy;
 
@@ -17,7 +18,7 @@ import java.util.Set;
 @Entity
 @Table(name = "formation_session")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-public class FormationSession implements Serializable {
+public class FormationSession extends AbstractLastModifiedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -39,6 +40,7 @@ public class FormationSession implements Serializable {
     private Set<Evaluation> evaluations = new HashSet<>();
 
     @ManyToMany
+    @BatchSize(size = 50)
     @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     @JoinTable(name = "formation_session_studients",
                joinColumns = @JoinColumn(name = "formation_session_id", referencedColumnName = "id"),
@@ -46,6 +48,7 @@ public class FormationSession implements Serializable {
     private Set<Studient> studients = new HashSet<>();
 
     @ManyToMany
+    @BatchSize(size = 50)
     @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
     @JoinTable(name = "formation_session_documents",
                joinColumns = @JoinColumn(name = "formation_session_id", referencedColumnName = "id"),
@@ -15,7 +15,7 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "intervention")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-public class Intervention implements Serializable {
+public class Intervention extends AbstractLastModifiedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -1,5 +1,9 @@
 package com.tothapplication.domain;
 
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.GenericGenerator;
+import org.hibernate.annotations.Parameter;
+
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
 import java.io.Serializable;
@@ -9,6 +13,8 @@ import java.util.Map;
 
 /**
  * Persist AuditEvent managed by the Spring Boot actuator.
+ * <p>
+ * The audit events are partitioned by month on their ID, see {@link AuditEventIdGenerator}.
  *
  * @see org.springframework.boot.actuate.audit.AuditEvent
  */
@@ -19,8 +25,12 @@ public class PersistentAuditEvent implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
-    @SequenceGenerator(name = "sequenceGenerator")
+    @GeneratedValue(generator = "auditEventIdGenerator")
+    @GenericGenerator(name = "auditEventIdGenerator", strategy = "com.tothapplication.domain.AuditEventIdGenerator",
+        parameters = {
+            @Parameter(name = "sequence_name", value = "jhi_persistent_audit_event_seq"),
+            @Parameter(name = "increment_size", value = "50")
+        })
     @Column(name = "event_id")
     private Long id;
 
@@ -35,6 +45,7 @@ public class PersistentAuditEvent implements Serializable {
     private String auditEventType;
 
     @ElementCollection
+    @BatchSize(size = 100)
     @MapKeyColumn(name = "name")
     @Column(name = "value")
     @CollectionTable(name = "jhi_persistent_audit_evt_data", joinColumns=@JoinColumn(name="event_id"))
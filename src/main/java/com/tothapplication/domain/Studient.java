@@ -14,7 +14,7 @@ import java.time.LocalDate;
 @Entity
 @Table(name = "studient")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-public class Studient implements Serializable {
+public class Studient extends AbstractLastModifiedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -0,0 +1,108 @@
+package com.tothapplication.domain;
+
+import javax.persistence.*;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A revocation of JWT tokens: either the token identified by {@code tokenId}, or all the tokens of the user
+ * {@code login} issued before the revocation when there is no {@code tokenId}.
+ * <p>
+ * A revocation is useless once all the tokens it revokes expired, at its {@code expirationDate}.
+ */
+@Entity
+@Table(name = "token_revocation")
+public class TokenRevocation implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "sequenceGenerator")
+    @SequenceGenerator(name = "sequenceGenerator")
+    private Long id;
+
+    @Size(max = 36)
+    @Column(name = "token_id", length = 36)
+    private String tokenId;
+
+    @NotNull
+    @Size(max = 50)
+    @Column(length = 50, nullable = false)
+    private String login;
+
+    @NotNull
+    @Column(name = "revoked_date", nullable = false)
+    private Instant revokedDate;
+
+    @NotNull
+    @Column(name = "expiration_date", nullable = false)
+    private Instant expirationDate;
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getTokenId() {
+        return tokenId;
+    }
+
+    public void setTokenId(String tokenId) {
+        this.tokenId = tokenId;
+    }
+
+    public String getLogin() {
+        return login;
+    }
+
+    public void setLogin(String login) {
+        this.login = login;
+    }
+
+    public Instant getRevokedDate() {
+        return revokedDate;
+    }
+
+    public void setRevokedDate(Instant revokedDate) {
+        this.revokedDate = revokedDate;
+    }
+
+    public Instant getExpirationDate() {
+        return expirationDate;
+    }
+
+    public void setExpirationDate(Instant expirationDate) {
+        this.expirationDate = expirationDate;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof TokenRevocation)) {
+            return false;
+        }
+        return id != null && id.equals(((TokenRevocation) o).id);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31;
+    }
+
+    @Override
+    public String toString() {
+        return "TokenRevocation{" +
+            "tokenId='" + tokenId + '\'' +
+            ", login='" + login + '\'' +
+            ", revokedDate=" + revokedDate +
+            ", expirationDate=" + expirationDate +
+            '}';
+    }
+}
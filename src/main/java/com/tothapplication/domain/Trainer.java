@@ -15,7 +15,7 @@ import java.util.Set;
 @Entity
 @Table(name = "trainer")
 @Cache(usage = CacheConcurrencyStrategy.NONSTRICT_READ_WRITE)
-public class Trainer implements Serializable {
+public class Trainer extends AbstractLastModifiedEntity implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
@@ -0,0 +1,163 @@
+package com.tothapplication.repository;
+
+import com.tothapplication.config.ApplicationProperties;
+import com.tothapplication.domain.PersistentAuditEvent;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Writes the audit events in the background, so that the requests raising them only queue them.
+ * <p>
+ * The events are written in batches, in a single transaction each, as soon as a batch is queued or after the flush
+ * interval. When a batch can't be written, its events are written one by one, in a transaction each, so that only the
+ * events which can't be written are dropped. When the queue is full, the new events are dropped rather than blocking
+ * the requests. The events queued are written when the application stops.
+ * <p>
+ * Publishes the metrics:
+ * <ul>
+ * <li>{@code audit.events.queue.size}: the number of audit events waiting to be written.</li>
+ * <li>{@code audit.events.dropped}: the number of audit events dropped, tagged by {@code reason}: {@code queue_full}
+ * or {@code write_failed}.</li>
+ * </ul>
+ */
+@Component
+public class AuditEventWriter implements InitializingBean, DisposableBean {
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventWriter.class);
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<PersistentAuditEvent> queue;
+
+    private final int batchSize;
+
+    private final long flushIntervalNanos;
+
+    private final Counter queueFullCounter;
+
+    private final Counter writeFailedCounter;
+
+    private volatile boolean running;
+
+    private volatile Thread writerThread;
+
+    public AuditEventWriter(PersistenceAuditEventRepository persistenceAuditEventRepository,
+                            PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties,
+                            MeterRegistry meterRegistry) {
+        this.persistenceAuditEventRepository = persistenceAuditEventRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(applicationProperties.getAuditEvents().getQueueCapacity());
+        this.batchSize = applicationProperties.getAuditEvents().getBatchSize();
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(applicationProperties.getAuditEvents().getFlushIntervalMs());
+        Gauge.builder("audit.events.queue.size", queue, BlockingQueue::size)
+            .description("The number of audit events waiting to be written")
+            .register(meterRegistry);
+        this.queueFullCounter = droppedCounter(meterRegistry, "queue_full");
+        this.writeFailedCounter = droppedCounter(meterRegistry, "write_failed");
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        running = true;
+        writerThread = new Thread(this::writeInBackground, "audit-event-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queue an audit event to be written.
+     *
+     * @param persistentAuditEvent the audit event.
+     * @return whether the event was queued, {@code false} if it was dropped because the queue is full.
+     */
+    public boolean write(PersistentAuditEvent persistentAuditEvent) {
+        if (!queue.offer(persistentAuditEvent)) {
+            queueFullCounter.increment();
+            log.warn("Audit event {} of {} dropped, too many audit events waiting to be written",
+                persistentAuditEvent.getAuditEventType(), persistentAuditEvent.getPrincipal());
+            return false;
+        }
+        Thread thread = writerThread;
+        if (thread != null && queue.size() >= batchSize) {
+            LockSupport.unpark(thread);
+        }
+        return true;
+    }
+
+    /**
+     * Write the audit events queued, in the current thread.
+     */
+    public synchronized void flush() {
+        List<PersistentAuditEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch = new ArrayList<>(batchSize);
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        running = false;
+        Thread thread = writerThread;
+        if (thread != null) {
+            LockSupport.unpark(thread);
+            thread.join();
+        }
+        flush();
+    }
+
+    private void writeInBackground() {
+        while (running) {
+            if (queue.size() < batchSize) {
+                LockSupport.parkNanos(this, flushIntervalNanos);
+            }
+            flush();
+        }
+    }
+
+    private void write(List<PersistentAuditEvent> batch) {
+        try {
+            transactionTemplate.execute(status -> persistenceAuditEventRepository.saveAll(batch));
+        } catch (RuntimeException e) {
+            log.warn("{} audit events could not be written together, writing them one by one", batch.size(), e);
+            batch.forEach(this::writeAlone);
+        }
+    }
+
+    private void writeAlone(PersistentAuditEvent persistentAuditEvent) {
+        // The ID generated by the rolled back transaction, if any, was not written
+        persistentAuditEvent.setId(null);
+        try {
+            transactionTemplate.execute(status -> persistenceAuditEventRepository.save(persistentAuditEvent));
+        } catch (RuntimeException e) {
+            writeFailedCounter.increment();
+            log.error("Audit event {} of {} dropped, it could not be written", persistentAuditEvent.getAuditEventType(),
+                persistentAuditEvent.getPrincipal(), e);
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry registry, String reason) {
+        return Counter.builder("audit.events.dropped")
+            .tag("reason", reason)
+            .description("The number of audit events dropped")
+            .register(registry);
+    }
+}
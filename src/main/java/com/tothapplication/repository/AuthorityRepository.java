@@ -3,9 +3,26 @@ package com.tothapplication.repository;
 import com.tothapplication.domain.Authority;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
 
 /**
  * Spring Data JPA repository for the {@link Authority} entity.
  */
 public interface AuthorityRepository extends JpaRepository<Authority, String> {
+
+    /**
+     * Query cache region of the queries of the authorities, which are reference data.
+     */
+    String AUTHORITY_QUERIES_CACHE = "authorityQueries";
+
+    @Override
+    @QueryHints({@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = AUTHORITY_QUERIES_CACHE)})
+    List<Authority> findAll();
 }
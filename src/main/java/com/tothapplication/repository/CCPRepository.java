@@ -7,22 +7,48 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 /**
  * Spring Data  repository for the CCP entity.
  */
 @Repository
 public interface CCPRepository extends JpaRepository<CCP, Long> {
 
-    @Query(value = "select distinct cCP from CCP cCP left join fetch cCP.documents",
-        countQuery = "select count(distinct cCP) from CCP cCP")
-    Page<CCP> findAllWithEagerRelationships(Pageable pageable);
+    /**
+     * Query cache region of the queries of the CCPs, cached as they are read far more often than modified.
+     */
+    String CCP_QUERIES_CACHE = "ccpQueries";
+
+    @Override
+    @QueryHints(value = {@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = CCP_QUERIES_CACHE)}, forCounting = true)
+    Page<CCP> findAll(Pageable pageable);
+
+    @QueryHints(value = {@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = CCP_QUERIES_CACHE)}, forCounting = true)
+    @Query(value = "select cCP.id from CCP cCP",
+        countQuery = "select count(cCP) from CCP cCP")
+    Page<Long> findAllIds(Pageable pageable);
+
+    @QueryHints(value = {@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = CCP_QUERIES_CACHE)})
+    @Query("select cCP from CCP cCP where cCP.id in :ids")
+    List<CCP> findAllWithEagerRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
 
+    @QueryHints(value = {@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = CCP_QUERIES_CACHE)})
     @Query("select distinct cCP from CCP cCP left join fetch cCP.documents")
     List<CCP> findAllWithEagerRelationships();
 
+    @QueryHints(value = {@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = CCP_QUERIES_CACHE)})
     @Query("select cCP from CCP cCP left join fetch cCP.documents where cCP.id =:id")
     Optional<CCP> findOneWithEagerRelationships(@Param("id") Long id);
 
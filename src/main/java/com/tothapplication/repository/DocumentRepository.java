@@ -2,7 +2,12 @@ package com.tothapplication.repository;
 
 import com.tothapplication.domain.Document;
 import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
 
 
 /**
@@ -12,4 +17,23 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface DocumentRepository extends JpaRepository<Document, Long> {
 
+    List<Document> findTop100BySha256IsNullAndIdGreaterThanOrderByIdAsc(Long id);
+
+    long countBySha256IsNullAndFilename(String filename);
+
+    @Query("select document from FormationSession formationSession join formationSession.documents document where formationSession.id = :id order by document.id")
+    List<Document> findAllByFormationSessionId(@Param("id") Long formationSessionId);
+
+    /**
+     * Set the stored file of a document, unless it has one already.
+     * <p>
+     * As a bulk update skips {@code @PreUpdate}, the last modified date, which the ETag of the document is made of,
+     * is set too.
+     */
+    @Modifying
+    @Transactional
+    @Query("update Document document set document.sha256 = :sha256, document.fileSize = :fileSize, document.lastModifiedDate = :now" +
+        " where document.id = :id and document.sha256 is null")
+    int updateStoredFileWhereSha256IsNull(@Param("id") Long id, @Param("sha256") String sha256, @Param("fileSize") Long fileSize,
+                                          @Param("now") Instant now);
 }
@@ -7,22 +7,48 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_CACHE_REGION;
+
 /**
  * Spring Data  repository for the Formation entity.
  */
 @Repository
 public interface FormationRepository extends JpaRepository<Formation, Long> {
 
-    @Query(value = "select distinct formation from Formation formation left join fetch formation.ccps",
-        countQuery = "select count(distinct formation) from Formation formation")
-    Page<Formation> findAllWithEagerRelationships(Pageable pageable);
+    /**
+     * Query cache region of the queries of the formations, cached as they are read far more often than modified.
+     */
+    String FORMATION_QUERIES_CACHE = "formationQueries";
+
+    @Override
+    @QueryHints(value = {@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = FORMATION_QUERIES_CACHE)}, forCounting = true)
+    Page<Formation> findAll(Pageable pageable);
+
+    @QueryHints(value = {@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = FORMATION_QUERIES_CACHE)}, forCounting = true)
+    @Query(value = "select formation.id from Formation formation",
+        countQuery = "select count(formation) from Formation formation")
+    Page<Long> findAllIds(Pageable pageable);
+
+    @QueryHints(value = {@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = FORMATION_QUERIES_CACHE)})
+    @Query("select formation from Formation formation where formation.id in :ids")
+    List<Formation> findAllWithEagerRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
 
+    @QueryHints(value = {@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = FORMATION_QUERIES_CACHE)})
     @Query("select distinct formation from Formation formation left join fetch formation.ccps")
     List<Formation> findAllWithEagerRelationships();
 
+    @QueryHints(value = {@QueryHint(name = HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HINT_CACHE_REGION, value = FORMATION_QUERIES_CACHE)})
     @Query("select formation from Formation formation left join fetch formation.ccps where formation.id =:id")
     Optional<Formation> findOneWithEagerRelationships(@Param("id") Long id);
 
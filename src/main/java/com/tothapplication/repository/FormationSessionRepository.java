@@ -7,6 +7,8 @@ import org.springframework.data.jpa.repository.*;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,9 +18,23 @@ import java.util.Optional;
 @Repository
 public interface FormationSessionRepository extends JpaRepository<FormationSession, Long> {
 
-    @Query(value = "select distinct formationSession from FormationSession formationSession left join fetch formationSession.studients left join fetch formationSession.documents",
-        countQuery = "select count(distinct formationSession) from FormationSession formationSession")
-    Page<FormationSession> findAllWithEagerRelationships(Pageable pageable);
+    /**
+     * Get a page of the ids of the formation sessions, their entities being then loaded by
+     * {@link #findAllWithEagerRelationshipsByIdIn(Collection)}.
+     * <p>
+     * The page is selected on the ids only, in the database, then its entities are loaded by id, their collections
+     * being batch-fetched, so that neither the whole table nor the product of the collections is read. An entity
+     * deleted between the two queries is left out of the page. The CCPs and the formations are paged the same way.
+     *
+     * @param pageable the pagination information.
+     * @return the page of ids.
+     */
+    @Query(value = "select formationSession.id from FormationSession formationSession",
+        countQuery = "select count(formationSession) from FormationSession formationSession")
+    Page<Long> findAllIds(Pageable pageable);
+
+    @Query("select formationSession from FormationSession formationSession left join fetch formationSession.formation where formationSession.id in :ids")
+    List<FormationSession> findAllWithEagerRelationshipsByIdIn(@Param("ids") Collection<Long> ids);
 
     @Query("select distinct formationSession from FormationSession formationSession left join fetch formationSession.studients left join fetch formationSession.documents")
     List<FormationSession> findAllWithEagerRelationships();
@@ -26,4 +42,7 @@ public interface FormationSessionRepository extends JpaRepository<FormationSessi
     @Query("select formationSession from FormationSession formationSession left join fetch formationSession.studients left join fetch formationSession.documents where formationSession.id =:id")
     Optional<FormationSession> findOneWithEagerRelationships(@Param("id") Long id);
 
+    @Query("select formationSession from FormationSession formationSession left join fetch formationSession.formation where formationSession.begin <= :date and formationSession.end >= :date")
+    List<FormationSession> findAllRunningAt(@Param("date") LocalDate date);
+
 }
@@ -1,9 +1,13 @@
 package com.tothapplication.repository;
 
+import com.tothapplication.domain.AuditEventIdGenerator;
 import com.tothapplication.domain.PersistentAuditEvent;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.Instant;
 import java.util.List;
@@ -21,5 +25,62 @@ public interface PersistenceAuditEventRepository extends JpaRepository<Persisten
 
     List<PersistentAuditEvent> findByPrincipalAndAuditEventDateAfterAndAuditEventType(String principal, Instant after, String type);
 
-    Page<PersistentAuditEvent> findAllByAuditEventDateBetween(Instant fromDate, Instant toDate, Pageable pageable);
+    /**
+     * Find the audit events between two dates, bounding their IDs to the months of the dates so that a partitioned
+     * database only reads the partitions of these months.
+     *
+     * @param fromDate the first date.
+     * @param toDate the last date.
+     * @param pageable the pagination information.
+     * @return the audit events.
+     */
+    default Page<PersistentAuditEvent> findAllByAuditEventDateBetween(Instant fromDate, Instant toDate, Pageable pageable) {
+        return findAllByAuditEventDateBetweenAndIdBetween(fromDate, toDate,
+            AuditEventIdGenerator.PARTITIONED_EVENT_IDS_START,
+            AuditEventIdGenerator.firstEventId(AuditEventIdGenerator.monthOf(fromDate)),
+            AuditEventIdGenerator.firstEventId(AuditEventIdGenerator.monthOf(toDate).plusMonths(1)), pageable);
+    }
+
+    @Query("select e from PersistentAuditEvent e where e.auditEventDate between :fromDate and :toDate" +
+        " and (e.id < :partitionedEventIdsStart or e.id >= :fromEventId) and e.id < :toEventId")
+    Page<PersistentAuditEvent> findAllByAuditEventDateBetweenAndIdBetween(@Param("fromDate") Instant fromDate,
+                                                                         @Param("toDate") Instant toDate,
+                                                                         @Param("partitionedEventIdsStart") long partitionedEventIdsStart,
+                                                                         @Param("fromEventId") long fromEventId,
+                                                                         @Param("toEventId") long toEventId,
+                                                                         Pageable pageable);
+
+    /**
+     * Find the audit events between two dates, preceding an audit event in the order of their dates then IDs, newest
+     * first. Unlike an offset, the preceding audit event is sought with the index of the dates, whatever the depth of
+     * the page.
+     *
+     * @param fromDate the first date.
+     * @param toDate the last date.
+     * @param beforeDate the date of the preceding audit event.
+     * @param beforeId the ID of the preceding audit event.
+     * @param size the maximum number of audit events.
+     * @return the audit events.
+     */
+    default List<PersistentAuditEvent> findAllByAuditEventDateBetweenBefore(Instant fromDate, Instant toDate,
+                                                                            Instant beforeDate, long beforeId, int size) {
+        Instant lastDate = beforeDate.isBefore(toDate) ? beforeDate : toDate;
+        return findAllByAuditEventDateBetweenAndIdBetweenBefore(fromDate, toDate, beforeDate, beforeId,
+            AuditEventIdGenerator.PARTITIONED_EVENT_IDS_START,
+            AuditEventIdGenerator.firstEventId(AuditEventIdGenerator.monthOf(fromDate)),
+            AuditEventIdGenerator.firstEventId(AuditEventIdGenerator.monthOf(lastDate).plusMonths(1)), PageRequest.of(0, size));
+    }
+
+    @Query("select e from PersistentAuditEvent e where e.auditEventDate between :fromDate and :toDate" +
+        " and e.auditEventDate <= :beforeDate and (e.auditEventDate < :beforeDate or e.id < :beforeId)" +
+        " and (e.id < :partitionedEventIdsStart or e.id >= :fromEventId) and e.id < :toEventId" +
+        " order by e.auditEventDate desc, e.id desc")
+    List<PersistentAuditEvent> findAllByAuditEventDateBetweenAndIdBetweenBefore(@Param("fromDate") Instant fromDate,
+                                                                                @Param("toDate") Instant toDate,
+                                                                                @Param("beforeDate") Instant beforeDate,
+                                                                                @Param("beforeId") long beforeId,
+                                                                                @Param("partitionedEventIdsStart") long partitionedEventIdsStart,
+                                                                                @Param("fromEventId") long fromEventId,
+                                                                                @Param("toEventId") long toEventId,
+                                                                                Pageable pageable);
 }
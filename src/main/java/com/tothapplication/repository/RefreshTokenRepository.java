@@ -0,0 +1,42 @@
+package com.tothapplication.repository;
+
+import com.tothapplication.domain.RefreshToken;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Spring Data JPA repository for the {@link RefreshToken} entity.
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findOneByTokenHash(String tokenHash);
+
+    /**
+     * Mark a refresh token as used, unless it already was by a concurrent request.
+     *
+     * @return 1 if the token was marked as used, 0 otherwise.
+     */
+    @Modifying
+    @Query("update RefreshToken refreshToken set refreshToken.usedDate = :usedDate where refreshToken.id = :id and refreshToken.usedDate is null")
+    int updateUsedDateWhereUsedDateIsNull(@Param("id") Long id, @Param("usedDate") Instant usedDate);
+
+    @Modifying
+    @Query("delete from RefreshToken refreshToken where refreshToken.familyId = :familyId")
+    int deleteAllByFamilyId(@Param("familyId") String familyId);
+
+    @Modifying
+    @Query("delete from RefreshToken refreshToken where refreshToken.login = :login")
+    int deleteAllByLogin(@Param("login") String login);
+
+    @Modifying
+    @Query("delete from RefreshToken refreshToken where refreshToken.expirationDate <= :date")
+    int deleteAllByExpirationDateNotAfter(@Param("date") Instant date);
+}
@@ -1,9 +1,14 @@
 package com.tothapplication.repository;
 
 import com.tothapplication.domain.Studient;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.stream.Stream;
+
 
 /**
  * Spring Data  repository for the Studient entity.
@@ -12,4 +17,11 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface StudientRepository extends JpaRepository<Studient, Long> {
 
+    @Query(value = "select studient from Studient studient left join fetch studient.user left join fetch studient.photo left join fetch studient.evaluation evaluation where evaluation.id is null",
+        countQuery = "select count(studient) from Studient studient left join studient.evaluation evaluation where evaluation.id is null")
+    Page<Studient> findAllWhereEvaluationIsNull(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("select studient from Studient studient left join fetch studient.user left join fetch studient.photo left join fetch studient.evaluation evaluation where evaluation.id is null")
+    Stream<Studient> streamAllWhereEvaluationIsNull();
 }
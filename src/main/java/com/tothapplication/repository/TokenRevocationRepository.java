@@ -0,0 +1,27 @@
+package com.tothapplication.repository;
+
+import com.tothapplication.domain.TokenRevocation;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Spring Data JPA repository for the {@link TokenRevocation} entity.
+ */
+@Repository
+public interface TokenRevocationRepository extends JpaRepository<TokenRevocation, Long> {
+
+    List<TokenRevocation> findAllByExpirationDateAfter(Instant date);
+
+    List<TokenRevocation> findAllByRevokedDateAfterAndExpirationDateAfter(Instant revokedDate, Instant expirationDate);
+
+    @Modifying
+    @Query("delete from TokenRevocation tokenRevocation where tokenRevocation.expirationDate <= :date")
+    int deleteAllByExpirationDateNotAfter(@Param("date") Instant date);
+}
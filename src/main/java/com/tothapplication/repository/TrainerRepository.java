@@ -1,9 +1,14 @@
 package com.tothapplication.repository;
 
 import com.tothapplication.domain.Trainer;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.stream.Stream;
+
 
 /**
  * Spring Data  repository for the Trainer entity.
@@ -12,4 +17,11 @@ import org.springframework.stereotype.Repository;
 @Repository
 public interface TrainerRepository extends JpaRepository<Trainer, Long> {
 
+    @Query(value = "select trainer from Trainer trainer left join fetch trainer.user left join fetch trainer.evaluation evaluation where evaluation.id is null",
+        countQuery = "select count(trainer) from Trainer trainer left join trainer.evaluation evaluation where evaluation.id is null")
+    Page<Trainer> findAllWhereEvaluationIsNull(Pageable pageable);
+
+    @QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("select trainer from Trainer trainer left join fetch trainer.user left join fetch trainer.evaluation evaluation where evaluation.id is null")
+    Stream<Trainer> streamAllWhereEvaluationIsNull();
 }
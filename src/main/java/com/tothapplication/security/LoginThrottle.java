@@ -0,0 +1,193 @@
+package com.tothapplication.security;
+
+import com.tothapplication.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Throttles the logins per account and per address, before any database access or password hashing.
+ * <p>
+ * Each account and each address has a token bucket: a login takes a token, and gives it back unless its credentials
+ * are bad, so that only the failed logins drain the bucket. The address is checked first, so that a throttled address
+ * allocates no bucket for the accounts it tries. Behind a reverse proxy, the address is the client's only when the
+ * forwarded headers are used, otherwise all the clients would share the bucket of the proxy.
+ * <p>
+ * A bucket is a single {@link AtomicLong} updated by compare-and-set, held in a {@link ConcurrentHashMap} whose reads
+ * take no lock: a login of a known account from a known address allocates nothing. The full buckets are evicted every
+ * minute.
+ * <p>
+ * Publishes the metrics:
+ * <ul>
+ * <li>{@code login.throttling.rejected}: the number of logins rejected, tagged by {@code bucket}.</li>
+ * <li>{@code login.throttling.buckets}: the number of buckets held, tagged by {@code bucket}.</li>
+ * </ul>
+ */
+@Component
+public class LoginThrottle implements MeterBinder {
+
+    private final Buckets accounts;
+
+    private final Buckets ips;
+
+    public LoginThrottle(ApplicationProperties applicationProperties) {
+        this.accounts = new Buckets("account", applicationProperties.getLoginThrottling().getAccount());
+        this.ips = new Buckets("ip", applicationProperties.getLoginThrottling().getIp());
+    }
+
+    /**
+     * Take a token from the buckets of a login.
+     *
+     * @param login the login of the account.
+     * @param ip the address the login comes from.
+     * @throws LoginThrottledException if the bucket of the account or of the address is empty.
+     */
+    public void acquire(String login, String ip) {
+        long now = nanoTime();
+        String account = login.toLowerCase(Locale.ENGLISH);
+        long ipWait = ips.acquire(ip, now);
+        if (ipWait > 0) {
+            throw ips.reject(ipWait);
+        }
+        long accountWait = accounts.acquire(account, now);
+        if (accountWait > 0) {
+            ips.release(ip, now);
+            throw accounts.reject(accountWait);
+        }
+    }
+
+    /**
+     * Give back the tokens taken by a login, which succeeded or failed for another reason than bad credentials.
+     *
+     * @param login the login of the account.
+     * @param ip the address the login comes from.
+     */
+    public void release(String login, String ip) {
+        long now = nanoTime();
+        accounts.release(login.toLowerCase(Locale.ENGLISH), now);
+        ips.release(ip, now);
+    }
+
+    /**
+     * The full buckets should be evicted, a login finding no bucket starts with a full one.
+     * <p>
+     * This is scheduled to get fired every minute.
+     */
+    @Scheduled(fixedDelay = 60000)
+    public void evictFullBuckets() {
+        long now = nanoTime();
+        accounts.evictFull(now);
+        ips.evictFull(now);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        accounts.bindTo(registry);
+        ips.bindTo(registry);
+    }
+
+    /**
+     * @return the current time in nanoseconds, from an arbitrary origin.
+     */
+    protected long nanoTime() {
+        return System.nanoTime();
+    }
+
+    /**
+     * The token buckets of a kind of key.
+     * <p>
+     * A bucket stores the time at which it will be full again. Taking a token pushes that time by the refill
+     * interval, which is refused when it would be more than a full bucket away: this is a token bucket in a single
+     * value, updated atomically.
+     */
+    private static class Buckets {
+
+        private final String name;
+
+        private final long refillIntervalNanos;
+
+        private final long capacityNanos;
+
+        private final Map<String, AtomicLong> fullAt = new ConcurrentHashMap<>();
+
+        private volatile Counter rejectedCounter;
+
+        Buckets(String name, ApplicationProperties.Bucket bucket) {
+            this.name = name;
+            this.refillIntervalNanos = TimeUnit.MILLISECONDS.toNanos(bucket.getRefillIntervalMs());
+            this.capacityNanos = refillIntervalNanos * bucket.getCapacity();
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise the time until the next token in nanoseconds.
+         */
+        long acquire(String key, long now) {
+            AtomicLong bucket = fullAt.get(key);
+            if (bucket == null) {
+                bucket = fullAt.computeIfAbsent(key, k -> new AtomicLong(now));
+            }
+            while (true) {
+                long current = bucket.get();
+                long next = (current - now > 0 ? current : now) + refillIntervalNanos;
+                long wait = next - now - capacityNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (bucket.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        void release(String key, long now) {
+            AtomicLong bucket = fullAt.get(key);
+            if (bucket == null) {
+                return;
+            }
+            while (true) {
+                long current = bucket.get();
+                if (current - now <= 0) {
+                    return;
+                }
+                long next = current - refillIntervalNanos;
+                if (bucket.compareAndSet(current, next - now > 0 ? next : now)) {
+                    return;
+                }
+            }
+        }
+
+        LoginThrottledException reject(long waitNanos) {
+            Counter counter = rejectedCounter;
+            if (counter != null) {
+                counter.increment();
+            }
+            long retryAfterSeconds = (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+            return new LoginThrottledException("Too many logins for this " + name, retryAfterSeconds);
+        }
+
+        void evictFull(long now) {
+            fullAt.values().removeIf(bucket -> bucket.get() - now <= 0);
+        }
+
+        void bindTo(MeterRegistry registry) {
+            Gauge.builder("login.throttling.buckets", fullAt, Map::size)
+                .tag("bucket", name)
+                .description("The number of login throttling buckets held")
+                .register(registry);
+            rejectedCounter = Counter.builder("login.throttling.rejected")
+                .tag("bucket", name)
+                .description("The number of logins rejected because too many were attempted")
+                .register(registry);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.tothapplication.security;
+
+import com.tothapplication.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Password encoder hashing the passwords on a bounded pool of threads, rather than on the request threads.
+ * <p>
+ * The passwords wait in a queue ordered by {@link Priority}, then by arrival. A request is rejected with a
+ * {@link PasswordHashingRejectedException} when the queue is full, or when its password waited too long, so that a
+ * storm of logins neither exhausts the request threads nor delays the other requests. The passwords waiting or being
+ * hashed hold a permit of a semaphore, so that concurrent requests cannot fill the queue beyond its capacity.
+ * <p>
+ * Publishes the metrics:
+ * <ul>
+ * <li>{@code password.hashing.queue.size}: the number of passwords waiting to be hashed.</li>
+ * <li>{@code password.hashing.active}: the number of passwords being hashed.</li>
+ * <li>{@code password.hashing.wait}: the time waited by the passwords before being hashed, tagged by {@code priority}.</li>
+ * <li>{@code password.hashing.rejected}: the number of requests rejected, tagged by {@code priority}.</li>
+ * </ul>
+ */
+public class PrioritizedPasswordEncoder implements PasswordEncoder, MeterBinder, DisposableBean {
+
+    /**
+     * Priority of a password hashing, the first one hashed first.
+     */
+    public enum Priority {
+        /**
+         * A user waiting to log in or to change its password.
+         */
+        INTERACTIVE,
+        /**
+         * The creation of users by an administrator.
+         */
+        BULK
+    }
+
+    private final PasswordEncoder delegate;
+
+    private final ThreadPoolExecutor executor;
+
+    private final Semaphore permits;
+
+    private final long maxWaitMs;
+
+    private final long retryAfterSeconds;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private volatile Map<Priority, Timer> waitTimers = new EnumMap<>(Priority.class);
+
+    private volatile Map<Priority, Counter> rejectedCounters = new EnumMap<>(Priority.class);
+
+    public PrioritizedPasswordEncoder(PasswordEncoder delegate, ApplicationProperties.PasswordHashing passwordHashing) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(passwordHashing.getPoolSize() + passwordHashing.getQueueCapacity());
+        this.maxWaitMs = passwordHashing.getMaxWaitMs();
+        this.retryAfterSeconds = passwordHashing.getRetryAfterSeconds();
+        this.executor = new ThreadPoolExecutor(passwordHashing.getPoolSize(), passwordHashing.getPoolSize(), 0, TimeUnit.MILLISECONDS,
+            new PriorityBlockingQueue<>(), new CustomizableThreadFactory("password-hashing-"));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return encode(rawPassword, Priority.INTERACTIVE);
+    }
+
+    /**
+     * Encode a password with a priority.
+     *
+     * @param rawPassword the password.
+     * @param priority the priority of the hashing.
+     * @return the encoded password.
+     * @throws PasswordHashingRejectedException if too many passwords are waiting to be hashed.
+     */
+    public String encode(CharSequence rawPassword, Priority priority) {
+        return hash(priority, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return hash(Priority.INTERACTIVE, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("password.hashing.queue.size", executor, pool -> pool.getQueue().size())
+            .description("The number of passwords waiting to be hashed")
+            .register(registry);
+        Gauge.builder("password.hashing.active", executor, ThreadPoolExecutor::getActiveCount)
+            .description("The number of passwords being hashed")
+            .register(registry);
+        Map<Priority, Timer> timers = new EnumMap<>(Priority.class);
+        Map<Priority, Counter> counters = new EnumMap<>(Priority.class);
+        for (Priority priority : Priority.values()) {
+            String tag = priority.name().toLowerCase(Locale.ENGLISH);
+            timers.put(priority, Timer.builder("password.hashing.wait")
+                .tag("priority", tag)
+                .description("The time waited by the passwords before being hashed")
+                .register(registry));
+            counters.put(priority, Counter.builder("password.hashing.rejected")
+                .tag("priority", tag)
+                .description("The number of requests rejected because too many passwords were waiting to be hashed")
+                .register(registry));
+        }
+        waitTimers = timers;
+        rejectedCounters = counters;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private <T> T hash(Priority priority, Callable<T> hashing) {
+        if (!permits.tryAcquire()) {
+            throw reject(priority, "Too many passwords waiting to be hashed");
+        }
+        HashingTask<T> task = new HashingTask<>(priority, sequence.getAndIncrement(), hashing);
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            throw reject(priority, "The password hashing is shut down");
+        }
+        try {
+            return task.get(maxWaitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            task.cancel(false);
+            throw reject(priority, "Password not hashed within " + maxWaitMs + " ms");
+        } catch (InterruptedException e) {
+            task.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a password to be hashed", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private PasswordHashingRejectedException reject(Priority priority, String message) {
+        Counter counter = rejectedCounters.get(priority);
+        if (counter != null) {
+            counter.increment();
+        }
+        return new PasswordHashingRejectedException(message, retryAfterSeconds);
+    }
+
+    /**
+     * A password hashing, ordered by priority then by arrival in the queue of the executor.
+     * <p>
+     * Its permit is released once it leaves the queue, even when cancelled, as a cancelled task stays in the queue.
+     */
+    private class HashingTask<T> extends FutureTask<T> implements Comparable<HashingTask<?>> {
+
+        private final Priority priority;
+
+        private final long sequenceNumber;
+
+        private final long queuedAt = System.nanoTime();
+
+        HashingTask(Priority priority, long sequenceNumber, Callable<T> hashing) {
+            super(hashing);
+            this.priority = priority;
+            this.sequenceNumber = sequenceNumber;
+        }
+
+        @Override
+        public void run() {
+            Timer timer = waitTimers.get(priority);
+            try {
+                if (timer != null && !isCancelled()) {
+                    timer.record(System.nanoTime() - queuedAt, TimeUnit.NANOSECONDS);
+                }
+                super.run();
+            } finally {
+                permits.release();
+            }
+        }
+
+        @Override
+        public int compareTo(HashingTask<?> other) {
+            int comparison = priority.compareTo(other.priority);
+            return comparison != 0 ? comparison : Long.compare(sequenceNumber, other.sequenceNumber);
+        }
+    }
+}
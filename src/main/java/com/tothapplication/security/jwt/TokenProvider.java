@@ -2,7 +2,9 @@ package com.tothapplication.security.jwt;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.time.Clock;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -16,6 +18,9 @@ import org.springframework.security.core.userdetails.User;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import com.tothapplication.config.ApplicationProperties;
+import com.tothapplication.security.jwt.VerifiedTokenCache.VerifiedToken;
+
 import io.github.jhipster.config.JHipsterProperties;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -36,8 +41,20 @@ public class TokenProvider implements InitializingBean {
 
     private final JHipsterProperties jHipsterProperties;
 
-    public TokenProvider(JHipsterProperties jHipsterProperties) {
+    private final VerifiedTokenCache verifiedTokens;
+
+    private final TokenRevocations tokenRevocations;
+
+    /**
+     * Authorities of the verified tokens, shared by all their authentications.
+     */
+    private final Map<String, GrantedAuthority> grantedAuthorities = new ConcurrentHashMap<>();
+
+    public TokenProvider(JHipsterProperties jHipsterProperties, ApplicationProperties applicationProperties,
+                         TokenRevocations tokenRevocations) {
         this.jHipsterProperties = jHipsterProperties;
+        this.verifiedTokens = new VerifiedTokenCache(applicationProperties.getJwt().getVerifiedTokenCacheSize(), Clock.systemUTC());
+        this.tokenRevocations = tokenRevocations;
     }
 
     @Override
@@ -74,6 +91,8 @@ public class TokenProvider implements InitializingBean {
         }
 
         return Jwts.builder()
+            .setId(UUID.randomUUID().toString())
+            .setIssuedAt(new Date(now))
             .setSubject(authentication.getName())
             .claim(AUTHORITIES_KEY, authorities)
             .signWith(key, SignatureAlgorithm.HS512)
@@ -81,26 +100,62 @@ public class TokenProvider implements InitializingBean {
             .compact();
     }
 
+    /**
+     * Get the authentication of a token, verified only once while it is kept in the cache of the verified tokens.
+     * Whether it is revoked is checked on each call.
+     *
+     * @param token the token.
+     * @return the authentication, or an empty {@link Optional} if the token is invalid or revoked.
+     */
+    public Optional<Authentication> getVerifiedAuthentication(String token) {
+        VerifiedToken verifiedToken = verifiedTokens.computeIfAbsent(token, this::verify);
+        if (verifiedToken == null || isRevoked(verifiedToken)) {
+            return Optional.empty();
+        }
+        return Optional.of(new UsernamePasswordAuthenticationToken(verifiedToken.getPrincipal(), token, verifiedToken.getAuthorities()));
+    }
+
     public Authentication getAuthentication(String token) {
         Claims claims = Jwts.parser()
             .setSigningKey(key)
             .parseClaimsJws(token)
             .getBody();
 
-        Collection<? extends GrantedAuthority> authorities =
-            Arrays.stream(claims.get(AUTHORITIES_KEY).toString().split(","))
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-
-        User principal = new User(claims.getSubject(), "", authorities);
+        VerifiedToken verifiedToken = toVerifiedToken(claims);
+        return new UsernamePasswordAuthenticationToken(verifiedToken.getPrincipal(), token, verifiedToken.getAuthorities());
+    }
 
-        return new UsernamePasswordAuthenticationToken(principal, token, authorities);
+    /**
+     * Get the claims of a token, whether it is revoked or not.
+     *
+     * @param token the token.
+     * @return the claims, or an empty {@link Optional} if the token is invalid.
+     */
+    public Optional<Claims> getClaims(String token) {
+        try {
+            return Optional.of(Jwts.parser().setSigningKey(key).parseClaimsJws(token).getBody());
+        } catch (JwtException | IllegalArgumentException e) {
+            log.trace("Invalid JWT token trace: {}", e);
+            return Optional.empty();
+        }
     }
 
     public boolean validateToken(String authToken) {
-        try {
-            Jwts.parser().setSigningKey(key).parseClaimsJws(authToken);
+        VerifiedToken verifiedToken = verifiedTokens.computeIfAbsent(authToken, this::verify);
+        return verifiedToken != null && !isRevoked(verifiedToken);
+    }
+
+    private boolean isRevoked(VerifiedToken verifiedToken) {
+        if (tokenRevocations.isRevoked(verifiedToken.getTokenId(), verifiedToken.getPrincipal().getUsername(), verifiedToken.getIssuedAt())) {
+            log.info("Revoked JWT token.");
             return true;
+        }
+        return false;
+    }
+
+    private VerifiedToken verify(String authToken) {
+        try {
+            return toVerifiedToken(Jwts.parser().setSigningKey(key).parseClaimsJws(authToken).getBody());
         } catch (io.jsonwebtoken.security.SecurityException | MalformedJwtException e) {
             log.info("Invalid JWT signature.");
             log.trace("Invalid JWT signature trace: {}", e);
@@ -114,6 +169,22 @@ public class TokenProvider implements InitializingBean {
             log.info("JWT token compact of handler are invalid.");
             log.trace("JWT token compact of handler are invalid trace: {}", e);
         }
-        return false;
+        return null;
+    }
+
+    private VerifiedToken toVerifiedToken(Claims claims) {
+        Object authoritiesClaim = claims.get(AUTHORITIES_KEY);
+        List<GrantedAuthority> tokenAuthorities = authoritiesClaim == null || authoritiesClaim.toString().isEmpty()
+            ? new ArrayList<>()
+            : Arrays.stream(authoritiesClaim.toString().split(","))
+                .map(authority -> grantedAuthorities.computeIfAbsent(authority, SimpleGrantedAuthority::new))
+                .collect(Collectors.toList());
+
+        User principal = new User(claims.getSubject(), "", tokenAuthorities);
+
+        // A token without expiration is verified on each request
+        long expiration = claims.getExpiration() != null ? claims.getExpiration().getTime() : 0;
+        long issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().getTime() : 0;
+        return new VerifiedToken(claims.getId(), issuedAt, principal, Collections.unmodifiableList(tokenAuthorities), expiration);
     }
 }
@@ -0,0 +1,95 @@
+package com.tothapplication.security.jwt;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The revoked tokens, checked by {@link TokenProvider} on each request without accessing the database.
+ * <p>
+ * A token is revoked either by its ID, or with all the tokens of its user issued before a revocation. The revocations
+ * are kept until the tokens they revoke expire, so that they stay few: the logouts and the users revoked during the
+ * validity of the tokens.
+ */
+@Component
+public class TokenRevocations {
+
+    /**
+     * Expiration of each revoked token, by token ID.
+     */
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    /**
+     * Latest revocation of the tokens of each user, by login.
+     */
+    private final Map<String, UserRevocation> revokedUsers = new ConcurrentHashMap<>();
+
+    /**
+     * Check whether a token is revoked.
+     *
+     * @param tokenId the ID of the token, or {@code null} if it has none.
+     * @param login the login of the user of the token.
+     * @param issuedAt the issue time of the token in milliseconds since the epoch, or 0 if it is unknown.
+     * @return whether the token is revoked.
+     */
+    public boolean isRevoked(String tokenId, String login, long issuedAt) {
+        if (tokenId != null && revokedTokens.containsKey(tokenId)) {
+            return true;
+        }
+        UserRevocation userRevocation = revokedUsers.get(login);
+        // The issue time of the tokens is in seconds: a token issued during the second of the revocation is revoked
+        return userRevocation != null && issuedAt / 1000 <= userRevocation.revokedAt / 1000;
+    }
+
+    /**
+     * Revoke a token.
+     *
+     * @param tokenId the ID of the token.
+     * @param expiration the expiration of the token, in milliseconds since the epoch.
+     */
+    public void revokeToken(String tokenId, long expiration) {
+        revokedTokens.merge(tokenId, expiration, Math::max);
+    }
+
+    /**
+     * Revoke the tokens of a user issued before a time.
+     *
+     * @param login the login of the user.
+     * @param revokedAt the time of the revocation, in milliseconds since the epoch.
+     * @param expiration the expiration of the last token issued before the revocation, in milliseconds since the epoch.
+     */
+    public void revokeTokensOf(String login, long revokedAt, long expiration) {
+        revokedUsers.merge(login, new UserRevocation(revokedAt, expiration),
+            (revocation, other) -> revocation.revokedAt >= other.revokedAt ? revocation : other);
+    }
+
+    /**
+     * Remove the revocations of the tokens expired.
+     *
+     * @param now the current time, in milliseconds since the epoch.
+     */
+    public void purge(long now) {
+        revokedTokens.values().removeIf(expiration -> expiration <= now);
+        revokedUsers.values().removeIf(userRevocation -> userRevocation.expiration <= now);
+    }
+
+    /**
+     * @return the number of revocations, of tokens and of users.
+     */
+    public int size() {
+        return revokedTokens.size() + revokedUsers.size();
+    }
+
+    private static class UserRevocation {
+
+        private final long revokedAt;
+
+        private final long expiration;
+
+        UserRevocation(long revokedAt, long expiration) {
+            this.revokedAt = revokedAt;
+            this.expiration = expiration;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.tothapplication.security.jwt;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of the verified tokens, keyed by their SHA-256 digest so that the tokens themselves are not kept.
+ * <p>
+ * A token is removed once it expired. When the cache is full, the expired tokens are removed, then the quarter of the
+ * tokens expiring first.
+ */
+class VerifiedTokenCache {
+
+    private final int maxSize;
+
+    private final Clock clock;
+
+    private final Map<String, VerifiedToken> tokens = new ConcurrentHashMap<>();
+
+    VerifiedTokenCache(int maxSize, Clock clock) {
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Get a verified token, verifying it if it is not cached.
+     *
+     * @param token the token.
+     * @param verifier the function verifying the token, returning {@code null} if it is invalid.
+     * @return the verified token, or {@code null} if it is invalid.
+     */
+    VerifiedToken computeIfAbsent(String token, Function<String, VerifiedToken> verifier) {
+        if (maxSize <= 0) {
+            return verifier.apply(token);
+        }
+        String digest = digest(token);
+        long now = clock.millis();
+        VerifiedToken verifiedToken = tokens.get(digest);
+        if (verifiedToken != null) {
+            if (verifiedToken.getExpiration() > now) {
+                return verifiedToken;
+            }
+            tokens.remove(digest, verifiedToken);
+        }
+        verifiedToken = verifier.apply(token);
+        if (verifiedToken != null && verifiedToken.getExpiration() > now) {
+            if (tokens.size() >= maxSize) {
+                evict(now);
+            }
+            tokens.put(digest, verifiedToken);
+        }
+        return verifiedToken;
+    }
+
+    int size() {
+        return tokens.size();
+    }
+
+    private synchronized void evict(long now) {
+        if (tokens.size() < maxSize) {
+            return;
+        }
+        tokens.values().removeIf(verifiedToken -> verifiedToken.getExpiration() <= now);
+        int excess = tokens.size() - maxSize * 3 / 4;
+        if (excess > 0) {
+            tokens.values().stream()
+                .mapToLong(VerifiedToken::getExpiration)
+                .sorted()
+                .skip(excess - 1)
+                .findFirst()
+                .ifPresent(lastEvicted -> tokens.values().removeIf(verifiedToken -> verifiedToken.getExpiration() <= lastEvicted));
+        }
+    }
+
+    private static String digest(String token) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The principal, the authorities and the identification read from the claims of a verified token.
+     */
+    static class VerifiedToken {
+
+        private final String tokenId;
+
+        private final long issuedAt;
+
+        private final User principal;
+
+        private final Collection<GrantedAuthority> authorities;
+
+        private final long expiration;
+
+        VerifiedToken(String tokenId, long issuedAt, User principal, Collection<GrantedAuthority> authorities, long expiration) {
+            this.tokenId = tokenId;
+            this.issuedAt = issuedAt;
+            this.principal = principal;
+            this.authorities = authorities;
+            this.expiration = expiration;
+        }
+
+        /**
+         * @return the ID of the token, or {@code null} if it has none.
+         */
+        String getTokenId() {
+            return tokenId;
+        }
+
+        /**
+         * @return the issue time of the token in milliseconds since the epoch, or 0 if it has none.
+         */
+        long getIssuedAt() {
+            return issuedAt;
+        }
+
+        User getPrincipal() {
+            return principal;
+        }
+
+        Collection<GrantedAuthority> getAuthorities() {
+            return authorities;
+        }
+
+        /**
+         * @return the expiration of the token, in milliseconds since the epoch.
+         */
+        long getExpiration() {
+            return expiration;
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.tothapplication.service;
+
+import com.tothapplication.config.ApplicationProperties;
+import com.tothapplication.domain.AuditEventIdGenerator;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Service class for the storage of the audit events, partitioned by month on PostgreSQL 11 and later.
+ * <p>
+ * The partitions of the current and next months are created ahead of the audit events, and the partitions of the
+ * months past the retention are dropped as a whole, rather than deleting their audit events one by one. The audit
+ * events written before the partitioning, and all of them on the other databases, are deleted in bulk.
+ * <p>
+ * The partitions are created and dropped under a transaction-level advisory lock, so that the instances running the
+ * same scheduled tasks take turns, each one finding the partitions of the others.
+ */
+@Service
+public class AuditEventPartitionService implements InitializingBean {
+
+    private static final String EVENT_TABLE = "jhi_persistent_audit_event";
+
+    private static final String DATA_TABLE = "jhi_persistent_audit_evt_data";
+
+    private static final String PARTITION_SUFFIX = "_p";
+
+    /**
+     * Key of the advisory lock taken to create or drop the partitions.
+     */
+    private static final long PARTITIONS_LOCK = EVENT_TABLE.hashCode();
+
+    private final Logger log = LoggerFactory.getLogger(AuditEventPartitionService.class);
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration retention;
+
+    public AuditEventPartitionService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                      ApplicationProperties applicationProperties) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retention = Duration.ofDays(applicationProperties.getAuditEvents().getRetentionDays());
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            preparePartitions();
+        } catch (DataAccessException e) {
+            // The database may not be migrated yet, the partitions are created by the next periodic preparation
+            log.warn("Could not prepare the audit event partitions: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * The partitions of the current and next months should exist before their audit events are written.
+     * <p>
+     * This is scheduled to get fired every hour.
+     */
+    @Scheduled(cron = "0 0 * * * ?")
+    public void preparePartitions() {
+        if (!isPartitioned()) {
+            return;
+        }
+        transactionTemplate.execute(status -> {
+            lockPartitions();
+            Set<String> partitions = findPartitions();
+            YearMonth month = AuditEventIdGenerator.monthOf(Instant.now());
+            createPartitions(month, partitions);
+            createPartitions(month.plusMonths(1), partitions);
+            return null;
+        });
+    }
+
+    /**
+     * The audit events past the retention should be deleted.
+     * <p>
+     * This is scheduled to get fired every day, at 12:00 (pm).
+     */
+    @Scheduled(cron = "0 0 12 * * ?")
+    @Transactional
+    public void removeExpiredAuditEvents() {
+        Instant cutoff = Instant.now().minus(retention);
+        long maxEventId = Long.MAX_VALUE;
+        if (isPartitioned()) {
+            lockPartitions();
+            for (String partition : findPartitions()) {
+                YearMonth month = monthOf(partition);
+                if (month != null && !month.plusMonths(1).atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC).isAfter(cutoff)) {
+                    dropPartitions(month);
+                }
+            }
+            maxEventId = AuditEventIdGenerator.PARTITIONED_EVENT_IDS_START;
+        }
+        Timestamp cutoffTimestamp = Timestamp.from(cutoff);
+        jdbcTemplate.update("delete from " + DATA_TABLE + " where event_id in (select event_id from " + EVENT_TABLE +
+            " where event_date < ? and event_id < ?)", cutoffTimestamp, maxEventId);
+        int count = jdbcTemplate.update("delete from " + EVENT_TABLE + " where event_date < ? and event_id < ?",
+            cutoffTimestamp, maxEventId);
+        log.debug("Deleted {} expired audit events", count);
+    }
+
+    private boolean isPartitioned() {
+        String databaseProductName = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+            connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(databaseProductName)) {
+            return false;
+        }
+        Integer count = jdbcTemplate.queryForObject(
+            "select count(*) from pg_partitioned_table where partrelid = to_regclass(?)", Integer.class, EVENT_TABLE);
+        return count != null && count > 0;
+    }
+
+    private void lockPartitions() {
+        jdbcTemplate.execute("select pg_advisory_xact_lock(" + PARTITIONS_LOCK + ")");
+    }
+
+    private Set<String> findPartitions() {
+        return new HashSet<>(jdbcTemplate.queryForList("select c.relname from pg_inherits i" +
+            " join pg_class c on c.oid = i.inhrelid where i.inhparent in (to_regclass(?), to_regclass(?))",
+            String.class, EVENT_TABLE, DATA_TABLE));
+    }
+
+    private void createPartitions(YearMonth month, Set<String> partitions) {
+        String eventPartition = partitionOf(EVENT_TABLE, month);
+        String dataPartition = partitionOf(DATA_TABLE, month);
+        long fromEventId = AuditEventIdGenerator.firstEventId(month);
+        long toEventId = AuditEventIdGenerator.firstEventId(month.plusMonths(1));
+        if (!partitions.contains(eventPartition)) {
+            jdbcTemplate.execute("create table if not exists " + eventPartition + " partition of " + EVENT_TABLE +
+                " for values from (" + fromEventId + ") to (" + toEventId + ")");
+            log.info("Created the audit event partition {}", eventPartition);
+        }
+        if (!partitions.contains(dataPartition)) {
+            jdbcTemplate.execute("create table if not exists " + dataPartition + " partition of " + DATA_TABLE +
+                " for values from (" + fromEventId + ") to (" + toEventId + ")");
+            log.info("Created the audit event data partition {}", dataPartition);
+        }
+        String foreignKey = partitionOf("fk_evt_pers_audit_evt_data", month);
+        Integer foreignKeys = jdbcTemplate.queryForObject("select count(*) from pg_constraint where conname = ?",
+            Integer.class, foreignKey);
+        if (foreignKeys == null || foreignKeys == 0) {
+            jdbcTemplate.execute("alter table " + dataPartition + " add constraint " + foreignKey +
+                " foreign key (event_id) references " + eventPartition + " (event_id)");
+        }
+    }
+
+    private void dropPartitions(YearMonth month) {
+        jdbcTemplate.execute("drop table if exists " + partitionOf(DATA_TABLE, month));
+        jdbcTemplate.execute("drop table if exists " + partitionOf(EVENT_TABLE, month));
+        log.info("Dropped the audit events of {}", month);
+    }
+
+    private static String partitionOf(String table, YearMonth month) {
+        return table + PARTITION_SUFFIX + month.getYear() + String.format("%02d", month.getMonthValue());
+    }
+
+    private static YearMonth monthOf(String partition) {
+        if (!partition.startsWith(EVENT_TABLE + PARTITION_SUFFIX)) {
+            return null;
+        }
+        String suffix = partition.substring(EVENT_TABLE.length() + PARTITION_SUFFIX.length());
+        if (!suffix.matches("\\d{6}")) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(suffix.substring(0, 4)), Integer.parseInt(suffix.substring(4)));
+    }
+}
@@ -1,15 +1,21 @@
 package com.tothapplication.service;
 
 import com.tothapplication.config.audit.AuditEventConverter;
+import com.tothapplication.domain.PersistentAuditEvent;
 import com.tothapplication.repository.PersistenceAuditEventRepository;
+import com.tothapplication.web.rest.errors.BadRequestAlertException;
 import org.springframework.boot.actuate.audit.AuditEvent;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.time.DateTimeException;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Service for managing audit events.
@@ -20,16 +26,27 @@ import java.util.Optional;
 @Transactional
 public class AuditEventService {
 
+    /**
+     * Maximum number of audit events of a page sought with a cursor, their data being fetched in a single query.
+     */
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
+    private static final String CURSOR_SEPARATOR = "_";
+
     private final PersistenceAuditEventRepository persistenceAuditEventRepository;
 
     private final AuditEventConverter auditEventConverter;
 
+    private final EntityManager entityManager;
+
     public AuditEventService(
         PersistenceAuditEventRepository persistenceAuditEventRepository,
-        AuditEventConverter auditEventConverter) {
+        AuditEventConverter auditEventConverter,
+        EntityManager entityManager) {
 
         this.persistenceAuditEventRepository = persistenceAuditEventRepository;
         this.auditEventConverter = auditEventConverter;
+        this.entityManager = entityManager;
     }
 
     public Page<AuditEvent> findAll(Pageable pageable) {
@@ -42,10 +59,98 @@ public class AuditEventService {
             .map(auditEventConverter::convertToAuditEvent);
     }
 
+    /**
+     * Get a page of the audit events between two dates, newest first, sought after the audit event of a cursor
+     * rather than counted from an offset.
+     *
+     * @param fromDate the first date.
+     * @param toDate the last date.
+     * @param cursor the cursor of the previous page, or {@code null} for the first page.
+     * @param size the maximum number of audit events, up to {@link #MAX_CURSOR_PAGE_SIZE}.
+     * @return the page of audit events.
+     * @throws BadRequestAlertException if the cursor is invalid.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage findByDates(Instant fromDate, Instant toDate, String cursor, int size) {
+        int pageSize = Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+        List<PersistentAuditEvent> persistentAuditEvents = findByDatesBefore(fromDate, toDate, cursor, pageSize);
+        String nextCursor = persistentAuditEvents.size() < pageSize ? null
+            : cursorOf(persistentAuditEvents.get(persistentAuditEvents.size() - 1));
+        return new CursorPage(auditEventConverter.convertToAuditEvent(persistentAuditEvents), nextCursor);
+    }
+
+    /**
+     * Pass all the audit events between two dates to the action, newest first.
+     * <p>
+     * The audit events are read a page at a time, the persistence context being cleared after each page, so that
+     * memory stays constant whatever their number.
+     *
+     * @param fromDate the first date.
+     * @param toDate the last date.
+     * @param action the action to perform on each audit event.
+     */
+    @Transactional(readOnly = true)
+    public void exportByDates(Instant fromDate, Instant toDate, Consumer<AuditEvent> action) {
+        String cursor = null;
+        do {
+            List<PersistentAuditEvent> persistentAuditEvents = findByDatesBefore(fromDate, toDate, cursor, MAX_CURSOR_PAGE_SIZE);
+            persistentAuditEvents.stream().map(auditEventConverter::convertToAuditEvent).forEach(action);
+            cursor = persistentAuditEvents.size() < MAX_CURSOR_PAGE_SIZE ? null
+                : cursorOf(persistentAuditEvents.get(persistentAuditEvents.size() - 1));
+            entityManager.clear();
+        } while (cursor != null);
+    }
+
     public Optional<AuditEvent> find(Long id) {
         return Optional.ofNullable(persistenceAuditEventRepository.findById(id))
             .filter(Optional::isPresent)
             .map(Optional::get)
             .map(auditEventConverter::convertToAuditEvent);
     }
+
+    private List<PersistentAuditEvent> findByDatesBefore(Instant fromDate, Instant toDate, String cursor, int size) {
+        if (cursor == null || cursor.isEmpty()) {
+            return persistenceAuditEventRepository.findAllByAuditEventDateBetweenBefore(fromDate, toDate, toDate, Long.MAX_VALUE, size);
+        }
+        int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+        Instant beforeDate;
+        long beforeId;
+        try {
+            beforeDate = Instant.parse(cursor.substring(0, Math.max(separator, 0)));
+            beforeId = Long.parseLong(cursor.substring(separator + 1));
+        } catch (DateTimeException | NumberFormatException e) {
+            throw new BadRequestAlertException("Invalid cursor", "audit", "cursorinvalid");
+        }
+        return persistenceAuditEventRepository.findAllByAuditEventDateBetweenBefore(fromDate, toDate, beforeDate, beforeId, size);
+    }
+
+    private static String cursorOf(PersistentAuditEvent persistentAuditEvent) {
+        return persistentAuditEvent.getAuditEventDate() + CURSOR_SEPARATOR + persistentAuditEvent.getId();
+    }
+
+    /**
+     * A page of audit events, with the cursor of the next page.
+     */
+    public static class CursorPage {
+
+        private final List<AuditEvent> content;
+
+        private final String nextCursor;
+
+        CursorPage(List<AuditEvent> content, String nextCursor) {
+            this.content = content;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<AuditEvent> getContent() {
+            return content;
+        }
+
+        /**
+         * @return the cursor of the next page, or an empty {@link Optional} if this page is the last one.
+         */
+        public Optional<String> getNextCursor() {
+            return Optional.ofNullable(nextCursor);
+        }
+    }
 }
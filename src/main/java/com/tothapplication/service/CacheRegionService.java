@@ -0,0 +1,97 @@
+package com.tothapplication.service;
+
+import com.tothapplication.config.cache.CacheInvalidationBus;
+import com.tothapplication.config.cache.CacheRegionStatistics;
+import com.tothapplication.service.dto.CacheRegionDTO;
+
+import org.ehcache.core.statistics.CacheStatistics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Service for inspecting and clearing the cache regions.
+ */
+@Service
+public class CacheRegionService {
+
+    private final Logger log = LoggerFactory.getLogger(CacheRegionService.class);
+
+    private final CacheManager cacheManager;
+
+    private final CacheRegionStatistics cacheRegionStatistics;
+
+    private final ObjectProvider<CacheInvalidationBus> cacheInvalidationBus;
+
+    public CacheRegionService(CacheManager cacheManager, CacheRegionStatistics cacheRegionStatistics,
+                              ObjectProvider<CacheInvalidationBus> cacheInvalidationBus) {
+        this.cacheManager = cacheManager;
+        this.cacheRegionStatistics = cacheRegionStatistics;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    /**
+     * Get all the cache regions, by name.
+     *
+     * @return the list of regions.
+     */
+    public List<CacheRegionDTO> findAll() {
+        Set<String> names = new TreeSet<>();
+        cacheManager.getCacheNames().forEach(names::add);
+        List<CacheRegionDTO> regions = new ArrayList<>();
+        for (String name : names) {
+            findOne(name).ifPresent(regions::add);
+        }
+        return regions;
+    }
+
+    /**
+     * Get a cache region.
+     *
+     * @param name the name of the region.
+     * @return the region, or an empty {@link Optional} if it does not exist.
+     */
+    public Optional<CacheRegionDTO> findOne(String name) {
+        return cacheRegionStatistics.getStatistics(name).map(statistics -> toDto(name, statistics));
+    }
+
+    /**
+     * Remove all the entries of a cache region, of this instance and of the other instances.
+     *
+     * @param name the name of the region.
+     * @return {@code false} if the region does not exist.
+     */
+    public boolean clear(String name) {
+        Cache<Object, Object> cache = cacheManager.getCache(name);
+        if (cache == null) {
+            return false;
+        }
+        log.info("Clearing the cache region {}", name);
+        cache.clear();
+        cacheInvalidationBus.ifAvailable(bus -> bus.evictAll(name));
+        return true;
+    }
+
+    private CacheRegionDTO toDto(String name, CacheStatistics statistics) {
+        CacheRegionDTO region = new CacheRegionDTO();
+        region.setName(name);
+        region.setSize(CacheRegionStatistics.getSize(statistics));
+        region.setTierSizes(CacheRegionStatistics.getTierSizes(statistics));
+        region.setHits(statistics.getCacheHits());
+        region.setMisses(statistics.getCacheMisses());
+        region.setPuts(statistics.getCachePuts());
+        region.setRemovals(statistics.getCacheRemovals());
+        region.setEvictions(statistics.getCacheEvictions());
+        region.setExpirations(statistics.getCacheExpirations());
+        return region;
+    }
+}
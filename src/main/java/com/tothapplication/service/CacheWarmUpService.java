@@ -0,0 +1,128 @@
+package com.tothapplication.service;
+
+import com.tothapplication.config.ApplicationProperties;
+import com.tothapplication.domain.FormationSession;
+import com.tothapplication.repository.AuthorityRepository;
+import com.tothapplication.repository.CCPRepository;
+import com.tothapplication.repository.FormationRepository;
+import com.tothapplication.repository.FormationSessionRepository;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Service loading the reference data and the running formation sessions in the second-level cache at startup, so that
+ * the first requests after a deploy do not all reach the database.
+ * <p>
+ * The regions are loaded in parallel once the application is ready, and the application is reported out of service
+ * by the {@code cacheWarmUp} health indicator until they are.
+ */
+@Service
+public class CacheWarmUpService {
+
+    private final Logger log = LoggerFactory.getLogger(CacheWarmUpService.class);
+
+    private final FormationRepository formationRepository;
+
+    private final CCPRepository cCPRepository;
+
+    private final AuthorityRepository authorityRepository;
+
+    private final FormationSessionRepository formationSessionRepository;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final ApplicationProperties.WarmUp warmUp;
+
+    private volatile boolean warmedUp;
+
+    public CacheWarmUpService(FormationRepository formationRepository, CCPRepository cCPRepository,
+                              AuthorityRepository authorityRepository, FormationSessionRepository formationSessionRepository,
+                              PlatformTransactionManager transactionManager, ApplicationProperties applicationProperties) {
+        this.formationRepository = formationRepository;
+        this.cCPRepository = cCPRepository;
+        this.authorityRepository = authorityRepository;
+        this.formationSessionRepository = formationSessionRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.warmUp = applicationProperties.getCache().getWarmUp();
+        this.warmedUp = !warmUp.isEnabled();
+    }
+
+    /**
+     * Check whether the second-level cache is warmed up.
+     *
+     * @return {@code true} if the warm-up is complete, or disabled.
+     */
+    public boolean isWarmedUp() {
+        return warmedUp;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        if (warmUp.isEnabled()) {
+            warmUp();
+        }
+    }
+
+    /**
+     * Load the regions in the second-level cache, in parallel.
+     *
+     * @return the completion of the warm-up, which never completes exceptionally, as the regions can still be loaded
+     * by the requests.
+     */
+    public CompletableFuture<Void> warmUp() {
+        log.info("Warming up the second-level cache");
+        long start = System.currentTimeMillis();
+        ExecutorService executor = Executors.newFixedThreadPool(warmUp.getPoolSize(), new CustomizableThreadFactory("cache-warm-up-"));
+        CompletableFuture<?>[] regions = {
+            load("Formation", executor, () -> formationRepository.findAllWithEagerRelationships()),
+            load("CCP", executor, () -> cCPRepository.findAllWithEagerRelationships()),
+            load("Authority", executor, authorityRepository::findAll),
+            load("FormationSession", executor, this::loadRunningFormationSessions)
+        };
+        return CompletableFuture.allOf(regions)
+            .handle((result, ex) -> {
+                executor.shutdown();
+                warmedUp = true;
+                log.info("Warmed up the second-level cache in {} ms", System.currentTimeMillis() - start);
+                return null;
+            });
+    }
+
+    private CompletableFuture<Void> load(String region, ExecutorService executor, Supplier<List<?>> loader) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                List<?> entities = transactionTemplate.execute(status -> loader.get());
+                log.debug("Warmed up {} {} entities", entities.size(), region);
+            } catch (RuntimeException e) {
+                log.warn("Could not warm up the {} region", region, e);
+            }
+        }, executor);
+    }
+
+    private List<FormationSession> loadRunningFormationSessions() {
+        List<FormationSession> formationSessions = formationSessionRepository.findAllRunningAt(LocalDate.now(ZoneId.systemDefault()));
+        for (FormationSession formationSession : formationSessions) {
+            // Batch-fetched, for all the sessions at once
+            Hibernate.initialize(formationSession.getStudients());
+            Hibernate.initialize(formationSession.getDocuments());
+        }
+        return formationSessions;
+    }
+}
@@ -1,12 +1,15 @@
 package com.tothapplication.service;
 
 import com.tothapplication.service.dto.DocumentDTO;
+import com.tothapplication.domain.enumeration.TypeDocument;
+import com.tothapplication.service.dto.DocumentFileDTO;
+import com.tothapplication.service.dto.DocumentUploadDTO;
 
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -54,11 +57,30 @@ public interface DocumentService {
      */
     String storeFile(Long id, MultipartFile file);
 
-
     /**
-     * Delete the "id" document.
+     * Get the stored file of the "id" document, with its content type.
      *
      * @param id the id of the entity.
+     * @return the stored file, or empty if the document or its file does not exist.
+     */
+    Optional<DocumentFileDTO> loadFile(Long id);
+
+    /**
+     * Get the stored files of the documents of the "id" formation session.
+     *
+     * @param formationSessionId the id of the formation session.
+     * @return the stored files, or empty if the formation session does not exist.
+     */
+    Optional<List<DocumentFileDTO>> loadFormationSessionFiles(Long formationSessionId);
+
+    /**
+     * Create one document per uploaded file, optionally attached to a formation session or a CCP.
+     *
+     * @param files the uploaded files.
+     * @param type the type of the created documents.
+     * @param formationSessionId the id of the formation session to attach the documents to, or {@code null}.
+     * @param ccpId the id of the CCP to attach the documents to, or {@code null}.
+     * @return the outcome of each file, in upload order.
      */
-    Resource loadFileAsResource(Long id);
+    List<DocumentUploadDTO> storeFiles(List<MultipartFile> files, TypeDocument type, Long formationSessionId, Long ccpId);
 }
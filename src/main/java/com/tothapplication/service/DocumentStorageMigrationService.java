@@ -0,0 +1,160 @@
+package com.tothapplication.service;
+
+import com.tothapplication.domain.Document;
+import com.tothapplication.repository.DocumentRepository;
+import com.tothapplication.service.dto.DocumentStorageMigrationDTO;
+import com.tothapplication.service.storage.DocumentStorage;
+import com.tothapplication.service.storage.StoredFile;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Service migrating stored document files to the layout configured for the {@link DocumentStorage}.
+ * <p>
+ * The migration runs in the background while the application keeps serving documents: files are first moved
+ * to their location in the configured layout, where they stay readable at all times, then the files stored
+ * under their original name are copied under their digest before their document is switched over to it.
+ */
+@Service
+public class DocumentStorageMigrationService {
+
+    private final Logger log = LoggerFactory.getLogger(DocumentStorageMigrationService.class);
+
+    private final DocumentRepository documentRepository;
+
+    private final DocumentStorage documentStorage;
+
+    private final Executor taskExecutor;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private final DocumentStorageMigrationDTO status = new DocumentStorageMigrationDTO();
+
+    public DocumentStorageMigrationService(DocumentRepository documentRepository, DocumentStorage documentStorage,
+                                           @Qualifier("taskExecutor") Executor taskExecutor) {
+        this.documentRepository = documentRepository;
+        this.documentStorage = documentStorage;
+        this.taskExecutor = taskExecutor;
+    }
+
+    /**
+     * Start a migration in the background.
+     *
+     * @return {@code false} if a migration is already running.
+     */
+    public boolean start() {
+        if (!running.compareAndSet(false, true)) {
+            return false;
+        }
+        synchronized (status) {
+            status.setRunning(true);
+            status.setStartDate(Instant.now());
+            status.setEndDate(null);
+            status.setReshardedFiles(0);
+            status.setMigratedDocuments(0);
+            status.setMissingFiles(0);
+            status.setFailedDocuments(0);
+        }
+        try {
+            taskExecutor.execute(this::migrate);
+        } catch (RuntimeException ex) {
+            finish();
+            throw ex;
+        }
+        return true;
+    }
+
+    /**
+     * Get the progress of the running migration, or the result of the last one.
+     *
+     * @return the migration status.
+     */
+    public DocumentStorageMigrationDTO getStatus() {
+        synchronized (status) {
+            DocumentStorageMigrationDTO copy = new DocumentStorageMigrationDTO();
+            copy.setRunning(status.isRunning());
+            copy.setStartDate(status.getStartDate());
+            copy.setEndDate(status.getEndDate());
+            copy.setReshardedFiles(status.getReshardedFiles());
+            copy.setMigratedDocuments(status.getMigratedDocuments());
+            copy.setMissingFiles(status.getMissingFiles());
+            copy.setFailedDocuments(status.getFailedDocuments());
+            return copy;
+        }
+    }
+
+    private void migrate() {
+        log.info("Starting document storage migration");
+        try {
+            long resharded = documentStorage.reshard();
+            synchronized (status) {
+                status.setReshardedFiles(resharded);
+            }
+            Long lastId = 0L;
+            List<Document> documents;
+            while (!(documents = documentRepository.findTop100BySha256IsNullAndIdGreaterThanOrderByIdAsc(lastId)).isEmpty()) {
+                for (Document document : documents) {
+                    migrateDocument(document);
+                    lastId = document.getId();
+                }
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.error("Document storage migration failed", ex);
+        } finally {
+            finish();
+            log.info("Document storage migration finished: {}", getStatus());
+        }
+    }
+
+    private void migrateDocument(Document document) {
+        Optional<Path> legacyFile = documentStorage.findLegacy(document.getFilename());
+        if (!legacyFile.isPresent()) {
+            log.warn("File {} of Document {} not found", document.getFilename(), document.getId());
+            synchronized (status) {
+                status.setMissingFiles(status.getMissingFiles() + 1);
+            }
+            return;
+        }
+        try {
+            StoredFile storedFile;
+            try (InputStream in = Files.newInputStream(legacyFile.get())) {
+                storedFile = documentStorage.store(in);
+            }
+            // Skipped if a new file was uploaded for the document in the meantime
+            documentRepository.updateStoredFileWhereSha256IsNull(document.getId(), storedFile.getSha256(), storedFile.getSize(),
+                Instant.now());
+            if (documentRepository.countBySha256IsNullAndFilename(document.getFilename()) == 0) {
+                documentStorage.deleteLegacy(document.getFilename());
+            }
+            synchronized (status) {
+                status.setMigratedDocuments(status.getMigratedDocuments() + 1);
+            }
+        } catch (IOException | RuntimeException ex) {
+            log.warn("Could not migrate the file of Document {}", document.getId(), ex);
+            synchronized (status) {
+                status.setFailedDocuments(status.getFailedDocuments() + 1);
+            }
+        }
+    }
+
+    private void finish() {
+        synchronized (status) {
+            status.setRunning(false);
+            status.setEndDate(Instant.now());
+        }
+        running.set(false);
+    }
+}
@@ -0,0 +1,104 @@
+package com.tothapplication.service;
+
+import com.tothapplication.domain.AbstractLastModifiedEntity;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service computing the weak ETags of the entity REST resources from the last modification dates of the entities.
+ * <p>
+ * An ETag is computed with a single query reading dates only, so that a request whose copy is still valid can be
+ * answered before the entity is loaded, mapped and serialized. As the DTOs embed some related entities, the counts
+ * and dates of the relationships given by their path from the entity, such as {@code "ccps.documents"}, are included.
+ */
+@Service
+@Transactional(readOnly = true)
+public class EntityETagService {
+
+    private final EntityManager entityManager;
+
+    public EntityETagService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Get the ETag of the "id" entity.
+     *
+     * @param entityClass the class of the entity.
+     * @param id the id of the entity.
+     * @param relationships the paths of the related entities embedded in the DTO of the entity.
+     * @return the ETag, or {@code null} if the entity does not exist.
+     */
+    public String getETag(Class<? extends AbstractLastModifiedEntity> entityClass, Long id, String... relationships) {
+        StringBuilder query = new StringBuilder("select entity.lastModifiedDate");
+        appendRelationships(query, entityClass, relationships, " where relationship0 = entity");
+        query.append(" from ").append(getEntityName(entityClass)).append(" entity where entity.id = :id");
+        List<?> results = entityManager.createQuery(query.toString())
+            .setParameter("id", id)
+            .getResultList();
+        return results.isEmpty() ? null : toETag(results.get(0));
+    }
+
+    /**
+     * Get the ETag of the collection of entities, whatever the page.
+     * <p>
+     * The ETag changes when an entity is created, modified or deleted.
+     *
+     * @param entityClass the class of the entity.
+     * @param relationships the paths of the related entities embedded in the DTO of the entity.
+     * @return the ETag.
+     */
+    public String getCollectionETag(Class<? extends AbstractLastModifiedEntity> entityClass, String... relationships) {
+        StringBuilder query = new StringBuilder("select count(entity), max(entity.lastModifiedDate)");
+        appendRelationships(query, entityClass, relationships, "");
+        query.append(" from ").append(getEntityName(entityClass)).append(" entity");
+        return toETag(entityManager.createQuery(query.toString()).getSingleResult());
+    }
+
+    /**
+     * Append two sub-queries per relationship, reading the number of its entities and their last modification date:
+     * removing an entity from a relationship, or deleting it, does not modify the entity owning the relationship.
+     */
+    private void appendRelationships(StringBuilder query, Class<? extends AbstractLastModifiedEntity> entityClass,
+                                     String[] relationships, String restriction) {
+        for (String relationship : relationships) {
+            appendRelationship(query, entityClass, relationship, "count(related)", restriction);
+            appendRelationship(query, entityClass, relationship, "max(related.lastModifiedDate)", restriction);
+        }
+    }
+
+    private void appendRelationship(StringBuilder query, Class<? extends AbstractLastModifiedEntity> entityClass,
+                                    String relationship, String selection, String restriction) {
+        query.append(", (select ").append(selection).append(" from ")
+            .append(getEntityName(entityClass)).append(" relationship0");
+        String[] path = relationship.split("\\.");
+        for (int i = 0; i < path.length; i++) {
+            String alias = i == path.length - 1 ? "related" : "relationship" + (i + 1);
+            query.append(" join relationship").append(i).append('.').append(path[i]).append(' ').append(alias);
+        }
+        query.append(restriction).append(')');
+    }
+
+    private String getEntityName(Class<? extends AbstractLastModifiedEntity> entityClass) {
+        return entityManager.getMetamodel().entity(entityClass).getName();
+    }
+
+    private String toETag(Object result) {
+        Object[] values = result instanceof Object[] ? (Object[]) result : new Object[]{result};
+        StringBuilder eTag = new StringBuilder("W/\"");
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                eTag.append('-');
+            }
+            Object value = values[i];
+            long number = value instanceof Instant ? ((Instant) value).toEpochMilli() : value instanceof Number ? ((Number) value).longValue() : 0;
+            eTag.append(Long.toHexString(number));
+        }
+        return eTag.append('"').toString();
+    }
+}
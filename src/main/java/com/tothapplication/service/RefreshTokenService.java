@@ -0,0 +1,178 @@
+package com.tothapplication.service;
+
+import com.tothapplication.config.ApplicationProperties;
+import com.tothapplication.domain.RefreshToken;
+import com.tothapplication.domain.User;
+import com.tothapplication.repository.RefreshTokenRepository;
+import com.tothapplication.repository.UserRepository;
+import com.tothapplication.security.jwt.TokenProvider;
+import com.tothapplication.service.util.RandomUtil;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Service class for the refresh tokens, renewing the access tokens without verifying the password of the user.
+ * <p>
+ * The refresh tokens are random values, stored as their SHA-256 digest: unlike a password, they have enough entropy
+ * not to need a slow hash.
+ */
+@Service
+@Transactional
+public class RefreshTokenService {
+
+    private final Logger log = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final UserRepository userRepository;
+
+    private final TokenProvider tokenProvider;
+
+    private final Duration refreshTokenValidity;
+
+    private final Duration refreshTokenValidityForRememberMe;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository, UserRepository userRepository,
+                               TokenProvider tokenProvider, ApplicationProperties applicationProperties) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.tokenProvider = tokenProvider;
+        this.refreshTokenValidity = Duration.ofSeconds(applicationProperties.getJwt().getRefreshTokenValidityInSeconds());
+        this.refreshTokenValidityForRememberMe =
+            Duration.ofSeconds(applicationProperties.getJwt().getRefreshTokenValidityInSecondsForRememberMe());
+    }
+
+    /**
+     * Create the refresh token of a new login.
+     *
+     * @param login the login of the user.
+     * @param rememberMe whether the user asked to be remembered.
+     * @return the refresh token.
+     */
+    public String createRefreshToken(String login, boolean rememberMe) {
+        Instant now = Instant.now();
+        return saveRefreshToken(login, UUID.randomUUID().toString(), now,
+            now.plus(rememberMe ? refreshTokenValidityForRememberMe : refreshTokenValidity));
+    }
+
+    /**
+     * Renew the access token with a refresh token, which is replaced by a new one.
+     * <p>
+     * A refresh token already used was stolen, or replayed by its owner: the whole family of the token is revoked, so
+     * that neither can renew the access token anymore.
+     *
+     * @param refreshToken the refresh token.
+     * @return the new access token and refresh token, or an empty {@link Optional} if the refresh token is invalid.
+     */
+    public Optional<RenewedTokens> renew(String refreshToken) {
+        Instant now = Instant.now();
+        Optional<RefreshToken> storedRefreshToken = refreshTokenRepository.findOneByTokenHash(hash(refreshToken))
+            .filter(stored -> stored.getExpirationDate().isAfter(now));
+        if (!storedRefreshToken.isPresent()) {
+            return Optional.empty();
+        }
+        RefreshToken usedRefreshToken = storedRefreshToken.get();
+        if (refreshTokenRepository.updateUsedDateWhereUsedDateIsNull(usedRefreshToken.getId(), now) == 0) {
+            log.warn("Refresh token of user {} used twice, revoking its family", usedRefreshToken.getLogin());
+            refreshTokenRepository.deleteAllByFamilyId(usedRefreshToken.getFamilyId());
+            return Optional.empty();
+        }
+        Optional<User> user = userRepository.findOneWithAuthoritiesByLogin(usedRefreshToken.getLogin())
+            .filter(User::getActivated);
+        if (!user.isPresent()) {
+            refreshTokenRepository.deleteAllByFamilyId(usedRefreshToken.getFamilyId());
+            return Optional.empty();
+        }
+        List<GrantedAuthority> grantedAuthorities = user.get().getAuthorities().stream()
+            .map(authority -> new SimpleGrantedAuthority(authority.getName()))
+            .collect(Collectors.toList());
+        String accessToken = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(user.get().getLogin(), null, grantedAuthorities), false);
+        String newRefreshToken = saveRefreshToken(usedRefreshToken.getLogin(), usedRefreshToken.getFamilyId(), now,
+            usedRefreshToken.getExpirationDate());
+        return Optional.of(new RenewedTokens(accessToken, newRefreshToken));
+    }
+
+    /**
+     * Revoke a refresh token, with the whole family of tokens renewed from the same login.
+     *
+     * @param refreshToken the refresh token.
+     */
+    public void revokeRefreshToken(String refreshToken) {
+        refreshTokenRepository.findOneByTokenHash(hash(refreshToken))
+            .ifPresent(stored -> refreshTokenRepository.deleteAllByFamilyId(stored.getFamilyId()));
+    }
+
+    /**
+     * The expired refresh tokens should be deleted.
+     * <p>
+     * This is scheduled to get fired every hour.
+     */
+    @Scheduled(cron = "0 30 * * * ?")
+    public void removeExpiredRefreshTokens() {
+        int count = refreshTokenRepository.deleteAllByExpirationDateNotAfter(Instant.now());
+        log.debug("Deleted {} expired refresh tokens", count);
+    }
+
+    private String saveRefreshToken(String login, String familyId, Instant now, Instant expirationDate) {
+        String value = RandomUtil.generateRefreshToken();
+        RefreshToken refreshToken = new RefreshToken();
+        refreshToken.setTokenHash(hash(value));
+        refreshToken.setFamilyId(familyId);
+        refreshToken.setLogin(login);
+        refreshToken.setCreatedDate(now);
+        refreshToken.setExpirationDate(expirationDate);
+        refreshTokenRepository.save(refreshToken);
+        return value;
+    }
+
+    private static String hash(String refreshToken) {
+        try {
+            MessageDigest messageDigest = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(messageDigest.digest(refreshToken.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    /**
+     * The tokens renewed with a refresh token.
+     */
+    public static class RenewedTokens {
+
+        private final String accessToken;
+
+        private final String refreshToken;
+
+        RenewedTokens(String accessToken, String refreshToken) {
+            this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+        }
+
+        public String getAccessToken() {
+            return accessToken;
+        }
+
+        public String getRefreshToken() {
+            return refreshToken;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.tothapplication.service;
+
+import com.tothapplication.config.FileStorageProperties;
+import com.tothapplication.domain.Document;
+import com.tothapplication.repository.DocumentRepository;
+import com.tothapplication.service.dto.ThumbnailDTO;
+import com.tothapplication.service.storage.DocumentStorage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.util.DigestUtils;
+
+import javax.imageio.IIOException;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Service deriving fixed-size thumbnails from image documents, such as the photos of the studients.
+ * <p>
+ * A thumbnail is generated on its first request, then written next to the stored file of its document, as
+ * {@code <sha256>-<size>.jpg} or {@code .png} when the image has transparency, so that it is generated once; it is
+ * moved with the stored file when the storage is re-sharded.
+ * The most recently used thumbnails are also kept in memory. Thumbnails of documents stored under their
+ * original name are not written to disk, they only live in memory until the document is migrated.
+ */
+@Service
+public class ThumbnailService {
+
+    private static final String JPEG = "jpg";
+
+    private static final String PNG = "png";
+
+    private final Logger log = LoggerFactory.getLogger(ThumbnailService.class);
+
+    private final DocumentRepository documentRepository;
+
+    private final DocumentStorage documentStorage;
+
+    private final List<Integer> sizes;
+
+    private final Map<String, ThumbnailDTO> cache;
+
+    public ThumbnailService(DocumentRepository documentRepository, DocumentStorage documentStorage,
+                            FileStorageProperties fileStorageProperties) {
+        this.documentRepository = documentRepository;
+        this.documentStorage = documentStorage;
+        this.sizes = fileStorageProperties.getThumbnail().getSizes();
+        int cacheSize = fileStorageProperties.getThumbnail().getCacheSize();
+        this.cache = new LinkedHashMap<String, ThumbnailDTO>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ThumbnailDTO> eldest) {
+                return size() > cacheSize;
+            }
+        };
+    }
+
+    /**
+     * Check whether thumbnails of the given size can be requested.
+     *
+     * @param size the size of the thumbnail, in pixels.
+     * @return {@code true} if the size is one of the configured sizes.
+     */
+    public boolean isSupportedSize(int size) {
+        return sizes.contains(size);
+    }
+
+    /**
+     * Get the thumbnail of the "id" document, fitting in a square of the given size.
+     *
+     * @param id the id of the document.
+     * @param size the size of the thumbnail, in pixels.
+     * @return the thumbnail, or empty if the document, its file, or an image in its file does not exist.
+     * @throws IOException if the thumbnail cannot be generated.
+     */
+    public Optional<ThumbnailDTO> getThumbnail(Long id, int size) throws IOException {
+        log.debug("Request to get the {}px thumbnail of Document : {}", size, id);
+        Optional<Document> document = documentRepository.findById(id);
+        if (!document.isPresent()) {
+            return Optional.empty();
+        }
+        String sha256 = document.get().getSha256();
+        String key = (sha256 != null ? sha256 : "legacy:" + document.get().getFilename()) + ":" + size;
+        ThumbnailDTO thumbnail;
+        synchronized (cache) {
+            thumbnail = cache.get(key);
+        }
+        if (thumbnail != null) {
+            return Optional.of(thumbnail);
+        }
+
+        Optional<Path> storedFile = sha256 != null
+            ? documentStorage.find(sha256)
+            : documentStorage.findLegacy(document.get().getFilename());
+        if (!storedFile.isPresent()) {
+            return Optional.empty();
+        }
+        thumbnail = sha256 != null ? loadOrGenerate(storedFile.get(), sha256, size) : generate(storedFile.get(), size);
+        if (thumbnail == null) {
+            return Optional.empty();
+        }
+        synchronized (cache) {
+            cache.put(key, thumbnail);
+        }
+        return Optional.of(thumbnail);
+    }
+
+    private ThumbnailDTO loadOrGenerate(Path storedFile, String sha256, int size) throws IOException {
+        for (String format : new String[]{JPEG, PNG}) {
+            Path location = storedFile.resolveSibling(sha256 + "-" + size + "." + format);
+            if (Files.isRegularFile(location)) {
+                return toThumbnail(Files.readAllBytes(location), format);
+            }
+        }
+        ThumbnailDTO thumbnail = generate(storedFile, size);
+        if (thumbnail != null) {
+            String format = MediaType.IMAGE_PNG_VALUE.equals(thumbnail.getContentType()) ? PNG : JPEG;
+            write(storedFile.resolveSibling(sha256 + "-" + size + "." + format), thumbnail.getContent());
+        }
+        return thumbnail;
+    }
+
+    private ThumbnailDTO generate(Path storedFile, int size) throws IOException {
+        BufferedImage image = read(storedFile, size);
+        if (image == null) {
+            log.debug("File {} is not a readable image", storedFile);
+            return null;
+        }
+        boolean alpha = image.getColorModel().hasAlpha();
+        BufferedImage scaled = scale(image, size, alpha);
+        String format = alpha ? PNG : JPEG;
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(scaled, format, out);
+        return toThumbnail(out.toByteArray(), format);
+    }
+
+    /**
+     * Decode the image, skipping pixels when it is much larger than the thumbnail, to keep large photos off the heap.
+     */
+    private BufferedImage read(Path storedFile, int size) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(storedFile.toFile())) {
+            if (in == null) {
+                return null;
+            }
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                return null;
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                int longestSide = Math.max(reader.getWidth(0), reader.getHeight(0));
+                // Decoded at twice the thumbnail size at least, for a smooth downscale
+                int subsampling = Math.max(1, longestSide / (2 * size));
+                ImageReadParam param = reader.getDefaultReadParam();
+                param.setSourceSubsampling(subsampling, subsampling, 0, 0);
+                return reader.read(0, param);
+            } catch (IIOException ex) {
+                log.warn("Could not decode image {}", storedFile, ex);
+                return null;
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    private BufferedImage scale(BufferedImage image, int size, boolean alpha) {
+        double ratio = Math.min(1.0, (double) size / Math.max(image.getWidth(), image.getHeight()));
+        int width = Math.max(1, (int) Math.round(image.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(image.getHeight() * ratio));
+        BufferedImage scaled = image;
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        // Halve the image until it is close to the target size, as a single bilinear step would alias
+        do {
+            int stepWidth = Math.max(width, scaled.getWidth() / 2);
+            int stepHeight = Math.max(height, scaled.getHeight() / 2);
+            BufferedImage step = new BufferedImage(stepWidth, stepHeight, type);
+            Graphics2D graphics = step.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.drawImage(scaled, 0, 0, stepWidth, stepHeight, null);
+            } finally {
+                graphics.dispose();
+            }
+            scaled = step;
+        } while (scaled.getWidth() != width || scaled.getHeight() != height);
+        return scaled;
+    }
+
+    private ThumbnailDTO toThumbnail(byte[] content, String format) {
+        String contentType = PNG.equals(format) ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE;
+        return new ThumbnailDTO(content, contentType, DigestUtils.md5DigestAsHex(content));
+    }
+
+    private void write(Path location, byte[] content) {
+        Path tempFile = null;
+        try {
+            tempFile = Files.createTempFile(location.getParent(), "thumbnail-", ".tmp");
+            Files.write(tempFile, content);
+            try {
+                Files.move(tempFile, location, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException ex) {
+                Files.move(tempFile, location, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException ex) {
+            // Generated again on its next request
+            log.warn("Could not write thumbnail {}", location, ex);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ex) {
+                    log.warn("Could not delete temporary file {}", tempFile, ex);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.tothapplication.service;
+
+import com.tothapplication.domain.TokenRevocation;
+import com.tothapplication.repository.RefreshTokenRepository;
+import com.tothapplication.repository.TokenRevocationRepository;
+import com.tothapplication.security.jwt.TokenProvider;
+import com.tothapplication.security.jwt.TokenRevocations;
+
+import io.github.jhipster.config.JHipsterProperties;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Service class for revoking JWT tokens.
+ * <p>
+ * The revocations are stored in the database, and loaded in the {@link TokenRevocations} checked on each request:
+ * at startup, then periodically for the revocations of the other instances.
+ */
+@Service
+@Transactional
+public class TokenRevocationService implements InitializingBean {
+
+    /**
+     * Delay after which a revocation is expected to be committed, so that the periodic loads still find it.
+     */
+    private static final Duration COMMIT_DELAY = Duration.ofMinutes(1);
+
+    private final Logger log = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    private final TokenRevocationRepository tokenRevocationRepository;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+
+    private final TokenRevocations tokenRevocations;
+
+    private final TokenProvider tokenProvider;
+
+    private final Duration maxTokenValidity;
+
+    private volatile Instant lastLoad;
+
+    public TokenRevocationService(TokenRevocationRepository tokenRevocationRepository, RefreshTokenRepository refreshTokenRepository,
+                                  TokenRevocations tokenRevocations, TokenProvider tokenProvider, JHipsterProperties jHipsterProperties) {
+        this.tokenRevocationRepository = tokenRevocationRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.tokenRevocations = tokenRevocations;
+        this.tokenProvider = tokenProvider;
+        JHipsterProperties.Security.Authentication.Jwt jwt = jHipsterProperties.getSecurity().getAuthentication().getJwt();
+        this.maxTokenValidity = Duration.ofSeconds(Math.max(jwt.getTokenValidityInSeconds(), jwt.getTokenValidityInSecondsForRememberMe()));
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        try {
+            loadRevocations();
+        } catch (DataAccessException e) {
+            // The database may not be migrated yet, the revocations are loaded by the next periodic load
+            log.warn("Could not load the token revocations: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Revoke a token.
+     * <p>
+     * A token issued without ID revokes all the tokens of its user issued before.
+     *
+     * @param token the token.
+     */
+    public void revokeToken(String token) {
+        tokenProvider.getClaims(token).ifPresent(claims -> {
+            if (claims.getId() == null) {
+                revokeTokensOf(claims.getSubject());
+                return;
+            }
+            Instant now = Instant.now();
+            TokenRevocation tokenRevocation = new TokenRevocation();
+            tokenRevocation.setTokenId(claims.getId());
+            tokenRevocation.setLogin(claims.getSubject());
+            tokenRevocation.setRevokedDate(now);
+            tokenRevocation.setExpirationDate(getExpirationDate(claims, now));
+            tokenRevocationRepository.save(tokenRevocation);
+            apply(tokenRevocation);
+            log.debug("Revoked token {} of user {}", claims.getId(), claims.getSubject());
+        });
+    }
+
+    /**
+     * Revoke all the tokens of a user issued until now, and its refresh tokens.
+     *
+     * @param login the login of the user.
+     */
+    public void revokeTokensOf(String login) {
+        refreshTokenRepository.deleteAllByLogin(login);
+        Instant now = Instant.now();
+        TokenRevocation tokenRevocation = new TokenRevocation();
+        tokenRevocation.setLogin(login);
+        tokenRevocation.setRevokedDate(now);
+        tokenRevocation.setExpirationDate(now.plus(maxTokenValidity));
+        tokenRevocationRepository.save(tokenRevocation);
+        apply(tokenRevocation);
+        log.debug("Revoked the tokens of user {}", login);
+    }
+
+    /**
+     * Load the revocations stored since the last load, including the ones of the other instances, and forget the
+     * revocations of the tokens expired.
+     */
+    @Scheduled(fixedDelayString = "${application.jwt.revocation-load-interval-ms:10000}")
+    @Transactional(readOnly = true)
+    public void loadRevocations() {
+        Instant now = Instant.now();
+        List<TokenRevocation> revocations = lastLoad == null
+            ? tokenRevocationRepository.findAllByExpirationDateAfter(now)
+            : tokenRevocationRepository.findAllByRevokedDateAfterAndExpirationDateAfter(lastLoad.minus(COMMIT_DELAY), now);
+        revocations.forEach(this::apply);
+        tokenRevocations.purge(now.toEpochMilli());
+        lastLoad = now;
+    }
+
+    /**
+     * The revocations of the tokens expired should be deleted.
+     * <p>
+     * This is scheduled to get fired every hour.
+     */
+    @Scheduled(cron = "0 0 * * * ?")
+    public void removeExpiredRevocations() {
+        int count = tokenRevocationRepository.deleteAllByExpirationDateNotAfter(Instant.now());
+        log.debug("Deleted {} expired token revocations", count);
+    }
+
+    private Instant getExpirationDate(Claims claims, Instant now) {
+        return claims.getExpiration() != null ? claims.getExpiration().toInstant() : now.plus(maxTokenValidity);
+    }
+
+    private void apply(TokenRevocation tokenRevocation) {
+        if (tokenRevocation.getTokenId() != null) {
+            tokenRevocations.revokeToken(tokenRevocation.getTokenId(), tokenRevocation.getExpirationDate().toEpochMilli());
+        } else {
+            tokenRevocations.revokeTokensOf(tokenRevocation.getLogin(), tokenRevocation.getRevokedDate().toEpochMilli(),
+                tokenRevocation.getExpirationDate().toEpochMilli());
+        }
+    }
+}
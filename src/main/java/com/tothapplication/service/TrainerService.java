@@ -7,6 +7,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Service Interface for managing {@link com.tothapplication.domain.Trainer}.
@@ -29,11 +30,19 @@ public interface TrainerService {
      */
     Page<TrainerDTO> findAll(Pageable pageable);
     /**
-     * Get all the TrainerDTO where Evaluation is {@code null}.
+     * Get the trainers where Evaluation is {@code null}.
      *
+     * @param pageable the pagination information.
      * @return the list of entities.
      */
-    List<TrainerDTO> findAllWhereEvaluationIsNull();
+    Page<TrainerDTO> findAllWhereEvaluationIsNull(Pageable pageable);
+
+    /**
+     * Pass all the trainers where Evaluation is {@code null} to the action, one at a time.
+     *
+     * @param action the action to perform on each entity.
+     */
+    void streamAllWhereEvaluationIsNull(Consumer<TrainerDTO> action);
 
 
     /**
@@ -6,6 +6,7 @@ import com.tothapplication.domain.User;
 import com.tothapplication.repository.AuthorityRepository;
 import com.tothapplication.repository.UserRepository;
 import com.tothapplication.security.AuthoritiesConstants;
+import com.tothapplication.security.PrioritizedPasswordEncoder;
 import com.tothapplication.security.SecurityUtils;
 import com.tothapplication.service.dto.UserDTO;
 import com.tothapplication.service.util.RandomUtil;
@@ -17,7 +18,6 @@ import org.springframework.cache.CacheManager;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Scheduled;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -37,17 +37,21 @@ public class UserService {
 
     private final UserRepository userRepository;
 
-    private final PasswordEncoder passwordEncoder;
+    private final PrioritizedPasswordEncoder passwordEncoder;
 
     private final AuthorityRepository authorityRepository;
 
     private final CacheManager cacheManager;
 
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder, AuthorityRepository authorityRepository, CacheManager cacheManager) {
+    private final TokenRevocationService tokenRevocationService;
+
+    public UserService(UserRepository userRepository, PrioritizedPasswordEncoder passwordEncoder, AuthorityRepository authorityRepository, CacheManager cacheManager,
+                       TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
         this.authorityRepository = authorityRepository;
         this.cacheManager = cacheManager;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     public Optional<User> activateRegistration(String key) {
@@ -72,6 +76,8 @@ public class UserService {
                 user.setResetKey(null);
                 user.setResetDate(null);
                 this.clearUserCaches(user);
+                // The tokens obtained with the previous password are no longer valid
+                tokenRevocationService.revokeTokensOf(user.getLogin());
                 return user;
             });
     }
@@ -145,7 +151,8 @@ public class UserService {
         } else {
             user.setLangKey(userDTO.getLangKey());
         }
-        String encryptedPassword = passwordEncoder.encode(RandomUtil.generatePassword());
+        // Created by an administrator, possibly in bulk: the users logging in are hashed first
+        String encryptedPassword = passwordEncoder.encode(RandomUtil.generatePassword(), PrioritizedPasswordEncoder.Priority.BULK);
         user.setPassword(encryptedPassword);
         user.setResetKey(RandomUtil.generateResetKey());
         user.setResetDate(Instant.now());
@@ -200,6 +207,12 @@ public class UserService {
             .map(Optional::get)
             .map(user -> {
                 this.clearUserCaches(user);
+                Set<String> previousAuthorities = user.getAuthorities().stream().map(Authority::getName).collect(Collectors.toSet());
+                if (!user.getLogin().equals(userDTO.getLogin().toLowerCase()) || !userDTO.isActivated()
+                    || !previousAuthorities.equals(userDTO.getAuthorities())) {
+                    // The tokens of the user no longer match its login, activation or authorities
+                    tokenRevocationService.revokeTokensOf(user.getLogin());
+                }
                 user.setLogin(userDTO.getLogin().toLowerCase());
                 user.setFirstName(userDTO.getFirstName());
                 user.setLastName(userDTO.getLastName());
@@ -225,6 +238,7 @@ public class UserService {
         userRepository.findOneByLogin(login).ifPresent(user -> {
             userRepository.delete(user);
             this.clearUserCaches(user);
+            tokenRevocationService.revokeTokensOf(user.getLogin());
             log.debug("Deleted User: {}", user);
         });
     }
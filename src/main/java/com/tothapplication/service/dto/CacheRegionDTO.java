@@ -0,0 +1,115 @@
+package com.tothapplication.service.dto;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * A DTO reporting the size and statistics of a cache region.
+ */
+public class CacheRegionDTO implements Serializable {
+
+    private String name;
+
+    private long size;
+
+    private Map<String, Long> tierSizes;
+
+    private long hits;
+
+    private long misses;
+
+    private long puts;
+
+    private long removals;
+
+    private long evictions;
+
+    private long expirations;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public void setSize(long size) {
+        this.size = size;
+    }
+
+    public Map<String, Long> getTierSizes() {
+        return tierSizes;
+    }
+
+    public void setTierSizes(Map<String, Long> tierSizes) {
+        this.tierSizes = tierSizes;
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public void setHits(long hits) {
+        this.hits = hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    public long getPuts() {
+        return puts;
+    }
+
+    public void setPuts(long puts) {
+        this.puts = puts;
+    }
+
+    public long getRemovals() {
+        return removals;
+    }
+
+    public void setRemovals(long removals) {
+        this.removals = removals;
+    }
+
+    public long getEvictions() {
+        return evictions;
+    }
+
+    public void setEvictions(long evictions) {
+        this.evictions = evictions;
+    }
+
+    public long getExpirations() {
+        return expirations;
+    }
+
+    public void setExpirations(long expirations) {
+        this.expirations = expirations;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheRegionDTO{" +
+            "name='" + getName() + "'" +
+            ", size=" + getSize() +
+            ", tierSizes=" + getTierSizes() +
+            ", hits=" + getHits() +
+            ", misses=" + getMisses() +
+            ", puts=" + getPuts() +
+            ", removals=" + getRemovals() +
+            ", evictions=" + getEvictions() +
+            ", expirations=" + getExpirations() +
+            "}";
+    }
+}
@@ -20,6 +20,12 @@ public class DocumentDTO implements Serializable {
     @NotNull
     private String filename;
 
+    private String contentType;
+
+    private String sha256;
+
+    private Long fileSize;
+
 
     public Long getId() {
         return id;
@@ -53,6 +59,30 @@ public class DocumentDTO implements Serializable {
         this.filename = filename;
     }
 
+    public String getContentType() {
+        return contentType;
+    }
+
+    public void setContentType(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public void setSha256(String sha256) {
+        this.sha256 = sha256;
+    }
+
+    public Long getFileSize() {
+        return fileSize;
+    }
+
+    public void setFileSize(Long fileSize) {
+        this.fileSize = fileSize;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -81,6 +111,9 @@ public class DocumentDTO implements Serializable {
             ", title='" + getTitle() + "'" +
             ", type='" + getType() + "'" +
             ", filename='" + getFilename() + "'" +
+            ", contentType='" + getContentType() + "'" +
+            ", sha256='" + getSha256() + "'" +
+            ", fileSize=" + getFileSize() +
             "}";
     }
 }
@@ -0,0 +1,42 @@
+package com.tothapplication.service.dto;
+
+import java.nio.file.Path;
+
+/**
+ * The stored file of a {@link com.tothapplication.domain.Document}, ready to be streamed.
+ */
+public class DocumentFileDTO {
+
+    private final Path path;
+
+    private final String filename;
+
+    private final String contentType;
+
+    public DocumentFileDTO(Path path, String filename, String contentType) {
+        this.path = path;
+        this.filename = filename;
+        this.contentType = contentType;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentFileDTO{" +
+            "path='" + getPath() + "'" +
+            ", filename='" + getFilename() + "'" +
+            ", contentType='" + getContentType() + "'" +
+            "}";
+    }
+}
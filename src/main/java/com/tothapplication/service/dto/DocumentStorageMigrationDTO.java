@@ -0,0 +1,93 @@
+package com.tothapplication.service.dto;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+/**
+ * A DTO reporting the progress of a document storage migration.
+ */
+public class DocumentStorageMigrationDTO implements Serializable {
+
+    private boolean running;
+
+    private Instant startDate;
+
+    private Instant endDate;
+
+    private long reshardedFiles;
+
+    private long migratedDocuments;
+
+    private long missingFiles;
+
+    private long failedDocuments;
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    public void setRunning(boolean running) {
+        this.running = running;
+    }
+
+    public Instant getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(Instant startDate) {
+        this.startDate = startDate;
+    }
+
+    public Instant getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(Instant endDate) {
+        this.endDate = endDate;
+    }
+
+    public long getReshardedFiles() {
+        return reshardedFiles;
+    }
+
+    public void setReshardedFiles(long reshardedFiles) {
+        this.reshardedFiles = reshardedFiles;
+    }
+
+    public long getMigratedDocuments() {
+        return migratedDocuments;
+    }
+
+    public void setMigratedDocuments(long migratedDocuments) {
+        this.migratedDocuments = migratedDocuments;
+    }
+
+    public long getMissingFiles() {
+        return missingFiles;
+    }
+
+    public void setMissingFiles(long missingFiles) {
+        this.missingFiles = missingFiles;
+    }
+
+    public long getFailedDocuments() {
+        return failedDocuments;
+    }
+
+    public void setFailedDocuments(long failedDocuments) {
+        this.failedDocuments = failedDocuments;
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentStorageMigrationDTO{" +
+            "running=" + isRunning() +
+            ", startDate=" + getStartDate() +
+            ", endDate=" + getEndDate() +
+            ", reshardedFiles=" + getReshardedFiles() +
+            ", migratedDocuments=" + getMigratedDocuments() +
+            ", missingFiles=" + getMissingFiles() +
+            ", failedDocuments=" + getFailedDocuments() +
+            "}";
+    }
+}
@@ -0,0 +1,59 @@
+package com.tothapplication.service.dto;
+
+import java.io.Serializable;
+
+/**
+ * A DTO reporting the outcome of one file of a bulk upload.
+ */
+public class DocumentUploadDTO implements Serializable {
+
+    private String filename;
+
+    private boolean stored;
+
+    private String error;
+
+    private DocumentDTO document;
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(String filename) {
+        this.filename = filename;
+    }
+
+    public boolean isStored() {
+        return stored;
+    }
+
+    public void setStored(boolean stored) {
+        this.stored = stored;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    public DocumentDTO getDocument() {
+        return document;
+    }
+
+    public void setDocument(DocumentDTO document) {
+        this.document = document;
+    }
+
+    @Override
+    public String toString() {
+        return "DocumentUploadDTO{" +
+            "filename='" + getFilename() + "'" +
+            ", stored=" + isStored() +
+            ", error='" + getError() + "'" +
+            ", document=" + getDocument() +
+            "}";
+    }
+}
@@ -0,0 +1,40 @@
+package com.tothapplication.service.dto;
+
+/**
+ * A thumbnail of an image {@link com.tothapplication.domain.Document}, ready to be sent.
+ */
+public class ThumbnailDTO {
+
+    private final byte[] content;
+
+    private final String contentType;
+
+    private final String eTag;
+
+    public ThumbnailDTO(byte[] content, String contentType, String eTag) {
+        this.content = content;
+        this.contentType = contentType;
+        this.eTag = eTag;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getETag() {
+        return eTag;
+    }
+
+    @Override
+    public String toString() {
+        return "ThumbnailDTO{" +
+            "contentType='" + getContentType() + "'" +
+            ", size=" + content.length +
+            ", eTag='" + getETag() + "'" +
+            "}";
+    }
+}
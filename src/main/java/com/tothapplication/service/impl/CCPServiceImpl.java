@@ -9,11 +9,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service Implementation for managing {@link CCP}.
@@ -66,8 +73,20 @@ public class CCPServiceImpl implements CCPService {
      *
      * @return the list of entities.
      */
+    @Transactional(readOnly = true)
     public Page<CCPDTO> findAllWithEagerRelationships(Pageable pageable) {
-        return cCPRepository.findAllWithEagerRelationships(pageable).map(cCPMapper::toDto);
+        Page<Long> ids = cCPRepository.findAllIds(pageable);
+        if (!ids.hasContent()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, ids.getTotalElements());
+        }
+        Map<Long, CCP> cCPs = cCPRepository.findAllWithEagerRelationshipsByIdIn(ids.getContent()).stream()
+            .collect(Collectors.toMap(CCP::getId, Function.identity()));
+        List<CCPDTO> content = ids.getContent().stream()
+            .map(cCPs::get)
+            .filter(Objects::nonNull)
+            .map(cCPMapper::toDto)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
     }
     
 
@@ -1,31 +1,47 @@
 package com.tothapplication.service.impl;
 
-import com.tothapplication.config.FileStorageProperties;
 import com.tothapplication.service.DocumentService;
+import com.tothapplication.domain.CCP;
 import com.tothapplication.domain.Document;
+import com.tothapplication.domain.FormationSession;
+import com.tothapplication.domain.enumeration.TypeDocument;
+import com.tothapplication.repository.CCPRepository;
 import com.tothapplication.repository.DocumentRepository;
+import com.tothapplication.repository.FormationSessionRepository;
 import com.tothapplication.service.dto.DocumentDTO;
+import com.tothapplication.service.dto.DocumentFileDTO;
+import com.tothapplication.service.dto.DocumentUploadDTO;
 import com.tothapplication.service.mapper.DocumentMapper;
+import com.tothapplication.service.storage.DocumentStorage;
+import com.tothapplication.service.storage.StoredFile;
+import com.tothapplication.web.rest.errors.BadRequestAlertException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.net.MalformedURLException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 /**
  * Service Implementation for managing {@link Document}.
@@ -40,30 +56,29 @@ public class DocumentServiceImpl implements DocumentService {
 
     private final DocumentMapper documentMapper;
 
-    private final FileStorageProperties fileStorageProperties;
+    private final DocumentStorage documentStorage;
 
-    private Path fileStorageLocation;
+    private final FormationSessionRepository formationSessionRepository;
 
-    @Autowired
-    public DocumentServiceImpl(DocumentRepository documentRepository, FileStorageProperties fileStorageProperties, DocumentMapper documentMapper) {
+    private final CCPRepository cCPRepository;
 
-        this.documentRepository = documentRepository;
-        this.documentMapper = documentMapper;
-        this.fileStorageProperties = fileStorageProperties;
+    private final Executor documentIngestExecutor;
 
-        this.fileStorageLocation = Paths.get(fileStorageProperties.getUploadDir())
-            .toAbsolutePath().normalize();
+    private final TransactionTemplate transactionTemplate;
 
-        log.info("Initialisation du repertoire");
-
-        try {
-            Files.createDirectories(this.fileStorageLocation);
-        } catch (Exception ex) {
-            log.error("Could not create the directory where the uploaded files will be stored.", ex);
-        }
+    public DocumentServiceImpl(DocumentRepository documentRepository, DocumentStorage documentStorage, DocumentMapper documentMapper,
+                               FormationSessionRepository formationSessionRepository, CCPRepository cCPRepository,
+                               @Qualifier("documentIngestExecutor") Executor documentIngestExecutor,
+                               PlatformTransactionManager transactionManager) {
+        this.documentRepository = documentRepository;
+        this.documentMapper = documentMapper;
+        this.documentStorage = documentStorage;
+        this.formationSessionRepository = formationSessionRepository;
+        this.cCPRepository = cCPRepository;
+        this.documentIngestExecutor = documentIngestExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
-
     /**
      * Save a document.
      *
@@ -74,8 +89,14 @@ public class DocumentServiceImpl implements DocumentService {
     public DocumentDTO save(DocumentDTO documentDTO) {
         log.debug("Request to save Document : {}", documentDTO);
         Document document = documentMapper.toEntity(documentDTO);
-        document = documentRepository.save(document);
-        return documentMapper.toDto(document);
+        if (document.getId() != null) {
+            // The stored file is managed by storeFile, the client cannot change it
+            documentRepository.findById(document.getId()).ifPresent(existing -> document
+                .contentType(existing.getContentType())
+                .sha256(existing.getSha256())
+                .fileSize(existing.getFileSize()));
+        }
+        return documentMapper.toDto(documentRepository.save(document));
     }
 
     /**
@@ -118,6 +139,17 @@ public class DocumentServiceImpl implements DocumentService {
         documentRepository.deleteById(id);
     }
 
+    /**
+     * Store the file of the document by id.
+     * <p>
+     * The file is stored under the digest of its content, so a file identical to an already stored one
+     * is shared instead of being written again.
+     *
+     * @param id the id of the entity.
+     * @param file the uploaded file.
+     * @return the original name of the stored file, or {@code null} if it could not be stored.
+     */
+    @Override
     public String storeFile(Long id, MultipartFile file) {
         // Normalize file name
         String fileName = StringUtils.cleanPath(file.getOriginalFilename());
@@ -128,14 +160,18 @@ public class DocumentServiceImpl implements DocumentService {
                 throw new IOException("Sorry! Filename contains invalid path sequence " + fileName);
             }
 
-            // Copy file to the target location (Replacing existing file with the same name)
-            Path targetLocation = this.fileStorageLocation.resolve(fileName);
-            log.info(targetLocation.toString());
-            Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
+            Document document = documentRepository.findById(id)
+                .orElseThrow(() -> new IOException("Document does not exists! " + id));
 
-            Document document = documentRepository.findById(id).orElse(null);
+            StoredFile storedFile;
+            try (InputStream in = file.getInputStream()) {
+                storedFile = documentStorage.store(in);
+            }
 
             document.setFilename(fileName);
+            document.setSha256(storedFile.getSha256());
+            document.setFileSize(storedFile.getSize());
+            document.setContentType(detectContentType(Paths.get(fileName), file.getContentType()));
 
             documentRepository.save(document);
 
@@ -146,20 +182,170 @@ public class DocumentServiceImpl implements DocumentService {
         }
     }
 
-    public Resource loadFileAsResource(Long id) {
-        String fileName="";
-        try {
-            fileName = documentRepository.findById(id).orElseThrow(()->new MalformedURLException("Document does not exists!")).getFilename();
-            Path filePath = this.fileStorageLocation.resolve(fileName).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
-            if(resource.exists()) {
-                return resource;
-            } else {
-                throw new MalformedURLException();
+    /**
+     * Get the stored file of the document by id.
+     * <p>
+     * The content type is detected at upload time; documents uploaded before it was stored get it
+     * detected here once, then saved with the document.
+     *
+     * @param id the id of the entity.
+     * @return the stored file.
+     */
+    @Override
+    public Optional<DocumentFileDTO> loadFile(Long id) {
+        log.debug("Request to load the file of Document : {}", id);
+        return documentRepository.findById(id).flatMap(this::resolveFile);
+    }
+
+    /**
+     * Get the stored files of the documents of the formation session by id.
+     * <p>
+     * Documents whose file is missing are left out.
+     *
+     * @param formationSessionId the id of the formation session.
+     * @return the stored files, in document order.
+     */
+    @Override
+    public Optional<List<DocumentFileDTO>> loadFormationSessionFiles(Long formationSessionId) {
+        log.debug("Request to load the files of FormationSession : {}", formationSessionId);
+        if (!formationSessionRepository.existsById(formationSessionId)) {
+            return Optional.empty();
+        }
+        List<DocumentFileDTO> files = new ArrayList<>();
+        for (Document document : documentRepository.findAllByFormationSessionId(formationSessionId)) {
+            resolveFile(document).ifPresent(files::add);
+        }
+        return Optional.of(files);
+    }
+
+    private Optional<DocumentFileDTO> resolveFile(Document document) {
+        Optional<Path> storedFile = document.getSha256() != null
+            ? documentStorage.find(document.getSha256())
+            : documentStorage.findLegacy(document.getFilename());
+        if (!storedFile.isPresent()) {
+            log.error("File not found {}", document.getFilename());
+            return Optional.empty();
+        }
+        if (document.getContentType() == null) {
+            document.setContentType(detectContentType(Paths.get(document.getFilename()), null));
+        }
+        return Optional.of(new DocumentFileDTO(storedFile.get(), document.getFilename(), document.getContentType()));
+    }
+
+    /**
+     * Create one document per uploaded file, optionally attached to a formation session or a CCP.
+     * <p>
+     * The owners are checked first, so that an invalid owner leaves no file behind. The files are then stored in
+     * parallel on the document ingest executor, outside of any transaction, then the documents of the stored files
+     * are inserted, and attached to their owner, in a single transaction; a file that could not be stored is
+     * reported as such without failing the others.
+     *
+     * @param files the uploaded files.
+     * @param type the type of the created documents.
+     * @param formationSessionId the id of the formation session to attach the documents to, or {@code null}.
+     * @param ccpId the id of the CCP to attach the documents to, or {@code null}.
+     * @return the outcome of each file, in upload order.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public List<DocumentUploadDTO> storeFiles(List<MultipartFile> files, TypeDocument type, Long formationSessionId, Long ccpId) {
+        log.debug("Request to store {} Document files", files.size());
+        if (formationSessionId != null && !formationSessionRepository.existsById(formationSessionId)) {
+            throw invalidFormationSession();
+        }
+        if (ccpId != null && !cCPRepository.existsById(ccpId)) {
+            throw invalidCCP();
+        }
+        List<DocumentUploadDTO> results = new ArrayList<>(files.size());
+        List<CompletableFuture<StoredFile>> storedFiles = new ArrayList<>(files.size());
+        for (MultipartFile file : files) {
+            DocumentUploadDTO result = new DocumentUploadDTO();
+            result.setFilename(StringUtils.cleanPath(file.getOriginalFilename() != null ? file.getOriginalFilename() : ""));
+            results.add(result);
+            if (result.getFilename().isEmpty() || result.getFilename().contains("..")) {
+                result.setError("Invalid file name");
+                storedFiles.add(null);
+                continue;
             }
-        } catch (MalformedURLException ex) {
-            log.error("File not found " + fileName, ex);
-            return null;
+            storedFiles.add(CompletableFuture.supplyAsync(() -> {
+                try (InputStream in = file.getInputStream()) {
+                    return documentStorage.store(in);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            }, documentIngestExecutor));
+        }
+
+        List<Document> documents = new ArrayList<>(files.size());
+        for (int i = 0; i < files.size(); i++) {
+            DocumentUploadDTO result = results.get(i);
+            if (storedFiles.get(i) == null) {
+                continue;
+            }
+            try {
+                StoredFile storedFile = storedFiles.get(i).join();
+                Document document = new Document()
+                    .title(result.getFilename())
+                    .type(type)
+                    .filename(result.getFilename())
+                    .sha256(storedFile.getSha256())
+                    .fileSize(storedFile.getSize())
+                    .contentType(detectContentType(Paths.get(result.getFilename()), files.get(i).getContentType()));
+                documents.add(document);
+                log.debug("Stored file {} of {}: {}", i + 1, files.size(), result.getFilename());
+            } catch (CompletionException ex) {
+                log.error("Could not store file {}", result.getFilename(), ex.getCause());
+                result.setError("Could not store the file");
+            }
+        }
+
+        List<DocumentDTO> documentDTOs = transactionTemplate.execute(status -> insertDocuments(documents, formationSessionId, ccpId));
+        int stored = 0;
+        for (DocumentUploadDTO result : results) {
+            if (result.getError() == null) {
+                result.setStored(true);
+                result.setDocument(documentDTOs.get(stored++));
+            }
+        }
+        log.info("Stored {} of {} uploaded Document files", stored, files.size());
+        return results;
+    }
+
+    private List<DocumentDTO> insertDocuments(List<Document> documents, Long formationSessionId, Long ccpId) {
+        FormationSession formationSession = formationSessionId == null ? null
+            : formationSessionRepository.findById(formationSessionId).orElseThrow(DocumentServiceImpl::invalidFormationSession);
+        CCP cCP = ccpId == null ? null : cCPRepository.findById(ccpId).orElseThrow(DocumentServiceImpl::invalidCCP);
+        // Inserted in JDBC batches, the ids being allocated by the pooled sequence
+        documentRepository.saveAll(documents);
+        for (Document document : documents) {
+            if (formationSession != null) {
+                formationSession.addDocuments(document);
+            }
+            if (cCP != null) {
+                cCP.addDocuments(document);
+            }
+        }
+        return documentMapper.toDto(documents);
+    }
+
+    private static BadRequestAlertException invalidFormationSession() {
+        return new BadRequestAlertException("Invalid formation session id", "formationSession", "idnotfound");
+    }
+
+    private static BadRequestAlertException invalidCCP() {
+        return new BadRequestAlertException("Invalid CCP id", "cCP", "idnotfound");
+    }
+
+    private String detectContentType(Path filePath, String declaredContentType) {
+        String contentType = null;
+        try {
+            contentType = Files.probeContentType(filePath);
+        } catch (IOException ex) {
+            log.info("Could not determine file type of {}", filePath);
+        }
+        if (contentType == null) {
+            contentType = declaredContentType;
         }
+        return contentType != null ? contentType : MediaType.APPLICATION_OCTET_STREAM_VALUE;
     }
 }
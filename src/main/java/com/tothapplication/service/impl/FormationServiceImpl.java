@@ -9,11 +9,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service Implementation for managing {@link Formation}.
@@ -66,8 +73,20 @@ public class FormationServiceImpl implements FormationService {
      *
      * @return the list of entities.
      */
+    @Transactional(readOnly = true)
     public Page<FormationDTO> findAllWithEagerRelationships(Pageable pageable) {
-        return formationRepository.findAllWithEagerRelationships(pageable).map(formationMapper::toDto);
+        Page<Long> ids = formationRepository.findAllIds(pageable);
+        if (!ids.hasContent()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, ids.getTotalElements());
+        }
+        Map<Long, Formation> formations = formationRepository.findAllWithEagerRelationshipsByIdIn(ids.getContent()).stream()
+            .collect(Collectors.toMap(Formation::getId, Function.identity()));
+        List<FormationDTO> content = ids.getContent().stream()
+            .map(formations::get)
+            .filter(Objects::nonNull)
+            .map(formationMapper::toDto)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
     }
     
 
@@ -9,11 +9,18 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service Implementation for managing {@link FormationSession}.
@@ -66,8 +73,20 @@ public class FormationSessionServiceImpl implements FormationSessionService {
      *
      * @return the list of entities.
      */
+    @Transactional(readOnly = true)
     public Page<FormationSessionDTO> findAllWithEagerRelationships(Pageable pageable) {
-        return formationSessionRepository.findAllWithEagerRelationships(pageable).map(formationSessionMapper::toDto);
+        Page<Long> ids = formationSessionRepository.findAllIds(pageable);
+        if (!ids.hasContent()) {
+            return new PageImpl<>(Collections.emptyList(), pageable, ids.getTotalElements());
+        }
+        Map<Long, FormationSession> formationSessions = formationSessionRepository.findAllWithEagerRelationshipsByIdIn(ids.getContent()).stream()
+            .collect(Collectors.toMap(FormationSession::getId, Function.identity()));
+        List<FormationSessionDTO> content = ids.getContent().stream()
+            .map(formationSessions::get)
+            .filter(Objects::nonNull)
+            .map(formationSessionMapper::toDto)
+            .collect(Collectors.toList());
+        return new PageImpl<>(content, pageable, ids.getTotalElements());
     }
     
 
@@ -13,11 +13,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.LinkedList;
-import java.util.List;
+import javax.persistence.EntityManager;
+import java.util.Iterator;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service Implementation for managing {@link Studient}.
@@ -26,15 +26,20 @@ import java.util.stream.StreamSupport;
 @Transactional
 public class StudientServiceImpl implements StudientService {
 
+    private static final int STREAM_CLEAR_INTERVAL = 100;
+
     private final Logger log = LoggerFactory.getLogger(StudientServiceImpl.class);
 
     private final StudientRepository studientRepository;
 
     private final StudientMapper studientMapper;
 
-    public StudientServiceImpl(StudientRepository studientRepository, StudientMapper studientMapper) {
+    private final EntityManager entityManager;
+
+    public StudientServiceImpl(StudientRepository studientRepository, StudientMapper studientMapper, EntityManager entityManager) {
         this.studientRepository = studientRepository;
         this.studientMapper = studientMapper;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -68,17 +73,39 @@ public class StudientServiceImpl implements StudientService {
 
 
     /**
-    *  Get all the studients where Evaluation is {@code null}.
-     *  @return the list of entities.
+     * Get the studients where Evaluation is {@code null}, with an anti-join fetching their relationships.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
      */
-    @Transactional(readOnly = true) 
-    public List<StudientDTO> findAllWhereEvaluationIsNull() {
-        log.debug("Request to get all studients where Evaluation is null");
-        return StreamSupport
-            .stream(studientRepository.findAll().spliterator(), false)
-            .filter(studient -> studient.getEvaluation() == null)
-            .map(studientMapper::toDto)
-            .collect(Collectors.toCollection(LinkedList::new));
+    @Override
+    @Transactional(readOnly = true)
+    public Page<StudientDTO> findAllWhereEvaluationIsNull(Pageable pageable) {
+        log.debug("Request to get a page of Studients where Evaluation is null");
+        return studientRepository.findAllWhereEvaluationIsNull(pageable)
+            .map(studientMapper::toDto);
+    }
+
+    /**
+     * Pass all the studients where Evaluation is {@code null} to the action, reading them from a cursor.
+     * <p>
+     * The persistence context is cleared as the rows are read, so that memory stays constant whatever their number.
+     *
+     * @param action the action to perform on each entity.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllWhereEvaluationIsNull(Consumer<StudientDTO> action) {
+        log.debug("Request to stream all Studients where Evaluation is null");
+        try (Stream<Studient> studients = studientRepository.streamAllWhereEvaluationIsNull()) {
+            Iterator<Studient> iterator = studients.iterator();
+            for (int count = 1; iterator.hasNext(); count++) {
+                action.accept(studientMapper.toDto(iterator.next()));
+                if (count % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
     /**
@@ -13,11 +13,11 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.LinkedList;
-import java.util.List;
+import javax.persistence.EntityManager;
+import java.util.Iterator;
 import java.util.Optional;
-import java.util.stream.Collectors;
-import java.util.stream.StreamSupport;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service Implementation for managing {@link Trainer}.
@@ -26,15 +26,20 @@ import java.util.stream.StreamSupport;
 @Transactional
 public class TrainerServiceImpl implements TrainerService {
 
+    private static final int STREAM_CLEAR_INTERVAL = 100;
+
     private final Logger log = LoggerFactory.getLogger(TrainerServiceImpl.class);
 
     private final TrainerRepository trainerRepository;
 
     private final TrainerMapper trainerMapper;
 
-    public TrainerServiceImpl(TrainerRepository trainerRepository, TrainerMapper trainerMapper) {
+    private final EntityManager entityManager;
+
+    public TrainerServiceImpl(TrainerRepository trainerRepository, TrainerMapper trainerMapper, EntityManager entityManager) {
         this.trainerRepository = trainerRepository;
         this.trainerMapper = trainerMapper;
+        this.entityManager = entityManager;
     }
 
     /**
@@ -68,17 +73,39 @@ public class TrainerServiceImpl implements TrainerService {
 
 
     /**
-    *  Get all the trainers where Evaluation is {@code null}.
-     *  @return the list of entities.
+     * Get the trainers where Evaluation is {@code null}, with an anti-join fetching their relationships.
+     *
+     * @param pageable the pagination information.
+     * @return the list of entities.
      */
-    @Transactional(readOnly = true) 
-    public List<TrainerDTO> findAllWhereEvaluationIsNull() {
-        log.debug("Request to get all trainers where Evaluation is null");
-        return StreamSupport
-            .stream(trainerRepository.findAll().spliterator(), false)
-            .filter(trainer -> trainer.getEvaluation() == null)
-            .map(trainerMapper::toDto)
-            .collect(Collectors.toCollection(LinkedList::new));
+    @Override
+    @Transactional(readOnly = true)
+    public Page<TrainerDTO> findAllWhereEvaluationIsNull(Pageable pageable) {
+        log.debug("Request to get a page of Trainers where Evaluation is null");
+        return trainerRepository.findAllWhereEvaluationIsNull(pageable)
+            .map(trainerMapper::toDto);
+    }
+
+    /**
+     * Pass all the trainers where Evaluation is {@code null} to the action, reading them from a cursor.
+     * <p>
+     * The persistence context is cleared as the rows are read, so that memory stays constant whatever their number.
+     *
+     * @param action the action to perform on each entity.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllWhereEvaluationIsNull(Consumer<TrainerDTO> action) {
+        log.debug("Request to stream all Trainers where Evaluation is null");
+        try (Stream<Trainer> trainers = trainerRepository.streamAllWhereEvaluationIsNull()) {
+            Iterator<Trainer> iterator = trainers.iterator();
+            for (int count = 1; iterator.hasNext(); count++) {
+                action.accept(trainerMapper.toDto(iterator.next()));
+                if (count % STREAM_CLEAR_INTERVAL == 0) {
+                    entityManager.clear();
+                }
+            }
+        }
     }
 
     /**
@@ -12,7 +12,9 @@ import org.mapstruct.*;
 public interface CCPMapper extends EntityMapper<CCPDTO, CCP> {
 
 
+    @Mapping(target = "lastModifiedDate", ignore = true)
     @Mapping(target = "removeDocuments", ignore = true)
+    CCP toEntity(CCPDTO cCPDTO);
 
     default CCP fromId(Long id) {
         if (id == null) {
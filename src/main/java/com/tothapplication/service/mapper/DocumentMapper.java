@@ -11,7 +11,8 @@ import org.mapstruct.*;
 @Mapper(componentModel = "spring", uses = {})
 public interface DocumentMapper extends EntityMapper<DocumentDTO, Document> {
 
-
+    @Mapping(target = "lastModifiedDate", ignore = true)
+    Document toEntity(DocumentDTO documentDTO);
 
     default Document fromId(Long id) {
         if (id == null) {
@@ -19,6 +19,7 @@ public interface EvaluationMapper extends EntityMapper<EvaluationDTO, Evaluation
     @Mapping(source = "studientId", target = "studient")
     @Mapping(source = "trainerId", target = "trainer")
     @Mapping(source = "formationSessionId", target = "formationSession")
+    @Mapping(target = "lastModifiedDate", ignore = true)
     Evaluation toEntity(EvaluationDTO evaluationDTO);
 
     default Evaluation fromId(Long id) {
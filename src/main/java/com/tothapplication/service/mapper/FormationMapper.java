@@ -15,6 +15,7 @@ public interface FormationMapper extends EntityMapper<FormationDTO, Formation> {
     @Mapping(target = "sessions", ignore = true)
     @Mapping(target = "removeSessions", ignore = true)
     @Mapping(target = "removeCcp", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
     Formation toEntity(FormationDTO formationDTO);
 
     default Formation fromId(Long id) {
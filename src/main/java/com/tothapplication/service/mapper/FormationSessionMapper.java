@@ -21,6 +21,7 @@ public interface FormationSessionMapper extends EntityMapper<FormationSessionDTO
     @Mapping(source = "formationId", target = "formation")
     @Mapping(target = "interventions", ignore = true)
     @Mapping(target = "removeIntervention", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
     FormationSession toEntity(FormationSessionDTO formationSessionDTO);
 
     default FormationSession fromId(Long id) {
@@ -17,6 +17,7 @@ public interface InterventionMapper extends EntityMapper<InterventionDTO, Interv
 
     @Mapping(source = "trainerId", target = "trainer")
     @Mapping(source = "formationSessionId", target = "formationSession")
+    @Mapping(target = "lastModifiedDate", ignore = true)
     Intervention toEntity(InterventionDTO interventionDTO);
 
     default Intervention fromId(Long id) {
@@ -18,6 +18,7 @@ public interface StudientMapper extends EntityMapper<StudientDTO, Studient> {
     @Mapping(source = "userId", target = "user")
     @Mapping(source = "photoId", target = "photo")
     @Mapping(target = "evaluation", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
     Studient toEntity(StudientDTO studientDTO);
 
     default Studient fromId(Long id) {
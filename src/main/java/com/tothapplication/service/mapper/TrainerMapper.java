@@ -18,6 +18,7 @@ public interface TrainerMapper extends EntityMapper<TrainerDTO, Trainer> {
     @Mapping(target = "evaluation", ignore = true)
     @Mapping(target = "interventions", ignore = true)
     @Mapping(target = "removeIntervention", ignore = true)
+    @Mapping(target = "lastModifiedDate", ignore = true)
     Trainer toEntity(TrainerDTO trainerDTO);
 
     default Trainer fromId(Long id) {
@@ -0,0 +1,58 @@
+package com.tothapplication.service.storage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Store for the files of {@link com.tothapplication.domain.Document}s.
+ * <p>
+ * Files are addressed by the SHA-256 digest of their content, so identical files are stored once.
+ */
+public interface DocumentStorage {
+
+    /**
+     * Store a file.
+     *
+     * @param content the content of the file, read until its end but not closed.
+     * @return the digest and size of the stored file.
+     * @throws IOException if the file could not be stored.
+     */
+    StoredFile store(InputStream content) throws IOException;
+
+    /**
+     * Find the file stored under a digest.
+     *
+     * @param sha256 the SHA-256 digest of the file, in lowercase hexadecimal.
+     * @return the stored file, or empty if there is none.
+     */
+    Optional<Path> find(String sha256);
+
+    /**
+     * Find a file stored under its original name, as files were stored before being addressed by their digest.
+     *
+     * @param filename the original name of the file.
+     * @return the stored file, or empty if there is none.
+     */
+    Optional<Path> findLegacy(String filename);
+
+    /**
+     * Delete a file stored under its original name.
+     *
+     * @param filename the original name of the file.
+     * @throws IOException if the file could not be deleted.
+     */
+    void deleteLegacy(String filename) throws IOException;
+
+    /**
+     * Move the stored files which are not at their location in the configured layout.
+     * <p>
+     * Files stay readable through {@link #find(String)} while they are moved. The files derived from a stored file
+     * and kept next to it, named after its digest followed by a dash, are moved with it.
+     *
+     * @return the number of moved files.
+     * @throws IOException if the stored files could not be listed.
+     */
+    long reshard() throws IOException;
+}
@@ -0,0 +1,239 @@
+package com.tothapplication.service.storage;
+
+import com.tothapplication.config.FileStorageProperties;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.codec.Hex;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * {@link DocumentStorage} keeping files in a directory tree sharded by digest, configured by {@link FileStorageProperties}.
+ * <p>
+ * With the default depth and width of 2, a file is stored as {@code <upload-dir>/ab/cd/abcd...}, which keeps every
+ * directory small whatever the number of stored files. Files are written to a temporary directory inside the upload
+ * directory, then moved into place, and are flushed to disk by an {@link FsyncBatcher} unless fsync is disabled.
+ * <p>
+ * The files derived from a stored file, named {@code <sha256>-<suffix>} such as its thumbnails, are kept next to it
+ * and re-sharded with it.
+ */
+@Service
+public class FileSystemDocumentStorage implements DocumentStorage, DisposableBean {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private static final int DIGEST_LENGTH = 64;
+
+    private static final Pattern DIGEST_PATTERN = Pattern.compile("[0-9a-f]{" + DIGEST_LENGTH + "}");
+
+    /**
+     * Name of a file derived from a stored file, such as a thumbnail, which is kept next to it.
+     */
+    private static final Pattern DERIVED_FILE_PATTERN = Pattern.compile("([0-9a-f]{" + DIGEST_LENGTH + "})-.+");
+
+    private static final String TEMP_DIRECTORY = ".tmp";
+
+    private static final int DEFAULT_SHARD_DEPTH = 2;
+
+    private static final int DEFAULT_SHARD_WIDTH = 2;
+
+    private final Logger log = LoggerFactory.getLogger(FileSystemDocumentStorage.class);
+
+    private final Path rootLocation;
+
+    private final Path tempLocation;
+
+    private final int shardDepth;
+
+    private final int shardWidth;
+
+    private final FsyncBatcher fsyncBatcher;
+
+    public FileSystemDocumentStorage(FileStorageProperties fileStorageProperties) {
+        FileStorageProperties.Storage storage = fileStorageProperties.getStorage();
+        if (storage.getShardDepth() < 0 || storage.getShardWidth() < 1
+            || storage.getShardDepth() * storage.getShardWidth() > DIGEST_LENGTH) {
+            throw new IllegalArgumentException("Invalid document storage layout: depth " + storage.getShardDepth() +
+                ", width " + storage.getShardWidth());
+        }
+        this.shardDepth = storage.getShardDepth();
+        this.shardWidth = storage.getShardWidth();
+        this.rootLocation = Paths.get(fileStorageProperties.getUploadDir()).toAbsolutePath().normalize();
+        // Kept inside the upload directory so that stored files are moved, not copied, to their location
+        this.tempLocation = this.rootLocation.resolve(TEMP_DIRECTORY);
+        try {
+            Files.createDirectories(this.tempLocation);
+        } catch (IOException ex) {
+            log.error("Could not create the directory where the uploaded files will be stored.", ex);
+        }
+        this.fsyncBatcher = storage.getFsync().isEnabled() ? new FsyncBatcher(storage.getFsync().getBatchSize()) : null;
+    }
+
+    @Override
+    public StoredFile store(InputStream content) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+        Path tempFile = Files.createTempFile(this.tempLocation, "upload-", ".tmp");
+        try {
+            // Stream the content to the temporary file, computing its digest on the way
+            long size;
+            try (InputStream in = new DigestInputStream(content, digest)) {
+                size = Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String sha256 = new String(Hex.encode(digest.digest()));
+
+            Path target = resolveLocation(sha256, this.shardDepth, this.shardWidth);
+            if (Files.exists(target) || find(sha256).isPresent()) {
+                log.debug("File {} is already stored", sha256);
+            } else {
+                Files.createDirectories(target.getParent());
+                move(tempFile, target);
+            }
+            return new StoredFile(sha256, size);
+        } finally {
+            deleteQuietly(tempFile);
+        }
+    }
+
+    @Override
+    public Optional<Path> find(String sha256) {
+        if (sha256 == null || !DIGEST_PATTERN.matcher(sha256).matches()) {
+            return Optional.empty();
+        }
+        // Files not re-sharded yet are still found at their location in the previous layouts
+        Set<Path> candidates = new LinkedHashSet<>();
+        candidates.add(resolveLocation(sha256, this.shardDepth, this.shardWidth));
+        candidates.add(resolveLocation(sha256, DEFAULT_SHARD_DEPTH, DEFAULT_SHARD_WIDTH));
+        candidates.add(resolveLocation(sha256, 0, DEFAULT_SHARD_WIDTH));
+        return candidates.stream().filter(Files::isRegularFile).findFirst();
+    }
+
+    @Override
+    public Optional<Path> findLegacy(String filename) {
+        return resolveLegacyLocation(filename).filter(Files::isRegularFile);
+    }
+
+    @Override
+    public void deleteLegacy(String filename) throws IOException {
+        Optional<Path> location = resolveLegacyLocation(filename);
+        if (location.isPresent()) {
+            Files.deleteIfExists(location.get());
+        }
+    }
+
+    @Override
+    public long reshard() throws IOException {
+        List<Path> misplaced;
+        try (Stream<Path> files = Files.walk(this.rootLocation)) {
+            misplaced = files
+                .filter(file -> !file.startsWith(this.tempLocation))
+                .filter(file -> getDigest(file) != null)
+                .filter(Files::isRegularFile)
+                .filter(file -> !file.equals(resolveLocation(getDigest(file), this.shardDepth, this.shardWidth)
+                    .resolveSibling(file.getFileName())))
+                .collect(Collectors.toList());
+        }
+        long moved = 0;
+        for (Path file : misplaced) {
+            Path target = resolveLocation(getDigest(file), this.shardDepth, this.shardWidth).resolveSibling(file.getFileName());
+            try {
+                Files.createDirectories(target.getParent());
+                move(file, target);
+                if (DIGEST_PATTERN.matcher(file.getFileName().toString()).matches()) {
+                    moved++;
+                }
+            } catch (IOException ex) {
+                log.warn("Could not move stored file {} to {}", file, target, ex);
+            }
+        }
+        log.info("Re-sharded {} stored files, and their derived files, out of {} misplaced", moved, misplaced.size());
+        return moved;
+    }
+
+    @Override
+    public void destroy() {
+        if (this.fsyncBatcher != null) {
+            this.fsyncBatcher.shutdown();
+        }
+    }
+
+    private Path resolveLocation(String sha256, int depth, int width) {
+        Path location = this.rootLocation;
+        for (int level = 0; level < depth; level++) {
+            location = location.resolve(sha256.substring(level * width, (level + 1) * width));
+        }
+        return location.resolve(sha256);
+    }
+
+    /**
+     * Get the digest of a stored file, or of the stored file it is derived from.
+     */
+    private static String getDigest(Path file) {
+        String name = file.getFileName().toString();
+        if (DIGEST_PATTERN.matcher(name).matches()) {
+            return name;
+        }
+        Matcher derivedFile = DERIVED_FILE_PATTERN.matcher(name);
+        return derivedFile.matches() ? derivedFile.group(1) : null;
+    }
+
+    private Optional<Path> resolveLegacyLocation(String filename) {
+        if (filename == null) {
+            return Optional.empty();
+        }
+        Path location = this.rootLocation.resolve(filename).normalize();
+        if (!location.startsWith(this.rootLocation) || location.startsWith(this.tempLocation)) {
+            return Optional.empty();
+        }
+        return Optional.of(location);
+    }
+
+    private void move(Path source, Path target) throws IOException {
+        if (this.fsyncBatcher != null) {
+            this.fsyncBatcher.move(source, target);
+        } else {
+            moveAtomically(source, target);
+        }
+    }
+
+    static void moveAtomically(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (FileAlreadyExistsException ex) {
+            // Stored concurrently: being addressed by its digest, the existing file has the same content
+            Files.deleteIfExists(source);
+        }
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete temporary file {}", file, ex);
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.tothapplication.service.storage;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Background writer which durably moves files into place, flushing them to disk in batches.
+ * <p>
+ * Callers block until their file is flushed and moved. Moves queued while a batch is being written are
+ * grouped in the next batch, where each directory is flushed once whatever the number of files moved into it.
+ */
+class FsyncBatcher {
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private final Logger log = LoggerFactory.getLogger(FsyncBatcher.class);
+
+    private final BlockingQueue<PendingMove> queue = new LinkedBlockingQueue<>();
+
+    private final int batchSize;
+
+    private final Thread writer;
+
+    private volatile boolean running = true;
+
+    FsyncBatcher(int batchSize) {
+        this.batchSize = Math.max(1, batchSize);
+        this.writer = new Thread(this::run, "document-storage-fsync");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    /**
+     * Flush a file to disk, then move it atomically and flush its new directory.
+     *
+     * @param source the file to move.
+     * @param target the location of the file once moved.
+     * @throws IOException if the file could not be flushed or moved.
+     */
+    void move(Path source, Path target) throws IOException {
+        PendingMove move = new PendingMove(source, target);
+        queue.add(move);
+        try {
+            while (!move.result.isDone()) {
+                try {
+                    move.result.get(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException ex) {
+                    if (!writer.isAlive()) {
+                        // The writer is stopped: flush on the calling thread
+                        flushQueued();
+                    }
+                }
+            }
+            move.result.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for " + target + " to be flushed");
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof IOException) {
+                throw (IOException) ex.getCause();
+            }
+            throw new IOException("Could not move " + source + " to " + target, ex.getCause());
+        }
+    }
+
+    /**
+     * Stop the writer once the queued moves are written.
+     */
+    void shutdown() {
+        running = false;
+        try {
+            writer.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<PendingMove> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingMove first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                flush(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                batch.clear();
+            }
+        }
+        flushQueued();
+    }
+
+    private void flushQueued() {
+        List<PendingMove> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        flush(remaining);
+    }
+
+    private void flush(List<PendingMove> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        log.debug("Flushing a batch of {} stored files", batch.size());
+        Set<Path> directories = new LinkedHashSet<>();
+        List<PendingMove> moved = new ArrayList<>(batch.size());
+        for (PendingMove move : batch) {
+            try {
+                force(move.source);
+                FileSystemDocumentStorage.moveAtomically(move.source, move.target);
+                directories.add(move.target.getParent());
+                moved.add(move);
+            } catch (IOException | RuntimeException ex) {
+                move.result.completeExceptionally(ex);
+            }
+        }
+        for (Path directory : directories) {
+            try {
+                force(directory);
+            } catch (IOException ex) {
+                // Not all platforms can open a directory to flush it
+                log.debug("Could not flush directory {}", directory, ex);
+            }
+        }
+        moved.forEach(move -> move.result.complete(null));
+    }
+
+    private static void force(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            channel.force(true);
+        }
+    }
+
+    private static final class PendingMove {
+
+        private final Path source;
+
+        private final Path target;
+
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private PendingMove(Path source, Path target) {
+            this.source = source;
+            this.target = target;
+        }
+    }
+}
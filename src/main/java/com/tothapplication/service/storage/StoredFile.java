@@ -0,0 +1,32 @@
+package com.tothapplication.service.storage;
+
+/**
+ * A file stored by a {@link DocumentStorage}.
+ */
+public class StoredFile {
+
+    private final String sha256;
+
+    private final long size;
+
+    public StoredFile(String sha256, long size) {
+        this.sha256 = sha256;
+        this.size = size;
+    }
+
+    public String getSha256() {
+        return sha256;
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    @Override
+    public String toString() {
+        return "StoredFile{" +
+            "sha256='" + getSha256() + "'" +
+            ", size=" + getSize() +
+            "}";
+    }
+}
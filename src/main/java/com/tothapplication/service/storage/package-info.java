@@ -0,0 +1,4 @@
+/**
+ * Storage of the document files.
+ */
+package com.tothapplication.service.storage;
@@ -2,6 +2,8 @@ package com.tothapplication.service.util;
 
 import org.apache.commons.lang3.RandomStringUtils;
 
+import java.security.SecureRandom;
+
 /**
  * Utility class for generating random Strings.
  */
@@ -9,6 +11,10 @@ public final class RandomUtil {
 
     private static final int DEF_COUNT = 20;
 
+    private static final int REFRESH_TOKEN_COUNT = 43;
+
+    private static final SecureRandom SECURE_RANDOM = new SecureRandom();
+
     private RandomUtil() {
     }
 
@@ -38,4 +44,13 @@ public final class RandomUtil {
     public static String generateResetKey() {
         return RandomStringUtils.randomNumeric(DEF_COUNT);
     }
+
+    /**
+     * Generate a refresh token, of about 256 random bits.
+     *
+     * @return the generated refresh token.
+     */
+    public static String generateRefreshToken() {
+        return RandomStringUtils.random(REFRESH_TOKEN_COUNT, 0, 0, true, true, null, SECURE_RANDOM);
+    }
 }
@@ -1,7 +1,9 @@
 package com.tothapplication.web.rest;
 
 import com.tothapplication.service.AuditEventService;
+import com.tothapplication.web.rest.util.JsonStreamUtil;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
 import org.springframework.boot.actuate.audit.AuditEvent;
@@ -12,8 +14,12 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.List;
@@ -27,8 +33,11 @@ public class AuditResource {
 
     private final AuditEventService auditEventService;
 
-    public AuditResource(AuditEventService auditEventService) {
+    private final ObjectMapper objectMapper;
+
+    public AuditResource(AuditEventService auditEventService, ObjectMapper objectMapper) {
         this.auditEventService = auditEventService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -63,14 +72,59 @@ public class AuditResource {
         @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder,
         Pageable pageable) {
 
-        Page<AuditEvent> page = auditEventService.findByDates(
-            fromDate.atStartOfDay(ZoneId.systemDefault()).toInstant(),
-            toDate.atStartOfDay(ZoneId.systemDefault()).plusDays(1).toInstant(),
-            pageable);
+        Page<AuditEvent> page = auditEventService.findByDates(startOf(fromDate), endOf(toDate), pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
         return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
     }
 
+    /**
+     * {@code GET  /audits?cursor=} : get a page of {@link AuditEvent} between the {@code fromDate} and {@code toDate},
+     * newest first, sought after the {@code cursor} of the previous page.
+     * <p>
+     * Unlike the pages of an offset, the pages of a cursor take the same time whatever their depth, and are not
+     * counted: the {@code Link} header gives the next page, until the last one.
+     *
+     * @param fromDate the start of the time period of {@link AuditEvent} to get.
+     * @param toDate the end of the time period of {@link AuditEvent} to get.
+     * @param cursor the cursor of the previous page, empty for the first page.
+     * @param size the size of the page, up to {@link AuditEventService#MAX_CURSOR_PAGE_SIZE}.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of {@link AuditEvent} in body.
+     */
+    @GetMapping(params = {"fromDate", "toDate", "cursor"})
+    public ResponseEntity<List<AuditEvent>> getByDatesAfterCursor(
+        @RequestParam(value = "fromDate") LocalDate fromDate,
+        @RequestParam(value = "toDate") LocalDate toDate,
+        @RequestParam(value = "cursor") String cursor,
+        @RequestParam(value = "size", defaultValue = "20") int size) {
+
+        AuditEventService.CursorPage page = auditEventService.findByDates(startOf(fromDate), endOf(toDate), cursor, size);
+        HttpHeaders headers = new HttpHeaders();
+        page.getNextCursor().ifPresent(nextCursor -> headers.add(HttpHeaders.LINK, "<" +
+            ServletUriComponentsBuilder.fromCurrentRequest().replaceQueryParam("cursor", nextCursor).toUriString() + ">; rel=\"next\""));
+        return new ResponseEntity<>(page.getContent(), headers, HttpStatus.OK);
+    }
+
+    /**
+     * {@code GET  /audits/export} : export all the {@link AuditEvent} between the {@code fromDate} and {@code toDate},
+     * newest first, as newline-delimited JSON.
+     * <p>
+     * The audit events are streamed as they are read from the database.
+     *
+     * @param fromDate the start of the time period of {@link AuditEvent} to export.
+     * @param toDate the end of the time period of {@link AuditEvent} to export.
+     * @param response the HTTP response the audit events are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(value = "/export", params = {"fromDate", "toDate"})
+    public void exportByDates(
+        @RequestParam(value = "fromDate") LocalDate fromDate,
+        @RequestParam(value = "toDate") LocalDate toDate,
+        HttpServletResponse response) throws IOException {
+
+        JsonStreamUtil.<AuditEvent>writeLines(response, objectMapper,
+            action -> auditEventService.exportByDates(startOf(fromDate), endOf(toDate), action));
+    }
+
     /**
      * {@code GET  /audits/:id} : get an {@link AuditEvent} by id.
      *
@@ -81,4 +135,12 @@ public class AuditResource {
     public ResponseEntity<AuditEvent> get(@PathVariable Long id) {
         return ResponseUtil.wrapOrNotFound(auditEventService.find(id));
     }
+
+    private static Instant startOf(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).toInstant();
+    }
+
+    private static Instant endOf(LocalDate date) {
+        return date.atStartOfDay(ZoneId.systemDefault()).plusDays(1).toInstant();
+    }
 }
@@ -1,5 +1,7 @@
 package com.tothapplication.web.rest;
 
+import com.tothapplication.domain.CCP;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.CCPService;
 import com.tothapplication.web.rest.errors.BadRequestAlertException;
 import com.tothapplication.service.dto.CCPDTO;
@@ -18,6 +20,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
@@ -42,8 +45,11 @@ public class CCPResource {
 
     private final CCPService cCPService;
 
-    public CCPResource(CCPService cCPService) {
+    private final EntityETagService entityETagService;
+
+    public CCPResource(CCPService cCPService, EntityETagService entityETagService) {
         this.cCPService = cCPService;
+        this.entityETagService = entityETagService;
     }
 
     /**
@@ -93,11 +99,15 @@ public class CCPResource {
      * @param queryParams a {@link MultiValueMap} query parameters.
      * @param uriBuilder a {@link UriComponentsBuilder} URI builder.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of cCPS in body.
      */
     @GetMapping("/ccps")
-    public ResponseEntity<List<CCPDTO>> getAllCCPS(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false, defaultValue = "false") boolean eagerload) {
+    public ResponseEntity<List<CCPDTO>> getAllCCPS(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false, defaultValue = "false") boolean eagerload, WebRequest request) {
         log.debug("REST request to get a page of CCPS");
+        if (request.checkNotModified(entityETagService.getCollectionETag(CCP.class, "documents"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<CCPDTO> page;
         if (eagerload) {
             page = cCPService.findAllWithEagerRelationships(pageable);
@@ -112,11 +122,15 @@ public class CCPResource {
      * {@code GET  /ccps/:id} : get the "id" cCP.
      *
      * @param id the id of the cCPDTO to retrieve.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the cCPDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/ccps/{id}")
-    public ResponseEntity<CCPDTO> getCCP(@PathVariable Long id) {
+    public ResponseEntity<CCPDTO> getCCP(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get CCP : {}", id);
+        if (request.checkNotModified(entityETagService.getETag(CCP.class, id, "documents"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<CCPDTO> cCPDTO = cCPService.findOne(id);
         return ResponseUtil.wrapOrNotFound(cCPDTO);
     }
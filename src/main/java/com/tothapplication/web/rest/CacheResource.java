@@ -0,0 +1,65 @@
+package com.tothapplication.web.rest;
+
+import com.tothapplication.service.CacheRegionService;
+import com.tothapplication.service.dto.CacheRegionDTO;
+
+import io.github.jhipster.web.util.ResponseUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for managing the cache regions.
+ */
+@RestController
+@RequestMapping("/management/caches")
+public class CacheResource {
+
+    private final Logger log = LoggerFactory.getLogger(CacheResource.class);
+
+    private final CacheRegionService cacheRegionService;
+
+    public CacheResource(CacheRegionService cacheRegionService) {
+        this.cacheRegionService = cacheRegionService;
+    }
+
+    /**
+     * {@code GET  /caches} : get the size and statistics of all the cache regions.
+     *
+     * @return the list of regions.
+     */
+    @GetMapping
+    public List<CacheRegionDTO> getAllCaches() {
+        return cacheRegionService.findAll();
+    }
+
+    /**
+     * {@code GET  /caches/:name} : get the size and statistics of a cache region.
+     *
+     * @param name the name of the region.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the region in body,
+     * or with status {@code 404 (Not Found)}.
+     */
+    @GetMapping("/{name:.+}")
+    public ResponseEntity<CacheRegionDTO> getCache(@PathVariable String name) {
+        return ResponseUtil.wrapOrNotFound(cacheRegionService.findOne(name));
+    }
+
+    /**
+     * {@code DELETE  /caches/:name} : remove all the entries of a cache region.
+     *
+     * @param name the name of the region.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 404 (Not Found)}.
+     */
+    @DeleteMapping("/{name:.+}")
+    public ResponseEntity<Void> clearCache(@PathVariable String name) {
+        log.debug("REST request to clear the cache region : {}", name);
+        if (!cacheRegionService.clear(name)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
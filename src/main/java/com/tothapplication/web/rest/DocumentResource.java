@@ -1,9 +1,16 @@
 package com.tothapplication.web.rest;
 
 import com.tothapplication.domain.Document;
+import com.tothapplication.domain.enumeration.TypeDocument;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.DocumentService;
+import com.tothapplication.service.ThumbnailService;
 import com.tothapplication.web.rest.errors.BadRequestAlertException;
 import com.tothapplication.service.dto.DocumentDTO;
+import com.tothapplication.service.dto.DocumentFileDTO;
+import com.tothapplication.service.dto.DocumentUploadDTO;
+import com.tothapplication.service.dto.ThumbnailDTO;
+import com.tothapplication.web.rest.util.FileDownloadUtil;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
@@ -11,9 +18,9 @@ import io.github.jhipster.web.util.ResponseUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.io.Resource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -22,16 +29,19 @@ import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
-import java.nio.file.Files;
-import java.nio.file.Paths;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 /**
  * REST controller for managing {@link com.tothapplication.domain.Document}.
@@ -49,8 +59,14 @@ public class DocumentResource {
 
     private final DocumentService documentService;
 
-    public DocumentResource(DocumentService documentService) {
+    private final ThumbnailService thumbnailService;
+
+    private final EntityETagService entityETagService;
+
+    public DocumentResource(DocumentService documentService, ThumbnailService thumbnailService, EntityETagService entityETagService) {
         this.documentService = documentService;
+        this.thumbnailService = thumbnailService;
+        this.entityETagService = entityETagService;
     }
 
     /**
@@ -99,11 +115,15 @@ public class DocumentResource {
      * @param pageable the pagination information.
      * @param queryParams a {@link MultiValueMap} query parameters.
      * @param uriBuilder a {@link UriComponentsBuilder} URI builder.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of documents in body.
      */
     @GetMapping("/documents")
-    public ResponseEntity<List<DocumentDTO>> getAllDocuments(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder) {
+    public ResponseEntity<List<DocumentDTO>> getAllDocuments(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, WebRequest request) {
         log.debug("REST request to get a page of Documents");
+        if (request.checkNotModified(entityETagService.getCollectionETag(Document.class))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<DocumentDTO> page = documentService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
@@ -113,11 +133,15 @@ public class DocumentResource {
      * {@code GET  /documents/:id} : get the "id" document.
      *
      * @param id the id of the documentDTO to retrieve.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the documentDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/documents/{id}")
-    public ResponseEntity<DocumentDTO> getDocument(@PathVariable Long id) {
+    public ResponseEntity<DocumentDTO> getDocument(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get Document : {}", id);
+        if (request.checkNotModified(entityETagService.getETag(Document.class, id))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<DocumentDTO> documentDTO = documentService.findOne(id);
         return ResponseUtil.wrapOrNotFound(documentDTO);
     }
@@ -141,29 +165,73 @@ public class DocumentResource {
         return null;
     }
 
-    @GetMapping(value="documents/{id}/download",produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
-    public ResponseEntity<Resource> downloadFile(@PathVariable("id") Long id) throws IOException {
-        // Load file as Resource
-        Resource resource = documentService.loadFileAsResource(id);
-
-        // Try to determine file's content type
-        String contentType = null;
-        try {
-            contentType = Files.probeContentType(Paths.get(resource.getFile().getAbsolutePath()));
-        } catch (IOException ex) {
-            log.info("Could not determine file type.");
-        }
-
-        // Fallback to the default content type if type could not be determined
-        if(contentType == null) {
-            contentType = "application/octet-stream";
+    /**
+     * {@code POST  /documents/bulk} : create one document per uploaded file.
+     * <p>
+     * The documents can be attached to a formation session or to a CCP, but not to both.
+     *
+     * @param files the uploaded files.
+     * @param type the type of the created documents.
+     * @param formationSessionId the id of the formation session to attach the documents to.
+     * @param ccpId the id of the CCP to attach the documents to.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the outcome of each file in body,
+     * or with status {@code 400 (Bad Request)} if the documents cannot be attached as requested.
+     */
+    @PostMapping("documents/bulk")
+    public ResponseEntity<List<DocumentUploadDTO>> uploadFiles(@RequestParam("files") List<MultipartFile> files,
+                                                               @RequestParam("type") TypeDocument type,
+                                                               @RequestParam(value = "formationSessionId", required = false) Long formationSessionId,
+                                                               @RequestParam(value = "ccpId", required = false) Long ccpId) {
+        log.debug("REST request to upload {} Document files", files.size());
+        if (formationSessionId != null && ccpId != null) {
+            throw new BadRequestAlertException("Documents cannot be attached to both a formation session and a CCP", ENTITY_NAME, "ownerconflict");
         }
+        return ResponseEntity.ok(documentService.storeFiles(files, type, formationSessionId, ccpId));
+    }
 
-        log.info(resource.getFile().toString());
+    /**
+     * {@code GET  /documents/:id/download} : download the file of the "id" document.
+     * <p>
+     * A single byte range can be requested with the {@code Range} header, optionally guarded by {@code If-Range}.
+     *
+     * @param id the id of the document to download.
+     * @param request the HTTP request.
+     * @param response the HTTP response the file is streamed to.
+     * @throws IOException if the file cannot be streamed.
+     */
+    @GetMapping("documents/{id}/download")
+    public void downloadFile(@PathVariable("id") Long id, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.debug("REST request to download the file of Document : {}", id);
+        DocumentFileDTO documentFile = documentService.loadFile(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        FileDownloadUtil.writeFile(request, response, documentFile.getPath(), documentFile.getContentType(), documentFile.getFilename());
+    }
 
+    /**
+     * {@code GET  /documents/:id/thumbnail} : get a thumbnail of the "id" image document, such as a studient photo.
+     * <p>
+     * The thumbnail is sent with a strong {@code ETag}, so that a revalidation answers {@code 304 (Not Modified)}.
+     *
+     * @param id the id of the image document.
+     * @param size the size, in pixels, of the square the thumbnail fits in.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the thumbnail in body,
+     * or with status {@code 400 (Bad Request)} if the size is not supported,
+     * or with status {@code 404 (Not Found)} if the document is not an image.
+     * @throws IOException if the thumbnail cannot be generated.
+     */
+    @GetMapping("documents/{id}/thumbnail")
+    public ResponseEntity<byte[]> getThumbnail(@PathVariable Long id, @RequestParam(value = "size", defaultValue = "64") int size) throws IOException {
+        log.debug("REST request to get the {}px thumbnail of Document : {}", size, id);
+        if (!thumbnailService.isSupportedSize(size)) {
+            throw new BadRequestAlertException("Unsupported thumbnail size", ENTITY_NAME, "thumbnailsize");
+        }
+        ThumbnailDTO thumbnail = thumbnailService.getThumbnail(id, size)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        // A matching If-None-Match is answered with 304 when the entity is written
         return ResponseEntity.ok()
-            .contentType(MediaType.parseMediaType(contentType))
-            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + resource.getFilename() + "\"")
-            .body(resource);
+            .eTag(thumbnail.getETag())
+            .cacheControl(CacheControl.maxAge(1, TimeUnit.HOURS).cachePrivate())
+            .contentType(MediaType.parseMediaType(thumbnail.getContentType()))
+            .body(thumbnail.getContent());
     }
 }
@@ -0,0 +1,49 @@
+package com.tothapplication.web.rest;
+
+import com.tothapplication.service.DocumentStorageMigrationService;
+import com.tothapplication.service.dto.DocumentStorageMigrationDTO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * REST controller for managing the storage of the document files.
+ */
+@RestController
+@RequestMapping("/management/document-storage")
+public class DocumentStorageResource {
+
+    private final Logger log = LoggerFactory.getLogger(DocumentStorageResource.class);
+
+    private final DocumentStorageMigrationService documentStorageMigrationService;
+
+    public DocumentStorageResource(DocumentStorageMigrationService documentStorageMigrationService) {
+        this.documentStorageMigrationService = documentStorageMigrationService;
+    }
+
+    /**
+     * {@code GET  /document-storage/migration} : get the status of the running or last storage migration.
+     *
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the migration status in body.
+     */
+    @GetMapping("/migration")
+    public ResponseEntity<DocumentStorageMigrationDTO> getMigration() {
+        return ResponseEntity.ok(documentStorageMigrationService.getStatus());
+    }
+
+    /**
+     * {@code POST  /document-storage/migration} : start moving the stored files to the configured layout.
+     *
+     * @return the {@link ResponseEntity} with status {@code 202 (Accepted)} and the migration status in body,
+     * or with status {@code 409 (Conflict)} if a migration is already running.
+     */
+    @PostMapping("/migration")
+    public ResponseEntity<DocumentStorageMigrationDTO> startMigration() {
+        log.debug("REST request to start a document storage migration");
+        HttpStatus status = documentStorageMigrationService.start() ? HttpStatus.ACCEPTED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(documentStorageMigrationService.getStatus());
+    }
+}
@@ -1,5 +1,7 @@
 package com.tothapplication.web.rest;
 
+import com.tothapplication.domain.Evaluation;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.EvaluationService;
 import com.tothapplication.web.rest.errors.BadRequestAlertException;
 import com.tothapplication.service.dto.EvaluationDTO;
@@ -18,6 +20,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
@@ -42,8 +45,11 @@ public class EvaluationResource {
 
     private final EvaluationService evaluationService;
 
-    public EvaluationResource(EvaluationService evaluationService) {
+    private final EntityETagService entityETagService;
+
+    public EvaluationResource(EvaluationService evaluationService, EntityETagService entityETagService) {
         this.evaluationService = evaluationService;
+        this.entityETagService = entityETagService;
     }
 
     /**
@@ -92,11 +98,15 @@ public class EvaluationResource {
      * @param pageable the pagination information.
      * @param queryParams a {@link MultiValueMap} query parameters.
      * @param uriBuilder a {@link UriComponentsBuilder} URI builder.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of evaluations in body.
      */
     @GetMapping("/evaluations")
-    public ResponseEntity<List<EvaluationDTO>> getAllEvaluations(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder) {
+    public ResponseEntity<List<EvaluationDTO>> getAllEvaluations(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, WebRequest request) {
         log.debug("REST request to get a page of Evaluations");
+        if (request.checkNotModified(entityETagService.getCollectionETag(Evaluation.class))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<EvaluationDTO> page = evaluationService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
@@ -106,11 +116,15 @@ public class EvaluationResource {
      * {@code GET  /evaluations/:id} : get the "id" evaluation.
      *
      * @param id the id of the evaluationDTO to retrieve.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the evaluationDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/evaluations/{id}")
-    public ResponseEntity<EvaluationDTO> getEvaluation(@PathVariable Long id) {
+    public ResponseEntity<EvaluationDTO> getEvaluation(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get Evaluation : {}", id);
+        if (request.checkNotModified(entityETagService.getETag(Evaluation.class, id))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<EvaluationDTO> evaluationDTO = evaluationService.findOne(id);
         return ResponseUtil.wrapOrNotFound(evaluationDTO);
     }
@@ -1,5 +1,7 @@
 package com.tothapplication.web.rest;
 
+import com.tothapplication.domain.Formation;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.FormationService;
 import com.tothapplication.web.rest.errors.BadRequestAlertException;
 import com.tothapplication.service.dto.FormationDTO;
@@ -18,6 +20,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
@@ -42,8 +45,11 @@ public class FormationResource {
 
     private final FormationService formationService;
 
-    public FormationResource(FormationService formationService) {
+    private final EntityETagService entityETagService;
+
+    public FormationResource(FormationService formationService, EntityETagService entityETagService) {
         this.formationService = formationService;
+        this.entityETagService = entityETagService;
     }
 
     /**
@@ -93,11 +99,15 @@ public class FormationResource {
      * @param queryParams a {@link MultiValueMap} query parameters.
      * @param uriBuilder a {@link UriComponentsBuilder} URI builder.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of formations in body.
      */
     @GetMapping("/formations")
-    public ResponseEntity<List<FormationDTO>> getAllFormations(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false, defaultValue = "false") boolean eagerload) {
+    public ResponseEntity<List<FormationDTO>> getAllFormations(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false, defaultValue = "false") boolean eagerload, WebRequest request) {
         log.debug("REST request to get a page of Formations");
+        if (request.checkNotModified(entityETagService.getCollectionETag(Formation.class, "ccps", "ccps.documents"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<FormationDTO> page;
         if (eagerload) {
             page = formationService.findAllWithEagerRelationships(pageable);
@@ -112,11 +122,15 @@ public class FormationResource {
      * {@code GET  /formations/:id} : get the "id" formation.
      *
      * @param id the id of the formationDTO to retrieve.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the formationDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/formations/{id}")
-    public ResponseEntity<FormationDTO> getFormation(@PathVariable Long id) {
+    public ResponseEntity<FormationDTO> getFormation(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get Formation : {}", id);
+        if (request.checkNotModified(entityETagService.getETag(Formation.class, id, "ccps", "ccps.documents"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<FormationDTO> formationDTO = formationService.findOne(id);
         return ResponseUtil.wrapOrNotFound(formationDTO);
     }
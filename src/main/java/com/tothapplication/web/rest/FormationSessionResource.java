@@ -1,8 +1,13 @@
 package com.tothapplication.web.rest;
 
+import com.tothapplication.service.DocumentService;
+import com.tothapplication.domain.FormationSession;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.FormationSessionService;
 import com.tothapplication.web.rest.errors.BadRequestAlertException;
+import com.tothapplication.service.dto.DocumentFileDTO;
 import com.tothapplication.service.dto.FormationSessionDTO;
+import com.tothapplication.web.rest.util.FileDownloadUtil;
 
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
@@ -18,8 +23,12 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -42,8 +51,14 @@ public class FormationSessionResource {
 
     private final FormationSessionService formationSessionService;
 
-    public FormationSessionResource(FormationSessionService formationSessionService) {
+    private final DocumentService documentService;
+
+    private final EntityETagService entityETagService;
+
+    public FormationSessionResource(FormationSessionService formationSessionService, DocumentService documentService, EntityETagService entityETagService) {
         this.formationSessionService = formationSessionService;
+        this.documentService = documentService;
+        this.entityETagService = entityETagService;
     }
 
     /**
@@ -93,11 +108,15 @@ public class FormationSessionResource {
      * @param queryParams a {@link MultiValueMap} query parameters.
      * @param uriBuilder a {@link UriComponentsBuilder} URI builder.
      * @param eagerload flag to eager load entities from relationships (This is applicable for many-to-many).
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of formationSessions in body.
      */
     @GetMapping("/formation-sessions")
-    public ResponseEntity<List<FormationSessionDTO>> getAllFormationSessions(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false, defaultValue = "false") boolean eagerload) {
+    public ResponseEntity<List<FormationSessionDTO>> getAllFormationSessions(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false, defaultValue = "false") boolean eagerload, WebRequest request) {
         log.debug("REST request to get a page of FormationSessions");
+        if (request.checkNotModified(entityETagService.getCollectionETag(FormationSession.class, "studients", "documents"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<FormationSessionDTO> page;
         if (eagerload) {
             page = formationSessionService.findAllWithEagerRelationships(pageable);
@@ -112,15 +131,34 @@ public class FormationSessionResource {
      * {@code GET  /formation-sessions/:id} : get the "id" formationSession.
      *
      * @param id the id of the formationSessionDTO to retrieve.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the formationSessionDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/formation-sessions/{id}")
-    public ResponseEntity<FormationSessionDTO> getFormationSession(@PathVariable Long id) {
+    public ResponseEntity<FormationSessionDTO> getFormationSession(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get FormationSession : {}", id);
+        if (request.checkNotModified(entityETagService.getETag(FormationSession.class, id, "studients", "documents"))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<FormationSessionDTO> formationSessionDTO = formationSessionService.findOne(id);
         return ResponseUtil.wrapOrNotFound(formationSessionDTO);
     }
 
+    /**
+     * {@code GET  /formation-sessions/:id/documents.zip} : download the files of the documents of the "id" formationSession.
+     *
+     * @param id the id of the formationSession whose documents to download.
+     * @param response the HTTP response the zip archive is streamed to.
+     * @throws IOException if the archive cannot be streamed.
+     */
+    @GetMapping("/formation-sessions/{id}/documents.zip")
+    public void downloadFormationSessionDocuments(@PathVariable Long id, HttpServletResponse response) throws IOException {
+        log.debug("REST request to download the documents of FormationSession : {}", id);
+        List<DocumentFileDTO> files = documentService.loadFormationSessionFiles(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+        FileDownloadUtil.writeZip(response, files, "formation-session-" + id + "-documents.zip");
+    }
+
     /**
      * {@code DELETE  /formation-sessions/:id} : delete the "id" formationSession.
      *
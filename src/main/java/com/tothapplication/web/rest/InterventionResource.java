@@ -1,5 +1,7 @@
 package com.tothapplication.web.rest;
 
+import com.tothapplication.domain.Intervention;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.InterventionService;
 import com.tothapplication.web.rest.errors.BadRequestAlertException;
 import com.tothapplication.service.dto.InterventionDTO;
@@ -18,6 +20,7 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.net.URI;
@@ -42,8 +45,11 @@ public class InterventionResource {
 
     private final InterventionService interventionService;
 
-    public InterventionResource(InterventionService interventionService) {
+    private final EntityETagService entityETagService;
+
+    public InterventionResource(InterventionService interventionService, EntityETagService entityETagService) {
         this.interventionService = interventionService;
+        this.entityETagService = entityETagService;
     }
 
     /**
@@ -92,11 +98,15 @@ public class InterventionResource {
      * @param pageable the pagination information.
      * @param queryParams a {@link MultiValueMap} query parameters.
      * @param uriBuilder a {@link UriComponentsBuilder} URI builder.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of interventions in body.
      */
     @GetMapping("/interventions")
-    public ResponseEntity<List<InterventionDTO>> getAllInterventions(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder) {
+    public ResponseEntity<List<InterventionDTO>> getAllInterventions(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, WebRequest request) {
         log.debug("REST request to get a page of Interventions");
+        if (request.checkNotModified(entityETagService.getCollectionETag(Intervention.class))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<InterventionDTO> page = interventionService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
@@ -106,11 +116,15 @@ public class InterventionResource {
      * {@code GET  /interventions/:id} : get the "id" intervention.
      *
      * @param id the id of the interventionDTO to retrieve.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the interventionDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/interventions/{id}")
-    public ResponseEntity<InterventionDTO> getIntervention(@PathVariable Long id) {
+    public ResponseEntity<InterventionDTO> getIntervention(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get Intervention : {}", id);
+        if (request.checkNotModified(entityETagService.getETag(Intervention.class, id))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<InterventionDTO> interventionDTO = interventionService.findOne(id);
         return ResponseUtil.wrapOrNotFound(interventionDTO);
     }
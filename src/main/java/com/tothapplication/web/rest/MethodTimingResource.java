@@ -0,0 +1,56 @@
+package com.tothapplication.web.rest;
+
+import com.tothapplication.aop.timing.MethodTimingAspect;
+import com.tothapplication.web.rest.vm.MethodTimingVM;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+
+/**
+ * REST controller for switching the timing of the method calls at runtime, like the loggers endpoint.
+ */
+@RestController
+@RequestMapping("/management/method-timing")
+public class MethodTimingResource {
+
+    private final Logger log = LoggerFactory.getLogger(MethodTimingResource.class);
+
+    private final MethodTimingAspect methodTimingAspect;
+
+    public MethodTimingResource(MethodTimingAspect methodTimingAspect) {
+        this.methodTimingAspect = methodTimingAspect;
+    }
+
+    /**
+     * {@code GET  /method-timing} : get whether the method calls are timed, and their sample rate.
+     *
+     * @return the timing of the method calls.
+     */
+    @GetMapping
+    public MethodTimingVM getMethodTiming() {
+        return new MethodTimingVM(methodTimingAspect.isEnabled(), methodTimingAspect.getSampleRate());
+    }
+
+    /**
+     * {@code POST  /method-timing} : switch the timing of the method calls, or change their sample rate.
+     *
+     * @param methodTimingVM the timing of the method calls, its {@code null} values being left unchanged.
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}, or with status {@code 400 (Bad Request)}
+     * if the sample rate is not between 0 and 1.
+     */
+    @PostMapping
+    public ResponseEntity<Void> configureMethodTiming(@Valid @RequestBody MethodTimingVM methodTimingVM) {
+        log.debug("REST request to configure the method timing : {}", methodTimingVM);
+        if (methodTimingVM.getSampleRate() != null) {
+            methodTimingAspect.setSampleRate(methodTimingVM.getSampleRate());
+        }
+        if (methodTimingVM.getEnabled() != null) {
+            methodTimingAspect.setEnabled(methodTimingVM.getEnabled());
+        }
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -1,9 +1,13 @@
 package com.tothapplication.web.rest;
 
+import com.tothapplication.domain.Studient;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.StudientService;
 import com.tothapplication.web.rest.errors.BadRequestAlertException;
 import com.tothapplication.service.dto.StudientDTO;
+import com.tothapplication.web.rest.util.JsonStreamUtil;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
@@ -18,7 +22,10 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -42,8 +49,14 @@ public class StudientResource {
 
     private final StudientService studientService;
 
-    public StudientResource(StudientService studientService) {
+    private final EntityETagService entityETagService;
+
+    private final ObjectMapper objectMapper;
+
+    public StudientResource(StudientService studientService, EntityETagService entityETagService, ObjectMapper objectMapper) {
         this.studientService = studientService;
+        this.entityETagService = entityETagService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -93,30 +106,53 @@ public class StudientResource {
      * @param queryParams a {@link MultiValueMap} query parameters.
      * @param uriBuilder a {@link UriComponentsBuilder} URI builder.
      * @param filter the filter of the request.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of studients in body.
      */
     @GetMapping("/studients")
-    public ResponseEntity<List<StudientDTO>> getAllStudients(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false) String filter) {
+    public ResponseEntity<List<StudientDTO>> getAllStudients(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false) String filter, WebRequest request) {
         if ("evaluation-is-null".equals(filter)) {
-            log.debug("REST request to get all Studients where evaluation is null");
-            return new ResponseEntity<>(studientService.findAllWhereEvaluationIsNull(),
-                    HttpStatus.OK);
+            log.debug("REST request to get a page of Studients where evaluation is null");
+            Page<StudientDTO> page = studientService.findAllWhereEvaluationIsNull(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
         }
         log.debug("REST request to get a page of Studients");
+        if (request.checkNotModified(entityETagService.getCollectionETag(Studient.class))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<StudientDTO> page = studientService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /studients?filter=evaluation-is-null} : get all the studients where evaluation is null, when no page is requested.
+     * <p>
+     * The studients are streamed as they are read from the database.
+     *
+     * @param response the HTTP response the studients are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(value = "/studients", params = {"filter=evaluation-is-null", "!page", "!size"})
+    public void getAllStudientsWhereEvaluationIsNull(HttpServletResponse response) throws IOException {
+        log.debug("REST request to get all Studients where evaluation is null");
+        JsonStreamUtil.<StudientDTO>writeArray(response, objectMapper, studientService::streamAllWhereEvaluationIsNull);
+    }
+
     /**
      * {@code GET  /studients/:id} : get the "id" studient.
      *
      * @param id the id of the studientDTO to retrieve.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the studientDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/studients/{id}")
-    public ResponseEntity<StudientDTO> getStudient(@PathVariable Long id) {
+    public ResponseEntity<StudientDTO> getStudient(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get Studient : {}", id);
+        if (request.checkNotModified(entityETagService.getETag(Studient.class, id))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<StudientDTO> studientDTO = studientService.findOne(id);
         return ResponseUtil.wrapOrNotFound(studientDTO);
     }
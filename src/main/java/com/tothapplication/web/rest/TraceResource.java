@@ -0,0 +1,51 @@
+package com.tothapplication.web.rest;
+
+import com.tothapplication.config.tracing.SlowestTraces;
+import com.tothapplication.config.tracing.Trace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * REST controller for getting the slowest traces of the REST requests, when they are traced.
+ */
+@RestController
+@RequestMapping("/management/traces")
+@ConditionalOnProperty(prefix = "application.tracing", name = "enabled", havingValue = "true")
+public class TraceResource {
+
+    private final Logger log = LoggerFactory.getLogger(TraceResource.class);
+
+    private final SlowestTraces slowestTraces;
+
+    public TraceResource(SlowestTraces slowestTraces) {
+        this.slowestTraces = slowestTraces;
+    }
+
+    /**
+     * {@code GET  /traces} : get the slowest traces.
+     *
+     * @return the slowest traces, slowest first.
+     */
+    @GetMapping
+    public List<Trace> getTraces() {
+        return slowestTraces.findAll();
+    }
+
+    /**
+     * {@code DELETE  /traces} : forget the slowest traces.
+     *
+     * @return the {@link ResponseEntity} with status {@code 204 (NO_CONTENT)}.
+     */
+    @DeleteMapping
+    public ResponseEntity<Void> clearTraces() {
+        log.debug("REST request to clear the traces");
+        slowestTraces.clear();
+        return ResponseEntity.noContent().build();
+    }
+}
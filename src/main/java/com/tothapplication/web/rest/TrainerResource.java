@@ -1,9 +1,13 @@
 package com.tothapplication.web.rest;
 
+import com.tothapplication.domain.Trainer;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.TrainerService;
 import com.tothapplication.web.rest.errors.BadRequestAlertException;
 import com.tothapplication.service.dto.TrainerDTO;
+import com.tothapplication.web.rest.util.JsonStreamUtil;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.github.jhipster.web.util.HeaderUtil;
 import io.github.jhipster.web.util.PaginationUtil;
 import io.github.jhipster.web.util.ResponseUtil;
@@ -18,7 +22,10 @@ import org.springframework.util.MultiValueMap;
 import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
 
@@ -42,8 +49,14 @@ public class TrainerResource {
 
     private final TrainerService trainerService;
 
-    public TrainerResource(TrainerService trainerService) {
+    private final EntityETagService entityETagService;
+
+    private final ObjectMapper objectMapper;
+
+    public TrainerResource(TrainerService trainerService, EntityETagService entityETagService, ObjectMapper objectMapper) {
         this.trainerService = trainerService;
+        this.entityETagService = entityETagService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -93,30 +106,53 @@ public class TrainerResource {
      * @param queryParams a {@link MultiValueMap} query parameters.
      * @param uriBuilder a {@link UriComponentsBuilder} URI builder.
      * @param filter the filter of the request.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the list of trainers in body.
      */
     @GetMapping("/trainers")
-    public ResponseEntity<List<TrainerDTO>> getAllTrainers(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false) String filter) {
+    public ResponseEntity<List<TrainerDTO>> getAllTrainers(Pageable pageable, @RequestParam MultiValueMap<String, String> queryParams, UriComponentsBuilder uriBuilder, @RequestParam(required = false) String filter, WebRequest request) {
         if ("evaluation-is-null".equals(filter)) {
-            log.debug("REST request to get all Trainers where evaluation is null");
-            return new ResponseEntity<>(trainerService.findAllWhereEvaluationIsNull(),
-                    HttpStatus.OK);
+            log.debug("REST request to get a page of Trainers where evaluation is null");
+            Page<TrainerDTO> page = trainerService.findAllWhereEvaluationIsNull(pageable);
+            HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
+            return ResponseEntity.ok().headers(headers).body(page.getContent());
         }
         log.debug("REST request to get a page of Trainers");
+        if (request.checkNotModified(entityETagService.getCollectionETag(Trainer.class))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Page<TrainerDTO> page = trainerService.findAll(pageable);
         HttpHeaders headers = PaginationUtil.generatePaginationHttpHeaders(uriBuilder.queryParams(queryParams), page);
         return ResponseEntity.ok().headers(headers).body(page.getContent());
     }
 
+    /**
+     * {@code GET  /trainers?filter=evaluation-is-null} : get all the trainers where evaluation is null, when no page is requested.
+     * <p>
+     * The trainers are streamed as they are read from the database.
+     *
+     * @param response the HTTP response the trainers are written to.
+     * @throws IOException if the response cannot be written.
+     */
+    @GetMapping(value = "/trainers", params = {"filter=evaluation-is-null", "!page", "!size"})
+    public void getAllTrainersWhereEvaluationIsNull(HttpServletResponse response) throws IOException {
+        log.debug("REST request to get all Trainers where evaluation is null");
+        JsonStreamUtil.<TrainerDTO>writeArray(response, objectMapper, trainerService::streamAllWhereEvaluationIsNull);
+    }
+
     /**
      * {@code GET  /trainers/:id} : get the "id" trainer.
      *
      * @param id the id of the trainerDTO to retrieve.
+     * @param request the request, answered with {@code 304 (Not Modified)} if it holds an unchanged copy.
      * @return the {@link ResponseEntity} with status {@code 200 (OK)} and with body the trainerDTO, or with status {@code 404 (Not Found)}.
      */
     @GetMapping("/trainers/{id}")
-    public ResponseEntity<TrainerDTO> getTrainer(@PathVariable Long id) {
+    public ResponseEntity<TrainerDTO> getTrainer(@PathVariable Long id, WebRequest request) {
         log.debug("REST request to get Trainer : {}", id);
+        if (request.checkNotModified(entityETagService.getETag(Trainer.class, id))) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+        }
         Optional<TrainerDTO> trainerDTO = trainerService.findOne(id);
         return ResponseUtil.wrapOrNotFound(trainerDTO);
     }
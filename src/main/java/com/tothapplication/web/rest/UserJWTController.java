@@ -1,20 +1,27 @@
 package com.tothapplication.web.rest;
 
+import com.tothapplication.security.LoginThrottle;
+import com.tothapplication.security.SecurityUtils;
 import com.tothapplication.security.jwt.JWTFilter;
 import com.tothapplication.security.jwt.TokenProvider;
+import com.tothapplication.service.RefreshTokenService;
+import com.tothapplication.service.TokenRevocationService;
 import com.tothapplication.web.rest.vm.LoginVM;
+import com.tothapplication.web.rest.vm.RefreshTokenVM;
 
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
 /**
@@ -28,24 +35,80 @@ public class UserJWTController {
 
     private final AuthenticationManagerBuilder authenticationManagerBuilder;
 
-    public UserJWTController(TokenProvider tokenProvider, AuthenticationManagerBuilder authenticationManagerBuilder) {
+    private final TokenRevocationService tokenRevocationService;
+
+    private final RefreshTokenService refreshTokenService;
+
+    private final LoginThrottle loginThrottle;
+
+    public UserJWTController(TokenProvider tokenProvider, AuthenticationManagerBuilder authenticationManagerBuilder,
+                             TokenRevocationService tokenRevocationService, RefreshTokenService refreshTokenService,
+                             LoginThrottle loginThrottle) {
         this.tokenProvider = tokenProvider;
         this.authenticationManagerBuilder = authenticationManagerBuilder;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
+        this.loginThrottle = loginThrottle;
     }
 
     @PostMapping("/authenticate")
-    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM) {
+    public ResponseEntity<JWTToken> authorize(@Valid @RequestBody LoginVM loginVM, HttpServletRequest request) {
 
+        // Throttled before the user is looked up and its password hashed, the logins with bad credentials keep their
+        // token. The address is the client's behind a trusted proxy, server.use-forward-headers being enabled in prod.
+        loginThrottle.acquire(loginVM.getUsername(), request.getRemoteAddr());
         UsernamePasswordAuthenticationToken authenticationToken =
             new UsernamePasswordAuthenticationToken(loginVM.getUsername(), loginVM.getPassword());
 
-        Authentication authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+        Authentication authentication;
+        try {
+            authentication = authenticationManagerBuilder.getObject().authenticate(authenticationToken);
+        } catch (BadCredentialsException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            loginThrottle.release(loginVM.getUsername(), request.getRemoteAddr());
+            throw e;
+        }
+        loginThrottle.release(loginVM.getUsername(), request.getRemoteAddr());
         SecurityContextHolder.getContext().setAuthentication(authentication);
         boolean rememberMe = (loginVM.isRememberMe() == null) ? false : loginVM.isRememberMe();
         String jwt = tokenProvider.createToken(authentication, rememberMe);
+        String refreshToken = refreshTokenService.createRefreshToken(authentication.getName(), rememberMe);
+        return createResponse(jwt, refreshToken);
+    }
+
+    /**
+     * {@code POST  /refresh} : renew the access token with a refresh token, without the password of the user.
+     *
+     * @param refreshTokenVM the refresh token, replaced by the one returned.
+     * @return the {@link ResponseEntity} with status {@code 200 (OK)} and the new tokens in body.
+     * @throws BadCredentialsException {@code 401 (Unauthorized)} if the refresh token is invalid, expired or already used.
+     */
+    @PostMapping("/refresh")
+    public ResponseEntity<JWTToken> refresh(@Valid @RequestBody RefreshTokenVM refreshTokenVM) {
+        return refreshTokenService.renew(refreshTokenVM.getRefreshToken())
+            .map(renewedTokens -> createResponse(renewedTokens.getAccessToken(), renewedTokens.getRefreshToken()))
+            .orElseThrow(() -> new BadCredentialsException("Invalid refresh token"));
+    }
+
+    /**
+     * {@code POST  /logout} : revoke the token of the current user, and its refresh token if any.
+     *
+     * @param refreshTokenVM the refresh token of the current user, if any.
+     */
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestBody(required = false) RefreshTokenVM refreshTokenVM) {
+        SecurityUtils.getCurrentUserJWT().ifPresent(tokenRevocationService::revokeToken);
+        if (refreshTokenVM != null && refreshTokenVM.getRefreshToken() != null) {
+            refreshTokenService.revokeRefreshToken(refreshTokenVM.getRefreshToken());
+        }
+    }
+
+    private ResponseEntity<JWTToken> createResponse(String jwt, String refreshToken) {
         HttpHeaders httpHeaders = new HttpHeaders();
         httpHeaders.add(JWTFilter.AUTHORIZATION_HEADER, "Bearer " + jwt);
-        return new ResponseEntity<>(new JWTToken(jwt), httpHeaders, HttpStatus.OK);
+        return new ResponseEntity<>(new JWTToken(jwt, refreshToken), httpHeaders, HttpStatus.OK);
     }
 
     /**
@@ -55,8 +118,11 @@ public class UserJWTController {
 
         private String idToken;
 
-        JWTToken(String idToken) {
+        private String refreshToken;
+
+        JWTToken(String idToken, String refreshToken) {
             this.idToken = idToken;
+            this.refreshToken = refreshToken;
         }
 
         @JsonProperty("id_token")
@@ -67,5 +133,14 @@ public class UserJWTController {
         void setIdToken(String idToken) {
             this.idToken = idToken;
         }
+
+        @JsonProperty("refresh_token")
+        String getRefreshToken() {
+            return refreshToken;
+        }
+
+        void setRefreshToken(String refreshToken) {
+            this.refreshToken = refreshToken;
+        }
     }
 }
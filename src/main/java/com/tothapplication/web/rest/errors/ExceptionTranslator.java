@@ -1,9 +1,13 @@
 package com.tothapplication.web.rest.errors;
 
+import com.tothapplication.security.LoginThrottledException;
+import com.tothapplication.security.PasswordHashingRejectedException;
+
 import io.github.jhipster.web.util.HeaderUtil;
 
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -114,4 +118,28 @@ public class ExceptionTranslator implements ProblemHandling, SecurityAdviceTrait
             .build();
         return create(ex, problem, request);
     }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handlePasswordHashingRejected(PasswordHashingRejectedException ex, NativeWebRequest request) {
+        Problem problem = Problem.builder()
+            .withStatus(Status.SERVICE_UNAVAILABLE)
+            .withDetail(ex.getMessage())
+            .build();
+        return create(ex, problem, request, retryAfter(ex.getRetryAfterSeconds()));
+    }
+
+    @ExceptionHandler
+    public ResponseEntity<Problem> handleLoginThrottled(LoginThrottledException ex, NativeWebRequest request) {
+        Problem problem = Problem.builder()
+            .withStatus(Status.TOO_MANY_REQUESTS)
+            .withDetail(ex.getMessage())
+            .build();
+        return create(ex, problem, request, retryAfter(ex.getRetryAfterSeconds()));
+    }
+
+    private static HttpHeaders retryAfter(long retryAfterSeconds) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        return headers;
+    }
 }
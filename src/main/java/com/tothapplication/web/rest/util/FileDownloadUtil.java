@@ -0,0 +1,214 @@
+package com.tothapplication.web.rest.util;
+
+import com.tothapplication.service.dto.DocumentFileDTO;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Utility class for streaming files to the client, with support for HTTP range requests.
+ * <p>
+ * The file is copied with {@link FileChannel#transferTo(long, long, WritableByteChannel)}, so it is never read
+ * into the heap as a whole, and a single {@code Range} is answered with {@code 206 (Partial Content)}.
+ * Multiple ranges are not supported: as allowed by RFC 7233, the whole file is sent instead.
+ * <p>
+ * Several files can also be sent as a zip archive, written entry by entry as the files are read.
+ */
+public final class FileDownloadUtil {
+
+    private static final String BYTES = "bytes";
+
+    private static final String ZIP_CONTENT_TYPE = "application/zip";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Content types whose files gain nothing from being deflated again.
+     */
+    private static final List<String> COMPRESSED_CONTENT_TYPE_PREFIXES = Arrays.asList(
+        "image/jpeg", "image/png", "image/gif", "image/webp", "video/", "audio/",
+        "application/zip", "application/gzip", "application/x-gzip", "application/x-7z-compressed",
+        "application/x-rar-compressed", "application/vnd.openxmlformats-officedocument.",
+        "application/vnd.oasis.opendocument.");
+
+    private FileDownloadUtil() {
+    }
+
+    /**
+     * Write a file to the response, honouring the {@code Range} and {@code If-Range} headers of the request.
+     *
+     * @param request     the HTTP request.
+     * @param response    the HTTP response.
+     * @param file        the file to send.
+     * @param contentType the content type of the file.
+     * @param filename    the file name sent in the {@code Content-Disposition} header.
+     * @throws IOException if the file cannot be read or the response cannot be written.
+     */
+    public static void writeFile(HttpServletRequest request, HttpServletResponse response, Path file,
+                                 String contentType, String filename) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long length = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String eTag = "\"" + Long.toHexString(length) + "-" + Long.toHexString(lastModified) + "\"";
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES);
+        response.setHeader(HttpHeaders.ETAG, eTag);
+        response.setDateHeader(HttpHeaders.LAST_MODIFIED, lastModified);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.builder("attachment").filename(filename).build().toString());
+        response.setContentType(contentType);
+
+        long start = 0;
+        long end = length - 1;
+        List<HttpRange> ranges = getRanges(request, eTag, lastModified);
+        if (ranges.size() == 1) {
+            HttpRange range = ranges.get(0);
+            start = range.getRangeStart(length);
+            end = range.getRangeEnd(length);
+            if (start >= length || start > end) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES + " */" + length);
+                response.sendError(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES + " " + start + "-" + end + "/" + length);
+        }
+        response.setContentLengthLong(end - start + 1);
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = end - start + 1;
+            while (remaining > 0) {
+                long transferred = channel.transferTo(position, remaining, out);
+                if (transferred <= 0) {
+                    break;
+                }
+                position += transferred;
+                remaining -= transferred;
+            }
+        }
+    }
+
+    /**
+     * Write files to the response as a zip archive.
+     * <p>
+     * Nothing is buffered: the archive is streamed without a {@code Content-Length}, each file being copied into
+     * its entry as it is read. Files of an already compressed content type are stored as they are, which costs
+     * a first read of the file to compute the checksum their entry header requires.
+     *
+     * @param response the HTTP response.
+     * @param files    the files to archive; entries with the same name are renamed.
+     * @param filename the file name of the archive sent in the {@code Content-Disposition} header.
+     * @throws IOException if a file cannot be read or the response cannot be written.
+     */
+    public static void writeZip(HttpServletResponse response, List<DocumentFileDTO> files, String filename) throws IOException {
+        response.setContentType(ZIP_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.builder("attachment").filename(filename).build().toString());
+
+        ZipOutputStream zip = new ZipOutputStream(response.getOutputStream());
+        Set<String> entryNames = new HashSet<>();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (DocumentFileDTO file : files) {
+            ZipEntry entry = new ZipEntry(uniqueEntryName(file.getFilename(), entryNames));
+            entry.setTime(Files.getLastModifiedTime(file.getPath()).toMillis());
+            if (isCompressed(file.getContentType())) {
+                long size = Files.size(file.getPath());
+                entry.setMethod(ZipEntry.STORED);
+                entry.setSize(size);
+                entry.setCompressedSize(size);
+                entry.setCrc(checksum(file.getPath(), buffer));
+            }
+            zip.putNextEntry(entry);
+            try (InputStream in = Files.newInputStream(file.getPath())) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    zip.write(buffer, 0, read);
+                }
+            }
+            zip.closeEntry();
+        }
+        zip.finish();
+        zip.flush();
+    }
+
+    private static boolean isCompressed(String contentType) {
+        return contentType != null && COMPRESSED_CONTENT_TYPE_PREFIXES.stream().anyMatch(contentType::startsWith);
+    }
+
+    private static long checksum(Path file, byte[] buffer) throws IOException {
+        CRC32 crc = new CRC32();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer byteBuffer = ByteBuffer.wrap(buffer);
+            while (channel.read(byteBuffer) != -1) {
+                crc.update(buffer, 0, byteBuffer.position());
+                byteBuffer.clear();
+            }
+        }
+        return crc.getValue();
+    }
+
+    private static String uniqueEntryName(String filename, Set<String> entryNames) {
+        String name = filename;
+        int extension = filename.lastIndexOf('.');
+        String base = extension > 0 ? filename.substring(0, extension) : filename;
+        String suffix = extension > 0 ? filename.substring(extension) : "";
+        for (int i = 2; !entryNames.add(name); i++) {
+            name = base + " (" + i + ")" + suffix;
+        }
+        return name;
+    }
+
+    /**
+     * Parse the {@code Range} header, ignoring it when it is malformed or when {@code If-Range} does not match.
+     */
+    private static List<HttpRange> getRanges(HttpServletRequest request, String eTag, long lastModified) {
+        String range = request.getHeader(HttpHeaders.RANGE);
+        if (range == null || !isRangeApplicable(request, eTag, lastModified)) {
+            return Collections.emptyList();
+        }
+        try {
+            return HttpRange.parseRanges(range);
+        } catch (IllegalArgumentException ex) {
+            return Collections.emptyList();
+        }
+    }
+
+    private static boolean isRangeApplicable(HttpServletRequest request, String eTag, long lastModified) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange == null) {
+            return true;
+        }
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(eTag);
+        }
+        try {
+            return request.getDateHeader(HttpHeaders.IF_RANGE) / 1000 == lastModified / 1000;
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+}
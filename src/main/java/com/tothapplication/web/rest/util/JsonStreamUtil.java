@@ -0,0 +1,89 @@
+package com.tothapplication.web.rest.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.MediaType;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Utility class for streaming collections to the client as a JSON array or as newline-delimited JSON, one element at
+ * a time.
+ * <p>
+ * Each element is serialized as soon as it is produced, so the collection is never held in memory as a whole.
+ */
+public final class JsonStreamUtil {
+
+    /**
+     * Media type of newline-delimited JSON, one JSON value per line.
+     */
+    public static final String APPLICATION_NDJSON_VALUE = "application/x-ndjson";
+
+    private JsonStreamUtil() {
+    }
+
+    /**
+     * Write the elements passed by a producer to the response as a JSON array.
+     *
+     * @param response     the HTTP response.
+     * @param objectMapper the object mapper serializing the elements.
+     * @param producer     the producer, passing each element to the consumer it is given.
+     * @param <T>          the type of the elements.
+     * @throws IOException if the response cannot be written.
+     */
+    public static <T> void writeArray(HttpServletResponse response, ObjectMapper objectMapper,
+                                      Consumer<Consumer<T>> producer) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_UTF8_VALUE);
+        // Left to the servlet output buffer rather than flushed after each element
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            generator.writeStartArray();
+            producer.accept(element -> {
+                try {
+                    writer.writeValue(generator, element);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+            generator.writeEndArray();
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    /**
+     * Write the elements passed by a producer to the response as newline-delimited JSON, one element per line.
+     *
+     * @param response     the HTTP response.
+     * @param objectMapper the object mapper serializing the elements.
+     * @param producer     the producer, passing each element to the consumer it is given.
+     * @param <T>          the type of the elements.
+     * @throws IOException if the response cannot be written.
+     */
+    public static <T> void writeLines(HttpServletResponse response, ObjectMapper objectMapper,
+                                      Consumer<Consumer<T>> producer) throws IOException {
+        response.setContentType(APPLICATION_NDJSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())) {
+            // Each line is ended by a newline, rather than separated from the next one by a space
+            generator.setRootValueSeparator(null);
+            producer.accept(element -> {
+                try {
+                    writer.writeValue(generator, element);
+                    generator.writeRaw('\n');
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+}
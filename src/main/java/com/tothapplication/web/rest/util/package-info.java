@@ -0,0 +1,4 @@
+/**
+ * Utility classes for Spring MVC REST controllers.
+ */
+package com.tothapplication.web.rest.util;
@@ -0,0 +1,49 @@
+package com.tothapplication.web.rest.vm;
+
+import javax.validation.constraints.DecimalMax;
+import javax.validation.constraints.DecimalMin;
+
+/**
+ * View Model object for the timing of the method calls, a {@code null} value being left unchanged.
+ */
+public class MethodTimingVM {
+
+    private Boolean enabled;
+
+    @DecimalMin("0")
+    @DecimalMax("1")
+    private Double sampleRate;
+
+    public MethodTimingVM() {
+        // Empty constructor needed for Jackson.
+    }
+
+    public MethodTimingVM(Boolean enabled, Double sampleRate) {
+        this.enabled = enabled;
+        this.sampleRate = sampleRate;
+    }
+
+    public Boolean getEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Double getSampleRate() {
+        return sampleRate;
+    }
+
+    public void setSampleRate(Double sampleRate) {
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public String toString() {
+        return "MethodTimingVM{" +
+            "enabled=" + enabled +
+            ", sampleRate=" + sampleRate +
+            "}";
+    }
+}
@@ -1,8 +1,7 @@
-import { Component, OnInit, OnDestroy } from '@angular/core';
+import { Component, OnInit } from '@angular/core';
 import { HttpResponse } from '@angular/common/http';
 import { DatePipe } from '@angular/common';
-import { ActivatedRoute, Router } from '@angular/router';
-import { JhiParseLinks, JhiAlertService } from 'ng-jhipster';
+import { JhiAlertService } from 'ng-jhipster';
 
 import { ITEMS_PER_PAGE } from 'app/shared';
 import { Audit } from './audit.model';
@@ -12,44 +11,21 @@ import { AuditsService } from './audits.service';
   selector: 'jhi-audit',
   templateUrl: './audits.component.html'
 })
-export class AuditsComponent implements OnInit, OnDestroy {
+export class AuditsComponent implements OnInit {
   audits: Audit[];
   fromDate: string;
   itemsPerPage: any;
-  links: any;
-  page: number;
-  routeData: any;
-  predicate: any;
-  previousPage: any;
-  reverse: boolean;
+  nextCursor: string;
   toDate: string;
-  totalItems: number;
 
-  constructor(
-    private auditsService: AuditsService,
-    private alertService: JhiAlertService,
-    private parseLinks: JhiParseLinks,
-    private activatedRoute: ActivatedRoute,
-    private datePipe: DatePipe,
-    private router: Router
-  ) {
+  constructor(private auditsService: AuditsService, private alertService: JhiAlertService, private datePipe: DatePipe) {
     this.itemsPerPage = ITEMS_PER_PAGE;
-    this.routeData = this.activatedRoute.data.subscribe(data => {
-      this.page = data['pagingParams'].page;
-      this.previousPage = data['pagingParams'].page;
-      this.reverse = data['pagingParams'].ascending;
-      this.predicate = data['pagingParams'].predicate;
-    });
   }
 
   ngOnInit() {
     this.today();
     this.previousMonth();
-    this.loadAll();
-  }
-
-  ngOnDestroy() {
-    this.routeData.unsubscribe();
+    this.reset();
   }
 
   previousMonth() {
@@ -77,44 +53,29 @@ export class AuditsComponent implements OnInit, OnDestroy {
   loadAll() {
     this.auditsService
       .query({
-        page: this.page - 1,
+        cursor: this.nextCursor,
         size: this.itemsPerPage,
-        sort: this.sort(),
         fromDate: this.fromDate,
         toDate: this.toDate
       })
       .subscribe((res: HttpResponse<Audit[]>) => this.onSuccess(res.body, res.headers), (res: HttpResponse<any>) => this.onError(res.body));
   }
 
-  sort() {
-    const result = [this.predicate + ',' + (this.reverse ? 'asc' : 'desc')];
-    if (this.predicate !== 'id') {
-      result.push('id');
-    }
-    return result;
+  reset() {
+    this.nextCursor = null;
+    this.audits = [];
+    this.loadAll();
   }
 
-  loadPage(page: number) {
-    if (page !== this.previousPage) {
-      this.previousPage = page;
-      this.transition();
+  loadPage() {
+    if (this.nextCursor) {
+      this.loadAll();
     }
   }
 
-  transition() {
-    this.router.navigate(['/admin/audits'], {
-      queryParams: {
-        page: this.page,
-        sort: this.predicate + ',' + (this.reverse ? 'asc' : 'desc')
-      }
-    });
-    this.loadAll();
-  }
-
   private onSuccess(data, headers) {
-    this.links = this.parseLinks.parse(headers.get('link'));
-    this.totalItems = headers.get('X-Total-Count');
-    this.audits = data;
+    this.nextCursor = this.auditsService.nextCursor(headers);
+    this.audits = this.audits.concat(data);
   }
 
   private onError(error) {
@@ -1,17 +1,11 @@
-import { Injectable } from '@angular/core';
-import { Resolve, ActivatedRouteSnapshot, RouterStateSnapshot, Route } from '@angular/router';
-import { JhiPaginationUtil, JhiResolvePagingParams } from 'ng-jhipster';
+import { Route } from '@angular/router';
 
 import { AuditsComponent } from './audits.component';
 
 export const auditsRoute: Route = {
   path: 'audits',
   component: AuditsComponent,
-  resolve: {
-    pagingParams: JhiResolvePagingParams
-  },
   data: {
-    pageTitle: 'audits.title',
-    defaultSort: 'auditEventDate,desc'
+    pageTitle: 'audits.title'
   }
 };
@@ -1,5 +1,5 @@
 import { Injectable } from '@angular/core';
-import { HttpClient, HttpParams, HttpResponse } from '@angular/common/http';
+import { HttpClient, HttpHeaders, HttpParams, HttpResponse } from '@angular/common/http';
 import { Observable } from 'rxjs';
 
 import { createRequestOption } from 'app/shared';
@@ -10,10 +10,12 @@ import { Audit } from './audit.model';
 export class AuditsService {
   constructor(private http: HttpClient) {}
 
+  /**
+   * Queries a page of the audits between req.fromDate and req.toDate, newest first, after req.cursor: the cursor of
+   * the next page is given by nextCursor, until the last page.
+   */
   query(req: any): Observable<HttpResponse<Audit[]>> {
-    const params: HttpParams = createRequestOption(req);
-    params.set('fromDate', req.fromDate);
-    params.set('toDate', req.toDate);
+    const params: HttpParams = createRequestOption({ ...req, cursor: req.cursor || '' });
 
     const requestURL = SERVER_API_URL + 'management/audits';
 
@@ -22,4 +24,13 @@ export class AuditsService {
       observe: 'response'
     });
   }
+
+  nextCursor(headers: HttpHeaders): string {
+    const link = headers.get('link');
+    const next = link ? /<([^>]*)>\s*;\s*rel="next"/.exec(link) : null;
+    if (!next || next[1].indexOf('?') < 0) {
+      return null;
+    }
+    return new HttpParams({ fromString: next[1].substring(next[1].indexOf('?') + 1) }).get('cursor');
+  }
 }
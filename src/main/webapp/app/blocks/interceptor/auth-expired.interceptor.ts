@@ -1,25 +1,48 @@
 import { Injectable } from '@angular/core';
 import { HttpInterceptor, HttpRequest, HttpHandler, HttpEvent, HttpErrorResponse } from '@angular/common/http';
-import { Observable } from 'rxjs';
-import { tap } from 'rxjs/operators';
+import { Observable, of, throwError } from 'rxjs';
+import { catchError, switchMap } from 'rxjs/operators';
 import { LoginService } from 'app/core/login/login.service';
+import { AuthServerProvider } from 'app/core/auth/auth-jwt.service';
 
 @Injectable()
 export class AuthExpiredInterceptor implements HttpInterceptor {
-  constructor(private loginService: LoginService) {}
+  constructor(private loginService: LoginService, private authServerProvider: AuthServerProvider) {}
 
   intercept(request: HttpRequest<any>, next: HttpHandler): Observable<HttpEvent<any>> {
     return next.handle(request).pipe(
-      tap(
-        (event: HttpEvent<any>) => {},
-        (err: any) => {
-          if (err instanceof HttpErrorResponse) {
-            if (err.status === 401) {
-              this.loginService.logout();
-            }
+      catchError((err: any) => {
+        if (err instanceof HttpErrorResponse && err.status === 401) {
+          if (this.isRenewable(request)) {
+            return this.renew(request).pipe(
+              switchMap(jwt => next.handle(request.clone({ setHeaders: { Authorization: 'Bearer ' + jwt } }))),
+              catchError(() => {
+                this.loginService.logout();
+                return throwError(err);
+              })
+            );
           }
+          this.loginService.logout();
         }
-      )
+        return throwError(err);
+      })
     );
   }
+
+  private isRenewable(request: HttpRequest<any>): boolean {
+    return (
+      request.headers.has('Authorization') &&
+      !/api\/(authenticate|refresh|logout)$/.test(request.url) &&
+      !!this.authServerProvider.getRefreshToken()
+    );
+  }
+
+  private renew(request: HttpRequest<any>): Observable<string> {
+    const jwt = this.authServerProvider.getToken();
+    if (jwt && request.headers.get('Authorization') !== 'Bearer ' + jwt) {
+      // Already renewed, by a concurrent request or another tab
+      return of(jwt);
+    }
+    return this.authServerProvider.refresh();
+  }
 }
@@ -1,19 +1,25 @@
 import { Injectable } from '@angular/core';
 import { HttpClient } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { map } from 'rxjs/operators';
+import { finalize, map, shareReplay } from 'rxjs/operators';
 import { LocalStorageService, SessionStorageService } from 'ngx-webstorage';
 
 import { SERVER_API_URL } from 'app/app.constants';
 
 @Injectable({ providedIn: 'root' })
 export class AuthServerProvider {
+  private refreshing: Observable<string>;
+
   constructor(private http: HttpClient, private $localStorage: LocalStorageService, private $sessionStorage: SessionStorageService) {}
 
   getToken() {
     return this.$localStorage.retrieve('authenticationToken') || this.$sessionStorage.retrieve('authenticationToken');
   }
 
+  getRefreshToken() {
+    return this.$localStorage.retrieve('refreshToken') || this.$sessionStorage.retrieve('refreshToken');
+  }
+
   login(credentials): Observable<any> {
     const data = {
       username: credentials.username,
@@ -27,11 +33,31 @@ export class AuthServerProvider {
       if (bearerToken && bearerToken.slice(0, 7) === 'Bearer ') {
         const jwt = bearerToken.slice(7, bearerToken.length);
         this.storeAuthenticationToken(jwt, credentials.rememberMe);
+        this.storeRefreshToken(resp.body.refresh_token, credentials.rememberMe);
         return jwt;
       }
     }
   }
 
+  /**
+   * Renews the access token with the refresh token, which is replaced: concurrent calls share the same renewal.
+   */
+  refresh(): Observable<string> {
+    if (!this.refreshing) {
+      const rememberMe = !!this.$localStorage.retrieve('refreshToken');
+      this.refreshing = this.http.post<any>(SERVER_API_URL + 'api/refresh', { refreshToken: this.getRefreshToken() }).pipe(
+        map(body => {
+          this.storeAuthenticationToken(body.id_token, rememberMe);
+          this.storeRefreshToken(body.refresh_token, rememberMe);
+          return body.id_token;
+        }),
+        finalize(() => (this.refreshing = null)),
+        shareReplay(1)
+      );
+    }
+    return this.refreshing;
+  }
+
   loginWithToken(jwt, rememberMe) {
     if (jwt) {
       this.storeAuthenticationToken(jwt, rememberMe);
@@ -49,10 +75,27 @@ export class AuthServerProvider {
     }
   }
 
+  storeRefreshToken(refreshToken, rememberMe) {
+    if (rememberMe) {
+      this.$localStorage.store('refreshToken', refreshToken);
+    } else {
+      this.$sessionStorage.store('refreshToken', refreshToken);
+    }
+  }
+
   logout(): Observable<any> {
     return new Observable(observer => {
+      const jwt = this.getToken();
+      const refreshToken = this.getRefreshToken();
       this.$localStorage.clear('authenticationToken');
       this.$sessionStorage.clear('authenticationToken');
+      this.$localStorage.clear('refreshToken');
+      this.$sessionStorage.clear('refreshToken');
+      if (jwt || refreshToken) {
+        // Revoke the tokens, ignoring the failures as they are no longer used
+        const headers = jwt ? { Authorization: 'Bearer ' + jwt } : {};
+        this.http.post(SERVER_API_URL + 'api/logout', refreshToken ? { refreshToken } : null, { headers }).subscribe(null, () => {});
+      }
       observer.complete();
     });
   }
@@ -11,8 +11,19 @@ export interface IDocument {
   title?: string;
   type?: TypeDocument;
   filename?: string;
+  contentType?: string;
+  sha256?: string;
+  fileSize?: number;
 }
 
 export class Document implements IDocument {
-  constructor(public id?: number, public title?: string, public type?: TypeDocument, public filename?: string) {}
+  constructor(
+    public id?: number,
+    public title?: string,
+    public type?: TypeDocument,
+    public filename?: string,
+    public contentType?: string,
+    public sha256?: string,
+    public fileSize?: number
+  ) {}
 }
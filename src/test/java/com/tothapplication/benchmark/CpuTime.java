@@ -0,0 +1,40 @@
+package com.tothapplication.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the CPU time spent by the current thread on an operation, for the benchmarks run with
+ * {@code -Dbenchmark=true}.
+ */
+public final class CpuTime {
+
+    private static final ThreadMXBean THREAD_MX_BEAN = ManagementFactory.getThreadMXBean();
+
+    private CpuTime() {
+    }
+
+    /**
+     * Measure the average CPU time of an operation, after warming it up.
+     *
+     * @param warmUpIterations the number of iterations not measured.
+     * @param iterations the number of iterations measured.
+     * @param operation the operation.
+     * @return the average CPU time of an iteration in nanoseconds, or its average elapsed time when the JVM does not
+     * measure the CPU time of the threads.
+     */
+    public static long nanosPerOperation(int warmUpIterations, int iterations, Runnable operation) {
+        for (int i = 0; i < warmUpIterations; i++) {
+            operation.run();
+        }
+        long start = now();
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return (now() - start) / iterations;
+    }
+
+    private static long now() {
+        return THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported() ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+}
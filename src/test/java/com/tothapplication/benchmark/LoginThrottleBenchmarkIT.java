@@ -0,0 +1,57 @@
+package com.tothapplication.benchmark;
+
+import com.tothapplication.config.ApplicationProperties;
+import com.tothapplication.security.LoginThrottle;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.lang.management.ManagementFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the cost of the login throttling for a normal login, against the BCrypt hashing of its password.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class LoginThrottleBenchmarkIT {
+
+    private static final int WARM_UP_ITERATIONS = 200_000;
+
+    private static final int ITERATIONS = 1_000_000;
+
+    private final Logger log = LoggerFactory.getLogger(LoginThrottleBenchmarkIT.class);
+
+    @Test
+    public void benchmarkLogin() {
+        LoginThrottle loginThrottle = new LoginThrottle(new ApplicationProperties());
+        Runnable login = () -> {
+            loginThrottle.acquire("user", "10.0.0.1");
+            loginThrottle.release("user", "10.0.0.1");
+        };
+        long throttleNanos = CpuTime.nanosPerOperation(WARM_UP_ITERATIONS, ITERATIONS, login);
+        long throttleBytes = allocatedBytes(ITERATIONS, login);
+
+        BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+        String encodedPassword = passwordEncoder.encode("user");
+        long hashingNanos = CpuTime.nanosPerOperation(5, 20, () -> passwordEncoder.matches("user", encodedPassword));
+
+        log.info("Login CPU time: {} ns throttling, allocating {} bytes, {} µs hashing the password",
+            throttleNanos, throttleBytes / ITERATIONS, hashingNanos / 1000);
+        assertThat(throttleNanos).isLessThan(hashingNanos / 1000);
+        assertThat(throttleBytes / ITERATIONS).isZero();
+    }
+
+    private static long allocatedBytes(int iterations, Runnable operation) {
+        com.sun.management.ThreadMXBean threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long start = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < iterations; i++) {
+            operation.run();
+        }
+        return threadMXBean.getThreadAllocatedBytes(threadId) - start;
+    }
+}
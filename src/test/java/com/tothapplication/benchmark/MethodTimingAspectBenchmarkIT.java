@@ -0,0 +1,80 @@
+package com.tothapplication.benchmark;
+
+import com.tothapplication.aop.timing.MethodTimingAspect;
+import com.tothapplication.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.aspectj.AspectJAroundAdvice;
+import org.springframework.aop.aspectj.AspectJExpressionPointcut;
+import org.springframework.aop.aspectj.SingletonAspectInstanceFactory;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.aop.interceptor.ExposeInvocationInterceptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the overhead per call of the {@link MethodTimingAspect}, disabled, sampling 1% of the calls and timing
+ * all of them, against the same proxy without it.
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class MethodTimingAspectBenchmarkIT {
+
+    private static final int WARM_UP_ITERATIONS = 500_000;
+
+    private static final int ITERATIONS = 5_000_000;
+
+    private final Logger log = LoggerFactory.getLogger(MethodTimingAspectBenchmarkIT.class);
+
+    @Test
+    public void benchmarkMethodTiming() throws NoSuchMethodException {
+        long proxyNanos = nanosPerCall(proxy(null));
+
+        MethodTimingAspect aspect = new MethodTimingAspect(new SimpleMeterRegistry(), new ApplicationProperties().getMethodTiming());
+        Counter timed = proxy(aspect);
+        aspect.setEnabled(false);
+        long disabledNanos = nanosPerCall(timed);
+        aspect.setEnabled(true);
+        aspect.setSampleRate(0.01);
+        long sampledNanos = nanosPerCall(timed);
+        aspect.setSampleRate(1);
+        long allTimedNanos = nanosPerCall(timed);
+
+        log.info("Method timing CPU time per call: {} ns proxied without timing, {} ns disabled, {} ns sampling 1%, {} ns timing all",
+            proxyNanos, disabledNanos, sampledNanos, allTimedNanos);
+        assertThat(sampledNanos).isLessThan(allTimedNanos);
+    }
+
+    private long nanosPerCall(Counter counter) {
+        return CpuTime.nanosPerOperation(WARM_UP_ITERATIONS, ITERATIONS, counter::increment);
+    }
+
+    private static Counter proxy(MethodTimingAspect aspect) throws NoSuchMethodException {
+        ProxyFactory proxyFactory = new ProxyFactory(new Counter());
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(ExposeInvocationInterceptor.INSTANCE);
+        if (aspect != null) {
+            AspectJExpressionPointcut pointcut = new AspectJExpressionPointcut();
+            pointcut.setExpression("execution(* *(..))");
+            proxyFactory.addAdvice(new AspectJAroundAdvice(MethodTimingAspect.class.getMethod("timeAround", ProceedingJoinPoint.class),
+                pointcut, new SingletonAspectInstanceFactory(aspect)));
+        }
+        return (Counter) proxyFactory.getProxy();
+    }
+
+    /**
+     * The method timed, as cheap as possible.
+     */
+    public static class Counter {
+
+        private long count;
+
+        public long increment() {
+            return ++count;
+        }
+    }
+}
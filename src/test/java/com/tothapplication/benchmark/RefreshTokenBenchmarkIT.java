@@ -0,0 +1,61 @@
+package com.tothapplication.benchmark;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.security.jwt.TokenProvider;
+import com.tothapplication.service.RefreshTokenService;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.core.Authentication;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark of the CPU time of a renewal of the access token: with the password, verified by BCrypt, against a
+ * refresh token.
+ */
+@SpringBootTest(classes = TothApplicationApp.class)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class RefreshTokenBenchmarkIT {
+
+    private static final int WARM_UP_ITERATIONS = 50;
+
+    private static final int ITERATIONS = 200;
+
+    private final Logger log = LoggerFactory.getLogger(RefreshTokenBenchmarkIT.class);
+
+    @Autowired
+    private AuthenticationManagerBuilder authenticationManagerBuilder;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Test
+    public void benchmarkRenewal() {
+        long passwordNanos = CpuTime.nanosPerOperation(WARM_UP_ITERATIONS, ITERATIONS, () -> {
+            Authentication authentication = authenticationManagerBuilder.getObject()
+                .authenticate(new UsernamePasswordAuthenticationToken("user", "user"));
+            tokenProvider.createToken(authentication, false);
+        });
+        AtomicReference<String> refreshToken = new AtomicReference<>(refreshTokenService.createRefreshToken("user", false));
+        long refreshTokenNanos = CpuTime.nanosPerOperation(WARM_UP_ITERATIONS, ITERATIONS, () ->
+            refreshToken.set(refreshTokenService.renew(refreshToken.get())
+                .map(RefreshTokenService.RenewedTokens::getRefreshToken)
+                .orElseThrow(IllegalStateException::new)));
+
+        log.info("Renewal CPU time: {} µs with the password, {} µs with a refresh token, {} µs saved",
+            passwordNanos / 1000, refreshTokenNanos / 1000, (passwordNanos - refreshTokenNanos) / 1000);
+        assertThat(refreshTokenNanos).isLessThan(passwordNanos);
+    }
+}
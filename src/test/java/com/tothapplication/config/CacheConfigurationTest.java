@@ -0,0 +1,157 @@
+package com.tothapplication.config;
+
+import com.tothapplication.domain.Authority;
+import com.tothapplication.domain.FormationSession;
+
+import io.github.jhipster.config.JHipsterProperties;
+import org.ehcache.config.CacheRuntimeConfiguration;
+import org.ehcache.config.ResourcePools;
+import org.ehcache.config.ResourceType;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.jsr107.Eh107Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.util.unit.DataSize;
+
+import javax.cache.CacheManager;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the {@link CacheConfiguration} class.
+ */
+public class CacheConfigurationTest {
+
+    private static final String STUDIENTS_CACHE = FormationSession.class.getName() + ".studients";
+
+    private JHipsterProperties jHipsterProperties;
+
+    private ApplicationProperties applicationProperties;
+
+    private CacheManager cacheManager;
+
+    private Path diskPath;
+
+    @BeforeEach
+    public void setup() {
+        jHipsterProperties = new JHipsterProperties();
+        jHipsterProperties.getCache().getEhcache().setMaxEntries(100);
+        applicationProperties = new ApplicationProperties();
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        if (cacheManager != null) {
+            cacheManager.close();
+        }
+        if (diskPath != null) {
+            FileSystemUtils.deleteRecursively(diskPath);
+        }
+    }
+
+    @Test
+    public void testRegionsAreSizedAsConfigured() {
+        ApplicationProperties.Region authority = new ApplicationProperties.Region();
+        authority.setMaxEntries(20L);
+        applicationProperties.getCache().getRegions().put(Authority.class.getName(), authority);
+        ApplicationProperties.Region studients = new ApplicationProperties.Region();
+        studients.setHeap(DataSize.ofMegabytes(1));
+        studients.setOffHeap(DataSize.ofMegabytes(8));
+        applicationProperties.getCache().getRegions().put(STUDIENTS_CACHE, studients);
+        applicationProperties.getCache().getRegions().put("unknown", new ApplicationProperties.Region());
+
+        cacheManager = new CacheConfiguration(jHipsterProperties, applicationProperties).jCacheCacheManager();
+
+        ResourcePools authorityPools = getResourcePools(Authority.class.getName());
+        assertThat(authorityPools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(20);
+        assertThat(authorityPools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(EntryUnit.ENTRIES);
+        ResourcePools studientsPools = getResourcePools(STUDIENTS_CACHE);
+        assertThat(studientsPools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(1024 * 1024);
+        assertThat(studientsPools.getPoolForResource(ResourceType.Core.HEAP).getUnit()).isEqualTo(MemoryUnit.B);
+        assertThat(studientsPools.getPoolForResource(ResourceType.Core.OFFHEAP).getSize()).isEqualTo(8 * 1024 * 1024);
+        ResourcePools defaultPools = getResourcePools(FormationSession.class.getName());
+        assertThat(defaultPools.getPoolForResource(ResourceType.Core.HEAP).getSize()).isEqualTo(100);
+        assertThat(defaultPools.getPoolForResource(ResourceType.Core.OFFHEAP)).isNull();
+
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(STUDIENTS_CACHE);
+        cache.put(1L, "studients");
+        assertThat(cache.get(1L)).isEqualTo("studients");
+    }
+
+    @Test
+    public void testDiskTier() throws IOException {
+        diskPath = Files.createTempDirectory("cache");
+        applicationProperties.getCache().setDiskPath(diskPath.toString());
+        ApplicationProperties.Region studients = new ApplicationProperties.Region();
+        studients.setHeap(DataSize.ofMegabytes(1));
+        studients.setDisk(DataSize.ofMegabytes(16));
+        applicationProperties.getCache().getRegions().put(STUDIENTS_CACHE, studients);
+
+        cacheManager = new CacheConfiguration(jHipsterProperties, applicationProperties).jCacheCacheManager();
+
+        assertThat(getResourcePools(STUDIENTS_CACHE).getPoolForResource(ResourceType.Core.DISK).getSize()).isEqualTo(16 * 1024 * 1024);
+        javax.cache.Cache<Object, Object> cache = cacheManager.getCache(STUDIENTS_CACHE);
+        cache.put(1L, "studients");
+        assertThat(cache.get(1L)).isEqualTo("studients");
+    }
+
+    @Test
+    public void testPersistentDiskTierIsReloaded() throws IOException {
+        diskPath = Files.createTempDirectory("cache");
+        applicationProperties.getCache().setDiskPath(diskPath.toString());
+        ApplicationProperties.Region studients = new ApplicationProperties.Region();
+        studients.setDisk(DataSize.ofMegabytes(16));
+        studients.setPersistent(true);
+        applicationProperties.getCache().getRegions().put(STUDIENTS_CACHE, studients);
+        cacheManager = new CacheConfiguration(jHipsterProperties, applicationProperties).jCacheCacheManager();
+        cacheManager.getCache(STUDIENTS_CACHE).put(1L, "studients");
+        cacheManager.close();
+
+        cacheManager = new CacheConfiguration(jHipsterProperties, applicationProperties).jCacheCacheManager();
+
+        assertThat(cacheManager.getCache(STUDIENTS_CACHE).get(1L)).isEqualTo("studients");
+    }
+
+    @Test
+    public void testPersistentDiskTierIsClearedWhenEntitiesChange() throws IOException {
+        diskPath = Files.createTempDirectory("cache");
+        applicationProperties.getCache().setDiskPath(diskPath.toString());
+        ApplicationProperties.Region studients = new ApplicationProperties.Region();
+        studients.setDisk(DataSize.ofMegabytes(16));
+        studients.setPersistent(true);
+        applicationProperties.getCache().getRegions().put(STUDIENTS_CACHE, studients);
+        cacheManager = new CacheConfiguration(jHipsterProperties, applicationProperties).jCacheCacheManager();
+        cacheManager.getCache(STUDIENTS_CACHE).put(1L, "studients");
+        cacheManager.close();
+        Files.write(diskPath.resolve("regions.fingerprint"), "previous".getBytes(StandardCharsets.UTF_8));
+
+        cacheManager = new CacheConfiguration(jHipsterProperties, applicationProperties).jCacheCacheManager();
+
+        assertThat(cacheManager.getCache(STUDIENTS_CACHE).get(1L)).isNull();
+    }
+
+    @Test
+    public void testDiskTierRequiresDiskPath() {
+        ApplicationProperties.Region studients = new ApplicationProperties.Region();
+        studients.setDisk(DataSize.ofMegabytes(16));
+        applicationProperties.getCache().getRegions().put(STUDIENTS_CACHE, studients);
+        CacheConfiguration cacheConfiguration = new CacheConfiguration(jHipsterProperties, applicationProperties);
+
+        assertThatThrownBy(cacheConfiguration::jCacheCacheManager)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining(STUDIENTS_CACHE);
+    }
+
+    private ResourcePools getResourcePools(String cacheName) {
+        Eh107Configuration<?, ?> configuration = cacheManager.getCache(cacheName).getConfiguration(Eh107Configuration.class);
+        return configuration.unwrap(CacheRuntimeConfiguration.class).getResourcePools();
+    }
+}
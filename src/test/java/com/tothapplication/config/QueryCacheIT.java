@@ -0,0 +1,123 @@
+package com.tothapplication.config;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.domain.Authority;
+import com.tothapplication.domain.Formation;
+import com.tothapplication.repository.AuthorityRepository;
+import com.tothapplication.repository.FormationRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the query cache of the catalogue queries.
+ */
+@SpringBootTest(classes = TothApplicationApp.class, properties = {
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=true"})
+public class QueryCacheIT {
+
+    @Autowired
+    private FormationRepository formationRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private TransactionTemplate transactionTemplate;
+
+    private Statistics statistics;
+
+    private Long formationId;
+
+    @BeforeEach
+    public void setup() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        Formation formation = new Formation();
+        formation.setLabel("AAAAAAAAAA");
+        formationId = transactionTemplate.execute(status -> formationRepository.saveAndFlush(formation).getId());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        statistics.setStatisticsEnabled(false);
+        transactionTemplate.execute(status -> {
+            formationRepository.deleteById(formationId);
+            return null;
+        });
+    }
+
+    @Test
+    public void testCachedQueryIsNotExecutedAgain() {
+        double hits = gets(FormationRepository.FORMATION_QUERIES_CACHE, "hit");
+        double misses = gets(FormationRepository.FORMATION_QUERIES_CACHE, "miss");
+        findAllFormations();
+        assertThat(gets(FormationRepository.FORMATION_QUERIES_CACHE, "miss")).isEqualTo(misses + 1);
+
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        List<Formation> formations = findAllFormations();
+
+        assertThat(formations).extracting(Formation::getId).contains(formationId);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+        assertThat(gets(FormationRepository.FORMATION_QUERIES_CACHE, "hit")).isEqualTo(hits + 1);
+    }
+
+    @Test
+    public void testCachedQueryIsInvalidatedByAnUpdateOfItsTables() {
+        findAllFormations();
+        transactionTemplate.execute(status -> {
+            formationRepository.findById(formationId).ifPresent(formation -> formation.setLabel("BBBBBBBBBB"));
+            return null;
+        });
+
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        List<Formation> formations = findAllFormations();
+
+        assertThat(formations).extracting(Formation::getLabel).contains("BBBBBBBBBB");
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void testAuthoritiesAreCached() {
+        transactionTemplate.execute(status -> authorityRepository.findAll());
+
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        List<Authority> authorities = transactionTemplate.execute(status -> authorityRepository.findAll());
+
+        assertThat(authorities).isNotEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(0);
+    }
+
+    private List<Formation> findAllFormations() {
+        return transactionTemplate.execute(status -> formationRepository.findAllWithEagerRelationships());
+    }
+
+    private double gets(String cacheName, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cacheName).tag("result", result).functionCounter().count();
+    }
+}
@@ -0,0 +1,70 @@
+package com.tothapplication.config;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.domain.CCP;
+import com.tothapplication.domain.Formation;
+import com.tothapplication.web.rest.CCPResourceIT;
+import com.tothapplication.web.rest.FormationResourceIT;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.persistence.EntityManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link QueryStatisticsConfiguration} class.
+ */
+@SpringBootTest(classes = TothApplicationApp.class, properties = "application.query-statistics.enabled=true")
+public class QueryStatisticsConfigurationIT {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setup() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    @Transactional
+    public void testRequestStatisticsArePublishedPerControllerMethod() throws Exception {
+        CCP ccp = CCPResourceIT.createEntity(em);
+        em.persist(ccp);
+        Formation formation = FormationResourceIT.createEntity(em).addCcp(ccp);
+        em.persist(formation);
+        em.flush();
+        em.clear();
+
+        mockMvc.perform(get("/api/formations/{id}", formation.getId()))
+            .andExpect(status().isOk());
+
+        DistributionSummary statements = meterRegistry.find("hibernate.request.statements")
+            .tag("method", "FormationResource.getFormation").summary();
+        assertThat(statements).isNotNull();
+        assertThat(statements.count()).isEqualTo(1);
+        assertThat(statements.totalAmount()).isGreaterThan(0);
+        DistributionSummary entityLoads = meterRegistry.find("hibernate.request.entity.loads")
+            .tag("method", "FormationResource.getFormation").summary();
+        assertThat(entityLoads.totalAmount()).isGreaterThanOrEqualTo(2);
+    }
+}
@@ -0,0 +1,113 @@
+package com.tothapplication.config;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.config.tracing.SlowestTraces;
+import com.tothapplication.config.tracing.Span;
+import com.tothapplication.config.tracing.Trace;
+import com.tothapplication.config.tracing.TracingFilter;
+import com.tothapplication.domain.CCP;
+import com.tothapplication.domain.Formation;
+import com.tothapplication.web.rest.CCPResourceIT;
+import com.tothapplication.web.rest.FormationResourceIT;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.persistence.EntityManager;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the {@link TracingConfiguration} class.
+ */
+@SpringBootTest(classes = TothApplicationApp.class, properties = "application.tracing.enabled=true")
+public class TracingConfigurationIT {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private FilterRegistrationBean<TracingFilter> tracingFilter;
+
+    @Autowired
+    private SlowestTraces slowestTraces;
+
+    @Autowired
+    private EntityManager em;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    public void setup() {
+        slowestTraces.clear();
+        mockMvc = MockMvcBuilders.webAppContextSetup(context)
+            .addFilter(tracingFilter.getFilter(), "/api/*")
+            .build();
+    }
+
+    @Test
+    @Transactional
+    public void testRequestIsTracedAcrossItsLayers() throws Exception {
+        CCP ccp = CCPResourceIT.createEntity(em);
+        em.persist(ccp);
+        Formation formation = FormationResourceIT.createEntity(em).addCcp(ccp);
+        em.persist(formation);
+        em.flush();
+        em.clear();
+
+        String traceId = mockMvc.perform(get("/api/formations/{id}", formation.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().exists(TracingFilter.TRACE_ID_HEADER))
+            .andReturn().getResponse().getHeader(TracingFilter.TRACE_ID_HEADER);
+
+        assertThat(MDC.get(TracingFilter.TRACE_ID_MDC_KEY)).isNull();
+        assertThat(slowestTraces.findAll()).hasSize(1);
+        Trace trace = slowestTraces.findAll().get(0);
+        assertThat(trace.getId()).isEqualTo(traceId);
+        assertThat(trace.getName()).isEqualTo("GET /api/formations/{id}");
+        assertThat(trace.getStatus()).isEqualTo(200);
+        assertThat(trace.getSpans().stream().map(Span::getLayer).collect(Collectors.toSet()))
+            .containsOnly(Span.Layer.REQUEST, Span.Layer.CONTROLLER, Span.Layer.SERVICE, Span.Layer.REPOSITORY, Span.Layer.JDBC);
+        assertThat(trace.getSpans().stream().map(Span::getName))
+            .contains("FormationResource.getFormation", "FormationServiceImpl.findOne");
+        Span request = trace.getSpans().get(0);
+        assertThat(request.getDurationMicros()).isEqualTo(trace.getDurationMicros());
+        assertThat(trace.getSpans()).allSatisfy(span -> {
+            assertThat(span.getSelfMicros()).isGreaterThanOrEqualTo(0);
+            if (span != request) {
+                assertThat(span.getDepth()).isEqualTo(trace.getSpans().get(span.getParent()).getDepth() + 1);
+            }
+        });
+    }
+
+    @Test
+    public void testSlowestTracesAreExposed() throws Exception {
+        String traceId = mockMvc.perform(get("/api/formations"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(TracingFilter.TRACE_ID_HEADER);
+
+        mockMvc.perform(get("/management/traces"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].id").value(hasItem(traceId)))
+            .andExpect(jsonPath("$.[0].spans.[0].layer").value("REQUEST"));
+
+        mockMvc.perform(delete("/management/traces"))
+            .andExpect(status().isNoContent());
+        assertThat(slowestTraces.findAll()).isEmpty();
+    }
+}
@@ -0,0 +1,196 @@
+package com.tothapplication.config.cache;
+
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link CacheInvalidationBus} class, with two instances sharing a loopback channel.
+ */
+public class CacheInvalidationBusTest {
+
+    private static final String REGION = "region";
+
+    private static final String USERS_CACHE = "users";
+
+    private final String channel = UUID.randomUUID().toString();
+
+    private CacheManager cacheManager1;
+
+    private CacheManager cacheManager2;
+
+    private CacheInvalidationBus bus1;
+
+    private CacheInvalidationBus bus2;
+
+    @BeforeEach
+    public void setup() {
+        cacheManager1 = createCacheManager();
+        cacheManager2 = createCacheManager();
+        bus1 = new CacheInvalidationBus(cacheManager1, new LoopbackCacheInvalidationTransport(channel), 10_000, 100);
+        bus2 = new CacheInvalidationBus(cacheManager2, new LoopbackCacheInvalidationTransport(channel), 10_000, 100);
+        bus1.broadcastRemovals(Collections.singletonList(USERS_CACHE));
+        bus2.broadcastRemovals(Collections.singletonList(USERS_CACHE));
+        bus1.start();
+        bus2.start();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        bus1.stop();
+        bus2.stop();
+        cacheManager1.close();
+        cacheManager2.close();
+    }
+
+    @Test
+    public void testEvictionIsAppliedByTheOtherInstance() {
+        put(REGION, 1L, 2L);
+
+        bus1.evict(REGION, 1L);
+        assertThat(cacheManager2.getCache(REGION).containsKey(1L)).isTrue();
+        bus1.flush();
+
+        assertThat(cacheManager1.getCache(REGION).containsKey(1L)).isTrue();
+        assertThat(cacheManager2.getCache(REGION).containsKey(1L)).isFalse();
+        assertThat(cacheManager2.getCache(REGION).containsKey(2L)).isTrue();
+    }
+
+    @Test
+    public void testEvictAllClearsTheRegionOfTheOtherInstance() {
+        put(REGION, 1L, 2L);
+
+        bus1.evictAll(REGION);
+        bus1.flush();
+
+        assertThat(cacheManager2.getCache(REGION).iterator().hasNext()).isFalse();
+        assertThat(cacheManager1.getCache(REGION).containsKey(1L)).isTrue();
+    }
+
+    @Test
+    public void testUpdateTimestampOnlyReplacesAnOlderOne() {
+        cacheManager2.getCache(REGION).put("formation", 5L);
+
+        bus1.updateTimestamp(REGION, "formation", 3L);
+        bus1.updateTimestamp(REGION, "ccp", 4L);
+        bus1.flush();
+
+        assertThat(cacheManager2.getCache(REGION).get("formation")).isEqualTo(5L);
+        assertThat(cacheManager2.getCache(REGION).get("ccp")).isEqualTo(4L);
+        bus1.updateTimestamp(REGION, "formation", 6L);
+        bus1.flush();
+        assertThat(cacheManager2.getCache(REGION).get("formation")).isEqualTo(6L);
+        assertThat(cacheManager1.getCache(REGION).containsKey("formation")).isFalse();
+    }
+
+    @Test
+    public void testRemovalFromASpringCacheIsBroadcastOnce() {
+        put(USERS_CACHE, "admin", "user");
+
+        cacheManager1.getCache(USERS_CACHE).remove("admin");
+        bus1.flush();
+        bus2.flush();
+
+        assertThat(cacheManager2.getCache(USERS_CACHE).containsKey("admin")).isFalse();
+        assertThat(cacheManager2.getCache(USERS_CACHE).containsKey("user")).isTrue();
+        // The removal applied by the second instance is not sent back
+        put(USERS_CACHE, "admin");
+        bus2.flush();
+        assertThat(cacheManager1.getCache(USERS_CACHE).containsKey("admin")).isTrue();
+    }
+
+    @Test
+    public void testEvictionsAreCoalesced() {
+        List<List<CacheInvalidation>> messages = new ArrayList<>();
+        CacheInvalidationBus bus = new CacheInvalidationBus(cacheManager1, new RecordingTransport(messages), 10_000, 100);
+        bus.start();
+        try {
+            bus.evict(REGION, 1L);
+            bus.evict(REGION, 1L);
+            bus.evict("other", 1L);
+            bus.evictAll(REGION);
+            bus.evict(REGION, 2L);
+            bus.updateTimestamp("timestamps", "formation", 1L);
+            bus.updateTimestamp("timestamps", "formation", 2L);
+            assertThat(messages).isEmpty();
+        } finally {
+            bus.stop();
+        }
+
+        assertThat(messages).containsExactly(Arrays.asList(CacheInvalidation.of("other", 1L), CacheInvalidation.all(REGION),
+            CacheInvalidation.timestamp("timestamps", "formation", 2L)));
+    }
+
+    @Test
+    public void testEvictionsAreSentInBatchesOfTheMaximumSize() {
+        List<List<CacheInvalidation>> messages = new ArrayList<>();
+        CacheInvalidationBus bus = new CacheInvalidationBus(cacheManager1, new RecordingTransport(messages), 10_000, 2);
+        bus.start();
+        try {
+            for (long key = 0; key < 5; key++) {
+                bus.evict(REGION, key);
+            }
+        } finally {
+            bus.stop();
+        }
+
+        assertThat(messages).allSatisfy(message -> assertThat(message.size()).isBetween(1, 2));
+        assertThat(messages.stream().mapToInt(List::size).sum()).isEqualTo(5);
+    }
+
+    private CacheManager createCacheManager() {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager cacheManager = provider.getCacheManager(URI.create(UUID.randomUUID().toString()),
+            new DefaultConfiguration(getClass().getClassLoader()));
+        cacheManager.createCache(REGION, new MutableConfiguration<>());
+        cacheManager.createCache(USERS_CACHE, new MutableConfiguration<>());
+        return cacheManager;
+    }
+
+    private void put(String cacheName, Object... keys) {
+        for (CacheManager cacheManager : new CacheManager[]{cacheManager1, cacheManager2}) {
+            Cache<Object, Object> cache = cacheManager.getCache(cacheName);
+            for (Object key : keys) {
+                cache.put(key, "value");
+            }
+        }
+    }
+
+    private static class RecordingTransport implements CacheInvalidationTransport {
+
+        private final List<List<CacheInvalidation>> messages;
+
+        RecordingTransport(List<List<CacheInvalidation>> messages) {
+            this.messages = messages;
+        }
+
+        @Override
+        public void start(BiConsumer<String, List<CacheInvalidation>> receiver) {
+        }
+
+        @Override
+        public synchronized void send(String nodeId, List<CacheInvalidation> invalidations) {
+            messages.add(invalidations);
+        }
+
+        @Override
+        public void stop() {
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.tothapplication.config.cache;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.domain.Formation;
+import com.tothapplication.repository.FormationRepository;
+import com.tothapplication.repository.UserRepository;
+
+import org.ehcache.core.config.DefaultConfiguration;
+import org.ehcache.jsr107.EhcacheCachingProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import javax.sql.DataSource;
+import java.net.URI;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the broadcast of the cache evictions between instances.
+ */
+@SpringBootTest(classes = TothApplicationApp.class, properties = {
+    "application.cache.invalidation.transport=loopback",
+    "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+    "spring.jpa.properties.hibernate.cache.use_query_cache=true"})
+public class CacheInvalidationIT {
+
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private FormationRepository formationRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    public void testEntityEvictionIsAppliedByTheOtherInstance() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Formation formation = new Formation();
+        formation.setLabel("AAAAAAAAAA");
+        Long id = transactionTemplate.execute(status -> formationRepository.saveAndFlush(formation).getId());
+        transactionTemplate.execute(status -> formationRepository.findById(id));
+        Cache<Object, Object> region = cacheManager.getCache(Formation.class.getName());
+        Object key = StreamSupport.stream(region.spliterator(), false).map(Cache.Entry::getKey).findFirst().orElse(null);
+        assertThat(key).isNotNull();
+
+        CacheManager otherCacheManager = createOtherCacheManager(Formation.class.getName());
+        CacheInvalidationBus otherBus = new CacheInvalidationBus(otherCacheManager,
+            new LoopbackCacheInvalidationTransport("tothapplication"), 10_000, 100);
+        otherBus.start();
+        try {
+            otherCacheManager.getCache(Formation.class.getName()).put(key, "formation");
+
+            transactionTemplate.execute(status -> {
+                formationRepository.findById(id).ifPresent(cached -> cached.setLabel("BBBBBBBBBB"));
+                return null;
+            });
+            cacheInvalidationBus.flush();
+
+            assertThat(otherCacheManager.getCache(Formation.class.getName()).containsKey(key)).isFalse();
+        } finally {
+            otherBus.stop();
+            otherCacheManager.close();
+            transactionTemplate.execute(status -> {
+                formationRepository.deleteById(id);
+                return null;
+            });
+        }
+    }
+
+    @Test
+    public void testUpdateTimestampIsAppliedByTheOtherInstance() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        Formation formation = new Formation();
+        formation.setLabel("AAAAAAAAAA");
+        Long id = transactionTemplate.execute(status -> formationRepository.saveAndFlush(formation).getId());
+        transactionTemplate.execute(status -> formationRepository.findAllWithEagerRelationships());
+
+        CacheManager otherCacheManager = createOtherCacheManager(FormationRepository.FORMATION_QUERIES_CACHE);
+        otherCacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new MutableConfiguration<>());
+        CacheInvalidationBus otherBus = new CacheInvalidationBus(otherCacheManager,
+            new LoopbackCacheInvalidationTransport("tothapplication"), 10_000, 100);
+        otherBus.start();
+        try {
+            otherCacheManager.getCache(FormationRepository.FORMATION_QUERIES_CACHE).put("query", "results");
+            otherCacheManager.getCache(UPDATE_TIMESTAMPS_REGION).put("formation", 0L);
+            otherCacheManager.getCache(UPDATE_TIMESTAMPS_REGION).put("ccp", 0L);
+
+            transactionTemplate.execute(status -> {
+                formationRepository.findById(id).ifPresent(cached -> cached.setLabel("BBBBBBBBBB"));
+                return null;
+            });
+            cacheInvalidationBus.flush();
+
+            // The query results are kept, the timestamp of their table invalidating them
+            assertThat(otherCacheManager.getCache(UPDATE_TIMESTAMPS_REGION).get("formation"))
+                .isEqualTo(cacheManager.getCache(UPDATE_TIMESTAMPS_REGION).get("formation"));
+            assertThat(otherCacheManager.getCache(UPDATE_TIMESTAMPS_REGION).get("ccp")).isEqualTo(0L);
+            assertThat(otherCacheManager.getCache(FormationRepository.FORMATION_QUERIES_CACHE).containsKey("query")).isTrue();
+        } finally {
+            otherBus.stop();
+            otherCacheManager.close();
+            transactionTemplate.execute(status -> {
+                formationRepository.deleteById(id);
+                return null;
+            });
+        }
+    }
+
+    @Test
+    public void testUserCacheRemovalIsAppliedByTheOtherInstance() {
+        CacheManager otherCacheManager = createOtherCacheManager(UserRepository.USERS_BY_LOGIN_CACHE);
+        CacheInvalidationBus otherBus = new CacheInvalidationBus(otherCacheManager,
+            new LoopbackCacheInvalidationTransport("tothapplication"), 10_000, 100);
+        otherBus.start();
+        try {
+            otherCacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).put("admin", "admin");
+
+            cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).put("admin", "admin");
+            cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).remove("admin");
+            cacheInvalidationBus.flush();
+
+            assertThat(otherCacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE).containsKey("admin")).isFalse();
+        } finally {
+            otherBus.stop();
+            otherCacheManager.close();
+        }
+    }
+
+    @Test
+    public void testJdbcTransportDeliversEachMessageOnce() {
+        JdbcCacheInvalidationTransport sender = new JdbcCacheInvalidationTransport(dataSource, 500, 60);
+        JdbcCacheInvalidationTransport receiver = new JdbcCacheInvalidationTransport(dataSource, 500, 60);
+        List<CacheInvalidation> received = new ArrayList<>();
+
+        receiver.poll((nodeId, invalidations) -> received.addAll(invalidations));
+        received.clear();
+        sender.send("node", Collections.singletonList(CacheInvalidation.of("region", 1L)));
+        receiver.poll((nodeId, invalidations) -> received.addAll(invalidations));
+        receiver.poll((nodeId, invalidations) -> received.addAll(invalidations));
+
+        assertThat(received).containsExactly(CacheInvalidation.of("region", 1L));
+    }
+
+    @Test
+    public void testJdbcTransportSkipsTheInvalidMessages() {
+        JdbcCacheInvalidationTransport sender = new JdbcCacheInvalidationTransport(dataSource, 500, 60);
+        JdbcCacheInvalidationTransport receiver = new JdbcCacheInvalidationTransport(dataSource, 500, 60);
+        List<CacheInvalidation> received = new ArrayList<>();
+
+        receiver.poll((nodeId, invalidations) -> received.addAll(invalidations));
+        received.clear();
+        new JdbcTemplate(dataSource).update("insert into cache_invalidation (node_id, created_date, payload) values (?, ?, ?)",
+            "node", Timestamp.from(Instant.now()), new byte[]{(byte) 0xac, (byte) 0xed, 0, 5});
+        sender.send("node", Collections.singletonList(CacheInvalidation.of("region", 1L)));
+        receiver.poll((nodeId, invalidations) -> received.addAll(invalidations));
+
+        assertThat(received).containsExactly(CacheInvalidation.of("region", 1L));
+    }
+
+    private CacheManager createOtherCacheManager(String cacheName) {
+        EhcacheCachingProvider provider = (EhcacheCachingProvider) Caching.getCachingProvider(EhcacheCachingProvider.class.getName());
+        CacheManager otherCacheManager = provider.getCacheManager(URI.create(UUID.randomUUID().toString()),
+            new DefaultConfiguration(getClass().getClassLoader()));
+        otherCacheManager.createCache(cacheName, new MutableConfiguration<>());
+        return otherCacheManager;
+    }
+}
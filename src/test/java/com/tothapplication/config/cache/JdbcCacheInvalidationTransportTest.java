@@ -0,0 +1,57 @@
+package com.tothapplication.config.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for the encoding of the messages of the {@link JdbcCacheInvalidationTransport} class.
+ */
+public class JdbcCacheInvalidationTransportTest {
+
+    @Test
+    public void testEvictionsAreDecodedAsEncoded() throws Exception {
+        List<CacheInvalidation> invalidations = Arrays.asList(CacheInvalidation.of("formation", 1L),
+            CacheInvalidation.of("authority", "ROLE_USER"), CacheInvalidation.of("other", 2),
+            CacheInvalidation.all("ccp"), CacheInvalidation.timestamp("timestamps", "formation", 3L));
+
+        assertThat(JdbcCacheInvalidationTransport.decode(JdbcCacheInvalidationTransport.encode(invalidations)))
+            .isEqualTo(invalidations);
+    }
+
+    @Test
+    public void testEvictionOfAnotherKeyTypeEvictsTheRegion() throws Exception {
+        List<CacheInvalidation> invalidations = Collections.singletonList(CacheInvalidation.of("region", UUID.randomUUID()));
+
+        assertThat(JdbcCacheInvalidationTransport.decode(JdbcCacheInvalidationTransport.encode(invalidations)))
+            .containsExactly(CacheInvalidation.all("region"));
+    }
+
+    @Test
+    public void testSerializedObjectsAreRejected() throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(new ArrayList<>(Collections.singletonList("region")));
+        }
+
+        assertThatThrownBy(() -> JdbcCacheInvalidationTransport.decode(bytes.toByteArray())).isInstanceOf(Exception.class);
+    }
+
+    @Test
+    public void testUnknownKeyTypesAreRejected() {
+        byte[] payload = "[{\"region\":\"region\",\"operation\":\"evict\",\"keyType\":\"java.net.URL\",\"key\":\"x\"}]"
+            .getBytes(StandardCharsets.UTF_8);
+
+        assertThatThrownBy(() -> JdbcCacheInvalidationTransport.decode(payload)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
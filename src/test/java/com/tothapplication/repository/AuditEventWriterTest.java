@@ -0,0 +1,123 @@
+package com.tothapplication.repository;
+
+import com.tothapplication.config.ApplicationProperties;
+import com.tothapplication.domain.PersistentAuditEvent;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * Test class for the {@link AuditEventWriter}.
+ */
+public class AuditEventWriterTest {
+
+    private final PersistenceAuditEventRepository persistenceAuditEventRepository = mock(PersistenceAuditEventRepository.class);
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AuditEventWriter auditEventWriter;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties.getAuditEvents().setBatchSize(2);
+        applicationProperties.getAuditEvents().setFlushIntervalMs(60000);
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        auditEventWriter.destroy();
+    }
+
+    @Test
+    public void testEventsAreWrittenWhenABatchIsQueued() {
+        startAuditEventWriter();
+        PersistentAuditEvent first = createEvent();
+        PersistentAuditEvent second = createEvent();
+
+        auditEventWriter.write(first);
+        verify(persistenceAuditEventRepository, after(100).never()).saveAll(anyList());
+
+        auditEventWriter.write(second);
+        verify(persistenceAuditEventRepository, timeout(5000)).saveAll(Arrays.asList(first, second));
+    }
+
+    @Test
+    public void testEventsAreWrittenAfterTheFlushInterval() {
+        applicationProperties.getAuditEvents().setFlushIntervalMs(100);
+        startAuditEventWriter();
+        PersistentAuditEvent event = createEvent();
+
+        auditEventWriter.write(event);
+
+        verify(persistenceAuditEventRepository, timeout(5000)).saveAll(Collections.singletonList(event));
+    }
+
+    @Test
+    public void testEventsQueuedAreWrittenOnShutdown() throws InterruptedException {
+        startAuditEventWriter();
+        PersistentAuditEvent event = createEvent();
+        auditEventWriter.write(event);
+
+        auditEventWriter.destroy();
+
+        verify(persistenceAuditEventRepository).saveAll(Collections.singletonList(event));
+    }
+
+    @Test
+    public void testEventsNotWrittenAreCountedAsDropped() throws InterruptedException {
+        when(persistenceAuditEventRepository.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("test"));
+        when(persistenceAuditEventRepository.save(any())).thenThrow(new DataAccessResourceFailureException("test"));
+        startAuditEventWriter();
+        auditEventWriter.write(createEvent());
+
+        auditEventWriter.destroy();
+
+        assertThat(meterRegistry.get("audit.events.dropped").tag("reason", "write_failed").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void testEventsOfABatchNotWrittenAreWrittenOneByOne() throws InterruptedException {
+        PersistentAuditEvent invalid = createEvent();
+        PersistentAuditEvent valid = createEvent();
+        when(persistenceAuditEventRepository.saveAll(anyList())).thenThrow(new DataIntegrityViolationException("test"));
+        when(persistenceAuditEventRepository.save(invalid)).thenThrow(new DataIntegrityViolationException("test"));
+        startAuditEventWriter();
+        invalid.setId(1L);
+        auditEventWriter.write(invalid);
+        auditEventWriter.write(valid);
+
+        auditEventWriter.destroy();
+
+        verify(persistenceAuditEventRepository).save(valid);
+        assertThat(invalid.getId()).isNull();
+        assertThat(meterRegistry.get("audit.events.dropped").tag("reason", "write_failed").counter().count()).isEqualTo(1);
+    }
+
+    private void startAuditEventWriter() {
+        auditEventWriter = new AuditEventWriter(persistenceAuditEventRepository, mock(PlatformTransactionManager.class),
+            applicationProperties, meterRegistry);
+        auditEventWriter.afterPropertiesSet();
+    }
+
+    private static PersistentAuditEvent createEvent() {
+        PersistentAuditEvent persistentAuditEvent = new PersistentAuditEvent();
+        persistentAuditEvent.setPrincipal("test-user");
+        persistentAuditEvent.setAuditEventType("test-type");
+        return persistentAuditEvent;
+    }
+}
@@ -1,9 +1,11 @@
 package com.tothapplication.repository;
 
 import com.tothapplication.TothApplicationApp;
+import com.tothapplication.config.ApplicationProperties;
 import com.tothapplication.config.Constants;
 import com.tothapplication.config.audit.AuditEventConverter;
 import com.tothapplication.domain.PersistentAuditEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -12,6 +14,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.mock.web.MockHttpServletRequest;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
 
 import javax.servlet.http.HttpSession;
@@ -37,6 +40,16 @@ public class CustomAuditEventRepositoryIT {
     @Autowired
     private AuditEventConverter auditEventConverter;
 
+    @Autowired
+    private AuditEventWriter applicationAuditEventWriter;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private AuditEventWriter auditEventWriter;
+
     private CustomAuditEventRepository customAuditEventRepository;
 
     private PersistentAuditEvent testUserEvent;
@@ -47,7 +60,12 @@ public class CustomAuditEventRepositoryIT {
 
     @BeforeEach
     public void setup() {
-        customAuditEventRepository = new CustomAuditEventRepository(persistenceAuditEventRepository, auditEventConverter);
+        // Not started, the events are written by flushing it in the transaction of the test
+        auditEventWriter = new AuditEventWriter(persistenceAuditEventRepository, transactionManager, applicationProperties,
+            new SimpleMeterRegistry());
+        customAuditEventRepository = new CustomAuditEventRepository(persistenceAuditEventRepository, auditEventConverter, auditEventWriter);
+        // The events of the previous tests are written before they are deleted
+        applicationAuditEventWriter.flush();
         persistenceAuditEventRepository.deleteAll();
         Instant oneHourAgo = Instant.now().minusSeconds(3600);
 
@@ -76,6 +94,7 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", "test-value");
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -97,6 +116,7 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", largeData);
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -121,6 +141,7 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", details);
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -134,6 +155,7 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", null);
         AuditEvent event = new AuditEvent("test-user", "test-type", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(1);
         PersistentAuditEvent persistentAuditEvent = persistentAuditEvents.get(0);
@@ -146,6 +168,7 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", "test-value");
         AuditEvent event = new AuditEvent(Constants.ANONYMOUS_USER, "test-type", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(0);
     }
@@ -156,8 +179,40 @@ public class CustomAuditEventRepositoryIT {
         data.put("test-key", "test-value");
         AuditEvent event = new AuditEvent("test-user", "AUTHORIZATION_FAILURE", data);
         customAuditEventRepository.add(event);
+        auditEventWriter.flush();
         List<PersistentAuditEvent> persistentAuditEvents = persistenceAuditEventRepository.findAll();
         assertThat(persistentAuditEvents).hasSize(0);
     }
 
+    @Test
+    public void addAuditEventIsWrittenLater() {
+        AuditEvent event = new AuditEvent("test-user", "test-type", new HashMap<>());
+        customAuditEventRepository.add(event);
+        assertThat(persistenceAuditEventRepository.findAll()).isEmpty();
+
+        auditEventWriter.flush();
+        assertThat(persistenceAuditEventRepository.findAll()).hasSize(1);
+    }
+
+    @Test
+    public void addAuditEventDroppedWhenTheQueueIsFull() {
+        applicationProperties.getAuditEvents().setQueueCapacity(2);
+        applicationProperties.getAuditEvents().setBatchSize(1);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        auditEventWriter = new AuditEventWriter(persistenceAuditEventRepository, transactionManager, applicationProperties,
+            meterRegistry);
+        customAuditEventRepository = new CustomAuditEventRepository(persistenceAuditEventRepository, auditEventConverter, auditEventWriter);
+
+        for (int i = 0; i < 3; i++) {
+            customAuditEventRepository.add(new AuditEvent("test-user", "test-type-" + i, new HashMap<>()));
+        }
+        assertThat(meterRegistry.get("audit.events.queue.size").gauge().value()).isEqualTo(2);
+        assertThat(meterRegistry.get("audit.events.dropped").tag("reason", "queue_full").counter().count()).isEqualTo(1);
+
+        auditEventWriter.flush();
+        assertThat(persistenceAuditEventRepository.findAll())
+            .extracting(PersistentAuditEvent::getAuditEventType)
+            .containsExactlyInAnyOrder("test-type-0", "test-type-1");
+        assertThat(meterRegistry.get("audit.events.queue.size").gauge().value()).isEqualTo(0);
+    }
 }
@@ -0,0 +1,129 @@
+package com.tothapplication.security;
+
+import com.tothapplication.config.ApplicationProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the {@link LoginThrottle}.
+ */
+public class LoginThrottleTest {
+
+    private final ApplicationProperties applicationProperties = new ApplicationProperties();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private long now = -TimeUnit.DAYS.toNanos(1);
+
+    private LoginThrottle loginThrottle;
+
+    @BeforeEach
+    public void setup() {
+        applicationProperties.getLoginThrottling().getAccount().setCapacity(3);
+        applicationProperties.getLoginThrottling().getAccount().setRefillIntervalMs(60000);
+        applicationProperties.getLoginThrottling().getIp().setCapacity(5);
+        applicationProperties.getLoginThrottling().getIp().setRefillIntervalMs(1000);
+        loginThrottle = new LoginThrottle(applicationProperties) {
+            @Override
+            protected long nanoTime() {
+                return now;
+            }
+        };
+        loginThrottle.bindTo(meterRegistry);
+    }
+
+    @Test
+    public void testAccountIsThrottledWhenItsBucketIsEmpty() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.acquire("user", "10.0.0." + i);
+        }
+
+        assertThatThrownBy(() -> loginThrottle.acquire("USER", "10.0.0.9"))
+            .isInstanceOf(LoginThrottledException.class)
+            .hasMessage("Too many logins for this account")
+            .hasFieldOrPropertyWithValue("retryAfterSeconds", 60L);
+        assertThat(meterRegistry.get("login.throttling.rejected").tag("bucket", "account").counter().count()).isEqualTo(1);
+        // The token of the address was given back
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.acquire("other" + i, "10.0.0.9");
+        }
+    }
+
+    @Test
+    public void testAccountBucketIsRefilledOverTime() {
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.acquire("user", "10.0.0.1");
+        }
+        now += TimeUnit.SECONDS.toNanos(59);
+        assertThatThrownBy(() -> loginThrottle.acquire("user", "10.0.0.1"))
+            .isInstanceOf(LoginThrottledException.class)
+            .hasFieldOrPropertyWithValue("retryAfterSeconds", 1L);
+
+        now += TimeUnit.SECONDS.toNanos(1);
+        loginThrottle.acquire("user", "10.0.0.1");
+        assertThatThrownBy(() -> loginThrottle.acquire("user", "10.0.0.1")).isInstanceOf(LoginThrottledException.class);
+    }
+
+    @Test
+    public void testSuccessfulLoginsGiveTheirTokenBack() {
+        for (int i = 0; i < 10; i++) {
+            loginThrottle.acquire("user", "10.0.0.1");
+            loginThrottle.release("User", "10.0.0.1");
+        }
+
+        loginThrottle.acquire("user", "10.0.0.1");
+    }
+
+    @Test
+    public void testAddressIsThrottledWhenItsBucketIsEmpty() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.acquire("user" + i, "10.0.0.1");
+        }
+
+        assertThatThrownBy(() -> loginThrottle.acquire("user", "10.0.0.1"))
+            .isInstanceOf(LoginThrottledException.class)
+            .hasMessage("Too many logins for this ip");
+        assertThat(meterRegistry.get("login.throttling.rejected").tag("bucket", "ip").counter().count()).isEqualTo(1);
+        // The account was not touched
+        for (int i = 0; i < 3; i++) {
+            loginThrottle.acquire("user", "10.0.0." + (i + 2));
+        }
+    }
+
+    @Test
+    public void testThrottledAddressAllocatesNoAccountBucket() {
+        for (int i = 0; i < 5; i++) {
+            loginThrottle.acquire("user" + i, "10.0.0.1");
+        }
+
+        for (int i = 0; i < 100; i++) {
+            String login = "random" + i;
+            assertThatThrownBy(() -> loginThrottle.acquire(login, "10.0.0.1")).isInstanceOf(LoginThrottledException.class);
+        }
+        assertThat(meterRegistry.get("login.throttling.buckets").tag("bucket", "account").gauge().value()).isEqualTo(5);
+    }
+
+    @Test
+    public void testFullBucketsAreEvicted() {
+        loginThrottle.acquire("user", "10.0.0.1");
+        loginThrottle.acquire("other", "10.0.0.2");
+        loginThrottle.release("other", "10.0.0.2");
+        assertThat(meterRegistry.get("login.throttling.buckets").tag("bucket", "account").gauge().value()).isEqualTo(2);
+
+        loginThrottle.evictFullBuckets();
+        assertThat(meterRegistry.get("login.throttling.buckets").tag("bucket", "account").gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("login.throttling.buckets").tag("bucket", "ip").gauge().value()).isEqualTo(1);
+
+        now += TimeUnit.SECONDS.toNanos(60);
+        loginThrottle.evictFullBuckets();
+        assertThat(meterRegistry.get("login.throttling.buckets").tag("bucket", "account").gauge().value()).isEqualTo(0);
+        assertThat(meterRegistry.get("login.throttling.buckets").tag("bucket", "ip").gauge().value()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,174 @@
+package com.tothapplication.security;
+
+import com.tothapplication.config.ApplicationProperties;
+import com.tothapplication.security.PrioritizedPasswordEncoder.Priority;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Test class for the {@link PrioritizedPasswordEncoder}.
+ */
+public class PrioritizedPasswordEncoderTest {
+
+    private final BlockingPasswordEncoder delegate = new BlockingPasswordEncoder();
+
+    private final ApplicationProperties.PasswordHashing passwordHashing = new ApplicationProperties.PasswordHashing();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private PrioritizedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    public void setup() {
+        passwordHashing.setPoolSize(1);
+        passwordHashing.setQueueCapacity(2);
+        passwordHashing.setMaxWaitMs(5000);
+        passwordHashing.setRetryAfterSeconds(7);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        delegate.release.countDown();
+        callers.shutdownNow();
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    public void testPasswordsAreHashedByTheDelegate() {
+        delegate.release.countDown();
+        createPasswordEncoder();
+
+        assertThat(passwordEncoder.encode("password")).isEqualTo("{hashed}password");
+        assertThat(passwordEncoder.matches("password", "{hashed}password")).isTrue();
+        assertThat(passwordEncoder.matches("other", "{hashed}password")).isFalse();
+    }
+
+    @Test
+    public void testInteractiveHashingIsAheadOfBulkHashing() throws Exception {
+        createPasswordEncoder();
+        Future<String> blocking = callers.submit(() -> passwordEncoder.encode("blocking"));
+        delegate.started.await(5, TimeUnit.SECONDS);
+        Future<String> bulk = callers.submit(() -> passwordEncoder.encode("bulk", Priority.BULK));
+        awaitQueueSize(1);
+        Future<String> interactive = callers.submit(() -> passwordEncoder.encode("interactive"));
+        awaitQueueSize(2);
+
+        delegate.release.countDown();
+        blocking.get(5, TimeUnit.SECONDS);
+        bulk.get(5, TimeUnit.SECONDS);
+        interactive.get(5, TimeUnit.SECONDS);
+
+        assertThat(delegate.hashed).containsExactly("blocking", "interactive", "bulk");
+        assertThat(meterRegistry.get("password.hashing.wait").tag("priority", "bulk").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.wait").tag("priority", "interactive").timer().count()).isEqualTo(2);
+    }
+
+    @Test
+    public void testHashingIsRejectedWhenTheQueueIsFull() throws Exception {
+        createPasswordEncoder();
+        callers.submit(() -> passwordEncoder.encode("blocking"));
+        delegate.started.await(5, TimeUnit.SECONDS);
+        callers.submit(() -> passwordEncoder.encode("queued"));
+        callers.submit(() -> passwordEncoder.encode("queued"));
+        awaitQueueSize(2);
+
+        assertThatThrownBy(() -> passwordEncoder.matches("password", "{hashed}password"))
+            .isInstanceOf(PasswordHashingRejectedException.class)
+            .hasFieldOrPropertyWithValue("retryAfterSeconds", 7L);
+        assertThat(meterRegistry.get("password.hashing.rejected").tag("priority", "interactive").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("password.hashing.queue.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    public void testConcurrentHashingsDoNotExceedTheQueueCapacity() throws Exception {
+        createPasswordEncoder();
+        callers.submit(() -> passwordEncoder.encode("blocking"));
+        delegate.started.await(5, TimeUnit.SECONDS);
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < 10; i++) {
+            callers.submit(() -> {
+                start.await();
+                return passwordEncoder.encode("concurrent");
+            });
+        }
+
+        start.countDown();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("password.hashing.rejected").tag("priority", "interactive").counter().count() < 8
+            && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(meterRegistry.get("password.hashing.rejected").tag("priority", "interactive").counter().count()).isEqualTo(8);
+        assertThat(meterRegistry.get("password.hashing.queue.size").gauge().value()).isEqualTo(2);
+    }
+
+    @Test
+    public void testHashingIsRejectedAfterTheMaximumWait() throws Exception {
+        passwordHashing.setMaxWaitMs(100);
+        createPasswordEncoder();
+        callers.submit(() -> passwordEncoder.encode("blocking"));
+        delegate.started.await(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> passwordEncoder.encode("waiting", Priority.BULK))
+            .isInstanceOf(PasswordHashingRejectedException.class);
+        assertThat(meterRegistry.get("password.hashing.rejected").tag("priority", "bulk").counter().count()).isEqualTo(1);
+
+        delegate.release.countDown();
+        assertThat(passwordEncoder.encode("next")).isEqualTo("{hashed}next");
+        assertThat(delegate.hashed).doesNotContain("waiting");
+    }
+
+    private void createPasswordEncoder() {
+        passwordEncoder = new PrioritizedPasswordEncoder(delegate, passwordHashing);
+        passwordEncoder.bindTo(meterRegistry);
+    }
+
+    private void awaitQueueSize(int size) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (meterRegistry.get("password.hashing.queue.size").gauge().value() < size && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Password encoder blocking until released, recording the order of the passwords hashed.
+     */
+    private static class BlockingPasswordEncoder implements PasswordEncoder {
+
+        private final CountDownLatch started = new CountDownLatch(1);
+
+        private final CountDownLatch release = new CountDownLatch(1);
+
+        private final List<String> hashed = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            hashed.add(rawPassword.toString());
+            return "{hashed}" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            return encode(rawPassword).equals(encodedPassword);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.tothapplication.security.jwt;
 
+import com.tothapplication.config.ApplicationProperties;
 import com.tothapplication.security.AuthoritiesConstants;
 
 import java.security.Key;
@@ -27,10 +28,12 @@ public class TokenProviderTest {
 
     private Key key;
     private TokenProvider tokenProvider;
+    private TokenRevocations tokenRevocations;
 
     @BeforeEach
     public void setup() {
-        tokenProvider = new TokenProvider( new JHipsterProperties());
+        tokenRevocations = new TokenRevocations();
+        tokenProvider = new TokenProvider(new JHipsterProperties(), new ApplicationProperties(), tokenRevocations);
         key = Keys.hmacShaKeyFor(Decoders.BASE64
             .decode("fd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8"));
 
@@ -83,6 +86,108 @@ public class TokenProviderTest {
         assertThat(isTokenValid).isEqualTo(false);
     }
 
+    @Test
+    public void testVerifiedAuthenticationIsCached() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        Authentication authentication = tokenProvider.getVerifiedAuthentication(token).get();
+
+        // Not verified again with the new key
+        ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64
+            .decode("Xfd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8")));
+        Optional<Authentication> cachedAuthentication = tokenProvider.getVerifiedAuthentication(token);
+
+        assertThat(cachedAuthentication).isPresent();
+        assertThat(cachedAuthentication.get()).isNotSameAs(authentication);
+        assertThat(cachedAuthentication.get().getPrincipal()).isSameAs(authentication.getPrincipal());
+        assertThat(cachedAuthentication.get().getCredentials()).isEqualTo(token);
+        assertThat(cachedAuthentication.get().getAuthorities()).extracting(GrantedAuthority::getAuthority)
+            .containsExactly(AuthoritiesConstants.ANONYMOUS);
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+    }
+
+    @Test
+    public void testAuthoritiesAreShared() {
+        Authentication authentication = tokenProvider.getVerifiedAuthentication(
+            tokenProvider.createToken(createAuthentication(), false)).get();
+        Authentication otherAuthentication = tokenProvider.getVerifiedAuthentication(
+            tokenProvider.createToken(new UsernamePasswordAuthenticationToken("other", "other", authentication.getAuthorities()), false)).get();
+
+        assertThat(otherAuthentication.getAuthorities().iterator().next()).isSameAs(authentication.getAuthorities().iterator().next());
+    }
+
+    @Test
+    public void testVerifiedAuthenticationIsNotCachedWhenDisabled() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getJwt().setVerifiedTokenCacheSize(0);
+        tokenProvider = new TokenProvider(new JHipsterProperties(), applicationProperties, tokenRevocations);
+        ReflectionTestUtils.setField(tokenProvider, "key", key);
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", ONE_MINUTE);
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        assertThat(tokenProvider.getVerifiedAuthentication(token)).isPresent();
+
+        ReflectionTestUtils.setField(tokenProvider, "key", Keys.hmacShaKeyFor(Decoders.BASE64
+            .decode("Xfd54a45s65fds737b9aafcb3412e07ed99b267f33413274720ddbb7f6c5e64e9f14075f2d7ed041592f0b7657baf8")));
+
+        assertThat(tokenProvider.getVerifiedAuthentication(token)).isEmpty();
+    }
+
+    @Test
+    public void testExpiredTokenHasNoVerifiedAuthentication() {
+        ReflectionTestUtils.setField(tokenProvider, "tokenValidityInMilliseconds", -ONE_MINUTE);
+
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.getVerifiedAuthentication(token)).isEmpty();
+    }
+
+    @Test
+    public void testRevokedTokenIsRejectedEvenWhenCached() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        assertThat(tokenProvider.getVerifiedAuthentication(token)).isPresent();
+
+        String tokenId = tokenProvider.getClaims(token).get().getId();
+        tokenRevocations.revokeToken(tokenId, System.currentTimeMillis() + ONE_MINUTE);
+
+        assertThat(tokenProvider.getVerifiedAuthentication(token)).isEmpty();
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+        assertThat(tokenProvider.getVerifiedAuthentication(tokenProvider.createToken(createAuthentication(), false))).isPresent();
+    }
+
+    @Test
+    public void testTokensIssuedBeforeTheRevocationOfTheirUserAreRejected() {
+        String token = tokenProvider.createToken(createAuthentication(), false);
+        String otherUserToken = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken("other", "other", Collections.emptyList()), false);
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+
+        tokenRevocations.revokeTokensOf("anonymous", System.currentTimeMillis(), System.currentTimeMillis() + ONE_MINUTE);
+
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+        assertThat(tokenProvider.validateToken(otherUserToken)).isTrue();
+    }
+
+    @Test
+    public void testTokensIssuedAfterTheRevocationOfTheirUserAreAccepted() {
+        tokenRevocations.revokeTokensOf("anonymous", System.currentTimeMillis() - 2000, System.currentTimeMillis() + ONE_MINUTE);
+
+        String token = tokenProvider.createToken(createAuthentication(), false);
+
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+    }
+
+    @Test
+    public void testTokenWithoutIssueTimeIsRejectedOnceItsUserIsRevoked() {
+        String token = Jwts.builder()
+            .setSubject("anonymous")
+            .signWith(key, SignatureAlgorithm.HS512)
+            .setExpiration(new Date(new Date().getTime() + ONE_MINUTE))
+            .compact();
+
+        tokenRevocations.revokeTokensOf("anonymous", System.currentTimeMillis() - 2000, System.currentTimeMillis() + ONE_MINUTE);
+
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+    }
+
     private Authentication createAuthentication() {
         Collection<GrantedAuthority> authorities = new ArrayList<>();
         authorities.add(new SimpleGrantedAuthority(AuthoritiesConstants.ANONYMOUS));
@@ -0,0 +1,44 @@
+package com.tothapplication.security.jwt;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test class for the {@link TokenRevocations}.
+ */
+public class TokenRevocationsTest {
+
+    private TokenRevocations tokenRevocations;
+
+    @BeforeEach
+    public void setup() {
+        tokenRevocations = new TokenRevocations();
+    }
+
+    @Test
+    public void testLatestRevocationOfAUserIsKept() {
+        tokenRevocations.revokeTokensOf("user", 10_000, 20_000);
+        tokenRevocations.revokeTokensOf("user", 5_000, 15_000);
+
+        assertThat(tokenRevocations.isRevoked(null, "user", 9_000)).isTrue();
+        assertThat(tokenRevocations.isRevoked(null, "user", 10_999)).isTrue();
+        assertThat(tokenRevocations.isRevoked(null, "user", 11_000)).isFalse();
+    }
+
+    @Test
+    public void testExpiredRevocationsArePurged() {
+        tokenRevocations.revokeToken("expired", 10_000);
+        tokenRevocations.revokeToken("valid", 30_000);
+        tokenRevocations.revokeTokensOf("expired", 1_000, 10_000);
+        tokenRevocations.revokeTokensOf("valid", 1_000, 30_000);
+
+        tokenRevocations.purge(20_000);
+
+        assertThat(tokenRevocations.size()).isEqualTo(2);
+        assertThat(tokenRevocations.isRevoked("expired", "expired", 0)).isFalse();
+        assertThat(tokenRevocations.isRevoked("valid", "user", 0)).isTrue();
+        assertThat(tokenRevocations.isRevoked(null, "valid", 0)).isTrue();
+    }
+}
@@ -0,0 +1,151 @@
+package com.tothapplication.security.jwt;
+
+import com.tothapplication.security.jwt.VerifiedTokenCache.VerifiedToken;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for the {@link VerifiedTokenCache} class.
+ */
+public class VerifiedTokenCacheTest {
+
+    private static final long NOW = 1_000_000;
+
+    private TestClock clock;
+
+    private AtomicInteger verifications;
+
+    @BeforeEach
+    public void setup() {
+        clock = new TestClock();
+        verifications = new AtomicInteger();
+    }
+
+    @Test
+    public void testTokenIsVerifiedOnce() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+
+        VerifiedToken verifiedToken = cache.computeIfAbsent("token", token -> verify(NOW + 1000));
+
+        assertThat(cache.computeIfAbsent("token", token -> verify(NOW + 1000))).isSameAs(verifiedToken);
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    public void testInvalidTokenIsNotCached() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+
+        assertThat(cache.computeIfAbsent("token", token -> invalid())).isNull();
+        assertThat(cache.computeIfAbsent("token", token -> invalid())).isNull();
+
+        assertThat(verifications).hasValue(2);
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testTokenIsVerifiedAgainOnceExpired() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10, clock);
+        cache.computeIfAbsent("token", token -> verify(NOW + 1000));
+
+        clock.millis = NOW + 1000;
+
+        assertThat(cache.computeIfAbsent("token", token -> invalid())).isNull();
+        assertThat(cache.size()).isEqualTo(0);
+    }
+
+    @Test
+    public void testExpiredTokensAreEvictedWhenFull() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(4, clock);
+        cache.computeIfAbsent("expired", token -> verify(NOW + 10));
+        for (int i = 1; i <= 3; i++) {
+            cache.computeIfAbsent("token" + i, token -> verify(NOW + 1000));
+        }
+        clock.millis = NOW + 10;
+
+        cache.computeIfAbsent("token4", token -> verify(NOW + 1000));
+
+        assertThat(cache.size()).isEqualTo(4);
+        verifications.set(0);
+        for (int i = 1; i <= 4; i++) {
+            cache.computeIfAbsent("token" + i, token -> verify(NOW + 1000));
+        }
+        assertThat(verifications).hasValue(0);
+    }
+
+    @Test
+    public void testTokensExpiringFirstAreEvictedWhenFull() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(4, clock);
+        for (int i = 1; i <= 4; i++) {
+            long expiration = NOW + 1000 * i;
+            cache.computeIfAbsent("token" + i, token -> verify(expiration));
+        }
+
+        cache.computeIfAbsent("token5", token -> verify(NOW + 5000));
+
+        assertThat(cache.size()).isEqualTo(4);
+        verifications.set(0);
+        for (int i = 2; i <= 5; i++) {
+            long expiration = NOW + 1000 * i;
+            cache.computeIfAbsent("token" + i, token -> verify(expiration));
+        }
+        assertThat(verifications).hasValue(0);
+        cache.computeIfAbsent("token1", token -> verify(NOW + 1000));
+        assertThat(verifications).hasValue(1);
+    }
+
+    @Test
+    public void testTokenIsNotCachedWhenDisabled() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(0, clock);
+
+        cache.computeIfAbsent("token", token -> verify(NOW + 1000));
+        cache.computeIfAbsent("token", token -> verify(NOW + 1000));
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    private VerifiedToken verify(long expiration) {
+        verifications.incrementAndGet();
+        return new VerifiedToken(null, 0, new User("user", "", Collections.emptyList()), Collections.emptyList(), expiration);
+    }
+
+    private VerifiedToken invalid() {
+        verifications.incrementAndGet();
+        return null;
+    }
+
+    private static class TestClock extends Clock {
+
+        private long millis = NOW;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
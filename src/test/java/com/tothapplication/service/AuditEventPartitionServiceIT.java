@@ -0,0 +1,113 @@
+package com.tothapplication.service;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.domain.AuditEventIdGenerator;
+import com.tothapplication.domain.PersistentAuditEvent;
+import com.tothapplication.repository.AuditEventWriter;
+import com.tothapplication.repository.PersistenceAuditEventRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link AuditEventPartitionService}, on a database without partitions.
+ */
+@SpringBootTest(classes = TothApplicationApp.class)
+@Transactional
+public class AuditEventPartitionServiceIT {
+
+    private static final long LEGACY_EVENT_ID = 42L;
+
+    @Autowired
+    private AuditEventPartitionService auditEventPartitionService;
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private AuditEventWriter auditEventWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setup() {
+        auditEventWriter.flush();
+        persistenceAuditEventRepository.deleteAll();
+    }
+
+    @Test
+    public void assertThatEventIdsAreInTheRangeOfTheirMonth() {
+        Instant lastYear = Instant.now().minus(365, ChronoUnit.DAYS);
+        PersistentAuditEvent event = persistenceAuditEventRepository.saveAndFlush(createEvent(lastYear));
+
+        YearMonth month = AuditEventIdGenerator.monthOf(lastYear);
+        assertThat(event.getId()).isGreaterThanOrEqualTo(AuditEventIdGenerator.firstEventId(month));
+        assertThat(event.getId()).isLessThan(AuditEventIdGenerator.firstEventId(month.plusMonths(1)));
+    }
+
+    @Test
+    public void assertThatEventsAreFoundByDatesInTheirMonthsOnly() {
+        Instant now = Instant.now();
+        PersistentAuditEvent event = persistenceAuditEventRepository.saveAndFlush(createEvent(now.minus(1, ChronoUnit.HOURS)));
+        persistenceAuditEventRepository.saveAndFlush(createEvent(now.minus(100, ChronoUnit.DAYS)));
+        insertLegacyEvent(now.minus(2, ChronoUnit.HOURS));
+
+        assertThat(persistenceAuditEventRepository.findAllByAuditEventDateBetween(now.minus(1, ChronoUnit.DAYS), now,
+            PageRequest.of(0, 10)).getContent())
+            .extracting(PersistentAuditEvent::getId)
+            .containsExactlyInAnyOrder(event.getId(), LEGACY_EVENT_ID);
+    }
+
+    @Test
+    public void assertThatExpiredEventsAreDeletedWithTheirData() {
+        Instant now = Instant.now();
+        PersistentAuditEvent recentEvent = persistenceAuditEventRepository.saveAndFlush(createEvent(now));
+        persistenceAuditEventRepository.saveAndFlush(createEvent(now.minus(100, ChronoUnit.DAYS)));
+        insertLegacyEvent(now.minus(100, ChronoUnit.DAYS));
+
+        auditEventPartitionService.removeExpiredAuditEvents();
+
+        assertThat(jdbcTemplate.queryForList("select event_id from jhi_persistent_audit_event", Long.class))
+            .containsExactly(recentEvent.getId());
+        assertThat(jdbcTemplate.queryForList("select event_id from jhi_persistent_audit_evt_data", Long.class))
+            .containsExactly(recentEvent.getId());
+    }
+
+    @Test
+    public void assertThatPartitionsAreNotPreparedWithoutPartitioning() {
+        auditEventPartitionService.preparePartitions();
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from information_schema.tables" +
+            " where lower(table_name) like 'jhi_persistent_audit_event_p%'", Integer.class)).isZero();
+    }
+
+    private PersistentAuditEvent createEvent(Instant date) {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        event.setPrincipal("audit-partition-user");
+        event.setAuditEventType("test-type");
+        event.setAuditEventDate(date);
+        event.setData(Collections.singletonMap("test-key", "test-value"));
+        return event;
+    }
+
+    private void insertLegacyEvent(Instant date) {
+        jdbcTemplate.update("insert into jhi_persistent_audit_event (event_id, principal, event_date, event_type) values (?, ?, ?, ?)",
+            LEGACY_EVENT_ID, "audit-partition-user", Timestamp.from(date), "test-type");
+        jdbcTemplate.update("insert into jhi_persistent_audit_evt_data (event_id, name, value) values (?, ?, ?)",
+            LEGACY_EVENT_ID, "test-key", "test-value");
+    }
+}
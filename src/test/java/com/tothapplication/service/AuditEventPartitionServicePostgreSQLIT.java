@@ -0,0 +1,156 @@
+package com.tothapplication.service;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.domain.AuditEventIdGenerator;
+import com.tothapplication.domain.PersistentAuditEvent;
+import com.tothapplication.repository.AuditEventWriter;
+import com.tothapplication.repository.PersistenceAuditEventRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link AuditEventPartitionService}, on a PostgreSQL 11 or later database migrated by the
+ * changelog of the partitioning.
+ * <p>
+ * Run with {@code -Dpostgresql.url=jdbc:postgresql://host:port/database}, and optionally {@code -Dpostgresql.username}
+ * and {@code -Dpostgresql.password}.
+ */
+@EnabledIfSystemProperty(named = "postgresql.url", matches = "jdbc:postgresql:.+")
+@SpringBootTest(classes = TothApplicationApp.class, properties = {
+    "spring.datasource.url=${postgresql.url}",
+    "spring.datasource.username=${postgresql.username:postgres}",
+    "spring.datasource.password=${postgresql.password:}",
+    "spring.jpa.database-platform=io.github.jhipster.domain.util.FixedPostgreSQL95Dialect",
+    "spring.jpa.database=POSTGRESQL"})
+public class AuditEventPartitionServicePostgreSQLIT {
+
+    @Autowired
+    private AuditEventPartitionService auditEventPartitionService;
+
+    @Autowired
+    private PersistenceAuditEventRepository persistenceAuditEventRepository;
+
+    @Autowired
+    private AuditEventWriter auditEventWriter;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    public void setup() {
+        auditEventWriter.flush();
+        persistenceAuditEventRepository.deleteAll();
+    }
+
+    @Test
+    public void assertThatTheTablesArePartitionedByMonth() {
+        assertThat(jdbcTemplate.queryForList("select c.relname from pg_partitioned_table p" +
+            " join pg_class c on c.oid = p.partrelid", String.class))
+            .contains("jhi_persistent_audit_event", "jhi_persistent_audit_evt_data");
+        YearMonth month = AuditEventIdGenerator.monthOf(Instant.now());
+        assertThat(findPartitions())
+            .contains("jhi_persistent_audit_event_legacy", "jhi_persistent_audit_evt_data_legacy",
+                "jhi_persistent_audit_event_p" + suffixOf(month), "jhi_persistent_audit_evt_data_p" + suffixOf(month),
+                "jhi_persistent_audit_event_p" + suffixOf(month.plusMonths(1)));
+
+        PersistentAuditEvent event = persistenceAuditEventRepository.saveAndFlush(createEvent(Instant.now()));
+
+        assertThat(jdbcTemplate.queryForObject("select tableoid::regclass::text from jhi_persistent_audit_event" +
+            " where event_id = ?", String.class, event.getId())).isEqualTo("jhi_persistent_audit_event_p" + suffixOf(month));
+    }
+
+    @Test
+    public void assertThatPartitionsArePreparedConcurrently() throws Exception {
+        int instances = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(instances);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> preparations = new ArrayList<>();
+        try {
+            for (int i = 0; i < instances; i++) {
+                preparations.add(executor.submit(() -> {
+                    start.await();
+                    auditEventPartitionService.preparePartitions();
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> preparation : preparations) {
+                preparation.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        YearMonth month = AuditEventIdGenerator.monthOf(Instant.now()).plusMonths(1);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from pg_constraint where conname = ?", Integer.class,
+            "fk_evt_pers_audit_evt_data_p" + suffixOf(month))).isEqualTo(1);
+    }
+
+    @Test
+    public void assertThatExpiredPartitionsAreDropped() {
+        YearMonth expiredMonth = AuditEventIdGenerator.monthOf(Instant.now().minus(100, ChronoUnit.DAYS));
+        new TransactionTemplate(transactionManager).execute(status -> {
+            jdbcTemplate.execute("create table if not exists jhi_persistent_audit_event_p" + suffixOf(expiredMonth) +
+                " partition of jhi_persistent_audit_event for values from (" + AuditEventIdGenerator.firstEventId(expiredMonth) +
+                ") to (" + AuditEventIdGenerator.firstEventId(expiredMonth.plusMonths(1)) + ")");
+            jdbcTemplate.execute("create table if not exists jhi_persistent_audit_evt_data_p" + suffixOf(expiredMonth) +
+                " partition of jhi_persistent_audit_evt_data for values from (" + AuditEventIdGenerator.firstEventId(expiredMonth) +
+                ") to (" + AuditEventIdGenerator.firstEventId(expiredMonth.plusMonths(1)) + ")");
+            return null;
+        });
+        persistenceAuditEventRepository.saveAndFlush(createEvent(Instant.now().minus(100, ChronoUnit.DAYS)));
+        PersistentAuditEvent recentEvent = persistenceAuditEventRepository.saveAndFlush(createEvent(Instant.now()));
+
+        auditEventPartitionService.removeExpiredAuditEvents();
+
+        assertThat(findPartitions()).doesNotContain("jhi_persistent_audit_event_p" + suffixOf(expiredMonth),
+            "jhi_persistent_audit_evt_data_p" + suffixOf(expiredMonth));
+        assertThat(jdbcTemplate.queryForList("select event_id from jhi_persistent_audit_event", Long.class))
+            .containsExactly(recentEvent.getId());
+        assertThat(jdbcTemplate.queryForList("select event_id from jhi_persistent_audit_evt_data", Long.class))
+            .containsExactly(recentEvent.getId());
+    }
+
+    private List<String> findPartitions() {
+        return jdbcTemplate.queryForList("select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid" +
+            " where i.inhparent in ('jhi_persistent_audit_event'::regclass, 'jhi_persistent_audit_evt_data'::regclass)",
+            String.class);
+    }
+
+    private static String suffixOf(YearMonth month) {
+        return month.getYear() + String.format("%02d", month.getMonthValue());
+    }
+
+    private PersistentAuditEvent createEvent(Instant date) {
+        PersistentAuditEvent event = new PersistentAuditEvent();
+        event.setPrincipal("audit-partition-user");
+        event.setAuditEventType("test-type");
+        event.setAuditEventDate(date);
+        event.setData(Collections.singletonMap("test-key", "test-value"));
+        return event;
+    }
+}
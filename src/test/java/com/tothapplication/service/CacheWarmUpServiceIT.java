@@ -0,0 +1,72 @@
+package com.tothapplication.service;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.config.ApplicationProperties;
+import com.tothapplication.config.CacheWarmUpHealthIndicator;
+import com.tothapplication.repository.AuthorityRepository;
+import com.tothapplication.repository.CCPRepository;
+import com.tothapplication.repository.FormationRepository;
+import com.tothapplication.repository.FormationSessionRepository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link CacheWarmUpService}.
+ */
+@SpringBootTest(classes = TothApplicationApp.class)
+public class CacheWarmUpServiceIT {
+
+    @Autowired
+    private FormationRepository formationRepository;
+
+    @Autowired
+    private CCPRepository cCPRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private FormationSessionRepository formationSessionRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private CacheWarmUpService cacheWarmUpService;
+
+    @BeforeEach
+    public void setup() {
+        ApplicationProperties applicationProperties = new ApplicationProperties();
+        applicationProperties.getCache().getWarmUp().setEnabled(true);
+        cacheWarmUpService = new CacheWarmUpService(formationRepository, cCPRepository, authorityRepository,
+            formationSessionRepository, transactionManager, applicationProperties);
+    }
+
+    @Test
+    public void testOutOfServiceUntilWarmedUp() throws Exception {
+        CacheWarmUpHealthIndicator healthIndicator = new CacheWarmUpHealthIndicator(cacheWarmUpService);
+        assertThat(cacheWarmUpService.isWarmedUp()).isFalse();
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+
+        cacheWarmUpService.warmUp().get(30, TimeUnit.SECONDS);
+
+        assertThat(cacheWarmUpService.isWarmedUp()).isTrue();
+        assertThat(healthIndicator.health().getStatus()).isEqualTo(Status.UP);
+    }
+
+    @Test
+    public void testWarmedUpWhenDisabled() {
+        CacheWarmUpService disabledService = new CacheWarmUpService(formationRepository, cCPRepository, authorityRepository,
+            formationSessionRepository, transactionManager, new ApplicationProperties());
+
+        assertThat(disabledService.isWarmedUp()).isTrue();
+    }
+}
@@ -0,0 +1,71 @@
+package com.tothapplication.service;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.config.FileStorageProperties;
+import com.tothapplication.domain.Document;
+import com.tothapplication.repository.DocumentRepository;
+import com.tothapplication.service.storage.DocumentStorage;
+import com.tothapplication.web.rest.DocumentResourceIT;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link DocumentStorageMigrationService}.
+ */
+@SpringBootTest(classes = TothApplicationApp.class)
+public class DocumentStorageMigrationServiceIT {
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentStorage documentStorage;
+
+    @Autowired
+    private EntityETagService entityETagService;
+
+    @Autowired
+    private FileStorageProperties fileStorageProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testMigrationChangesTheETagOfTheDocument() throws Exception {
+        String filename = "legacy-" + UUID.randomUUID() + ".txt";
+        Path legacyFile = Paths.get(fileStorageProperties.getUploadDir(), filename);
+        Files.createDirectories(legacyFile.getParent());
+        Files.write(legacyFile, "legacy".getBytes(StandardCharsets.UTF_8));
+        Document document = documentRepository.saveAndFlush(DocumentResourceIT.createEntity(null).filename(filename));
+        jdbcTemplate.update("update document set last_modified_date = ? where id = ?",
+            Timestamp.from(Instant.now().minus(1, ChronoUnit.DAYS)), document.getId());
+        String eTag = entityETagService.getETag(Document.class, document.getId());
+
+        try {
+            // Run in the calling thread
+            new DocumentStorageMigrationService(documentRepository, documentStorage, Runnable::run).start();
+
+            Document migratedDocument = documentRepository.findById(document.getId()).get();
+            assertThat(migratedDocument.getSha256()).isNotNull();
+            assertThat(migratedDocument.getFileSize()).isEqualTo(6L);
+            assertThat(entityETagService.getETag(Document.class, document.getId())).isNotEqualTo(eTag);
+        } finally {
+            documentRepository.deleteById(document.getId());
+            Files.deleteIfExists(legacyFile);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.tothapplication.service;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.domain.TokenRevocation;
+import com.tothapplication.domain.User;
+import com.tothapplication.repository.RefreshTokenRepository;
+import com.tothapplication.repository.TokenRevocationRepository;
+import com.tothapplication.repository.UserRepository;
+import com.tothapplication.security.jwt.TokenProvider;
+import com.tothapplication.security.jwt.TokenRevocations;
+
+import io.github.jhipster.config.JHipsterProperties;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for {@link TokenRevocationService}.
+ */
+@SpringBootTest(classes = TothApplicationApp.class)
+@Transactional
+public class TokenRevocationServiceIT {
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private TokenRevocationRepository tokenRevocationRepository;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TokenProvider tokenProvider;
+
+    @Autowired
+    private JHipsterProperties jHipsterProperties;
+
+    @Test
+    public void assertThatRevocationsAreLoadedByAnotherInstance() {
+        String token = createToken("token-revocation-token");
+        String tokenId = tokenProvider.getClaims(token).get().getId();
+        tokenRevocationService.revokeToken(token);
+        tokenRevocationService.revokeTokensOf("token-revocation-user");
+
+        TokenRevocations otherTokenRevocations = new TokenRevocations();
+        new TokenRevocationService(tokenRevocationRepository, refreshTokenRepository, otherTokenRevocations, tokenProvider, jHipsterProperties)
+            .loadRevocations();
+
+        assertThat(otherTokenRevocations.isRevoked(tokenId, "token-revocation-token", System.currentTimeMillis())).isTrue();
+        assertThat(otherTokenRevocations.isRevoked(null, "token-revocation-user", System.currentTimeMillis() - 1000)).isTrue();
+        assertThat(otherTokenRevocations.isRevoked(null, "token-revocation-token", System.currentTimeMillis() - 1000)).isFalse();
+    }
+
+    @Test
+    public void assertThatExpiredRevocationsAreDeleted() {
+        TokenRevocation tokenRevocation = new TokenRevocation();
+        tokenRevocation.setLogin("token-revocation-expired");
+        tokenRevocation.setRevokedDate(Instant.now().minus(2, ChronoUnit.DAYS));
+        tokenRevocation.setExpirationDate(Instant.now().minus(1, ChronoUnit.DAYS));
+        tokenRevocationRepository.saveAndFlush(tokenRevocation);
+
+        tokenRevocationService.removeExpiredRevocations();
+
+        assertThat(tokenRevocationRepository.findAll()).extracting(TokenRevocation::getLogin).doesNotContain("token-revocation-expired");
+    }
+
+    @Test
+    public void assertThatRevokingTheTokensOfAUserDeletesItsRefreshTokens() {
+        User user = new User();
+        user.setLogin("token-revocation-refresh");
+        user.setPassword(RandomStringUtils.random(60));
+        user.setActivated(true);
+        userRepository.saveAndFlush(user);
+        String refreshToken = refreshTokenService.createRefreshToken("token-revocation-refresh", false);
+        String[] refreshTokenValue = new String[1];
+
+        assertThat(refreshTokenService.renew(refreshToken)).hasValueSatisfying(renewedTokens ->
+            refreshTokenValue[0] = renewedTokens.getRefreshToken());
+
+        tokenRevocationService.revokeTokensOf("token-revocation-refresh");
+
+        assertThat(refreshTokenService.renew(refreshTokenValue[0])).isEmpty();
+    }
+
+    private String createToken(String login) {
+        return tokenProvider.createToken(new UsernamePasswordAuthenticationToken(login, null, Collections.emptyList()), false);
+    }
+}
@@ -4,6 +4,7 @@ import com.tothapplication.TothApplicationApp;
 import com.tothapplication.config.Constants;
 import com.tothapplication.domain.User;
 import com.tothapplication.repository.UserRepository;
+import com.tothapplication.security.jwt.TokenProvider;
 import com.tothapplication.service.dto.UserDTO;
 import com.tothapplication.service.util.RandomUtil;
 
@@ -17,11 +18,13 @@ import org.springframework.data.auditing.AuditingHandler;
 import org.springframework.data.auditing.DateTimeProvider;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.Optional;
 import java.util.List;
 
@@ -56,6 +59,9 @@ public class UserServiceIT {
     @Autowired
     private AuditingHandler auditingHandler;
 
+    @Autowired
+    private TokenProvider tokenProvider;
+
     @Mock
     private DateTimeProvider dateTimeProvider;
 
@@ -151,6 +157,22 @@ public class UserServiceIT {
         userRepository.delete(user);
     }
 
+    @Test
+    @Transactional
+    public void assertThatResetPasswordRevokesTheTokensOfTheUser() {
+        user.setResetDate(Instant.now().minus(2, ChronoUnit.HOURS));
+        user.setResetKey(RandomUtil.generateResetKey());
+        userRepository.saveAndFlush(user);
+        String token = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken(DEFAULT_LOGIN, null, Collections.emptyList()), false);
+        assertThat(tokenProvider.validateToken(token)).isTrue();
+
+        userService.completePasswordReset("johndoe2", user.getResetKey());
+
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+        userRepository.delete(user);
+    }
+
     @Test
     @Transactional
     public void assertThatNotActivatedUsersWithNotNullActivationKeyCreatedBefore3DaysAreDeleted() {
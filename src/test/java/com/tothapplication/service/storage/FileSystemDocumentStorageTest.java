@@ -0,0 +1,155 @@
+package com.tothapplication.service.storage;
+
+import com.tothapplication.config.FileStorageProperties;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.FileSystemUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FileSystemDocumentStorageTest {
+
+    private static final byte[] CONTENT = "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final String SHA256 = "9f9f5111f7b27a781f1f1ddde5ebc2dd2b796bfc7365c9c28b548e564176929f";
+
+    private Path uploadDir;
+
+    private FileStorageProperties fileStorageProperties;
+
+    private FileSystemDocumentStorage documentStorage;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        uploadDir = Files.createTempDirectory("document-storage");
+        fileStorageProperties = new FileStorageProperties();
+        fileStorageProperties.setUploadDir(uploadDir.toString());
+        documentStorage = new FileSystemDocumentStorage(fileStorageProperties);
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        documentStorage.destroy();
+        FileSystemUtils.deleteRecursively(uploadDir);
+    }
+
+    @Test
+    public void testStoreInShardedLayout() throws IOException {
+        StoredFile storedFile = documentStorage.store(new ByteArrayInputStream(CONTENT));
+
+        assertThat(storedFile.getSha256()).isEqualTo(SHA256);
+        assertThat(storedFile.getSize()).isEqualTo(CONTENT.length);
+        Path location = uploadDir.resolve("9f").resolve("9f").resolve(SHA256);
+        assertThat(documentStorage.find(SHA256)).contains(location);
+        assertThat(Files.readAllBytes(location)).isEqualTo(CONTENT);
+        assertThat(countTemporaryFiles()).isZero();
+    }
+
+    @Test
+    public void testStoreIdenticalFilesConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<StoredFile>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(executor.submit(() -> documentStorage.store(new ByteArrayInputStream(CONTENT))));
+            }
+            for (Future<StoredFile> result : results) {
+                assertThat(result.get().getSha256()).isEqualTo(SHA256);
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(Files.readAllBytes(documentStorage.find(SHA256).get())).isEqualTo(CONTENT);
+        assertThat(countTemporaryFiles()).isZero();
+    }
+
+    @Test
+    public void testStoreWithoutFsync() throws IOException {
+        documentStorage.destroy();
+        fileStorageProperties.getStorage().getFsync().setEnabled(false);
+        documentStorage = new FileSystemDocumentStorage(fileStorageProperties);
+
+        documentStorage.store(new ByteArrayInputStream(CONTENT));
+
+        assertThat(documentStorage.find(SHA256)).isPresent();
+    }
+
+    @Test
+    public void testReshard() throws IOException {
+        documentStorage.store(new ByteArrayInputStream(CONTENT));
+        documentStorage.destroy();
+        fileStorageProperties.getStorage().setShardDepth(3);
+        fileStorageProperties.getStorage().setShardWidth(1);
+        documentStorage = new FileSystemDocumentStorage(fileStorageProperties);
+
+        // Still found at its previous location until re-sharded
+        assertThat(documentStorage.find(SHA256)).contains(uploadDir.resolve("9f").resolve("9f").resolve(SHA256));
+
+        assertThat(documentStorage.reshard()).isEqualTo(1);
+
+        Path location = uploadDir.resolve("9").resolve("f").resolve("9").resolve(SHA256);
+        assertThat(documentStorage.find(SHA256)).contains(location);
+        assertThat(Files.readAllBytes(location)).isEqualTo(CONTENT);
+        assertThat(documentStorage.reshard()).isEqualTo(0);
+    }
+
+    @Test
+    public void testReshardMovesTheDerivedFiles() throws IOException {
+        documentStorage.store(new ByteArrayInputStream(CONTENT));
+        Path previousLocation = uploadDir.resolve("9f").resolve("9f");
+        Files.write(previousLocation.resolve(SHA256 + "-64.jpg"), CONTENT);
+        Files.write(previousLocation.resolve(SHA256 + "-256.png"), CONTENT);
+        documentStorage.destroy();
+        fileStorageProperties.getStorage().setShardDepth(1);
+        documentStorage = new FileSystemDocumentStorage(fileStorageProperties);
+
+        assertThat(documentStorage.reshard()).isEqualTo(1);
+
+        Path location = uploadDir.resolve("9f");
+        assertThat(documentStorage.find(SHA256)).contains(location.resolve(SHA256));
+        assertThat(location.resolve(SHA256 + "-64.jpg")).exists();
+        assertThat(location.resolve(SHA256 + "-256.png")).exists();
+        assertThat(previousLocation.resolve(SHA256 + "-64.jpg")).doesNotExist();
+        assertThat(previousLocation.resolve(SHA256 + "-256.png")).doesNotExist();
+        assertThat(documentStorage.reshard()).isEqualTo(0);
+    }
+
+    @Test
+    public void testFindLegacy() throws IOException {
+        Files.write(uploadDir.resolve("handout.pdf"), CONTENT);
+
+        assertThat(documentStorage.findLegacy("handout.pdf")).contains(uploadDir.resolve("handout.pdf"));
+        assertThat(documentStorage.findLegacy("../handout.pdf")).isEmpty();
+        assertThat(documentStorage.findLegacy("missing.pdf")).isEmpty();
+
+        documentStorage.deleteLegacy("handout.pdf");
+
+        assertThat(documentStorage.findLegacy("handout.pdf")).isEmpty();
+    }
+
+    @Test
+    public void testFindInvalidDigest() {
+        assertThat(documentStorage.find("../../etc/passwd")).isEmpty();
+        assertThat(documentStorage.find(null)).isEmpty();
+    }
+
+    private long countTemporaryFiles() throws IOException {
+        try (Stream<Path> files = Files.list(uploadDir.resolve(".tmp"))) {
+            return files.count();
+        }
+    }
+}
@@ -6,6 +6,10 @@ import com.tothapplication.domain.PersistentAuditEvent;
 import com.tothapplication.repository.PersistenceAuditEventRepository;
 
 import com.tothapplication.service.AuditEventService;
+import com.tothapplication.web.rest.errors.ExceptionTranslator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
@@ -17,13 +21,17 @@ import org.springframework.format.support.FormattingConversionService;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.EntityManager;
+import java.net.URI;
 import java.time.Instant;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -55,6 +63,15 @@ public class AuditResourceIT {
     @Autowired
     private PageableHandlerMethodArgumentResolver pageableArgumentResolver;
 
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private EntityManager em;
+
     private PersistentAuditEvent auditEvent;
 
     private MockMvc restAuditMockMvc;
@@ -63,10 +80,11 @@ public class AuditResourceIT {
     public void setup() {
         MockitoAnnotations.initMocks(this);
         AuditEventService auditEventService =
-            new AuditEventService(auditEventRepository, auditEventConverter);
-        AuditResource auditResource = new AuditResource(auditEventService);
+            new AuditEventService(auditEventRepository, auditEventConverter, em);
+        AuditResource auditResource = new AuditResource(auditEventService, objectMapper);
         this.restAuditMockMvc = MockMvcBuilders.standaloneSetup(auditResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
+            .setControllerAdvice(exceptionTranslator)
             .setConversionService(formattingConversionService)
             .setMessageConverters(jacksonMessageConverter).build();
     }
@@ -136,6 +154,74 @@ public class AuditResourceIT {
             .andExpect(header().string("X-Total-Count", "0"));
     }
 
+    @Test
+    public void getAuditsByDateAfterCursor() throws Exception {
+        // Initialize the database
+        PersistentAuditEvent newest = saveAuditEvent(SAMPLE_TIMESTAMP.plusSeconds(60));
+        PersistentAuditEvent sameDate1 = saveAuditEvent(SAMPLE_TIMESTAMP);
+        PersistentAuditEvent sameDate2 = saveAuditEvent(SAMPLE_TIMESTAMP);
+        String fromDate = SAMPLE_TIMESTAMP.minusSeconds(SECONDS_PER_DAY).toString().substring(0, 10);
+        String toDate = SAMPLE_TIMESTAMP.plusSeconds(SECONDS_PER_DAY).toString().substring(0, 10);
+
+        // Get the first page, newest first then by descending id
+        MvcResult firstPage = restAuditMockMvc.perform(get("/management/audits?fromDate=" + fromDate + "&toDate=" + toDate + "&cursor=&size=2"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(2))
+            .andExpect(jsonPath("$.[0].timestamp").value(newest.getAuditEventDate().toString()))
+            .andExpect(jsonPath("$.[1].data.sequence").value(String.valueOf(Math.max(sameDate1.getId(), sameDate2.getId()))))
+            .andExpect(header().string("Link", startsWith("<")))
+            .andReturn();
+
+        // Follow the link to the last page
+        String link = firstPage.getResponse().getHeader("Link");
+        restAuditMockMvc.perform(get(URI.create(link.substring(1, link.indexOf('>')))))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.length()").value(1))
+            .andExpect(jsonPath("$.[0].data.sequence").value(String.valueOf(Math.min(sameDate1.getId(), sameDate2.getId()))))
+            .andExpect(header().doesNotExist("Link"));
+    }
+
+    @Test
+    public void getAuditsByDateAfterCursorFetchesTheDataOnce() throws Exception {
+        String fromDate = SAMPLE_TIMESTAMP.minusSeconds(SECONDS_PER_DAY).toString().substring(0, 10);
+        String toDate = SAMPLE_TIMESTAMP.plusSeconds(SECONDS_PER_DAY).toString().substring(0, 10);
+        String url = "/management/audits?fromDate=" + fromDate + "&toDate=" + toDate + "&cursor=&size=20";
+        saveAuditEvent(SAMPLE_TIMESTAMP);
+        long statements = countStatements(url);
+
+        // Validate the number of statements does not depend on the number of audit events
+        for (int i = 0; i < 3; i++) {
+            saveAuditEvent(SAMPLE_TIMESTAMP);
+        }
+        assertThat(countStatements(url)).isEqualTo(statements);
+    }
+
+    @Test
+    public void getAuditsByDateWithInvalidCursor() throws Exception {
+        restAuditMockMvc.perform(get("/management/audits?fromDate=2015-08-03&toDate=2015-08-05&cursor=invalid"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void exportAuditsByDate() throws Exception {
+        // Initialize the database
+        saveAuditEvent(SAMPLE_TIMESTAMP);
+        saveAuditEvent(SAMPLE_TIMESTAMP.plusSeconds(60));
+        saveAuditEvent(SAMPLE_TIMESTAMP.minusSeconds(3 * SECONDS_PER_DAY));
+
+        // Export the audits of the period, one per line
+        String body = restAuditMockMvc.perform(get("/management/audits/export?fromDate=2015-08-03&toDate=2015-08-05"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("application/x-ndjson"))
+            .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertThat(lines.length).isEqualTo(2);
+        assertThat(body).endsWith("\n");
+        assertThat(objectMapper.readTree(lines[0]).get("timestamp").asText()).isEqualTo(SAMPLE_TIMESTAMP.plusSeconds(60).toString());
+        assertThat(objectMapper.readTree(lines[1]).get("principal").asText()).isEqualTo(SAMPLE_PRINCIPAL);
+    }
+
     @Test
     public void getNonExistingAudit() throws Exception {
         // Get the audit
@@ -157,4 +243,28 @@ public class AuditResourceIT {
         auditEvent1.setId(null);
         assertThat(auditEvent1).isNotEqualTo(auditEvent2);
     }
+
+    private PersistentAuditEvent saveAuditEvent(Instant date) {
+        PersistentAuditEvent persistentAuditEvent = new PersistentAuditEvent();
+        persistentAuditEvent.setAuditEventType(SAMPLE_TYPE);
+        persistentAuditEvent.setPrincipal(SAMPLE_PRINCIPAL);
+        persistentAuditEvent.setAuditEventDate(date);
+        auditEventRepository.saveAndFlush(persistentAuditEvent);
+        persistentAuditEvent.getData().put("sequence", String.valueOf(persistentAuditEvent.getId()));
+        return auditEventRepository.saveAndFlush(persistentAuditEvent);
+    }
+
+    private long countStatements(String url) throws Exception {
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            restAuditMockMvc.perform(get(url)).andExpect(status().isOk());
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
 }
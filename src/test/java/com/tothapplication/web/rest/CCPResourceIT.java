@@ -3,6 +3,7 @@ package com.tothapplication.web.rest;
 import com.tothapplication.TothApplicationApp;
 import com.tothapplication.domain.CCP;
 import com.tothapplication.repository.CCPRepository;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.CCPService;
 import com.tothapplication.service.dto.CCPDTO;
 import com.tothapplication.service.mapper.CCPMapper;
@@ -68,6 +69,9 @@ public class CCPResourceIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private EntityETagService entityETagService;
+
     @Autowired
     private EntityManager em;
 
@@ -81,7 +85,7 @@ public class CCPResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final CCPResource cCPResource = new CCPResource(cCPService);
+        final CCPResource cCPResource = new CCPResource(cCPService, entityETagService);
         this.restCCPMockMvc = MockMvcBuilders.standaloneSetup(cCPResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -193,7 +197,7 @@ public class CCPResourceIT {
     
     @SuppressWarnings({"unchecked"})
     public void getAllCCPSWithEagerRelationshipsIsEnabled() throws Exception {
-        CCPResource cCPResource = new CCPResource(cCPServiceMock);
+        CCPResource cCPResource = new CCPResource(cCPServiceMock, entityETagService);
         when(cCPServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         MockMvc restCCPMockMvc = MockMvcBuilders.standaloneSetup(cCPResource)
@@ -210,7 +214,7 @@ public class CCPResourceIT {
 
     @SuppressWarnings({"unchecked"})
     public void getAllCCPSWithEagerRelationshipsIsNotEnabled() throws Exception {
-        CCPResource cCPResource = new CCPResource(cCPServiceMock);
+        CCPResource cCPResource = new CCPResource(cCPServiceMock, entityETagService);
             when(cCPServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
             MockMvc restCCPMockMvc = MockMvcBuilders.standaloneSetup(cCPResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
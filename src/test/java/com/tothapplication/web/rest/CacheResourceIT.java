@@ -0,0 +1,131 @@
+package com.tothapplication.web.rest;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.domain.Authority;
+import com.tothapplication.repository.UserRepository;
+import com.tothapplication.service.CacheRegionService;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.hasItem;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link CacheResource} REST controller.
+ */
+@SpringBootTest(classes = TothApplicationApp.class)
+public class CacheResourceIT {
+
+    @Autowired
+    private CacheRegionService cacheRegionService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    private MockMvc restCacheMockMvc;
+
+    private Cache<Object, Object> cache;
+
+    @BeforeEach
+    public void setup() {
+        CacheResource cacheResource = new CacheResource(cacheRegionService);
+        this.restCacheMockMvc = MockMvcBuilders.standaloneSetup(cacheResource)
+            .setMessageConverters(jacksonMessageConverter).build();
+        cache = cacheManager.getCache(UserRepository.USERS_BY_LOGIN_CACHE);
+        cache.clear();
+    }
+
+    @Test
+    public void getAllCaches() throws Exception {
+        cache.put("admin", "admin");
+
+        restCacheMockMvc.perform(get("/management/caches"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.[*].name").value(hasItem(UserRepository.USERS_BY_LOGIN_CACHE)))
+            .andExpect(jsonPath("$.[*].name").value(hasItem(Authority.class.getName())));
+    }
+
+    @Test
+    public void getCache() throws Exception {
+        long hits = cacheRegionService.findOne(UserRepository.USERS_BY_LOGIN_CACHE).get().getHits();
+        cache.put("admin", "admin");
+        cache.get("admin");
+
+        restCacheMockMvc.perform(get("/management/caches/{name}", UserRepository.USERS_BY_LOGIN_CACHE))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(UserRepository.USERS_BY_LOGIN_CACHE))
+            .andExpect(jsonPath("$.size").value(1))
+            .andExpect(jsonPath("$.tierSizes.OnHeap").value(1))
+            .andExpect(jsonPath("$.hits").value(hits + 1));
+    }
+
+    @Test
+    public void getCacheWithDotsInName() throws Exception {
+        restCacheMockMvc.perform(get("/management/caches/{name}", Authority.class.getName()))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.name").value(Authority.class.getName()));
+    }
+
+    @Test
+    public void getNonExistingCache() throws Exception {
+        restCacheMockMvc.perform(get("/management/caches/{name}", "unknown"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void clearCache() throws Exception {
+        cache.put("admin", "admin");
+        Cache<Object, Object> otherCache = cacheManager.getCache(UserRepository.USERS_BY_EMAIL_CACHE);
+        otherCache.put("admin@localhost", "admin");
+
+        restCacheMockMvc.perform(delete("/management/caches/{name}", UserRepository.USERS_BY_LOGIN_CACHE))
+            .andExpect(status().isNoContent());
+
+        assertThat(cache.containsKey("admin")).isFalse();
+        assertThat(otherCache.containsKey("admin@localhost")).isTrue();
+        otherCache.clear();
+    }
+
+    @Test
+    public void clearNonExistingCache() throws Exception {
+        restCacheMockMvc.perform(delete("/management/caches/{name}", "unknown"))
+            .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void cacheMetricsArePublished() {
+        cache.put("admin", "admin");
+        cache.get("admin");
+        cache.get("user");
+
+        assertThat(meterRegistry.get("cache.size").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get("cache.tier.size").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).tag("tier", "OnHeap").gauge().value())
+            .isEqualTo(1);
+        assertThat(meterRegistry.get("cache.expirations").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).functionCounter().count())
+            .isEqualTo(0);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).tag("result", "hit")
+            .tag("cacheManager", "cacheManager").functionCounter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("cache.gets").tag("cache", UserRepository.USERS_BY_LOGIN_CACHE).tag("result", "miss")
+            .functionCounter().count()).isGreaterThanOrEqualTo(1);
+        assertThat(meterRegistry.get("cache.puts").tag("cache", Authority.class.getName()).functionCounter()).isNotNull();
+    }
+}
@@ -1,9 +1,14 @@
 package com.tothapplication.web.rest;
 
 import com.tothapplication.TothApplicationApp;
+import com.tothapplication.config.FileStorageProperties;
 import com.tothapplication.domain.Document;
+import com.tothapplication.domain.FormationSession;
 import com.tothapplication.repository.DocumentRepository;
+import com.tothapplication.repository.FormationSessionRepository;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.DocumentService;
+import com.tothapplication.service.ThumbnailService;
 import com.tothapplication.service.dto.DocumentDTO;
 import com.tothapplication.service.mapper.DocumentMapper;
 import com.tothapplication.web.rest.errors.ExceptionTranslator;
@@ -14,18 +19,34 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.ByteArrayHttpMessageConverter;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.springframework.validation.Validator;
 
+import javax.imageio.ImageIO;
 import javax.persistence.EntityManager;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.tothapplication.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -46,15 +67,27 @@ public class DocumentResourceIT {
     private static final String DEFAULT_FILENAME = "AAAAAAAAAA";
     private static final String UPDATED_FILENAME = "BBBBBBBBBB";
 
+    private static final byte[] FILE_CONTENT = "0123456789abcdef".getBytes(StandardCharsets.UTF_8);
+    private static final String FILE_SHA256 = "9f9f5111f7b27a781f1f1ddde5ebc2dd2b796bfc7365c9c28b548e564176929f";
+
     @Autowired
     private DocumentRepository documentRepository;
 
+    @Autowired
+    private FormationSessionRepository formationSessionRepository;
+
     @Autowired
     private DocumentMapper documentMapper;
 
     @Autowired
     private DocumentService documentService;
 
+    @Autowired
+    private ThumbnailService thumbnailService;
+
+    @Autowired
+    private FileStorageProperties fileStorageProperties;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -64,9 +97,15 @@ public class DocumentResourceIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private EntityETagService entityETagService;
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
     private Validator validator;
 
@@ -77,12 +116,12 @@ public class DocumentResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final DocumentResource documentResource = new DocumentResource(documentService);
+        final DocumentResource documentResource = new DocumentResource(documentService, thumbnailService, entityETagService);
         this.restDocumentMockMvc = MockMvcBuilders.standaloneSetup(documentResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
             .setConversionService(createFormattingConversionService())
-            .setMessageConverters(jacksonMessageConverter)
+            .setMessageConverters(jacksonMessageConverter, new ByteArrayHttpMessageConverter())
             .setValidator(validator).build();
     }
 
@@ -326,6 +365,223 @@ public class DocumentResourceIT {
         assertThat(documentList).hasSize(databaseSizeBeforeDelete - 1);
     }
 
+    @Test
+    @Transactional
+    public void downloadDocumentFile() throws Exception {
+        // Initialize the database
+        documentRepository.saveAndFlush(document);
+        restDocumentMockMvc.perform(multipart("/api/documents/{id}/upload", document.getId())
+            .file(new MockMultipartFile("file", "download.txt", "text/plain", FILE_CONTENT)))
+            .andExpect(status().isOk());
+        assertThat(documentRepository.findById(document.getId()).get().getContentType()).isEqualTo("text/plain");
+
+        // Download the whole file
+        restDocumentMockMvc.perform(get("/api/documents/{id}/download", document.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentTypeCompatibleWith("text/plain"))
+            .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, FILE_CONTENT.length))
+            .andExpect(content().bytes(FILE_CONTENT));
+    }
+
+    @Test
+    @Transactional
+    public void uploadIdenticalDocumentFiles() throws Exception {
+        // Initialize the database
+        documentRepository.saveAndFlush(document);
+        Document otherDocument = createEntity(em);
+        documentRepository.saveAndFlush(otherDocument);
+
+        // Upload the same content twice, under two names
+        restDocumentMockMvc.perform(multipart("/api/documents/{id}/upload", document.getId())
+            .file(new MockMultipartFile("file", "handout.txt", "text/plain", FILE_CONTENT)))
+            .andExpect(status().isOk());
+        restDocumentMockMvc.perform(multipart("/api/documents/{id}/upload", otherDocument.getId())
+            .file(new MockMultipartFile("file", "handout-copy.txt", "text/plain", FILE_CONTENT)))
+            .andExpect(status().isOk());
+
+        // Validate both documents share the same content-addressed file
+        Document testDocument = documentRepository.findById(document.getId()).get();
+        Document testOtherDocument = documentRepository.findById(otherDocument.getId()).get();
+        assertThat(testDocument.getFilename()).isEqualTo("handout.txt");
+        assertThat(testOtherDocument.getFilename()).isEqualTo("handout-copy.txt");
+        assertThat(testDocument.getSha256()).isEqualTo(FILE_SHA256);
+        assertThat(testOtherDocument.getSha256()).isEqualTo(FILE_SHA256);
+        assertThat(testDocument.getFileSize()).isEqualTo(FILE_CONTENT.length);
+        Path storedFile = Paths.get(fileStorageProperties.getUploadDir(),
+            FILE_SHA256.substring(0, 2), FILE_SHA256.substring(2, 4), FILE_SHA256);
+        assertThat(Files.readAllBytes(storedFile)).isEqualTo(FILE_CONTENT);
+
+        // Updating the document keeps its file
+        DocumentDTO documentDTO = documentMapper.toDto(testDocument);
+        documentDTO.setSha256(null);
+        documentDTO.setFileSize(null);
+        restDocumentMockMvc.perform(put("/api/documents")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(documentDTO)))
+            .andExpect(status().isOk());
+        assertThat(documentRepository.findById(document.getId()).get().getSha256()).isEqualTo(FILE_SHA256);
+    }
+
+    @Test
+    public void uploadDocumentFilesToFormationSession() throws Exception {
+        // Initialize the database, committed as the files are stored outside of any transaction
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        FormationSession formationSession = transactionTemplate.execute(status ->
+            formationSessionRepository.saveAndFlush(FormationSessionResourceIT.createEntity(em)));
+        int databaseSizeBeforeUpload = documentRepository.findAll().size();
+
+        try {
+            restDocumentMockMvc.perform(multipart("/api/documents/bulk")
+                .file(new MockMultipartFile("files", "course.txt", "text/plain", FILE_CONTENT))
+                .file(new MockMultipartFile("files", "../exercise.txt", "text/plain", FILE_CONTENT))
+                .file(new MockMultipartFile("files", "exercise.txt", "text/plain", "exercise".getBytes(StandardCharsets.UTF_8)))
+                .param("type", TypeDocument.COURSE.toString())
+                .param("formationSessionId", formationSession.getId().toString()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.[*].filename").value(contains("course.txt", "../exercise.txt", "exercise.txt")))
+                .andExpect(jsonPath("$.[*].stored").value(contains(true, false, true)))
+                .andExpect(jsonPath("$.[0].document.sha256").value(FILE_SHA256))
+                .andExpect(jsonPath("$.[2].document.type").value(TypeDocument.COURSE.toString()));
+
+            // Validate the stored files are attached to the formation session
+            assertThat(documentRepository.findAll()).hasSize(databaseSizeBeforeUpload + 2);
+            transactionTemplate.execute(status -> {
+                assertThat(formationSessionRepository.findById(formationSession.getId()).get().getDocuments())
+                    .extracting(Document::getFilename).containsExactlyInAnyOrder("course.txt", "exercise.txt");
+                return null;
+            });
+        } finally {
+            transactionTemplate.execute(status -> {
+                FormationSession testFormationSession = formationSessionRepository.findById(formationSession.getId()).get();
+                List<Document> documents = new ArrayList<>(testFormationSession.getDocuments());
+                formationSessionRepository.delete(testFormationSession);
+                formationSessionRepository.flush();
+                documentRepository.deleteAll(documents);
+                return null;
+            });
+        }
+    }
+
+    @Test
+    @Transactional
+    public void uploadDocumentFilesToFormationSessionAndCCP() throws Exception {
+        restDocumentMockMvc.perform(multipart("/api/documents/bulk")
+            .file(new MockMultipartFile("files", "course.txt", "text/plain", FILE_CONTENT))
+            .param("type", TypeDocument.COURSE.toString())
+            .param("formationSessionId", "1")
+            .param("ccpId", "1"))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void uploadDocumentFilesToNonExistingFormationSession() throws Exception {
+        int databaseSizeBeforeUpload = documentRepository.findAll().size();
+
+        restDocumentMockMvc.perform(multipart("/api/documents/bulk")
+            .file(new MockMultipartFile("files", "orphan.txt", "text/plain", "orphan".getBytes(StandardCharsets.UTF_8)))
+            .param("type", TypeDocument.COURSE.toString())
+            .param("formationSessionId", Long.toString(Long.MAX_VALUE)))
+            .andExpect(status().isBadRequest());
+
+        // Validate no file was stored without its document
+        String sha256 = "88f6811ab5d8fc6d3177f9b7609ae0fcebfda187e5046b62d38bb539e88b74d7";
+        assertThat(Paths.get(fileStorageProperties.getUploadDir(), sha256.substring(0, 2), sha256.substring(2, 4), sha256))
+            .doesNotExist();
+        assertThat(documentRepository.findAll()).hasSize(databaseSizeBeforeUpload);
+    }
+
+    @Test
+    @Transactional
+    public void getDocumentThumbnail() throws Exception {
+        // Initialize the database
+        BufferedImage image = new BufferedImage(600, 300, BufferedImage.TYPE_INT_RGB);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        documentRepository.saveAndFlush(document);
+        restDocumentMockMvc.perform(multipart("/api/documents/{id}/upload", document.getId())
+            .file(new MockMultipartFile("file", "photo.png", "image/png", png.toByteArray())))
+            .andExpect(status().isOk());
+
+        // Get the thumbnail, generated then stored next to the original
+        byte[] thumbnail = restDocumentMockMvc.perform(get("/api/documents/{id}/thumbnail?size=64", document.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.IMAGE_JPEG))
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn().getResponse().getContentAsByteArray();
+        BufferedImage testThumbnail = ImageIO.read(new ByteArrayInputStream(thumbnail));
+        assertThat(testThumbnail.getWidth()).isEqualTo(64);
+        assertThat(testThumbnail.getHeight()).isEqualTo(32);
+        String sha256 = documentRepository.findById(document.getId()).get().getSha256();
+        Path storedThumbnail = Paths.get(fileStorageProperties.getUploadDir(),
+            sha256.substring(0, 2), sha256.substring(2, 4), sha256 + "-64.jpg");
+        assertThat(Files.readAllBytes(storedThumbnail)).isEqualTo(thumbnail);
+
+        // Revalidate it
+        String eTag = restDocumentMockMvc.perform(get("/api/documents/{id}/thumbnail?size=64", document.getId()))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        restDocumentMockMvc.perform(get("/api/documents/{id}/thumbnail?size=64", document.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @Transactional
+    public void getDocumentThumbnailOfUnsupportedSize() throws Exception {
+        documentRepository.saveAndFlush(document);
+
+        restDocumentMockMvc.perform(get("/api/documents/{id}/thumbnail?size=100", document.getId()))
+            .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @Transactional
+    public void downloadDocumentFileRange() throws Exception {
+        // Initialize the database
+        documentRepository.saveAndFlush(document);
+        restDocumentMockMvc.perform(multipart("/api/documents/{id}/upload", document.getId())
+            .file(new MockMultipartFile("file", "range.txt", "text/plain", FILE_CONTENT)))
+            .andExpect(status().isOk());
+
+        // Download a single range
+        String eTag = restDocumentMockMvc.perform(get("/api/documents/{id}/download", document.getId())
+            .header(HttpHeaders.RANGE, "bytes=2-5"))
+            .andExpect(status().isPartialContent())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes 2-5/" + FILE_CONTENT.length))
+            .andExpect(header().longValue(HttpHeaders.CONTENT_LENGTH, 4))
+            .andExpect(content().bytes(Arrays.copyOfRange(FILE_CONTENT, 2, 6)))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Download a suffix range guarded by a matching If-Range
+        restDocumentMockMvc.perform(get("/api/documents/{id}/download", document.getId())
+            .header(HttpHeaders.RANGE, "bytes=-3")
+            .header(HttpHeaders.IF_RANGE, eTag))
+            .andExpect(status().isPartialContent())
+            .andExpect(content().bytes(Arrays.copyOfRange(FILE_CONTENT, FILE_CONTENT.length - 3, FILE_CONTENT.length)));
+
+        // A stale If-Range gets the whole file
+        restDocumentMockMvc.perform(get("/api/documents/{id}/download", document.getId())
+            .header(HttpHeaders.RANGE, "bytes=2-5")
+            .header(HttpHeaders.IF_RANGE, "\"stale\""))
+            .andExpect(status().isOk())
+            .andExpect(content().bytes(FILE_CONTENT));
+
+        // A range past the end of the file is not satisfiable
+        restDocumentMockMvc.perform(get("/api/documents/{id}/download", document.getId())
+            .header(HttpHeaders.RANGE, "bytes=" + FILE_CONTENT.length + "-"))
+            .andExpect(status().isRequestedRangeNotSatisfiable())
+            .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + FILE_CONTENT.length));
+    }
+
+    @Test
+    @Transactional
+    public void downloadNonExistingDocumentFile() throws Exception {
+        restDocumentMockMvc.perform(get("/api/documents/{id}/download", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
     @Test
     @Transactional
     public void equalsVerifier() throws Exception {
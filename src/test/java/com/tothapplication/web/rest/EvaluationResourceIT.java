@@ -3,6 +3,7 @@ package com.tothapplication.web.rest;
 import com.tothapplication.TothApplicationApp;
 import com.tothapplication.domain.Evaluation;
 import com.tothapplication.repository.EvaluationRepository;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.EvaluationService;
 import com.tothapplication.service.dto.EvaluationDTO;
 import com.tothapplication.service.mapper.EvaluationMapper;
@@ -65,6 +66,9 @@ public class EvaluationResourceIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private EntityETagService entityETagService;
+
     @Autowired
     private EntityManager em;
 
@@ -78,7 +82,7 @@ public class EvaluationResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final EvaluationResource evaluationResource = new EvaluationResource(evaluationService);
+        final EvaluationResource evaluationResource = new EvaluationResource(evaluationService, entityETagService);
         this.restEvaluationMockMvc = MockMvcBuilders.standaloneSetup(evaluationResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -1,8 +1,10 @@
 package com.tothapplication.web.rest;
 
 import com.tothapplication.TothApplicationApp;
+import com.tothapplication.domain.CCP;
 import com.tothapplication.domain.Formation;
 import com.tothapplication.repository.FormationRepository;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.FormationService;
 import com.tothapplication.service.dto.FormationDTO;
 import com.tothapplication.service.mapper.FormationMapper;
@@ -17,6 +19,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.PageableHandlerMethodArgumentResolver;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
 import org.springframework.test.web.servlet.MockMvc;
@@ -30,7 +33,9 @@ import java.util.List;
 
 import static com.tothapplication.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.startsWith;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -71,6 +76,9 @@ public class FormationResourceIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private EntityETagService entityETagService;
+
     @Autowired
     private EntityManager em;
 
@@ -84,7 +92,7 @@ public class FormationResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final FormationResource formationResource = new FormationResource(formationService);
+        final FormationResource formationResource = new FormationResource(formationService, entityETagService);
         this.restFormationMockMvc = MockMvcBuilders.standaloneSetup(formationResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -200,7 +208,7 @@ public class FormationResourceIT {
     
     @SuppressWarnings({"unchecked"})
     public void getAllFormationsWithEagerRelationshipsIsEnabled() throws Exception {
-        FormationResource formationResource = new FormationResource(formationServiceMock);
+        FormationResource formationResource = new FormationResource(formationServiceMock, entityETagService);
         when(formationServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         MockMvc restFormationMockMvc = MockMvcBuilders.standaloneSetup(formationResource)
@@ -217,7 +225,7 @@ public class FormationResourceIT {
 
     @SuppressWarnings({"unchecked"})
     public void getAllFormationsWithEagerRelationshipsIsNotEnabled() throws Exception {
-        FormationResource formationResource = new FormationResource(formationServiceMock);
+        FormationResource formationResource = new FormationResource(formationServiceMock, entityETagService);
             when(formationServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
             MockMvc restFormationMockMvc = MockMvcBuilders.standaloneSetup(formationResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
@@ -246,6 +254,71 @@ public class FormationResourceIT {
             .andExpect(jsonPath("$.desc").value(DEFAULT_DESC.toString()));
     }
 
+    @Test
+    @Transactional
+    public void getFormationNotModified() throws Exception {
+        // Initialize the database
+        CCP cCP = CCPResourceIT.createEntity(em);
+        em.persist(cCP);
+        CCP otherCCP = CCPResourceIT.createEntity(em);
+        em.persist(otherCCP);
+        formation.addCcp(cCP);
+        formation.addCcp(otherCCP);
+        formationRepository.saveAndFlush(formation);
+
+        // Get the formation, then revalidate it
+        String eTag = restFormationMockMvc.perform(get("/api/formations/{id}", formation.getId()))
+            .andExpect(status().isOk())
+            .andExpect(header().string(HttpHeaders.ETAG, startsWith("W/")))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        restFormationMockMvc.perform(get("/api/formations/{id}", formation.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        // Modify an embedded CCP
+        Thread.sleep(10);
+        cCP.setTitle(UPDATED_LABEL);
+        em.flush();
+        eTag = restFormationMockMvc.perform(get("/api/formations/{id}", formation.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.ccps.[*].title").value(hasItem(UPDATED_LABEL)))
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Remove the CCP modified least recently, in SQL, which modifies neither the formation nor the CCPs
+        em.createNativeQuery("delete from formation_ccp where formation_id = :formationId and ccp_id = :ccpId")
+            .setParameter("formationId", formation.getId())
+            .setParameter("ccpId", otherCCP.getId())
+            .executeUpdate();
+        em.clear();
+        restFormationMockMvc.perform(get("/api/formations/{id}", formation.getId())
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.ccps.[*].id").value(contains(cCP.getId().intValue())));
+    }
+
+    @Test
+    @Transactional
+    public void getAllFormationsNotModified() throws Exception {
+        // Initialize the database
+        formationRepository.saveAndFlush(formation);
+
+        String eTag = restFormationMockMvc.perform(get("/api/formations?sort=id,desc"))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        restFormationMockMvc.perform(get("/api/formations?sort=id,desc")
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isNotModified());
+
+        // Delete a formation
+        formationRepository.delete(formation);
+        formationRepository.flush();
+        restFormationMockMvc.perform(get("/api/formations?sort=id,desc")
+            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+            .andExpect(status().isOk());
+    }
+
     @Test
     @Transactional
     public void getNonExistingFormation() throws Exception {
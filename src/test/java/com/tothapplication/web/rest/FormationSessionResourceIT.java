@@ -1,13 +1,23 @@
 package com.tothapplication.web.rest;
 
 import com.tothapplication.TothApplicationApp;
+import com.tothapplication.domain.Document;
 import com.tothapplication.domain.FormationSession;
+import com.tothapplication.domain.Studient;
+import com.tothapplication.domain.User;
+import com.tothapplication.repository.AuditEventWriter;
 import com.tothapplication.repository.FormationSessionRepository;
+import com.tothapplication.service.EntityETagService;
+import com.tothapplication.service.DocumentService;
 import com.tothapplication.service.FormationSessionService;
 import com.tothapplication.service.dto.FormationSessionDTO;
 import com.tothapplication.service.mapper.FormationSessionMapper;
+import com.tothapplication.service.storage.DocumentStorage;
+import com.tothapplication.service.storage.StoredFile;
 import com.tothapplication.web.rest.errors.ExceptionTranslator;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -22,13 +32,18 @@ import org.springframework.http.converter.json.MappingJackson2HttpMessageConvert
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StreamUtils;
 import org.springframework.validation.Validator;
 
 import javax.persistence.EntityManager;
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.time.ZoneId;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static com.tothapplication.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -64,6 +79,12 @@ public class FormationSessionResourceIT {
     @Autowired
     private FormationSessionService formationSessionService;
 
+    @Autowired
+    private DocumentService documentService;
+
+    @Autowired
+    private DocumentStorage documentStorage;
+
     @Autowired
     private MappingJackson2HttpMessageConverter jacksonMessageConverter;
 
@@ -73,9 +94,15 @@ public class FormationSessionResourceIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private EntityETagService entityETagService;
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private AuditEventWriter auditEventWriter;
+
     @Autowired
     private Validator validator;
 
@@ -86,7 +113,7 @@ public class FormationSessionResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final FormationSessionResource formationSessionResource = new FormationSessionResource(formationSessionService);
+        final FormationSessionResource formationSessionResource = new FormationSessionResource(formationSessionService, documentService, entityETagService);
         this.restFormationSessionMockMvc = MockMvcBuilders.standaloneSetup(formationSessionResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -221,7 +248,7 @@ public class FormationSessionResourceIT {
     
     @SuppressWarnings({"unchecked"})
     public void getAllFormationSessionsWithEagerRelationshipsIsEnabled() throws Exception {
-        FormationSessionResource formationSessionResource = new FormationSessionResource(formationSessionServiceMock);
+        FormationSessionResource formationSessionResource = new FormationSessionResource(formationSessionServiceMock, documentService, entityETagService);
         when(formationSessionServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
 
         MockMvc restFormationSessionMockMvc = MockMvcBuilders.standaloneSetup(formationSessionResource)
@@ -238,7 +265,7 @@ public class FormationSessionResourceIT {
 
     @SuppressWarnings({"unchecked"})
     public void getAllFormationSessionsWithEagerRelationshipsIsNotEnabled() throws Exception {
-        FormationSessionResource formationSessionResource = new FormationSessionResource(formationSessionServiceMock);
+        FormationSessionResource formationSessionResource = new FormationSessionResource(formationSessionServiceMock, documentService, entityETagService);
             when(formationSessionServiceMock.findAllWithEagerRelationships(any())).thenReturn(new PageImpl(new ArrayList<>()));
             MockMvc restFormationSessionMockMvc = MockMvcBuilders.standaloneSetup(formationSessionResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
@@ -252,6 +279,66 @@ public class FormationSessionResourceIT {
             verify(formationSessionServiceMock, times(1)).findAllWithEagerRelationships(any());
     }
 
+    @Test
+    @Transactional
+    public void getAllFormationSessionsWithEagerRelationships() throws Exception {
+        // Initialize the database
+        FormationSession first = createFormationSessionWithRelationships();
+        FormationSession last = createFormationSessionWithRelationships();
+
+        String url = "/api/formation-sessions?eagerload=true&page=0&size=2&sort=id,desc";
+        long statements = countStatements(url);
+
+        // Get the last page of formationSessions with their relationships
+        restFormationSessionMockMvc.perform(get(url))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[0].id").value(last.getId().intValue()))
+            .andExpect(jsonPath("$.[0].studients.length()").value(2))
+            .andExpect(jsonPath("$.[0].documents.length()").value(2))
+            .andExpect(jsonPath("$.[1].id").value(first.getId().intValue()))
+            .andExpect(jsonPath("$.[1].studients.[*].id").value(hasItem(first.getStudients().iterator().next().getId().intValue())))
+            .andExpect(jsonPath("$.[1].documents.length()").value(2));
+
+        // Validate the number of statements does not depend on the number of formationSessions
+        for (int i = 0; i < 3; i++) {
+            createFormationSessionWithRelationships();
+        }
+        assertThat(countStatements(url)).isEqualTo(statements);
+    }
+
+    private FormationSession createFormationSessionWithRelationships() {
+        FormationSession formationSession = createEntity(em);
+        for (int i = 0; i < 2; i++) {
+            User user = UserResourceIT.createEntity(em);
+            em.persist(user);
+            Studient studient = StudientResourceIT.createEntity(em).user(user);
+            em.persist(studient);
+            formationSession.addStudients(studient);
+            Document document = DocumentResourceIT.createEntity(em);
+            em.persist(document);
+            formationSession.addDocuments(document);
+        }
+        em.persist(formationSession);
+        return formationSession;
+    }
+
+    private long countStatements(String url) throws Exception {
+        // The audit events of the previous tests are written before the statements are counted
+        auditEventWriter.flush();
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            restFormationSessionMockMvc.perform(get(url)).andExpect(status().isOk());
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     @Transactional
     public void getFormationSession() throws Exception {
@@ -324,6 +411,61 @@ public class FormationSessionResourceIT {
         assertThat(formationSessionList).hasSize(databaseSizeBeforeUpdate);
     }
 
+    @Test
+    @Transactional
+    public void downloadFormationSessionDocuments() throws Exception {
+        // Initialize the database
+        byte[] text = "handout handout handout handout".getBytes(StandardCharsets.UTF_8);
+        byte[] image = "not really a png".getBytes(StandardCharsets.UTF_8);
+        formationSession.addDocuments(createDocument("handout.txt", "text/plain", text));
+        formationSession.addDocuments(createDocument("handout.txt", "text/plain", text));
+        formationSession.addDocuments(createDocument("diagram.png", "image/png", image));
+        formationSessionRepository.saveAndFlush(formationSession);
+
+        byte[] zip = restFormationSessionMockMvc.perform(get("/api/formation-sessions/{id}/documents.zip", formationSession.getId()))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType("application/zip"))
+            .andExpect(header().string("Content-Disposition",
+                "attachment; filename=\"formation-session-" + formationSession.getId() + "-documents.zip\""))
+            .andReturn().getResponse().getContentAsByteArray();
+
+        // Validate the archive, already compressed files being stored as they are
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream in = new ZipInputStream(new ByteArrayInputStream(zip))) {
+            ZipEntry entry;
+            while ((entry = in.getNextEntry()) != null) {
+                names.add(entry.getName());
+                byte[] content = StreamUtils.copyToByteArray(in);
+                if (entry.getName().endsWith(".png")) {
+                    assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+                    assertThat(content).isEqualTo(image);
+                } else {
+                    assertThat(entry.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+                    assertThat(content).isEqualTo(text);
+                }
+            }
+        }
+        assertThat(names).containsExactlyInAnyOrder("handout.txt", "handout (2).txt", "diagram.png");
+    }
+
+    @Test
+    @Transactional
+    public void downloadNonExistingFormationSessionDocuments() throws Exception {
+        restFormationSessionMockMvc.perform(get("/api/formation-sessions/{id}/documents.zip", Long.MAX_VALUE))
+            .andExpect(status().isNotFound());
+    }
+
+    private Document createDocument(String filename, String contentType, byte[] content) throws Exception {
+        StoredFile storedFile = documentStorage.store(new ByteArrayInputStream(content));
+        Document document = DocumentResourceIT.createEntity(em)
+            .filename(filename)
+            .contentType(contentType)
+            .sha256(storedFile.getSha256())
+            .fileSize(storedFile.getSize());
+        em.persist(document);
+        return document;
+    }
+
     @Test
     @Transactional
     public void deleteFormationSession() throws Exception {
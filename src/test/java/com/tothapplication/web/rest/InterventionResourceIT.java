@@ -3,6 +3,7 @@ package com.tothapplication.web.rest;
 import com.tothapplication.TothApplicationApp;
 import com.tothapplication.domain.Intervention;
 import com.tothapplication.repository.InterventionRepository;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.InterventionService;
 import com.tothapplication.service.dto.InterventionDTO;
 import com.tothapplication.service.mapper.InterventionMapper;
@@ -62,6 +63,9 @@ public class InterventionResourceIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private EntityETagService entityETagService;
+
     @Autowired
     private EntityManager em;
 
@@ -75,7 +79,7 @@ public class InterventionResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final InterventionResource interventionResource = new InterventionResource(interventionService);
+        final InterventionResource interventionResource = new InterventionResource(interventionService, entityETagService);
         this.restInterventionMockMvc = MockMvcBuilders.standaloneSetup(interventionResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -0,0 +1,134 @@
+package com.tothapplication.web.rest;
+
+import com.tothapplication.TothApplicationApp;
+import com.tothapplication.aop.timing.MethodTimingAspect;
+import com.tothapplication.repository.AuthorityRepository;
+import com.tothapplication.repository.UserRepository;
+import com.tothapplication.service.CacheRegionService;
+import com.tothapplication.web.rest.errors.ExceptionTranslator;
+import com.tothapplication.web.rest.vm.MethodTimingVM;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the {@link MethodTimingResource} REST controller.
+ */
+@SpringBootTest(classes = TothApplicationApp.class)
+public class MethodTimingResourceIT {
+
+    @Autowired
+    private MethodTimingAspect methodTimingAspect;
+
+    @Autowired
+    private CacheRegionService cacheRegionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AuthorityRepository authorityRepository;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private MappingJackson2HttpMessageConverter jacksonMessageConverter;
+
+    @Autowired
+    private ExceptionTranslator exceptionTranslator;
+
+    private MockMvc restMethodTimingMockMvc;
+
+    private boolean enabled;
+
+    private double sampleRate;
+
+    @BeforeEach
+    public void setup() {
+        MethodTimingResource methodTimingResource = new MethodTimingResource(methodTimingAspect);
+        this.restMethodTimingMockMvc = MockMvcBuilders.standaloneSetup(methodTimingResource)
+            .setControllerAdvice(exceptionTranslator)
+            .setMessageConverters(jacksonMessageConverter).build();
+        enabled = methodTimingAspect.isEnabled();
+        sampleRate = methodTimingAspect.getSampleRate();
+    }
+
+    @AfterEach
+    public void restoreMethodTiming() {
+        methodTimingAspect.setEnabled(enabled);
+        methodTimingAspect.setSampleRate(sampleRate);
+    }
+
+    @Test
+    public void getMethodTiming() throws Exception {
+        restMethodTimingMockMvc.perform(get("/management/method-timing"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.enabled").value(enabled))
+            .andExpect(jsonPath("$.sampleRate").value(sampleRate));
+    }
+
+    @Test
+    public void configureMethodTiming() throws Exception {
+        restMethodTimingMockMvc.perform(post("/management/method-timing")
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(new MethodTimingVM(true, 1.0))))
+            .andExpect(status().isNoContent());
+
+        cacheRegionService.findAll();
+        Timer timer = meterRegistry.find("method.timed").tag("class", "CacheRegionService").tag("method", "findAll").timer();
+        assertThat(timer).isNotNull();
+        long count = timer.count();
+        assertThat(count).isPositive();
+
+        restMethodTimingMockMvc.perform(post("/management/method-timing")
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(new MethodTimingVM(false, null))))
+            .andExpect(status().isNoContent());
+
+        cacheRegionService.findAll();
+        assertThat(timer.count()).isEqualTo(count);
+        assertThat(methodTimingAspect.getSampleRate()).isEqualTo(1.0);
+    }
+
+    @Test
+    public void configureMethodTimingWithInvalidSampleRate() throws Exception {
+        restMethodTimingMockMvc.perform(post("/management/method-timing")
+            .contentType(MediaType.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(new MethodTimingVM(null, 2.0))))
+            .andExpect(status().isBadRequest());
+
+        assertThat(methodTimingAspect.getSampleRate()).isEqualTo(sampleRate);
+    }
+
+    @Test
+    public void timeInheritedRepositoryMethodsPerRepository() {
+        methodTimingAspect.setEnabled(true);
+        methodTimingAspect.setSampleRate(1.0);
+
+        userRepository.count();
+        authorityRepository.count();
+        authorityRepository.count();
+
+        Timer userTimer = meterRegistry.find("method.timed").tag("class", "UserRepository").tag("method", "count").timer();
+        Timer authorityTimer = meterRegistry.find("method.timed").tag("class", "AuthorityRepository").tag("method", "count").timer();
+        assertThat(userTimer).isNotNull();
+        assertThat(authorityTimer).isNotNull();
+        assertThat(authorityTimer.count()).isGreaterThanOrEqualTo(userTimer.count() + 1);
+        assertThat(meterRegistry.find("method.timed").tag("class", "CrudRepository").timer()).isNull();
+    }
+}
@@ -1,13 +1,20 @@
 package com.tothapplication.web.rest;
 
 import com.tothapplication.TothApplicationApp;
+import com.tothapplication.domain.Document;
+import com.tothapplication.domain.Evaluation;
 import com.tothapplication.domain.Studient;
+import com.tothapplication.domain.User;
+import com.tothapplication.repository.AuditEventWriter;
 import com.tothapplication.repository.StudientRepository;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.StudientService;
 import com.tothapplication.service.dto.StudientDTO;
 import com.tothapplication.service.mapper.StudientMapper;
 import com.tothapplication.web.rest.errors.ExceptionTranslator;
 
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockitoAnnotations;
@@ -29,6 +36,7 @@ import java.util.List;
 import static com.tothapplication.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -59,9 +67,15 @@ public class StudientResourceIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private EntityETagService entityETagService;
+
     @Autowired
     private EntityManager em;
 
+    @Autowired
+    private AuditEventWriter auditEventWriter;
+
     @Autowired
     private Validator validator;
 
@@ -72,7 +86,7 @@ public class StudientResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final StudientResource studientResource = new StudientResource(studientService);
+        final StudientResource studientResource = new StudientResource(studientService, entityETagService, jacksonMessageConverter.getObjectMapper());
         this.restStudientMockMvc = MockMvcBuilders.standaloneSetup(studientResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -163,6 +177,67 @@ public class StudientResourceIT {
             .andExpect(jsonPath("$.[*].birthdate").value(hasItem(DEFAULT_BIRTHDATE.toString())));
     }
     
+    @Test
+    @Transactional
+    public void getAllStudientsWhereEvaluationIsNull() throws Exception {
+        // Initialize the database
+        Studient evaluatedStudient = createStudientWithRelationships();
+        Evaluation evaluation = EvaluationResourceIT.createEntity(em).studient(evaluatedStudient);
+        em.persist(evaluation);
+        Studient studient = createStudientWithRelationships();
+
+        String allUrl = "/api/studients?filter=evaluation-is-null";
+        String pageUrl = "/api/studients?filter=evaluation-is-null&page=0&size=20&sort=id,desc";
+        long allStatements = countStatements(allUrl);
+        long pageStatements = countStatements(pageUrl);
+
+        // Get all the studients without evaluation, streamed then paged
+        restStudientMockMvc.perform(get(allUrl))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(studient.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(evaluatedStudient.getId().intValue()))))
+            .andExpect(jsonPath("$.[*].photoId").value(hasItem(studient.getPhoto().getId().intValue())));
+        restStudientMockMvc.perform(get(pageUrl))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(studient.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(evaluatedStudient.getId().intValue()))));
+
+        // Validate the number of statements does not depend on the number of studients
+        for (int i = 0; i < 5; i++) {
+            createStudientWithRelationships();
+        }
+        assertThat(countStatements(allUrl)).isEqualTo(allStatements);
+        assertThat(countStatements(pageUrl)).isEqualTo(pageStatements);
+    }
+
+    private Studient createStudientWithRelationships() {
+        User user = UserResourceIT.createEntity(em);
+        em.persist(user);
+        Document photo = DocumentResourceIT.createEntity(em);
+        em.persist(photo);
+        Studient studient = createEntity(em).user(user).photo(photo);
+        em.persist(studient);
+        return studient;
+    }
+
+    private long countStatements(String url) throws Exception {
+        // The audit events of the previous tests are written before the statements are counted
+        auditEventWriter.flush();
+        em.flush();
+        em.clear();
+        Statistics statistics = em.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+        try {
+            restStudientMockMvc.perform(get(url)).andExpect(status().isOk());
+            return statistics.getPrepareStatementCount();
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     @Transactional
     public void getStudient() throws Exception {
@@ -1,8 +1,10 @@
 package com.tothapplication.web.rest;
 
 import com.tothapplication.TothApplicationApp;
+import com.tothapplication.domain.Evaluation;
 import com.tothapplication.domain.Trainer;
 import com.tothapplication.repository.TrainerRepository;
+import com.tothapplication.service.EntityETagService;
 import com.tothapplication.service.TrainerService;
 import com.tothapplication.service.dto.TrainerDTO;
 import com.tothapplication.service.mapper.TrainerMapper;
@@ -27,6 +29,7 @@ import java.util.List;
 import static com.tothapplication.web.rest.TestUtil.createFormattingConversionService;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.not;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -54,6 +57,9 @@ public class TrainerResourceIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private EntityETagService entityETagService;
+
     @Autowired
     private EntityManager em;
 
@@ -67,7 +73,7 @@ public class TrainerResourceIT {
     @BeforeEach
     public void setup() {
         MockitoAnnotations.initMocks(this);
-        final TrainerResource trainerResource = new TrainerResource(trainerService);
+        final TrainerResource trainerResource = new TrainerResource(trainerService, entityETagService, jacksonMessageConverter.getObjectMapper());
         this.restTrainerMockMvc = MockMvcBuilders.standaloneSetup(trainerResource)
             .setCustomArgumentResolvers(pageableArgumentResolver)
             .setControllerAdvice(exceptionTranslator)
@@ -154,6 +160,30 @@ public class TrainerResourceIT {
             .andExpect(jsonPath("$.[*].id").value(hasItem(trainer.getId().intValue())));
     }
     
+    @Test
+    @Transactional
+    public void getAllTrainersWhereEvaluationIsNull() throws Exception {
+        // Initialize the database
+        trainerRepository.saveAndFlush(trainer);
+        Trainer evaluatingTrainer = createEntity(em);
+        em.persist(evaluatingTrainer);
+        Evaluation evaluation = EvaluationResourceIT.createEntity(em).trainer(evaluatingTrainer);
+        em.persist(evaluation);
+        em.flush();
+
+        // Get all the trainers without evaluation, streamed then paged
+        restTrainerMockMvc.perform(get("/api/trainers?filter=evaluation-is-null"))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(MediaType.APPLICATION_JSON_UTF8_VALUE))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(trainer.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(evaluatingTrainer.getId().intValue()))));
+        restTrainerMockMvc.perform(get("/api/trainers?filter=evaluation-is-null&page=0&size=20"))
+            .andExpect(status().isOk())
+            .andExpect(header().exists("X-Total-Count"))
+            .andExpect(jsonPath("$.[*].id").value(hasItem(trainer.getId().intValue())))
+            .andExpect(jsonPath("$.[*].id").value(not(hasItem(evaluatingTrainer.getId().intValue()))));
+    }
+
     @Test
     @Transactional
     public void getTrainer() throws Exception {
@@ -3,19 +3,31 @@ package com.tothapplication.web.rest;
 import com.tothapplication.TothApplicationApp;
 import com.tothapplication.domain.User;
 import com.tothapplication.repository.UserRepository;
+import com.tothapplication.security.LoginThrottle;
 import com.tothapplication.security.jwt.TokenProvider;
+import com.tothapplication.service.RefreshTokenService;
+import com.tothapplication.service.TokenRevocationService;
 import com.tothapplication.web.rest.errors.ExceptionTranslator;
 import com.tothapplication.web.rest.vm.LoginVM;
+import com.tothapplication.web.rest.vm.RefreshTokenVM;
+
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
@@ -45,11 +57,21 @@ public class UserJWTControllerIT {
     @Autowired
     private ExceptionTranslator exceptionTranslator;
 
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private LoginThrottle loginThrottle;
+
     private MockMvc mockMvc;
 
     @BeforeEach
     public void setup() {
-        UserJWTController userJWTController = new UserJWTController(tokenProvider, authenticationManager);
+        UserJWTController userJWTController = new UserJWTController(tokenProvider, authenticationManager, tokenRevocationService, refreshTokenService,
+            loginThrottle);
         this.mockMvc = MockMvcBuilders.standaloneSetup(userJWTController)
             .setControllerAdvice(exceptionTranslator)
             .build();
@@ -75,6 +97,7 @@ public class UserJWTControllerIT {
             .andExpect(status().isOk())
             .andExpect(jsonPath("$.id_token").isString())
             .andExpect(jsonPath("$.id_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").isNotEmpty())
             .andExpect(header().string("Authorization", not(nullValue())))
             .andExpect(header().string("Authorization", not(isEmptyString())));
     }
@@ -116,4 +139,154 @@ public class UserJWTControllerIT {
             .andExpect(jsonPath("$.id_token").doesNotExist())
             .andExpect(header().doesNotExist("Authorization"));
     }
+
+    @Test
+    public void testAuthorizeThrottlesTheFailedLogins() throws Exception {
+        LoginVM login = new LoginVM();
+        login.setUsername("throttled-user");
+        login.setPassword("wrong password");
+        for (int i = 0; i < 10; i++) {
+            mockMvc.perform(post("/api/authenticate")
+                .with(request -> {
+                    request.setRemoteAddr("10.0.0.1");
+                    return request;
+                })
+                .contentType(TestUtil.APPLICATION_JSON_UTF8)
+                .content(TestUtil.convertObjectToJsonBytes(login)))
+                .andExpect(status().isUnauthorized());
+        }
+
+        login.setUsername("Throttled-User");
+        mockMvc.perform(post("/api/authenticate")
+            .with(request -> {
+                request.setRemoteAddr("10.0.0.2");
+                return request;
+            })
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string("Retry-After", not(isEmptyString())))
+            .andExpect(jsonPath("$.id_token").doesNotExist());
+    }
+
+    @Test
+    @Transactional
+    public void testAuthorizeDoesNotThrottleTheLoginsFailingForAnotherReason() throws Exception {
+        User user = new User();
+        user.setLogin("user-jwt-controller-not-activated");
+        user.setEmail("user-jwt-controller-not-activated@example.com");
+        user.setActivated(false);
+        user.setPassword(passwordEncoder.encode("test"));
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername("user-jwt-controller-not-activated");
+        login.setPassword("test");
+        for (int i = 0; i < 11; i++) {
+            mockMvc.perform(post("/api/authenticate")
+                .contentType(TestUtil.APPLICATION_JSON_UTF8)
+                .content(TestUtil.convertObjectToJsonBytes(login)))
+                .andExpect(status().isUnauthorized());
+        }
+    }
+
+    @Test
+    @Transactional
+    public void testLogoutRevokesTheToken() throws Exception {
+        String token = tokenProvider.createToken(
+            new UsernamePasswordAuthenticationToken("user-jwt-controller-logout", null, Collections.emptyList()), false);
+        SecurityContextHolder.getContext().setAuthentication(tokenProvider.getVerifiedAuthentication(token).get());
+        try {
+            mockMvc.perform(post("/api/logout"))
+                .andExpect(status().isNoContent());
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        assertThat(tokenProvider.validateToken(token)).isFalse();
+    }
+
+    @Test
+    @Transactional
+    public void testRefreshRenewsTheTokens() throws Exception {
+        String refreshToken = authorize("user-jwt-controller-refresh");
+
+        String response = refresh(refreshToken)
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id_token").isNotEmpty())
+            .andExpect(jsonPath("$.refresh_token").isNotEmpty())
+            .andExpect(header().string("Authorization", not(nullValue())))
+            .andReturn().getResponse().getContentAsString();
+
+        String renewedRefreshToken = JsonPath.read(response, "$.refresh_token");
+        assertThat(renewedRefreshToken).isNotEqualTo(refreshToken);
+        assertThat(tokenProvider.getVerifiedAuthentication(JsonPath.read(response, "$.id_token")))
+            .hasValueSatisfying(authentication -> assertThat(authentication.getName()).isEqualTo("user-jwt-controller-refresh"));
+        refresh(renewedRefreshToken)
+            .andExpect(status().isOk());
+    }
+
+    @Test
+    @Transactional
+    public void testReusedRefreshTokenRevokesItsFamily() throws Exception {
+        String refreshToken = authorize("user-jwt-controller-reuse");
+        String response = refresh(refreshToken).andReturn().getResponse().getContentAsString();
+        String renewedRefreshToken = JsonPath.read(response, "$.refresh_token");
+
+        refresh(refreshToken)
+            .andExpect(status().isUnauthorized())
+            .andExpect(jsonPath("$.id_token").doesNotExist());
+        refresh(renewedRefreshToken)
+            .andExpect(status().isUnauthorized());
+    }
+
+    @Test
+    public void testRefreshFailsWithAnUnknownToken() throws Exception {
+        refresh("unknown")
+            .andExpect(status().isUnauthorized())
+            .andExpect(header().doesNotExist("Authorization"));
+    }
+
+    @Test
+    @Transactional
+    public void testLogoutRevokesTheRefreshToken() throws Exception {
+        String refreshToken = authorize("user-jwt-controller-logout-refresh");
+        RefreshTokenVM refreshTokenVM = new RefreshTokenVM();
+        refreshTokenVM.setRefreshToken(refreshToken);
+
+        mockMvc.perform(post("/api/logout")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(refreshTokenVM)))
+            .andExpect(status().isNoContent());
+
+        refresh(refreshToken)
+            .andExpect(status().isUnauthorized());
+    }
+
+    private String authorize(String username) throws Exception {
+        User user = new User();
+        user.setLogin(username);
+        user.setEmail(username + "@example.com");
+        user.setActivated(true);
+        user.setPassword(passwordEncoder.encode("test"));
+        userRepository.saveAndFlush(user);
+
+        LoginVM login = new LoginVM();
+        login.setUsername(username);
+        login.setPassword("test");
+        String response = mockMvc.perform(post("/api/authenticate")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(login)))
+            .andExpect(status().isOk())
+            .andReturn().getResponse().getContentAsString();
+        return JsonPath.read(response, "$.refresh_token");
+    }
+
+    private ResultActions refresh(String refreshToken) throws Exception {
+        RefreshTokenVM refreshTokenVM = new RefreshTokenVM();
+        refreshTokenVM.setRefreshToken(refreshToken);
+        return mockMvc.perform(post("/api/refresh")
+            .contentType(TestUtil.APPLICATION_JSON_UTF8)
+            .content(TestUtil.convertObjectToJsonBytes(refreshTokenVM)));
+    }
 }
@@ -1,5 +1,8 @@
 package com.tothapplication.web.rest.errors;
 
+import com.tothapplication.security.LoginThrottledException;
+import com.tothapplication.security.PasswordHashingRejectedException;
+
 import org.springframework.dao.ConcurrencyFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.AccessDeniedException;
@@ -44,6 +47,16 @@ public class ExceptionTranslatorTestController {
         throw new TestResponseStatusException();
     }
 
+    @GetMapping("/test/password-hashing-rejected")
+    public void passwordHashingRejected() {
+        throw new PasswordHashingRejectedException("test password hashing rejected", 5);
+    }
+
+    @GetMapping("/test/login-throttled")
+    public void loginThrottled() {
+        throw new LoginThrottledException("test login throttled", 60);
+    }
+
     @GetMapping("/test/internal-server-error")
     public void internalServerError() {
         throw new RuntimeException();
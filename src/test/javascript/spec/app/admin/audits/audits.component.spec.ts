@@ -72,16 +72,13 @@ describe('Component Tests', () => {
         expect(comp.toDate).toBe(getDate());
         expect(comp.fromDate).toBe(getDate(false));
         expect(comp.itemsPerPage).toBe(ITEMS_PER_PAGE);
-        expect(comp.page).toBe(10);
-        expect(comp.reverse).toBeFalsy();
-        expect(comp.predicate).toBe('id');
       });
     });
 
     describe('OnInit', () => {
       it('Should call load all on init', () => {
         // GIVEN
-        const headers = new HttpHeaders().append('link', 'link;link');
+        const headers = new HttpHeaders().append('link', '<http://localhost/management/audits?cursor=next>; rel="next"');
         const audit = new Audit({ remoteAddress: '127.0.0.1', sessionId: '123' }, 'user', '20140101', 'AUTHENTICATION_SUCCESS');
         spyOn(service, 'query').and.returnValue(
           of(
@@ -96,37 +93,47 @@ describe('Component Tests', () => {
         comp.ngOnInit();
 
         // THEN
-        expect(service.query).toHaveBeenCalled();
+        expect(service.query).toHaveBeenCalledWith(jasmine.objectContaining({ cursor: null, size: ITEMS_PER_PAGE }));
         expect(comp.audits[0]).toEqual(jasmine.objectContaining(audit));
+        expect(comp.nextCursor).toEqual('next');
       });
     });
 
-    describe('Create sort object', () => {
-      it('Should sort only by id asc', () => {
+    describe('loadPage', () => {
+      it('Should append the next page after the cursor', () => {
         // GIVEN
-        comp.predicate = 'id';
-        comp.reverse = false;
+        const audit = new Audit({ remoteAddress: '127.0.0.1', sessionId: '123' }, 'user', '20140101', 'AUTHENTICATION_SUCCESS');
+        const nextAudit = new Audit({ remoteAddress: '127.0.0.1', sessionId: '456' }, 'user', '20131231', 'AUTHENTICATION_SUCCESS');
+        comp.audits = [audit];
+        comp.nextCursor = 'next';
+        spyOn(service, 'query').and.returnValue(
+          of(
+            new HttpResponse({
+              body: [nextAudit],
+              headers: new HttpHeaders()
+            })
+          )
+        );
 
         // WHEN
-        const sort = comp.sort();
+        comp.loadPage();
 
         // THEN
-        expect(sort.length).toEqual(1);
-        expect(sort[0]).toEqual('id,desc');
+        expect(service.query).toHaveBeenCalledWith(jasmine.objectContaining({ cursor: 'next' }));
+        expect(comp.audits).toEqual([audit, nextAudit]);
+        expect(comp.nextCursor).toBeNull();
       });
 
-      it('Should sort by timestamp asc then by id', () => {
+      it('Should not load after the last page', () => {
         // GIVEN
-        comp.predicate = 'timestamp';
-        comp.reverse = true;
+        comp.nextCursor = null;
+        spyOn(service, 'query');
 
         // WHEN
-        const sort = comp.sort();
+        comp.loadPage();
 
         // THEN
-        expect(sort.length).toEqual(2);
-        expect(sort[0]).toEqual('timestamp,asc');
-        expect(sort[1]).toEqual('id');
+        expect(service.query).not.toHaveBeenCalled();
       });
     });
   });
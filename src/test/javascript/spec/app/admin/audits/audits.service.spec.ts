@@ -1,4 +1,5 @@
 import { TestBed } from '@angular/core/testing';
+import { HttpHeaders } from '@angular/common/http';
 
 import { AuditsService } from 'app/admin/audits/audits.service';
 import { Audit } from 'app/admin/audits/audit.model';
@@ -34,6 +35,26 @@ describe('Service Tests', () => {
         expect(req.request.url).toEqual(resourceUrl);
       });
 
+      it('should query the first page with an empty cursor', () => {
+        service.query({ fromDate: '2019-01-01', toDate: '2019-02-01', size: 20 }).subscribe(() => {});
+
+        const req = httpMock.expectOne({ method: 'GET' });
+        expect(req.request.params.get('cursor')).toEqual('');
+        expect(req.request.params.get('fromDate')).toEqual('2019-01-01');
+        expect(req.request.params.get('toDate')).toEqual('2019-02-01');
+        expect(req.request.params.get('size')).toEqual('20');
+      });
+
+      it('should find the cursor of the next page', () => {
+        const headers = new HttpHeaders().append(
+          'link',
+          '<http://localhost/management/audits?fromDate=2019-01-01&toDate=2019-02-01&cursor=2019-01-15T10:00:00Z_42>; rel="next"'
+        );
+
+        expect(service.nextCursor(headers)).toEqual('2019-01-15T10:00:00Z_42');
+        expect(service.nextCursor(new HttpHeaders())).toBeNull();
+      });
+
       it('should return Audits', () => {
         const audit = new Audit({ remoteAddress: '127.0.0.1', sessionId: '123' }, 'user', '20140101', 'AUTHENTICATION_SUCCESS');
 